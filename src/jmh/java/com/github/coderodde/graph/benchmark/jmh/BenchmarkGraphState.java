@@ -0,0 +1,207 @@
+package com.github.coderodde.graph.benchmark.jmh;
+
+import com.github.coderodde.graph.AbstractGraph;
+import java.util.Arrays;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * This state generates the arcs of the benchmark graph once per trial. The
+ * graph is described by its size and shape parameters; the generation is
+ * seeded, so that all the benchmarks and all the runs see the same graph for
+ * the same parameters.
+ * <p>
+ * The generator works on the positions of a topological order. The node IDs
+ * are a random permutation of the positions, so that the ID order does not
+ * reveal the topological order to the sorters.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+@State(Scope.Benchmark)
+public class BenchmarkGraphState {
+
+    private static final long SEED = 13L;
+    private static final int MINIMUM_LAYER_SIZE = 10;
+    private static final int MAXIMUM_LAYER_SIZE = 20;
+    private static final int MAXIMUM_LAYER_JUMP = 4;
+    private static final int CHAIN_LENGTH = 16;
+
+    @Param({ "LAYERED", "RANDOM", "CHAINS" })
+    public GraphShape shape;
+
+    @Param({ "10000", "100000" })
+    public int nodes;
+
+    @Param({ "4" })
+    public int arcsPerNode;
+
+    /**
+     * Maps each position to its node ID.
+     */
+    int[] nodeIds;
+
+    /**
+     * The tail positions of the arcs.
+     */
+    int[] tails;
+
+    /**
+     * The head positions of the arcs.
+     */
+    int[] heads;
+
+    double[] weights;
+    int arcs;
+
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if (nodes < 2) {
+            throw new IllegalArgumentException("Too few nodes: " + nodes);
+        }
+
+        if (arcsPerNode < 1) {
+            throw new IllegalArgumentException(
+                    "Non-positive number of arcs per node: " + arcsPerNode);
+        }
+
+        random = new Random(SEED);
+        nodeIds = new int[nodes];
+        tails = new int[nodes * arcsPerNode];
+        heads = new int[tails.length];
+        weights = new double[tails.length];
+        arcs = 0;
+
+        for (int position = 0; position < nodes; position++) {
+            nodeIds[position] = position;
+        }
+
+        for (int position = nodes - 1; position > 0; position--) {
+            int other = random.nextInt(position + 1);
+            int nodeId = nodeIds[position];
+            nodeIds[position] = nodeIds[other];
+            nodeIds[other] = nodeId;
+        }
+
+        switch (shape) {
+            case LAYERED:
+                generateLayeredArcs();
+                break;
+
+            case RANDOM:
+                generateRandomArcs();
+                break;
+
+            case CHAINS:
+                generateChainArcs();
+                break;
+
+            default:
+                throw new IllegalStateException("Unknown shape: " + shape);
+        }
+    }
+
+    /**
+     * Returns a new random generator seeded for this graph, so that the
+     * states choosing their queries or arcs at random repeat their choices.
+     *
+     * @return a random generator.
+     */
+    Random newRandom() {
+        return new Random(SEED + nodes);
+    }
+
+    /**
+     * Adds all the nodes and arcs of this graph to {@code graph}.
+     *
+     * @param <G>   the graph type.
+     * @param graph the graph to populate.
+     * @return {@code graph}.
+     */
+    <G extends AbstractGraph> G populate(G graph) {
+        for (int nodeId : nodeIds) {
+            graph.addNode(nodeId);
+        }
+
+        for (int i = 0; i < arcs; i++) {
+            graph.addEdge(nodeIds[tails[i]], nodeIds[heads[i]], weights[i]);
+        }
+
+        return graph;
+    }
+
+    private void generateLayeredArcs() {
+        int[] layerStarts = new int[nodes / MINIMUM_LAYER_SIZE + 2];
+        int layers = 0;
+
+        for (int position = 0; position < nodes; ) {
+            layerStarts[layers++] = position;
+            position += random.nextInt(MINIMUM_LAYER_SIZE,
+                                       MAXIMUM_LAYER_SIZE + 1);
+        }
+
+        layerStarts[layers] = nodes;
+
+        for (int layer = 0; layer < layers - 1; layer++) {
+            int layerSize = layerStarts[layer + 1] - layerStarts[layer];
+
+            for (int i = 0; i < layerSize * arcsPerNode; i++) {
+                int nextLayer =
+                        Math.min(layer + random.nextInt(1,
+                                                        MAXIMUM_LAYER_JUMP + 1),
+                                 layers - 1);
+
+                addArc(random.nextInt(layerStarts[layer],
+                                      layerStarts[layer + 1]),
+                       random.nextInt(layerStarts[nextLayer],
+                                      layerStarts[nextLayer + 1]));
+            }
+        }
+    }
+
+    private void generateRandomArcs() {
+        for (int tail = 0; tail < nodes - 1; tail++) {
+            for (int i = 0; i < arcsPerNode; i++) {
+                addArc(tail, random.nextInt(tail + 1, nodes));
+            }
+        }
+    }
+
+    private void generateChainArcs() {
+        int runs = (nodes + CHAIN_LENGTH - 1) / CHAIN_LENGTH;
+
+        for (int tail = 0; tail < nodes - 1; tail++) {
+            int run = tail / CHAIN_LENGTH;
+
+            if (tail % CHAIN_LENGTH != CHAIN_LENGTH - 1) {
+                addArc(tail, tail + 1);
+            } else if (run < runs - 1) {
+                for (int i = 0; i < arcsPerNode; i++) {
+                    addArc(tail,
+                           random.nextInt(run + 1, runs) * CHAIN_LENGTH);
+                }
+            }
+        }
+    }
+
+    private void addArc(int tail, int head) {
+        if (arcs == tails.length) {
+            int capacity = 2 * arcs;
+            tails = Arrays.copyOf(tails, capacity);
+            heads = Arrays.copyOf(heads, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+
+        tails[arcs] = tail;
+        heads[arcs] = head;
+        weights[arcs] = random.nextDouble();
+        arcs++;
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.coderodde.graph.benchmark.jmh;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.impl.CompressedDirectedGraph;
+import com.github.coderodde.graph.io.BinaryGraphFormat;
+import com.github.coderodde.graph.io.EdgeListLoader;
+import com.github.coderodde.graph.io.MappedDirectedGraph;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks building the graphs: populating the mutable graph
+ * implementations arc by arc, compressing a graph into a
+ * {@link CompressedDirectedGraph}, loading an edge list file and mapping a
+ * binary graph file.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstructionBenchmark {
+
+    @State(Scope.Thread)
+    public static class GraphTypeState {
+
+        @Param
+        public GraphType graphType;
+    }
+
+    @State(Scope.Benchmark)
+    public static class FileState {
+
+        Path edgeListFile;
+        Path binaryFile;
+
+        @Setup(Level.Trial)
+        public void setup(BenchmarkGraphState graphData,
+                          GraphState graphState) throws IOException {
+            edgeListFile = Files.createTempFile("dagsp-benchmark", ".txt");
+            binaryFile = Files.createTempFile("dagsp-benchmark", ".bin");
+
+            int[] nodeIds = graphData.nodeIds;
+
+            try (BufferedWriter writer =
+                    Files.newBufferedWriter(edgeListFile,
+                                            StandardCharsets.US_ASCII)) {
+                for (int i = 0; i < graphData.arcs; i++) {
+                    writer.write(nodeIds[graphData.tails[i]] + " "
+                            + nodeIds[graphData.heads[i]] + " "
+                            + graphData.weights[i]);
+                    writer.newLine();
+                }
+            }
+
+            BinaryGraphFormat.write(graphState.graph, binaryFile);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(edgeListFile);
+            Files.deleteIfExists(binaryFile);
+        }
+    }
+
+    @Benchmark
+    public AbstractGraph build(BenchmarkGraphState graphData,
+                               GraphTypeState state) {
+        return graphData.populate(state.graphType.create(graphData.nodes,
+                                                         graphData.arcs));
+    }
+
+    @Benchmark
+    public CompressedDirectedGraph compress(GraphState graphState) {
+        return new CompressedDirectedGraph(graphState.graph);
+    }
+
+    @Benchmark
+    public MappedDirectedGraph loadEdgeList(FileState state)
+            throws IOException {
+        return EdgeListLoader.load(state.edgeListFile);
+    }
+
+    @Benchmark
+    public MappedDirectedGraph mapBinaryGraph(FileState state)
+            throws IOException {
+        return BinaryGraphFormat.map(state.binaryFile);
+    }
+}
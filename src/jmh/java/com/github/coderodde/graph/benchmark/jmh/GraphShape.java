@@ -0,0 +1,35 @@
+package com.github.coderodde.graph.benchmark.jmh;
+
+/**
+ * This enumeration lists the shapes of the benchmark graphs. All the shapes
+ * are acyclic: the nodes are generated as the positions {@code 0, ..., n - 1}
+ * of a topological order, and every arc leads from a lower position to a
+ * higher one.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public enum GraphShape {
+
+    /**
+     * The positions are cut into layers of 10 to 20 nodes, and each arc leads
+     * from a layer to one of the next four layers, as in the graph of the
+     * {@link com.github.coderodde.graph.benchmark.DemoDagProvider}. The
+     * reachability is local, so that many pairs of nodes are unreachable.
+     */
+    LAYERED,
+
+    /**
+     * Each arc leads to a uniformly random later position. The long arcs
+     * make almost every later node reachable.
+     */
+    RANDOM,
+
+    /**
+     * The positions are cut into runs of 16 nodes connected into chains, and
+     * only the last node of a run has arcs to the starts of the later runs.
+     * Most nodes thus have exactly one parent and one child.
+     */
+    CHAINS;
+}
@@ -0,0 +1,33 @@
+package com.github.coderodde.graph.benchmark.jmh;
+
+import com.github.coderodde.graph.AbstractGraph;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * This state builds the benchmark graph once per trial for the benchmarks
+ * that only read it. By default, only the {@link GraphType#DIRECTED} graph is
+ * benchmarked; the other implementations are selected by
+ * {@code -p graphType=...}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+
+    @Param({ "DIRECTED" })
+    public GraphType graphType;
+
+    AbstractGraph graph;
+
+    @Setup(Level.Trial)
+    public void setup(BenchmarkGraphState graphData) {
+        graph = graphData.populate(graphType.create(graphData.nodes,
+                                                    graphData.arcs));
+    }
+}
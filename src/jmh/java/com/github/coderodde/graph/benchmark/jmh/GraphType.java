@@ -0,0 +1,49 @@
+package com.github.coderodde.graph.benchmark.jmh;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.impl.AcyclicDirectedGraph;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.impl.OffHeapDirectedGraph;
+import com.github.coderodde.graph.impl.PrimitiveDirectedGraph;
+
+/**
+ * This enumeration lists the mutable graph implementations under benchmark.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public enum GraphType {
+
+    DIRECTED,
+    ACYCLIC,
+    PRIMITIVE,
+    OFF_HEAP;
+
+    /**
+     * Creates an empty graph of this type. The implementations that can be
+     * presized are presized for the given numbers of nodes and arcs.
+     *
+     * @param nodes the expected number of nodes.
+     * @param arcs  the expected number of arcs.
+     * @return an empty graph.
+     */
+    public AbstractGraph create(int nodes, int arcs) {
+        switch (this) {
+            case DIRECTED:
+                return new DirectedGraph();
+
+            case ACYCLIC:
+                return new AcyclicDirectedGraph();
+
+            case PRIMITIVE:
+                return new PrimitiveDirectedGraph(nodes, arcs);
+
+            case OFF_HEAP:
+                return new OffHeapDirectedGraph(nodes, arcs);
+
+            default:
+                throw new IllegalStateException("Unknown graph type: " + this);
+        }
+    }
+}
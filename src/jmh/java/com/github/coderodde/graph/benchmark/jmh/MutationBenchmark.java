@@ -0,0 +1,148 @@
+package com.github.coderodde.graph.benchmark.jmh;
+
+import com.github.coderodde.graph.AbstractGraph;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the mutation throughput of the graph
+ * implementations. Each operation leaves the graph as it found it, so that
+ * the graph does not drift during the measurement. All the added arcs lead
+ * forward in the topological order, which keeps the graph acyclic for
+ * {@link GraphType#ACYCLIC}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MutationBenchmark {
+
+    /**
+     * The number of distinct operands, a power of two.
+     */
+    private static final int OPERANDS = 1 << 12;
+
+    @State(Scope.Thread)
+    public static class MutationState {
+
+        @Param
+        public GraphType graphType;
+
+        AbstractGraph graph;
+
+        /**
+         * The arcs not in the graph.
+         */
+        final Integer[] newTails = new Integer[OPERANDS];
+        final Integer[] newHeads = new Integer[OPERANDS];
+
+        /**
+         * The arcs in the graph.
+         */
+        final Integer[] tails = new Integer[OPERANDS];
+        final Integer[] heads = new Integer[OPERANDS];
+        final double[] weights = new double[OPERANDS];
+
+        Integer newNode;
+        int operandIndex;
+
+        @Setup(Level.Trial)
+        public void setup(BenchmarkGraphState graphData) {
+            graph = graphData.populate(graphType.create(graphData.nodes,
+                                                        graphData.arcs));
+
+            Random random = graphData.newRandom();
+            int[] nodeIds = graphData.nodeIds;
+            int nodes = graphData.nodes;
+
+            for (int i = 0; i < OPERANDS; i++) {
+                int arc = random.nextInt(graphData.arcs);
+                tails[i] = nodeIds[graphData.tails[arc]];
+                heads[i] = nodeIds[graphData.heads[arc]];
+                // Zero would equal its own negation:
+                weights[i] = 1.0 + random.nextDouble();
+
+                Integer tail;
+                Integer head;
+
+                do {
+                    int position = random.nextInt(nodes - 1);
+                    tail = nodeIds[position];
+                    head = nodeIds[random.nextInt(position + 1, nodes)];
+                } while (graph.hasEdge(tail, head));
+
+                newTails[i] = tail;
+                newHeads[i] = head;
+            }
+
+            // The node IDs are 0, ..., n - 1:
+            newNode = nodes;
+        }
+
+        int nextOperand() {
+            return operandIndex++ & (OPERANDS - 1);
+        }
+
+        /**
+         * Returns the new weight for the arc of the operand {@code i} just
+         * returned by {@link #nextOperand()}. The weights are negated on every
+         * other pass over the operands, so that each update changes the
+         * weight.
+         */
+        double nextWeight(int i) {
+            return ((operandIndex - 1) & OPERANDS) == 0 ? weights[i]
+                                                         : -weights[i];
+        }
+    }
+
+    @Benchmark
+    public boolean addAndRemoveEdge(MutationState state) {
+        int i = state.nextOperand();
+        boolean added = state.graph.addEdge(state.newTails[i],
+                                            state.newHeads[i],
+                                            1.0);
+
+        return state.graph.removeEdge(state.newTails[i],
+                                      state.newHeads[i]) & added;
+    }
+
+    @Benchmark
+    public boolean updateEdgeWeight(MutationState state) {
+        int i = state.nextOperand();
+        boolean updated = state.graph.addEdge(state.tails[i],
+                                              state.heads[i],
+                                              state.nextWeight(i));
+
+        if (!updated) {
+            throw new IllegalStateException(
+                    "The weight of an arc did not change.");
+        }
+
+        return updated;
+    }
+
+    @Benchmark
+    public boolean addAndRemoveNode(MutationState state) {
+        int i = state.nextOperand();
+        state.graph.addNode(state.newNode);
+        state.graph.addEdge(state.tails[i], state.newNode, 1.0);
+        return state.graph.removeNode(state.newNode);
+    }
+}
@@ -0,0 +1,139 @@
+package com.github.coderodde.graph.benchmark.jmh;
+
+import com.github.coderodde.graph.TopologicalSorter;
+import com.github.coderodde.graph.impl.DFSTopologicalSorter;
+import com.github.coderodde.graph.impl.KahnsTopologicalSorter;
+import com.github.coderodde.graph.impl.ParallelKahnsTopologicalSorter;
+import com.github.coderodde.graph.sp.AbstractGraphPreprocessor;
+import com.github.coderodde.graph.sp.impl.ChainCompressingGraphPreprocessor;
+import com.github.coderodde.graph.sp.impl.DFSGraphPreprocessor;
+import com.github.coderodde.graph.sp.impl.KahnsGraphPreprocessor;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the topological sorters alone and the graph
+ * preprocessors, which sort the graph and optionally build the reachability
+ * index.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreprocessingBenchmark {
+
+    public enum Sorter {
+        DFS,
+        KAHNS,
+        PARALLEL_KAHNS;
+    }
+
+    public enum Preprocessor {
+        DFS,
+        KAHNS,
+        CHAIN_COMPRESSING;
+    }
+
+    @State(Scope.Thread)
+    public static class SorterState {
+
+        @Param
+        public Sorter sorter;
+
+        TopologicalSorter topologicalSorter;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            switch (sorter) {
+                case DFS:
+                    topologicalSorter = new DFSTopologicalSorter();
+                    break;
+
+                case KAHNS:
+                    topologicalSorter = new KahnsTopologicalSorter();
+                    break;
+
+                case PARALLEL_KAHNS:
+                    topologicalSorter = new ParallelKahnsTopologicalSorter();
+                    break;
+
+                default:
+                    throw new IllegalStateException(
+                            "Unknown sorter: " + sorter);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PreprocessorState {
+
+        @Param
+        public Preprocessor preprocessor;
+
+        @Param({ "0", "2" })
+        public int reachabilityLabels;
+
+        AbstractGraphPreprocessor graphPreprocessor;
+
+        @Setup(Level.Trial)
+        public void setup(GraphState graphState) {
+            switch (preprocessor) {
+                case DFS:
+                    graphPreprocessor =
+                            new DFSGraphPreprocessor(graphState.graph);
+                    break;
+
+                case KAHNS:
+                    graphPreprocessor =
+                            new KahnsGraphPreprocessor(graphState.graph);
+                    break;
+
+                case CHAIN_COMPRESSING:
+                    ChainCompressingGraphPreprocessor chainPreprocessor =
+                            new ChainCompressingGraphPreprocessor(
+                                    graphState.graph);
+
+                    // A detached preprocessor rebuilds on each call:
+                    chainPreprocessor.detach();
+                    graphPreprocessor = chainPreprocessor;
+                    break;
+
+                default:
+                    throw new IllegalStateException(
+                            "Unknown preprocessor: " + preprocessor);
+            }
+
+            if (reachabilityLabels > 0) {
+                graphPreprocessor.enableReachabilityIndex(reachabilityLabels);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Integer> sort(GraphState graphState, SorterState state) {
+        return state.topologicalSorter.sort(graphState.graph);
+    }
+
+    @Benchmark
+    public AbstractGraphPreprocessor preprocess(PreprocessorState state) {
+        state.graphPreprocessor.preprocessGraph();
+        return state.graphPreprocessor;
+    }
+}
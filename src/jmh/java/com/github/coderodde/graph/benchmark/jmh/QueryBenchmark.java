@@ -0,0 +1,227 @@
+package com.github.coderodde.graph.benchmark.jmh;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.ShortestPathTree;
+import com.github.coderodde.graph.sp.impl.BidirectionalDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.impl.ChainCompressedDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.impl.ChainCompressingGraphPreprocessor;
+import com.github.coderodde.graph.sp.impl.CompressedGraphDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.impl.ConcurrentDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.impl.IndexingPreprocessingDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.impl.KahnsGraphPreprocessor;
+import com.github.coderodde.graph.sp.impl.NaivePreprocessingDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.impl.PartitionedDagShortestPathQueryRunner;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the point-to-point queries of the shortest path query
+ * runners. The queries are drawn in advance, either among the pairs with a
+ * path or among the pairs without one, and are cycled through in the
+ * measurement. The preprocessing is done in the setup and is not measured.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+
+    /**
+     * The number of distinct queries, a power of two.
+     */
+    private static final int QUERIES = 1 << 10;
+
+    /**
+     * The number of targets tried per shortest path tree when drawing the
+     * queries.
+     */
+    private static final int TARGETS_PER_SOURCE = 8;
+    private static final int PARTITION_SIZE = 256;
+
+    public enum QueryRunner {
+        NAIVE,
+        INDEXING,
+        BIDIRECTIONAL,
+        COMPRESSED_GRAPH,
+        CHAIN_COMPRESSED,
+        CONCURRENT,
+        PARTITIONED;
+    }
+
+    public enum Query {
+
+        /**
+         * The target is reachable from the source.
+         */
+        REACHABLE,
+
+        /**
+         * The target follows the source in the topological order, but is
+         * not reachable from it. If such pairs are too rare, the rest of the
+         * queries run against the topological order.
+         */
+        UNREACHABLE;
+    }
+
+    @State(Scope.Thread)
+    public static class QueryState {
+
+        @Param
+        public QueryRunner runner;
+
+        @Param
+        public Query query;
+
+        AbstractDagShortestPathQueryRunner queryRunner;
+        final Integer[] sourceNodes = new Integer[QUERIES];
+        final Integer[] targetNodes = new Integer[QUERIES];
+        int queryIndex;
+
+        @Setup(Level.Trial)
+        public void setup(BenchmarkGraphState graphData,
+                          GraphState graphState) {
+            AbstractGraph graph = graphState.graph;
+            queryRunner = createQueryRunner(graph);
+            drawQueries(graphData, graph);
+
+            // Preprocess outside of the measurement:
+            try {
+                queryRunner.queryShortestPath(sourceNodes[0], targetNodes[0]);
+            } catch (PathDoesNotExistException ex) {
+                // An unreachable target still preprocesses the graph.
+            }
+        }
+
+        private AbstractDagShortestPathQueryRunner
+                createQueryRunner(AbstractGraph graph) {
+            switch (runner) {
+                case NAIVE:
+                    return new NaivePreprocessingDagShortestPathQueryRunner(
+                            graph,
+                            new KahnsGraphPreprocessor(graph));
+
+                case INDEXING:
+                    return new IndexingPreprocessingDagShortestPathQueryRunner(
+                            graph,
+                            new KahnsGraphPreprocessor(graph));
+
+                case BIDIRECTIONAL:
+                    return new BidirectionalDagShortestPathQueryRunner(
+                            graph,
+                            new KahnsGraphPreprocessor(graph));
+
+                case COMPRESSED_GRAPH:
+                    return new CompressedGraphDagShortestPathQueryRunner(
+                            graph,
+                            new KahnsGraphPreprocessor(graph));
+
+                case CHAIN_COMPRESSED:
+                    return new ChainCompressedDagShortestPathQueryRunner(
+                            graph,
+                            new ChainCompressingGraphPreprocessor(graph));
+
+                case CONCURRENT:
+                    return new ConcurrentDagShortestPathQueryRunner(
+                            graph,
+                            new KahnsGraphPreprocessor(graph));
+
+                case PARTITIONED:
+                    return new PartitionedDagShortestPathQueryRunner(
+                            graph,
+                            new KahnsGraphPreprocessor(graph),
+                            PARTITION_SIZE);
+
+                default:
+                    throw new IllegalStateException(
+                            "Unknown runner: " + runner);
+            }
+        }
+
+        /**
+         * Draws the queries of the requested kind. The kind of each pair is
+         * decided by a shortest path tree of a reference runner.
+         */
+        private void drawQueries(BenchmarkGraphState graphData,
+                                 AbstractGraph graph) {
+            AbstractDagShortestPathQueryRunner reference =
+                    new IndexingPreprocessingDagShortestPathQueryRunner(
+                            graph,
+                            new KahnsGraphPreprocessor(graph));
+
+            Random random = graphData.newRandom();
+            int[] nodeIds = graphData.nodeIds;
+            int nodes = graphData.nodes;
+            boolean reachable = query == Query.REACHABLE;
+            int drawn = 0;
+
+            for (int attempt = 0;
+                    attempt < 4 * QUERIES && drawn < QUERIES;
+                    attempt++) {
+                int sourcePosition = random.nextInt(nodes - 1);
+                ShortestPathTree tree =
+                        reference.queryShortestPathTree(
+                                nodeIds[sourcePosition]);
+
+                for (int i = 0;
+                        i < TARGETS_PER_SOURCE && drawn < QUERIES;
+                        i++) {
+                    Integer targetNode =
+                            nodeIds[random.nextInt(sourcePosition + 1,
+                                                   nodes)];
+
+                    if (tree.hasPathTo(targetNode) == reachable) {
+                        sourceNodes[drawn] = tree.getSourceNode();
+                        targetNodes[drawn] = targetNode;
+                        drawn++;
+                    }
+                }
+            }
+
+            for (; drawn < QUERIES; drawn++) {
+                if (reachable) {
+                    // An arc is a path:
+                    int arc = random.nextInt(graphData.arcs);
+                    sourceNodes[drawn] = nodeIds[graphData.tails[arc]];
+                    targetNodes[drawn] = nodeIds[graphData.heads[arc]];
+                } else {
+                    int position1 = random.nextInt(nodes - 1);
+                    int position2 = random.nextInt(position1 + 1, nodes);
+                    sourceNodes[drawn] = nodeIds[position2];
+                    targetNodes[drawn] = nodeIds[position1];
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Object query(QueryState state) {
+        int index = state.queryIndex++ & (QUERIES - 1);
+
+        try {
+            return state.queryRunner.queryShortestPath(
+                    state.sourceNodes[index],
+                    state.targetNodes[index]);
+        } catch (PathDoesNotExistException ex) {
+            return ex;
+        }
+    }
+}
@@ -20,6 +20,9 @@ import java.util.Set;
  */
 public abstract class AbstractGraph {
 
+    private static final long NODE_HASH_SEED = 0x6A09E667F3BCC909L;
+    private static final long ARC_HASH_SEED = 0xBB67AE8584CAA73BL;
+
     /**
      * This field caches the amount of changes made to this graph. This is used
      * for keeping track whether the structure of the graph has changed since 
@@ -185,6 +188,86 @@ public abstract class AbstractGraph {
      */
     public abstract Set<Integer> getParentsOf(Integer node);
 
+    /**
+     * Feeds each child of {@code node} together with the weight of the arc 
+     * leading to it to {@code consumer}. The default implementation goes 
+     * through {@link #getChildrenOf(Integer)} and 
+     * {@link #getEdgeWeight(Integer, Integer)}; the concrete graphs override 
+     * this in order to avoid the extra lookups.
+     * 
+     * @param node     the query node.
+     * @param consumer the child consumer.
+     */
+    public void forEachChild(int node, IntDoubleConsumer consumer) {
+        Integer tailNode = node;
+        
+        for (Integer child : getChildrenOf(tailNode)) {
+            consumer.accept(child, getEdgeWeight(tailNode, child));
+        }
+    }
+    
+    /**
+     * Same as {@link #forEachChild(int, IntDoubleConsumer)}, but takes the 
+     * node boxed. The callers holding the node as an {@link Integer} already 
+     * should use this one, so that the graphs keyed by {@link Integer} need 
+     * not box it again. The default implementation unboxes {@code node}.
+     * 
+     * @param node     the query node.
+     * @param consumer the child consumer.
+     */
+    public void forEachChild(Integer node, IntDoubleConsumer consumer) {
+        forEachChild((int) node, consumer);
+    }
+    
+    /**
+     * Feeds each parent of {@code node} together with the weight of the arc 
+     * leading from it to {@code consumer}.
+     * 
+     * @see #forEachChild(int, IntDoubleConsumer) 
+     * @param node     the query node.
+     * @param consumer the parent consumer.
+     */
+    public void forEachParent(int node, IntDoubleConsumer consumer) {
+        Integer headNode = node;
+        
+        for (Integer parent : getParentsOf(headNode)) {
+            consumer.accept(parent, getEdgeWeight(parent, headNode));
+        }
+    }
+
+    /**
+     * Same as {@link #forEachParent(int, IntDoubleConsumer)}, but takes the 
+     * node boxed.
+     * 
+     * @see #forEachChild(Integer, IntDoubleConsumer) 
+     * @param node     the query node.
+     * @param consumer the parent consumer.
+     */
+    public void forEachParent(Integer node, IntDoubleConsumer consumer) {
+        forEachParent((int) node, consumer);
+    }
+
+    /**
+     * Computes a 64-bit hash of the nodes and the arcs of this graph. The hash
+     * does not depend on the iteration order of the nodes and the arcs, so 
+     * that any two graphs with the same nodes and arcs hash to the same value,
+     * and two graphs differing in a node or an arc hash to different values 
+     * with a high probability. The arc weights are not hashed.
+     * 
+     * @return the structural hash of this graph.
+     */
+    public long computeStructuralHash() {
+        StructuralHasher hasher = new StructuralHasher();
+        
+        for (Integer node : getAllNodes()) {
+            hasher.tailNode = node;
+            hasher.hash += mix(NODE_HASH_SEED ^ node);
+            forEachChild(node, hasher);
+        }
+        
+        return mix(hasher.hash ^ mix(size()) ^ mix(~(long) getNumberOfEdges()));
+    }
+    
     /**
      * Returns the set of all nodes stored in this graph.
      * 
@@ -314,4 +397,29 @@ public abstract class AbstractGraph {
             listener.onAny();
         }
     }
+    
+    /**
+     * The SplitMix64 finalizer.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+    
+    /**
+     * Sums the mixed arcs of a single tail node into the hash. The sum makes
+     * the hash independent of the arc order.
+     */
+    private static final class StructuralHasher implements IntDoubleConsumer {
+        
+        long hash;
+        int tailNode;
+        
+        @Override
+        public void accept(int headNode, double weight) {
+            long arc = ((long) tailNode << 32) | (headNode & 0xffffffffL);
+            hash += mix(mix(arc) ^ ARC_HASH_SEED);
+        }
+    }
 }
\ No newline at end of file
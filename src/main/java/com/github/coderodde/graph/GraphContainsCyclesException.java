@@ -5,7 +5,7 @@ package com.github.coderodde.graph;
  * sort the graph.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.6 (Jul 16, 2022)
+ * @version 1.7 (Oct 18, 2026)
  * @since 1.6 (Jul 16, 2022)
  */
 public class GraphContainsCyclesException extends RuntimeException {
@@ -13,4 +13,8 @@ public class GraphContainsCyclesException extends RuntimeException {
     public GraphContainsCyclesException() {
         super("The graph contains cycles.");
     }
+    
+    public GraphContainsCyclesException(String message) {
+        super(message);
+    }
 }
@@ -0,0 +1,21 @@
+package com.github.coderodde.graph;
+
+/**
+ * This interface defines the API for consuming the neighbours of a node 
+ * together with the weights of the connecting arcs without boxing.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+@FunctionalInterface
+public interface IntDoubleConsumer {
+
+    /**
+     * Consumes a neighbour node and the weight of the arc connecting it.
+     * 
+     * @param node   the neighbour node.
+     * @param weight the weight of the arc.
+     */
+    void accept(int node, double weight);
+}
@@ -1,6 +1,5 @@
 package com.github.coderodde.graph;
 
-import com.github.coderodde.graph.impl.DirectedGraph;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,7 +23,7 @@ public final class TopologicalSortChecker {
      * @return {@code true} if and only if the input node list is in 
      *         topological order.
      */
-    public static boolean isTopologicallySorted(DirectedGraph graph,
+    public static boolean isTopologicallySorted(AbstractGraph graph,
                                                 List<Integer> nodes) {
         Objects.requireNonNull(nodes);
         Map<Integer, Integer> indices = getIndexMap(nodes); 
@@ -66,7 +65,7 @@ public final class TopologicalSortChecker {
      * @return {@code true} if and only if the {@code node} is in valid 
      *         position.
      */
-    private static boolean isValidNodePosition(DirectedGraph graph,
+    private static boolean isValidNodePosition(AbstractGraph graph,
                                                Integer node, 
                                                Map<Integer, Integer> indexMap) {
         Integer nodeIndex = indexMap.get(node);
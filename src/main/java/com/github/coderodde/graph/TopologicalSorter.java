@@ -1,6 +1,5 @@
 package com.github.coderodde.graph;
 
-import com.github.coderodde.graph.impl.DirectedGraph;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -24,7 +23,7 @@ public interface TopologicalSorter {
      * @return a list of nodes in topological order.
      * @throws GraphContainsCyclesException if the input graph contains cycles.
      */
-    List<Integer> sort(DirectedGraph graph) throws GraphContainsCyclesException;
+    List<Integer> sort(AbstractGraph graph) throws GraphContainsCyclesException;
     
     /**
      * Removes and returns a node from a set of nodes.
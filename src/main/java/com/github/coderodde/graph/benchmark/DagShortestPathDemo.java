@@ -7,6 +7,8 @@ import com.github.coderodde.graph.impl.DirectedGraph;
 import com.github.coderodde.graph.impl.DirectedGraph.Path;
 import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
 import com.github.coderodde.graph.sp.AbstractGraphPreprocessor;
+import com.github.coderodde.graph.sp.ReachabilityIndex;
+import com.github.coderodde.graph.sp.impl.BidirectionalDagShortestPathQueryRunner;
 import com.github.coderodde.graph.sp.impl.DFSGraphPreprocessor;
 import com.github.coderodde.graph.sp.impl.IndexingPreprocessingDagShortestPathQueryRunner;
 import com.github.coderodde.graph.sp.impl.KahnsGraphPreprocessor;
@@ -16,6 +18,9 @@ import java.util.List;
 import java.util.Random;
 
 /**
+ * This class runs each query runner once on a demo graph and checks that all
+ * the runners agree. The single runs are not reliable timings; the JMH
+ * benchmarks in {@code src/jmh/java} are built with {@code mvn -P jmh package}.
  * 
  * @author Rodion "rodde" Efremov
  * @version 1.6 ()
@@ -166,10 +171,17 @@ public class DagShortestPathDemo {
                         directedGraph, 
                         dfsPreprocessor);
         
+        AbstractDagShortestPathQueryRunner bidirectionalDFSRunner = 
+                new BidirectionalDagShortestPathQueryRunner(
+                        directedGraph, 
+                        dfsPreprocessor);
+        
         List<SearchResult> searchResults = new ArrayList<>(4);
         
         searchResults.add(search(naiveDFSRunner, sourceNode, targetNode));
         searchResults.add(search(indexingDFSRunner, sourceNode, targetNode));
+        searchResults.add(
+                search(bidirectionalDFSRunner, sourceNode, targetNode));
         
         printTerminalNodes(sourceNode, targetNode);
         print(searchResults);
@@ -200,6 +212,9 @@ public class DagShortestPathDemo {
                         + duration 
                         + " ms.");
         
+        kahnsPreprocessor.enableReachabilityIndex(
+                ReachabilityIndex.DEFAULT_NUMBER_OF_LABELS);
+        
         startTime = System.currentTimeMillis();
         
         kahnsPreprocessor.preprocessGraph();
@@ -223,10 +238,17 @@ public class DagShortestPathDemo {
                         directedGraph, 
                         dfsPreprocessor);
         
+        AbstractDagShortestPathQueryRunner indexingKahnsRunner = 
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        directedGraph, 
+                        kahnsPreprocessor);
+        
         List<SearchResult> searchResults = new ArrayList<>(4);
         
         searchResults.add(search(naiveDFSRunner, sourceNode, isolatedNode));
         searchResults.add(search(indexingDFSRunner, sourceNode, isolatedNode));
+        searchResults.add(
+                search(indexingKahnsRunner, sourceNode, isolatedNode));
         
         printTerminalNodes(sourceNode, isolatedNode);
         print(searchResults);
@@ -0,0 +1,143 @@
+package com.github.coderodde.graph.impl;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.GraphContainsCyclesException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class implements a directed graph that stays acyclic at all times. An
+ * arc that would close a cycle is rejected by {@link #addEdge} with a
+ * {@link GraphContainsCyclesException} before the graph is modified. The check
+ * relies on a topological order maintained by an
+ * {@link OnlineTopologicalOrder}, so it only searches the nodes between the
+ * head and the tail of the new arc in that order; an arc agreeing with the
+ * order is accepted without any search at all.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public class AcyclicDirectedGraph extends DirectedGraph {
+
+    private final OnlineTopologicalOrder order =
+            new OnlineTopologicalOrder(this);
+
+    public AcyclicDirectedGraph() {
+
+    }
+
+    /**
+     * A copy constructor. The input graph remains intact.
+     *
+     * @param graph the graph whose graph topology to assume.
+     * @throws GraphContainsCyclesException if {@code graph} contains cycles.
+     */
+    public AcyclicDirectedGraph(AbstractGraph graph) {
+        super(graph);
+        order.load(new KahnsTopologicalSorter().sort(this));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addNode(Integer node) {
+        boolean added = super.addNode(node);
+
+        if (added) {
+            order.addNode(node);
+        }
+
+        return added;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeNode(Integer node) {
+        boolean removed = super.removeNode(node);
+
+        if (removed) {
+            order.removeNode(node);
+
+            if (order.getNumberOfHoles() > size()) {
+                order.compact();
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Adds the arc {@code (tailNode, headNode)} unless it would close a
+     * cycle.
+     *
+     * @param tailNode  the tail node.
+     * @param headNode  the head node.
+     * @param newWeight the arc weight.
+     * @return {@code true} if and only if the graph changed.
+     * @throws GraphContainsCyclesException if the arc would close a cycle.
+     */
+    @Override
+    public boolean addEdge(Integer tailNode,
+                           Integer headNode,
+                           double newWeight) {
+        Objects.requireNonNull(tailNode);
+        Objects.requireNonNull(headNode);
+
+        // A new node lies on no cycle, so adding the end nodes modifies the
+        // graph only if the arc is going to be accepted. The order is
+        // repaired before the arc goes in; its single search also detects
+        // the cycles:
+        if (!tailNode.equals(headNode)) {
+            addNode(tailNode);
+            addNode(headNode);
+        }
+
+        if (!order.addEdge(tailNode, headNode)) {
+            throw new GraphContainsCyclesException(
+                    "The arc ("
+                            + tailNode
+                            + ", "
+                            + headNode
+                            + ") would close a cycle.");
+        }
+
+        return super.addEdge(tailNode, headNode, newWeight);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        order.clear();
+    }
+
+    /**
+     * Returns all the nodes of this graph in a topological order. The order
+     * is maintained under modifications, so no sorting takes place.
+     *
+     * @return the unmodifiable list of nodes in topological order.
+     */
+    public List<Integer> getTopologicallySortedNodes() {
+        order.compact();
+        return Collections.unmodifiableList(order.getOrder());
+    }
+
+    /**
+     * Checks whether adding the arc {@code (tailNode, headNode)} would close a
+     * cycle.
+     *
+     * @param tailNode the tail node.
+     * @param headNode the head node.
+     * @return {@code true} if and only if the arc would close a cycle.
+     */
+    public boolean wouldCreateCycle(Integer tailNode, Integer headNode) {
+        return order.wouldCreateCycle(tailNode, headNode);
+    }
+}
@@ -0,0 +1,268 @@
+package com.github.coderodde.graph.impl;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.IntDoubleConsumer;
+import com.github.coderodde.graph.util.IntIntOpenHashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class implements an immutable snapshot of an {@link AbstractGraph} in
+ * the compressed sparse row (CSR) format. Each node is assigned a dense index
+ * in the range {@code 0, 1, ..., size() - 1}. The children of the node with
+ * index {@code i} are stored in the arc index range
+ * {@code [getEdgeBeginIndex(i), getEdgeEndIndex(i))} of the head and weight
+ * arrays.
+ * <p>
+ * If the snapshot is built from a topologically sorted node list, the dense
+ * node indices coincide with the topological indices, which allows the
+ * shortest path sweeps to run over the arrays directly.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class CompressedDirectedGraph implements DenseAdjacency {
+
+    /**
+     * Maps each dense node index to the actual node.
+     */
+    private final int[] nodeIds;
+
+    /**
+     * Maps each node to its dense index.
+     */
+    private final IntIntOpenHashMap indexMap;
+
+    /**
+     * The children of the {@code i}th node are stored in the range
+     * {@code [edgeOffsets[i], edgeOffsets[i + 1])}.
+     */
+    private final int[] edgeOffsets;
+
+    /**
+     * Stores the dense indices of the arc head nodes.
+     */
+    private final int[] edgeHeads;
+
+    /**
+     * Stores the arc weights.
+     */
+    private final double[] edgeWeights;
+
+    /**
+     * Whether each arc goes from a smaller dense index to a larger one.
+     */
+    private final boolean topologicallySorted;
+
+    /**
+     * The modification count of the source graph at the moment of building
+     * this snapshot.
+     */
+    private final long sourceModificationCount;
+
+    /**
+     * Builds a snapshot of {@code graph} with dense indices assigned in the
+     * iteration order of {@link AbstractGraph#getAllNodes()}.
+     *
+     * @param graph the graph to compress.
+     */
+    public CompressedDirectedGraph(AbstractGraph graph) {
+        this(graph, List.copyOf(graph.getAllNodes()));
+    }
+
+    /**
+     * Builds a snapshot of {@code graph} in which the node
+     * {@code nodeOrder.get(i)} receives the dense index {@code i}.
+     *
+     * @param graph     the graph to compress.
+     * @param nodeOrder the list of all graph nodes, each appearing exactly
+     *                  once.
+     */
+    public CompressedDirectedGraph(AbstractGraph graph,
+                                   List<Integer> nodeOrder) {
+        Objects.requireNonNull(graph);
+        Objects.requireNonNull(nodeOrder);
+
+        if (nodeOrder.size() != graph.size()) {
+            throw new IllegalArgumentException(
+                    "The node order has "
+                            + nodeOrder.size()
+                            + " nodes, the graph has "
+                            + graph.size()
+                            + ".");
+        }
+
+        int numberOfNodes = nodeOrder.size();
+        this.nodeIds = new int[numberOfNodes];
+        this.indexMap = new IntIntOpenHashMap(numberOfNodes);
+        this.edgeOffsets = new int[numberOfNodes + 1];
+        this.edgeHeads = new int[graph.getNumberOfEdges()];
+        this.edgeWeights = new double[graph.getNumberOfEdges()];
+        this.sourceModificationCount = graph.getModificationCount();
+
+        for (int index = 0; index < numberOfNodes; index++) {
+            Integer node = nodeOrder.get(index);
+
+            if (!graph.hasNode(node) || !indexMap.put(node, index)) {
+                throw new IllegalArgumentException(
+                        "Node "
+                                + node
+                                + " is not in the graph or appears twice in "
+                                + "the node order.");
+            }
+
+            nodeIds[index] = node;
+        }
+
+        RowFiller rowFiller = new RowFiller();
+
+        for (int index = 0; index < numberOfNodes; index++) {
+            edgeOffsets[index] = rowFiller.edgeIndex;
+            rowFiller.tailIndex = index;
+            graph.forEachChild(nodeIds[index], rowFiller);
+        }
+
+        edgeOffsets[numberOfNodes] = rowFiller.edgeIndex;
+        this.topologicallySorted = rowFiller.sorted;
+    }
+
+    /**
+     * Returns the number of nodes in this snapshot.
+     *
+     * @return the number of nodes.
+     */
+    @Override
+    public int size() {
+        return nodeIds.length;
+    }
+
+    /**
+     * Returns the number of edges in this snapshot.
+     *
+     * @return the number of edges.
+     */
+    public int getNumberOfEdges() {
+        return edgeHeads.length;
+    }
+
+    /**
+     * Returns the node with the dense index {@code index}.
+     *
+     * @param index the dense node index.
+     * @return the node.
+     */
+    @Override
+    public int getNodeId(int index) {
+        return nodeIds[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfChildren(int index) {
+        return edgeOffsets[index + 1] - edgeOffsets[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getChildIndex(int index, int position) {
+        return edgeHeads[edgeOffsets[index] + position];
+    }
+
+    /**
+     * Returns the dense index of {@code node}, or {@code -1} if the node is
+     * not in this snapshot.
+     *
+     * @param node the query node.
+     * @return the dense index of {@code node}.
+     */
+    public int getIndex(int node) {
+        return indexMap.getOrDefault(node, -1);
+    }
+
+    /**
+     * Returns the first arc index of the node with the dense index
+     * {@code index}.
+     *
+     * @param index the dense node index.
+     * @return the first arc index, inclusive.
+     */
+    public int getEdgeBeginIndex(int index) {
+        return edgeOffsets[index];
+    }
+
+    /**
+     * Returns the end arc index of the node with the dense index
+     * {@code index}.
+     *
+     * @param index the dense node index.
+     * @return the last arc index, exclusive.
+     */
+    public int getEdgeEndIndex(int index) {
+        return edgeOffsets[index + 1];
+    }
+
+    /**
+     * Returns the dense index of the head node of the arc {@code edgeIndex}.
+     *
+     * @param edgeIndex the arc index.
+     * @return the dense index of the head node.
+     */
+    public int getEdgeHead(int edgeIndex) {
+        return edgeHeads[edgeIndex];
+    }
+
+    /**
+     * Returns the weight of the arc {@code edgeIndex}.
+     *
+     * @param edgeIndex the arc index.
+     * @return the arc weight.
+     */
+    public double getEdgeWeight(int edgeIndex) {
+        return edgeWeights[edgeIndex];
+    }
+
+    /**
+     * Returns {@code true} if and only if every arc goes from a smaller dense
+     * index to a larger one, or, in other words, the dense indices form a
+     * topological order.
+     *
+     * @return {@code true} if the dense indices are in topological order.
+     */
+    public boolean isTopologicallySorted() {
+        return topologicallySorted;
+    }
+
+    /**
+     * Returns the modification count of the source graph at the moment this
+     * snapshot was built.
+     *
+     * @return the source graph modification count.
+     */
+    public long getSourceModificationCount() {
+        return sourceModificationCount;
+    }
+
+    /**
+     * Appends the arcs of a single node to the arc arrays.
+     */
+    private final class RowFiller implements IntDoubleConsumer {
+
+        int tailIndex;
+        int edgeIndex;
+        boolean sorted = true;
+
+        @Override
+        public void accept(int node, double weight) {
+            int headIndex = indexMap.getOrDefault(node, -1);
+            sorted &= tailIndex < headIndex;
+            edgeHeads[edgeIndex] = headIndex;
+            edgeWeights[edgeIndex] = weight;
+            edgeIndex++;
+        }
+    }
+}
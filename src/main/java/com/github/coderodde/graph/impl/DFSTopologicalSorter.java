@@ -1,87 +1,105 @@
 package com.github.coderodde.graph.impl;
 
+import com.github.coderodde.graph.AbstractGraph;
 import com.github.coderodde.graph.GraphContainsCyclesException;
 import com.github.coderodde.graph.TopologicalSorter;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Deque;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 
 /**
- * This class implemnts
+ * This class implements an iterative depth-first search based topological 
+ * sorter. The search runs over the dense node indices of a 
+ * {@link DenseAdjacency}: the marks live in a {@code byte} array indexed by 
+ * the dense node indices, and the search stack is a pair of {@code int} 
+ * arrays holding the nodes and their child cursors. The graphs implementing 
+ * {@link DenseAdjacency} are searched directly; any other graph is first 
+ * frozen into a {@link CompressedDirectedGraph}. Callers already holding a 
+ * compressed graph may sort it directly via 
+ * {@link #sortIndices(DenseAdjacency)}.
+ * 
  * @author Rodion "rodde" Efremov
- * @version 1.6 ()
+ * @version 1.7 (Oct 18, 2026)
  * @since 1.6 ()
  */
 public class DFSTopologicalSorter implements TopologicalSorter {
     
+    private static final byte UNMARKED = 0;
+    private static final byte TEMPORARILY_MARKED = 1;
+    private static final byte PERMANENTLY_MARKED = 2;
+    
     @Override
-    public List<Integer> sort(DirectedGraph graph) 
+    public List<Integer> sort(AbstractGraph graph) 
             throws GraphContainsCyclesException {
         
-        List<Integer> sortedNodes = new ArrayList<>(graph.size());
-        Set<Integer> unmarkedNodes = new HashSet<>(graph.getAllNodes());
-        Set<Integer> temporarilyMarkedNodes = new HashSet<>();
-        Set<Integer> permanentlyMarkedNodes = new HashSet<>();
-        Deque<Integer> nodeStack = new ArrayDeque<>();
-        Deque<Iterator<Integer>> iteratorStack = new ArrayDeque<>();
+        DenseAdjacency adjacency = 
+                graph instanceof DenseAdjacency 
+                        ? (DenseAdjacency) graph 
+                        : new CompressedDirectedGraph(graph);
+        
+        int[] sortedIndices = sortIndices(adjacency);
+        List<Integer> sortedNodes = new ArrayList<>(sortedIndices.length);
         
-        while (!unmarkedNodes.isEmpty()) {
-            Integer root = removeNodeFromSet(unmarkedNodes);
-            nodeStack.add(root);
-            iteratorStack.add(graph.getChildrenOf(root).iterator());
-            visit(graph,
-                  nodeStack,
-                  iteratorStack, 
-                  unmarkedNodes,
-                  temporarilyMarkedNodes,
-                  permanentlyMarkedNodes,
-                  sortedNodes);
+        for (int index : sortedIndices) {
+            sortedNodes.add(adjacency.getNodeId(index));
         }
         
-        Collections.reverse(sortedNodes);
         return sortedNodes;
     }
     
-    private static void visit(DirectedGraph graph,
-                              Deque<Integer> nodeStack,
-                              Deque<Iterator<Integer>> iteratorStack,
-                              Set<Integer> unmarkedNodes,
-                              Set<Integer> temporarilyMarkedNodes,
-                              Set<Integer> permanentlyMarkedNodes,
-                              List<Integer> sortedNodes) {
-        mainLoop:
-        while (!nodeStack.isEmpty()) {
-            Integer node = nodeStack.peek();
-            Iterator<Integer> iterator = iteratorStack.peek();
+    /**
+     * Sorts the dense node indices of {@code graph} topologically.
+     * 
+     * @param graph the graph to sort.
+     * @return the dense node indices in topological order.
+     * @throws GraphContainsCyclesException if the graph contains cycles.
+     */
+    public int[] sortIndices(DenseAdjacency graph) 
+            throws GraphContainsCyclesException {
+        
+        int numberOfNodes = graph.size();
+        byte[] marks = new byte[numberOfNodes];
+        int[] nodeStack = new int[numberOfNodes];
+        int[] cursorStack = new int[numberOfNodes];
+        
+        // The nodes are finished in reverse topological order, so the output
+        // is filled from the end:
+        int[] sortedIndices = new int[numberOfNodes];
+        int outputIndex = numberOfNodes;
+        
+        for (int root = 0; root < numberOfNodes; root++) {
+            if (marks[root] != UNMARKED) {
+                continue;
+            }
             
-            unmarkedNodes.remove(node);
-            temporarilyMarkedNodes.add(node);
+            int stackSize = 0;
+            marks[root] = TEMPORARILY_MARKED;
+            nodeStack[stackSize] = root;
+            cursorStack[stackSize++] = 0;
             
-            while (iterator.hasNext()) {
-                Integer child = iterator.next();
+            while (stackSize > 0) {
+                int node = nodeStack[stackSize - 1];
+                int cursor = cursorStack[stackSize - 1];
                 
-                if (unmarkedNodes.contains(child)) {
-                    nodeStack.push(child);
-                    iteratorStack.push(graph.getChildrenOf(child).iterator());
-                    continue mainLoop;
-                } else if (temporarilyMarkedNodes.contains(child)) {
+                if (cursor == graph.getNumberOfChildren(node)) {
+                    marks[node] = PERMANENTLY_MARKED;
+                    sortedIndices[--outputIndex] = node;
+                    stackSize--;
+                    continue;
+                }
+                
+                cursorStack[stackSize - 1] = cursor + 1;
+                int child = graph.getChildIndex(node, cursor);
+                
+                if (marks[child] == UNMARKED) {
+                    marks[child] = TEMPORARILY_MARKED;
+                    nodeStack[stackSize] = child;
+                    cursorStack[stackSize++] = 0;
+                } else if (marks[child] == TEMPORARILY_MARKED) {
                     throw new GraphContainsCyclesException();
                 }
             }
-            
-            while (!iteratorStack.isEmpty() 
-                    && !iteratorStack.peek().hasNext()) {
-                iteratorStack.pop();
-                node = nodeStack.pop();
-                temporarilyMarkedNodes.remove(node);
-                permanentlyMarkedNodes.add(node);
-                sortedNodes.add(node);
-            }
         }
+        
+        return sortedIndices;
     }
 }
@@ -0,0 +1,53 @@
+package com.github.coderodde.graph.impl;
+
+/**
+ * This interface exposes the children of the nodes of a graph by dense node
+ * indices in the range {@code 0, 1, ..., size() - 1}. The graphs that keep
+ * their adjacency in primitive arrays or buffers implement it, so that the
+ * searches such as {@link DFSTopologicalSorter} may walk them directly instead
+ * of freezing them into a {@link CompressedDirectedGraph} first.
+ * <p>
+ * The dense indices of a mutable graph stay valid only until the next
+ * modification of the graph.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public interface DenseAdjacency {
+
+    /**
+     * Returns the number of nodes, which is also the number of dense indices.
+     *
+     * @return the number of nodes.
+     */
+    int size();
+
+    /**
+     * Returns the node with the dense index {@code index}.
+     *
+     * @param index the dense node index.
+     * @return the node.
+     */
+    int getNodeId(int index);
+
+    /**
+     * Returns the number of children of the node with the dense index
+     * {@code index}.
+     *
+     * @param index the dense node index.
+     * @return the number of children.
+     */
+    int getNumberOfChildren(int index);
+
+    /**
+     * Returns the dense index of the {@code position}th child of the node with
+     * the dense index {@code index}.
+     *
+     * @param index    the dense node index.
+     * @param position the position of the child, in the range
+     *                 {@code 0, 1, ..., getNumberOfChildren(index) - 1}.
+     * @return the dense index of the child.
+     */
+    int getChildIndex(int index, int position);
+}
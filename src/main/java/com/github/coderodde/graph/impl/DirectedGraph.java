@@ -1,6 +1,7 @@
 package com.github.coderodde.graph.impl;
 
 import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.IntDoubleConsumer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -9,6 +10,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * This class implements a directed graph.
@@ -21,20 +23,40 @@ import java.util.Set;
 public class DirectedGraph extends AbstractGraph {
 
     public static class Path {
-        private final DirectedGraph ownerGraph;
+        private final AbstractGraph ownerGraph;
         private final List<Integer> pathNodes = new ArrayList<>();
         private final double totalCost;
         
-        public Path(DirectedGraph ownerGraph, List<Integer> pathNodes) {
+        public Path(AbstractGraph ownerGraph, List<Integer> pathNodes) {
             this.ownerGraph = ownerGraph;
             this.pathNodes.addAll(pathNodes);
             this.totalCost = computeTotalCost();
         }
         
+        /**
+         * Constructs a path whose total cost is already known, which spares 
+         * the edge weight lookups.
+         * 
+         * @param ownerGraph the graph the path belongs to.
+         * @param pathNodes  the path nodes.
+         * @param totalCost  the total cost of the path.
+         */
+        public Path(AbstractGraph ownerGraph, 
+                    List<Integer> pathNodes, 
+                    double totalCost) {
+            this.ownerGraph = ownerGraph;
+            this.pathNodes.addAll(pathNodes);
+            this.totalCost = totalCost;
+        }
+        
         public Integer getNode(int index) {
             return pathNodes.get(index);
         }
         
+        public int size() {
+            return pathNodes.size();
+        }
+        
         public double getTotalCost() {
             return totalCost;
         }
@@ -43,7 +65,7 @@ public class DirectedGraph extends AbstractGraph {
             double totalCost = 0.0;
             
             for (int i = 0; i < pathNodes.size() - 1; ++i) {
-                totalCost = ownerGraph.getEdgeWeight(pathNodes.get(i),
+                totalCost += ownerGraph.getEdgeWeight(pathNodes.get(i),
                                                      pathNodes.get(i + 1));
             }
             
@@ -51,6 +73,15 @@ public class DirectedGraph extends AbstractGraph {
         }
     }
     
+    /**
+     * Adapts the {@link IntDoubleConsumer}s to {@link Map#forEach}, which 
+     * walks the neighbour maps without allocating an iterator. One adapter 
+     * per thread suffices, since {@link #forEach} restores the previous 
+     * consumer when a consumer iterates a neighbour map of its own.
+     */
+    private static final ThreadLocal<NeighbourFeeder> NEIGHBOUR_FEEDERS = 
+            ThreadLocal.withInitial(NeighbourFeeder::new);
+    
     private final Map<Integer, 
                       Map<Integer, 
                           Double>> parentMap = new LinkedHashMap<>();
@@ -70,7 +101,7 @@ public class DirectedGraph extends AbstractGraph {
      * @param graph the graph whose graph topology to assume. This includes the
      *              arc weights as well.
      */
-    public DirectedGraph(DirectedGraph graph) {
+    public DirectedGraph(AbstractGraph graph) {
         for (Integer node : graph.getAllNodes()) {
             parentMap.put(node, new HashMap<>());
             childMap.put(node, new HashMap<>());
@@ -93,7 +124,7 @@ public class DirectedGraph extends AbstractGraph {
             parentMap.get(node).putAll(parentsMap);
         }
         
-        edges = graph.edges;
+        edges = graph.getNumberOfEdges();
     }
 
     /**
@@ -325,6 +356,38 @@ public class DirectedGraph extends AbstractGraph {
                 <Integer>unmodifiableSet(parentMap.get(node).keySet());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachChild(int node, IntDoubleConsumer consumer) {
+        forEach(childMap, node, consumer);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachChild(Integer node, IntDoubleConsumer consumer) {
+        forEach(childMap, node, consumer);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachParent(int node, IntDoubleConsumer consumer) {
+        forEach(parentMap, node, consumer);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachParent(Integer node, IntDoubleConsumer consumer) {
+        forEach(parentMap, node, consumer);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -357,4 +420,36 @@ public class DirectedGraph extends AbstractGraph {
         callListenerssOnClearGraph();
         callListenersOnAny();
     }
-}
\ No newline at end of file
+    
+    private static void forEach(Map<Integer, Map<Integer, Double>> map,
+                                Integer node,
+                                IntDoubleConsumer consumer) {
+        Map<Integer, Double> neighbourMap = map.get(node);
+        
+        if (neighbourMap == null) {
+            throw new IllegalStateException(
+                    "Node " + node + " is not in the graph.");
+        }
+        
+        NeighbourFeeder feeder = NEIGHBOUR_FEEDERS.get();
+        IntDoubleConsumer previousConsumer = feeder.consumer;
+        feeder.consumer = consumer;
+        
+        try {
+            neighbourMap.forEach(feeder);
+        } finally {
+            feeder.consumer = previousConsumer;
+        }
+    }
+    
+    private static final class NeighbourFeeder 
+            implements BiConsumer<Integer, Double> {
+        
+        IntDoubleConsumer consumer;
+
+        @Override
+        public void accept(Integer node, Double weight) {
+            consumer.accept(node, weight);
+        }
+    }
+}
@@ -1,71 +1,106 @@
 package com.github.coderodde.graph.impl;
 
+import com.github.coderodde.graph.AbstractGraph;
 import com.github.coderodde.graph.GraphContainsCyclesException;
+import com.github.coderodde.graph.IntDoubleConsumer;
 import com.github.coderodde.graph.TopologicalSorter;
+import com.github.coderodde.graph.util.IntIntOpenHashMap;
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 
 /**
+ * This class implements Kahn's algorithm for topological sorting. Instead of
+ * removing the arcs from a copy of the graph, the algorithm counts down the 
+ * in-degrees of the nodes in an {@code int} array indexed by dense node ids 
+ * and keeps the nodes ready for output in an {@code int} queue. The input 
+ * graph is neither copied nor modified, and the sort runs in 
+ * {@code O(V + E)} time.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.6 ()
+ * @version 1.7 (Oct 18, 2026)
  * @since 1.6 ()
  */
 public class KahnsTopologicalSorter implements TopologicalSorter {
 
     @Override
-    public List<Integer> sort(DirectedGraph graph)
+    public List<Integer> sort(AbstractGraph graph)
             throws GraphContainsCyclesException {
         
-        List<Integer> children = new ArrayList<>(graph.size());
-        // First, get a copy of the input graph, since the algorithm  removes
-        // the arcs from the graph it works on:
-        graph = new DirectedGraph(graph);
-        List<Integer> sortedNodeList = new ArrayList<>(graph.size());
-        Set<Integer> nodesToProcess = getStartNodes(graph);
+        int numberOfNodes = graph.size();
+        int[] nodes = new int[numberOfNodes];
+        int[] inDegrees = new int[numberOfNodes];
+        IntIntOpenHashMap idMap = new IntIntOpenHashMap(numberOfNodes);
+        int id = 0;
         
-        while (!nodesToProcess.isEmpty()) {
-            Integer node = removeFromSet(nodesToProcess);
-            sortedNodeList.add(node);
-            
-            children.clear();
-            children.addAll(graph.getChildrenOf(node));
-            
-            for (Integer child : children) {
-                graph.removeEdge(node, child);
-                
-                if (graph.getParentsOf(child).size() == 0) {
-                    nodesToProcess.add(child);
-                }
+        for (Integer node : graph.getAllNodes()) {
+            nodes[id] = node;
+            idMap.put(node, id++);
+        }
+        
+        for (id = 0; id < numberOfNodes; id++) {
+            inDegrees[id] = graph.getParentsOf(nodes[id]).size();
+        }
+        
+        // The queue never holds more than all the nodes, each once:
+        int[] queue = new int[numberOfNodes];
+        int queueTail = 0;
+        
+        for (id = 0; id < numberOfNodes; id++) {
+            if (inDegrees[id] == 0) {
+                queue[queueTail++] = id;
             }
         }
         
-        if (graph.getNumberOfEdges() > 0) {
+        InDegreeDecrementer decrementer = 
+                new InDegreeDecrementer(idMap, inDegrees, queue, queueTail);
+        
+        for (int queueHead = 0; queueHead < decrementer.queueTail; queueHead++) {
+            graph.forEachChild(nodes[queue[queueHead]], decrementer);
+        }
+        
+        if (decrementer.queueTail < numberOfNodes) {
+            // The nodes on cycles never reach the in-degree of zero:
             throw new GraphContainsCyclesException();
         }
         
+        List<Integer> sortedNodeList = new ArrayList<>(numberOfNodes);
+        
+        for (int i = 0; i < numberOfNodes; i++) {
+            sortedNodeList.add(nodes[queue[i]]);
+        }
+        
         return sortedNodeList;
     }
     
-    private Set<Integer> getStartNodes(DirectedGraph graph) {
-        Set<Integer> set = new HashSet<>();
+    /**
+     * Decrements the in-degrees of the children of a dequeued node and 
+     * enqueues the children that have no unprocessed parents left.
+     */
+    private static final class InDegreeDecrementer 
+            implements IntDoubleConsumer {
         
-        for (Integer node : graph.getAllNodes()) {
-            if (graph.getParentsOf(node).isEmpty()) {
-                set.add(node);
-            }
+        private final IntIntOpenHashMap idMap;
+        private final int[] inDegrees;
+        private final int[] queue;
+        int queueTail;
+        
+        InDegreeDecrementer(IntIntOpenHashMap idMap, 
+                            int[] inDegrees, 
+                            int[] queue, 
+                            int queueTail) {
+            this.idMap = idMap;
+            this.inDegrees = inDegrees;
+            this.queue = queue;
+            this.queueTail = queueTail;
         }
         
-        return set;
-    }
-    
-    private Integer removeFromSet(Set<Integer> set) {
-        Iterator<Integer> iterator = set.iterator();
-        Integer node = iterator.next();
-        iterator.remove();
-        return node;
+        @Override
+        public void accept(int node, double weight) {
+            int id = idMap.getOrDefault(node, -1);
+            
+            if (--inDegrees[id] == 0) {
+                queue[queueTail++] = id;
+            }
+        }
     }
 }
@@ -0,0 +1,1099 @@
+package com.github.coderodde.graph.impl;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.IntDoubleConsumer;
+import com.github.coderodde.graph.util.IntIntOpenHashMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class implements a directed graph that keeps its arcs outside the Java
+ * heap. The children and the parents of each node are stored as neighbour and
+ * weight records in chunks mapped from two temporary files, which the garbage
+ * collector neither traces nor copies; the heap holds only the per-node
+ * bookkeeping in primitive arrays. The first chunk is sized by the expected
+ * number of arcs, up to the full chunk size, and the storage then grows one
+ * chunk at a time.
+ * <p>
+ * Unlike the direct buffers, the mapped chunks do not count against
+ * {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size, so
+ * the graph may grow beyond the heap. The files are created in the directory
+ * given by {@code java.io.tmpdir} and are deleted once closed; the operating
+ * system pages the chunks out to them under memory pressure. {@link #clear()}
+ * shrinks the storage back to its initial size and {@link #close()} releases
+ * it.
+ * <p>
+ * The neighbour list of a node occupies a block of records whose capacity is a
+ * power of two. A full block is replaced by a block twice as large, and the
+ * released blocks are recycled by the later allocations of the same capacity.
+ * <p>
+ * Unlike {@link PrimitiveDirectedGraph}, this class keeps no arc table, since
+ * such a table would take more heap than the arcs themselves. Hence the arc
+ * lookups, updates and removals scan the neighbour lists of the end nodes and
+ * run in time linear in their degrees.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public class OffHeapDirectedGraph extends AbstractGraph
+        implements DenseAdjacency, AutoCloseable {
+
+    private static final int DEFAULT_NODE_CAPACITY = 16;
+    private static final long DEFAULT_EDGE_CAPACITY = 16L;
+
+    /**
+     * The binary logarithm of the default number of records per chunk.
+     */
+    private static final int DEFAULT_CHUNK_SHIFT = 22;
+
+    /**
+     * Marks a node without a neighbour block.
+     */
+    private static final byte NO_BLOCK = -1;
+
+    /**
+     * Maps each node to its slot.
+     */
+    private final IntIntOpenHashMap slotMap;
+
+    private final RecordStorage storage;
+
+    private int[] slotNodes;
+    private long[] childBlocks;
+    private byte[] childBlockClasses;
+    private int[] childCounts;
+    private long[] parentBlocks;
+    private byte[] parentBlockClasses;
+    private int[] parentCounts;
+    private int nodes;
+
+    public OffHeapDirectedGraph() {
+        this(DEFAULT_NODE_CAPACITY, DEFAULT_EDGE_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty graph that can hold {@code nodeCapacity} nodes and
+     * {@code edgeCapacity} arcs without growing the storage.
+     *
+     * @param nodeCapacity the expected number of nodes.
+     * @param edgeCapacity the expected number of arcs.
+     */
+    public OffHeapDirectedGraph(int nodeCapacity, long edgeCapacity) {
+        this(nodeCapacity, edgeCapacity, DEFAULT_CHUNK_SHIFT);
+    }
+
+    OffHeapDirectedGraph(int nodeCapacity, long edgeCapacity, int chunkShift) {
+        if (edgeCapacity < 0L) {
+            throw new IllegalArgumentException(
+                    "Negative edge capacity: " + edgeCapacity);
+        }
+
+        this.slotMap = new IntIntOpenHashMap(nodeCapacity);
+
+        // Each arc takes a record as a child and another as a parent:
+        this.storage = new RecordStorage(chunkShift, 2L * edgeCapacity);
+        allocateSlots(Math.max(nodeCapacity, DEFAULT_NODE_CAPACITY));
+    }
+
+    /**
+     * A copy constructor. The input graph remains intact.
+     *
+     * @param graph the graph whose graph topology to assume. This includes the
+     *              arc weights as well.
+     */
+    public OffHeapDirectedGraph(AbstractGraph graph) {
+        this(graph.size(), graph.getNumberOfEdges());
+
+        for (Integer node : graph.getAllNodes()) {
+            addNode((int) node);
+        }
+
+        // The source has no duplicate arcs, so the arcs are appended without
+        // searching the neighbour lists:
+        for (Integer node : graph.getAllNodes()) {
+            int tailSlot = slotMap.getOrDefault(node, -1);
+            int tailNode = node;
+
+            graph.forEachChild(tailNode, (headNode, weight) -> {
+                appendChild(tailSlot, headNode, weight);
+                appendParent(slotMap.getOrDefault(headNode, -1),
+                             tailNode,
+                             weight);
+                edges++;
+                modificationCount++;
+            });
+        }
+    }
+
+    /**
+     * Returns the number of bytes of the off-heap storage allocated so far.
+     *
+     * @return the number of off-heap bytes.
+     */
+    public long getOffHeapBytes() {
+        return storage.getAllocatedBytes();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return nodes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNodeId(int index) {
+        return slotNodes[Objects.checkIndex(index, nodes)];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfChildren(int index) {
+        return childCounts[Objects.checkIndex(index, nodes)];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getChildIndex(int index, int position) {
+        int child = storage.getNode(
+                childBlocks[index]
+                        + Objects.checkIndex(position,
+                                             getNumberOfChildren(index)));
+
+        return slotMap.getOrDefault(child, -1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addNode(Integer node) {
+        Objects.requireNonNull(node);
+        return addNode((int) node);
+    }
+
+    /**
+     * Adds the node {@code node} to this graph.
+     *
+     * @see #addNode(Integer)
+     * @param node the node to add.
+     * @return {@code true} if the node was not present in the graph.
+     */
+    public boolean addNode(int node) {
+        if (slotMap.containsKey(node)) {
+            return false;
+        }
+
+        if (nodes == slotNodes.length) {
+            growSlots();
+        }
+
+        int slot = nodes++;
+        slotNodes[slot] = node;
+        childBlockClasses[slot] = NO_BLOCK;
+        childCounts[slot] = 0;
+        parentBlockClasses[slot] = NO_BLOCK;
+        parentCounts[slot] = 0;
+        slotMap.put(node, slot);
+        modificationCount++;
+
+        if (!listeners.isEmpty()) {
+            callListenersOnAddNode(node);
+            callListenersOnAny();
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNode(Integer node) {
+        Objects.requireNonNull(node);
+        return hasNode((int) node);
+    }
+
+    /**
+     * Checks whether the given node is present in this graph.
+     *
+     * @param node the query node.
+     * @return {@code true} if and only if the query node is in this graph.
+     */
+    public boolean hasNode(int node) {
+        return slotMap.containsKey(node);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean clearNode(Integer node) {
+        Objects.requireNonNull(node);
+        return clearNode((int) node);
+    }
+
+    /**
+     * Removes all the arcs incident on {@code node}.
+     *
+     * @see #clearNode(Integer)
+     * @param node the node to clear.
+     * @return {@code true} if the node had at least one incident arc.
+     */
+    public boolean clearNode(int node) {
+        int slot = slotMap.getOrDefault(node, -1);
+
+        if (slot == -1 || (childCounts[slot] == 0
+                        && parentCounts[slot] == 0)) {
+            return false;
+        }
+
+        // Remove from the back so that no record is moved within the blocks:
+        while (childCounts[slot] > 0) {
+            unlinkEdge(node,
+                       storage.getNode(childBlocks[slot]
+                                       + childCounts[slot] - 1));
+        }
+
+        while (parentCounts[slot] > 0) {
+            unlinkEdge(storage.getNode(parentBlocks[slot]
+                                       + parentCounts[slot] - 1),
+                       node);
+        }
+
+        modificationCount++;
+
+        if (!listeners.isEmpty()) {
+            callListenersOnClearNode(node);
+            callListenersOnAny();
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeNode(Integer node) {
+        Objects.requireNonNull(node);
+        return removeNode((int) node);
+    }
+
+    /**
+     * Removes the node {@code node} from this graph.
+     *
+     * @see #removeNode(Integer)
+     * @param node the node to remove.
+     * @return {@code true} if the node was present in the graph.
+     */
+    public boolean removeNode(int node) {
+        if (!hasNode(node)) {
+            return false;
+        }
+
+        clearNode(node);
+
+        int slot = slotMap.getOrDefault(node, -1);
+
+        if (childBlockClasses[slot] != NO_BLOCK) {
+            storage.free(childBlocks[slot], childBlockClasses[slot]);
+        }
+
+        if (parentBlockClasses[slot] != NO_BLOCK) {
+            storage.free(parentBlocks[slot], parentBlockClasses[slot]);
+        }
+
+        // Move the last slot into the hole so that the slots stay dense:
+        int lastSlot = --nodes;
+
+        if (slot != lastSlot) {
+            slotNodes[slot] = slotNodes[lastSlot];
+            childBlocks[slot] = childBlocks[lastSlot];
+            childBlockClasses[slot] = childBlockClasses[lastSlot];
+            childCounts[slot] = childCounts[lastSlot];
+            parentBlocks[slot] = parentBlocks[lastSlot];
+            parentBlockClasses[slot] = parentBlockClasses[lastSlot];
+            parentCounts[slot] = parentCounts[lastSlot];
+            slotMap.put(slotNodes[slot], slot);
+        }
+
+        slotMap.remove(node);
+        modificationCount++;
+
+        if (!listeners.isEmpty()) {
+            callListenersOnRemoveNode(node);
+            callListenersOnAny();
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addEdge(Integer tailNode, Integer headNode, double weight) {
+        Objects.requireNonNull(tailNode);
+        Objects.requireNonNull(headNode);
+        return addEdge((int) tailNode, (int) headNode, weight);
+    }
+
+    /**
+     * Creates an arc from {@code tailNode} to {@code headNode} with weight
+     * {@code weight}, or updates the weight if the arc is already present.
+     *
+     * @see #addEdge(Integer, Integer, double)
+     * @param tailNode the tail node of the arc.
+     * @param headNode the head node of the arc.
+     * @param weight   the weight of the arc.
+     * @return {@code true} if the arc was not present in the graph, or the
+     *         weight of the arc has changed.
+     */
+    public boolean addEdge(int tailNode, int headNode, double weight) {
+        storage.checkOpen();
+        addNode(tailNode);
+        addNode(headNode);
+
+        int tailSlot = slotMap.getOrDefault(tailNode, -1);
+        int headSlot = slotMap.getOrDefault(headNode, -1);
+        long childRecord = findChild(tailSlot, headNode);
+
+        if (childRecord != -1L) {
+            double oldWeight = storage.getWeight(childRecord);
+
+            if (oldWeight == weight) {
+                return false;
+            }
+
+            storage.setWeight(childRecord, weight);
+            storage.setWeight(findParent(headSlot, tailNode), weight);
+            modificationCount++;
+
+            if (!listeners.isEmpty()) {
+                callListenersOnUpdateEdgeWeight(tailNode,
+                                                headNode,
+                                                oldWeight,
+                                                weight);
+                callListenersOnAny();
+            }
+
+            return true;
+        }
+
+        appendChild(tailSlot, headNode, weight);
+        appendParent(headSlot, tailNode, weight);
+        modificationCount++;
+        edges++;
+
+        if (!listeners.isEmpty()) {
+            callListenersOnAddEdge(tailNode, headNode, weight);
+            callListenersOnAny();
+        }
+
+        return true;
+    }
+
+    /**
+     * Creates an arc from {@code tailNode} to {@code headNode} with the
+     * default weight of 1.0.
+     *
+     * @param tailNode the tail node of the arc.
+     * @param headNode the head node of the arc.
+     * @return {@code true} if the arc was not present in the graph, or the
+     *         weight of the arc has changed.
+     */
+    public boolean addEdge(int tailNode, int headNode) {
+        return addEdge(tailNode, headNode, 1.0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasEdge(Integer tailNode, Integer headNode) {
+        Objects.requireNonNull(tailNode);
+        Objects.requireNonNull(headNode);
+        return hasEdge((int) tailNode, (int) headNode);
+    }
+
+    /**
+     * Checks whether this graph contains the arc
+     * {@code (tailNode, headNode)}.
+     *
+     * @param tailNode the tail node of the query arc.
+     * @param headNode the head node of the query arc.
+     * @return {@code true} if and only if the query arc is in this graph.
+     */
+    public boolean hasEdge(int tailNode, int headNode) {
+        int tailSlot = slotMap.getOrDefault(tailNode, -1);
+        return tailSlot != -1 && findChild(tailSlot, headNode) != -1L;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getEdgeWeight(Integer tailNode, Integer headNode) {
+        Objects.requireNonNull(tailNode);
+        Objects.requireNonNull(headNode);
+        return getEdgeWeight((int) tailNode, (int) headNode);
+    }
+
+    /**
+     * Returns the weight of the arc {@code (tailNode, headNode)}, or
+     * {@link java.lang.Double#NaN} if there is no such arc.
+     *
+     * @param tailNode the tail node of the query arc.
+     * @param headNode the head node of the query arc.
+     * @return the weight of the arc.
+     */
+    public double getEdgeWeight(int tailNode, int headNode) {
+        int tailSlot = slotMap.getOrDefault(tailNode, -1);
+
+        if (tailSlot == -1) {
+            return Double.NaN;
+        }
+
+        long record = findChild(tailSlot, headNode);
+        return record == -1L ? Double.NaN : storage.getWeight(record);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeEdge(Integer tailNode, Integer headNode) {
+        Objects.requireNonNull(tailNode);
+        Objects.requireNonNull(headNode);
+        return removeEdge((int) tailNode, (int) headNode);
+    }
+
+    /**
+     * Removes the arc {@code (tailNode, headNode)}.
+     *
+     * @param tailNode the tail node of the arc to remove.
+     * @param headNode the head node of the arc to remove.
+     * @return {@code true} if and only if the arc was in this graph.
+     */
+    public boolean removeEdge(int tailNode, int headNode) {
+        if (!hasEdge(tailNode, headNode)) {
+            return false;
+        }
+
+        double weight = unlinkEdge(tailNode, headNode);
+        modificationCount++;
+
+        if (!listeners.isEmpty()) {
+            callListenersOnRemoveEdge(tailNode, headNode, weight);
+            callListenersOnAny();
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> getChildrenOf(Integer node) {
+        Objects.requireNonNull(node);
+        return new NeighbourSet(getSlot(node), true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> getParentsOf(Integer node) {
+        Objects.requireNonNull(node);
+        return new NeighbourSet(getSlot(node), false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachChild(int node, IntDoubleConsumer consumer) {
+        int slot = getSlot(node);
+        long block = childBlocks[slot];
+
+        for (long record = block, end = block + childCounts[slot];
+                record < end;
+                record++) {
+            consumer.accept(storage.getNode(record),
+                            storage.getWeight(record));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachParent(int node, IntDoubleConsumer consumer) {
+        int slot = getSlot(node);
+        long block = parentBlocks[slot];
+
+        for (long record = block, end = block + parentCounts[slot];
+                record < end;
+                record++) {
+            consumer.accept(storage.getNode(record),
+                            storage.getWeight(record));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> getAllNodes() {
+        return new NodeSet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        modificationCount += nodes + edges;
+        slotMap.clear();
+        storage.clear();
+        nodes = 0;
+        edges = 0;
+        callListenerssOnClearGraph();
+        callListenersOnAny();
+    }
+
+    /**
+     * Removes all the nodes and releases the off-heap storage together with
+     * its files. The graph may still hold the nodes afterwards, but adding an
+     * arc throws an {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        clear();
+        storage.close();
+    }
+
+    private int getSlot(int node) {
+        int slot = slotMap.getOrDefault(node, -1);
+
+        if (slot == -1) {
+            throw new IllegalStateException(
+                    "Node " + node + " is not in the graph.");
+        }
+
+        return slot;
+    }
+
+    private long findChild(int slot, int node) {
+        return storage.find(childBlocks[slot], childCounts[slot], node);
+    }
+
+    private long findParent(int slot, int node) {
+        return storage.find(parentBlocks[slot], parentCounts[slot], node);
+    }
+
+    private void appendChild(int slot, int node, double weight) {
+        int count = childCounts[slot]++;
+
+        if (childBlockClasses[slot] == NO_BLOCK
+                || count == 1 << childBlockClasses[slot]) {
+            byte blockClass = (byte) (childBlockClasses[slot] + 1);
+            long block = storage.allocate(blockClass);
+
+            if (count > 0) {
+                storage.copy(childBlocks[slot], block, count);
+                storage.free(childBlocks[slot], childBlockClasses[slot]);
+            }
+
+            childBlocks[slot] = block;
+            childBlockClasses[slot] = blockClass;
+        }
+
+        storage.setNode(childBlocks[slot] + count, node);
+        storage.setWeight(childBlocks[slot] + count, weight);
+    }
+
+    private void appendParent(int slot, int node, double weight) {
+        int count = parentCounts[slot]++;
+
+        if (parentBlockClasses[slot] == NO_BLOCK
+                || count == 1 << parentBlockClasses[slot]) {
+            byte blockClass = (byte) (parentBlockClasses[slot] + 1);
+            long block = storage.allocate(blockClass);
+
+            if (count > 0) {
+                storage.copy(parentBlocks[slot], block, count);
+                storage.free(parentBlocks[slot], parentBlockClasses[slot]);
+            }
+
+            parentBlocks[slot] = block;
+            parentBlockClasses[slot] = blockClass;
+        }
+
+        storage.setNode(parentBlocks[slot] + count, node);
+        storage.setWeight(parentBlocks[slot] + count, weight);
+    }
+
+    /**
+     * Removes the arc {@code (tailNode, headNode)} from the blocks without
+     * touching the modification count or the listeners. The arc must be
+     * present.
+     *
+     * @param tailNode the tail node of the arc.
+     * @param headNode the head node of the arc.
+     * @return the weight of the removed arc.
+     */
+    private double unlinkEdge(int tailNode, int headNode) {
+        int tailSlot = slotMap.getOrDefault(tailNode, -1);
+        int headSlot = slotMap.getOrDefault(headNode, -1);
+        long childRecord = findChild(tailSlot, headNode);
+        long parentRecord = findParent(headSlot, tailNode);
+        double weight = storage.getWeight(childRecord);
+
+        // Fill the holes with the last records:
+        storage.move(childBlocks[tailSlot] + --childCounts[tailSlot],
+                     childRecord);
+        storage.move(parentBlocks[headSlot] + --parentCounts[headSlot],
+                     parentRecord);
+        edges--;
+        return weight;
+    }
+
+    private void allocateSlots(int capacity) {
+        slotNodes = new int[capacity];
+        childBlocks = new long[capacity];
+        childBlockClasses = new byte[capacity];
+        childCounts = new int[capacity];
+        parentBlocks = new long[capacity];
+        parentBlockClasses = new byte[capacity];
+        parentCounts = new int[capacity];
+    }
+
+    private void growSlots() {
+        int capacity = slotNodes.length << 1;
+        slotNodes = Arrays.copyOf(slotNodes, capacity);
+        childBlocks = Arrays.copyOf(childBlocks, capacity);
+        childBlockClasses = Arrays.copyOf(childBlockClasses, capacity);
+        childCounts = Arrays.copyOf(childCounts, capacity);
+        parentBlocks = Arrays.copyOf(parentBlocks, capacity);
+        parentBlockClasses = Arrays.copyOf(parentBlockClasses, capacity);
+        parentCounts = Arrays.copyOf(parentCounts, capacity);
+    }
+
+    /**
+     * Stores the neighbour and weight records in two parallel sequences of
+     * chunks, mapped from a node file and a weight file and addressed by a
+     * {@code long} record index. The blocks are allocated from the top of the
+     * storage or recycled from the free list of their capacity.
+     */
+    private static final class RecordStorage {
+
+        /**
+         * The minimum number of records in the first chunk.
+         */
+        private static final int MINIMUM_FIRST_CHUNK_SIZE = 16;
+
+        private final int chunkShift;
+        private final long chunkMask;
+        private final long initialRecords;
+        private final FileChannel nodeChannel;
+        private final FileChannel weightChannel;
+        private final List<ByteBuffer> nodeChunks = new ArrayList<>();
+        private final List<ByteBuffer> weightChunks = new ArrayList<>();
+
+        /**
+         * {@code freeBlocks[c]} holds the released blocks of capacity
+         * {@code 2^c}.
+         */
+        private final long[][] freeBlocks = new long[Integer.SIZE][];
+        private final int[] freeBlockCounts = new int[Integer.SIZE];
+        private long top;
+
+        /**
+         * The number of records backed by the chunks.
+         */
+        private long capacity;
+
+        RecordStorage(int chunkShift, long initialRecords) {
+            this.chunkShift = chunkShift;
+            this.chunkMask = (1L << chunkShift) - 1L;
+            this.initialRecords = initialRecords;
+            this.nodeChannel = openFile();
+
+            try {
+                this.weightChannel = openFile();
+            } catch (UncheckedIOException ex) {
+                closeQuietly(nodeChannel);
+                throw ex;
+            }
+
+            reserve(initialRecords);
+        }
+
+        void checkOpen() {
+            if (!nodeChannel.isOpen()) {
+                throw new IllegalStateException("The graph is closed.");
+            }
+        }
+
+        long getAllocatedBytes() {
+            return capacity * (Integer.BYTES + Double.BYTES);
+        }
+
+        /**
+         * Makes sure that the first {@code records} records are backed by
+         * chunks. Until it reaches the full chunk size, the first chunk is
+         * sized to the next power of two and mapped again as it grows, so
+         * that the small graphs do not pay for an entire chunk.
+         */
+        void reserve(long records) {
+            if (records <= capacity) {
+                return;
+            }
+
+            checkOpen();
+            int chunkSize = 1 << chunkShift;
+
+            if (capacity < chunkSize) {
+                long firstChunkSize =
+                        Math.max(MINIMUM_FIRST_CHUNK_SIZE,
+                                 Long.highestOneBit(records - 1L) << 1);
+
+                mapFirstChunk((int) Math.min(firstChunkSize, chunkSize));
+            }
+
+            while (capacity < records) {
+                nodeChunks.add(map(nodeChannel,
+                                   capacity,
+                                   chunkSize,
+                                   Integer.BYTES));
+                weightChunks.add(map(weightChannel,
+                                     capacity,
+                                     chunkSize,
+                                     Double.BYTES));
+                capacity += chunkSize;
+            }
+        }
+
+        /**
+         * Maps a larger first chunk. The records written through the previous
+         * mapping are already in the files, so nothing is copied.
+         */
+        private void mapFirstChunk(int chunkSize) {
+            ByteBuffer nodeChunk =
+                    map(nodeChannel, 0L, chunkSize, Integer.BYTES);
+            ByteBuffer weightChunk =
+                    map(weightChannel, 0L, chunkSize, Double.BYTES);
+
+            if (nodeChunks.isEmpty()) {
+                nodeChunks.add(nodeChunk);
+                weightChunks.add(weightChunk);
+            } else {
+                nodeChunks.set(0, nodeChunk);
+                weightChunks.set(0, weightChunk);
+            }
+
+            capacity = chunkSize;
+        }
+
+        private static ByteBuffer map(FileChannel channel,
+                                      long firstRecord,
+                                      int records,
+                                      int recordSize) {
+            try {
+                return channel.map(FileChannel.MapMode.READ_WRITE,
+                                   firstRecord * recordSize,
+                                   (long) records * recordSize)
+                              .order(ByteOrder.nativeOrder());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private static FileChannel openFile() {
+            Path file = null;
+
+            try {
+                file = Files.createTempFile("dagsp-offheap", ".bin");
+                return FileChannel.open(file,
+                                        StandardOpenOption.READ,
+                                        StandardOpenOption.WRITE,
+                                        StandardOpenOption.DELETE_ON_CLOSE);
+            } catch (IOException ex) {
+                if (file != null) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException suppressed) {
+                        ex.addSuppressed(suppressed);
+                    }
+                }
+
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private static void closeQuietly(FileChannel channel) {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                // The channel is being discarded anyway.
+            }
+        }
+
+        long allocate(int blockClass) {
+            if (freeBlockCounts[blockClass] > 0) {
+                return freeBlocks[blockClass][--freeBlockCounts[blockClass]];
+            }
+
+            long block = top;
+            top += 1L << blockClass;
+            reserve(top);
+            return block;
+        }
+
+        void free(long block, int blockClass) {
+            long[] stack = freeBlocks[blockClass];
+            int count = freeBlockCounts[blockClass];
+
+            if (stack == null) {
+                stack = freeBlocks[blockClass] = new long[4];
+            } else if (count == stack.length) {
+                stack = freeBlocks[blockClass] =
+                        Arrays.copyOf(stack, count << 1);
+            }
+
+            stack[count] = block;
+            freeBlockCounts[blockClass]++;
+        }
+
+        /**
+         * Forgets all the blocks and shrinks the storage back to its initial
+         * size.
+         */
+        void clear() {
+            top = 0L;
+            Arrays.fill(freeBlocks, null);
+            Arrays.fill(freeBlockCounts, 0);
+
+            if (nodeChannel.isOpen()) {
+                release();
+                reserve(initialRecords);
+            }
+        }
+
+        /**
+         * Releases the chunks and deletes the files.
+         */
+        void close() {
+            if (!nodeChannel.isOpen()) {
+                return;
+            }
+
+            release();
+
+            // Closing the channels deletes the files:
+            try {
+                try {
+                    nodeChannel.close();
+                } finally {
+                    weightChannel.close();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        /**
+         * Drops the chunks and truncates the files, which returns their pages
+         * to the operating system right away. The mappings themselves go away
+         * once the collector reclaims the dropped buffers.
+         */
+        private void release() {
+            nodeChunks.clear();
+            weightChunks.clear();
+            capacity = 0L;
+
+            try {
+                nodeChannel.truncate(0L);
+                weightChannel.truncate(0L);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        /**
+         * Returns the index of the record holding {@code node} among the
+         * {@code count} records starting from {@code block}, or -1 if there is
+         * no such record.
+         */
+        long find(long block, int count, int node) {
+            for (long record = block, end = block + count;
+                    record < end;
+                    record++) {
+                if (getNode(record) == node) {
+                    return record;
+                }
+            }
+
+            return -1L;
+        }
+
+        void copy(long sourceBlock, long targetBlock, int count) {
+            for (int i = 0; i < count; i++) {
+                move(sourceBlock + i, targetBlock + i);
+            }
+        }
+
+        void move(long sourceRecord, long targetRecord) {
+            setNode(targetRecord, getNode(sourceRecord));
+            setWeight(targetRecord, getWeight(sourceRecord));
+        }
+
+        int getNode(long record) {
+            return nodeChunks.get((int) (record >>> chunkShift))
+                             .getInt((int) (record & chunkMask)
+                                     * Integer.BYTES);
+        }
+
+        void setNode(long record, int node) {
+            nodeChunks.get((int) (record >>> chunkShift))
+                      .putInt((int) (record & chunkMask) * Integer.BYTES,
+                              node);
+        }
+
+        double getWeight(long record) {
+            return weightChunks.get((int) (record >>> chunkShift))
+                               .getDouble((int) (record & chunkMask)
+                                          * Double.BYTES);
+        }
+
+        void setWeight(long record, double weight) {
+            weightChunks.get((int) (record >>> chunkShift))
+                        .putDouble((int) (record & chunkMask) * Double.BYTES,
+                                   weight);
+        }
+    }
+
+    /**
+     * An unmodifiable view over the children or the parents of a slot.
+     */
+    private final class NeighbourSet extends AbstractSet<Integer> {
+
+        private final int slot;
+        private final boolean children;
+
+        NeighbourSet(int slot, boolean children) {
+            this.slot = slot;
+            this.children = children;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            long block = children ? childBlocks[slot] : parentBlocks[slot];
+            return new RecordIterator(block, block + size());
+        }
+
+        @Override
+        public int size() {
+            return children ? childCounts[slot] : parentCounts[slot];
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Integer)) {
+                return false;
+            }
+
+            return children ? findChild(slot, (Integer) o) != -1L
+                            : findParent(slot, (Integer) o) != -1L;
+        }
+    }
+
+    /**
+     * An unmodifiable view over all the nodes.
+     */
+    private final class NodeSet extends AbstractSet<Integer> {
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<>() {
+
+                private int slot;
+
+                @Override
+                public boolean hasNext() {
+                    return slot < nodes;
+                }
+
+                @Override
+                public Integer next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    return slotNodes[slot++];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return nodes;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && hasNode((int) (Integer) o);
+        }
+    }
+
+    private final class RecordIterator implements Iterator<Integer> {
+
+        private final long end;
+        private long record;
+
+        RecordIterator(long begin, long end) {
+            this.record = begin;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return record < end;
+        }
+
+        @Override
+        public Integer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return storage.getNode(record++);
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package com.github.coderodde.graph.impl;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.IntDoubleConsumer;
+import com.github.coderodde.graph.util.IntIntOpenHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class maintains a topological order of a directed acyclic graph under
+ * edge insertions using the algorithm of Pearce and Kelly. When an arc
+ * {@code (u, v)} violates the current order, only the nodes whose topological
+ * indices lie in the window {@code [index(v), index(u)]} are inspected: the
+ * nodes reachable from {@code v} and the nodes reaching {@code u} within the
+ * window are searched, after which the two groups swap their positions. If
+ * {@code u} is reachable from {@code v}, the new arc closes a cycle.
+ * <p>
+ * Removing a node leaves a {@code null} hole in the order list; the holes are
+ * squeezed out by {@link #compact()}. Removing arcs never invalidates a
+ * topological order, so nothing has to be done for them.
+ * <p>
+ * The order is stored in the list and the map passed to the constructor so
+ * that an owner can expose them without copying.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class OnlineTopologicalOrder {
+
+    private final AbstractGraph graph;
+    private final List<Integer> order;
+    private final IntIntOpenHashMap indexMap;
+    private int holes;
+
+    // The search state, reused between the insertions:
+    private int[] visitStamps = new int[0];
+    private int visitStamp;
+    private int[] stack = new int[8];
+    private int[] forwardIndices = new int[8];
+    private int[] backwardIndices = new int[8];
+    private final ForwardVisitor forwardVisitor = new ForwardVisitor();
+    private final BackwardVisitor backwardVisitor = new BackwardVisitor();
+    private int stackSize;
+    private int forwardSize;
+    private int backwardSize;
+
+    /**
+     * Constructs an empty order over {@code graph}.
+     *
+     * @param graph the graph whose topological order to maintain.
+     */
+    public OnlineTopologicalOrder(AbstractGraph graph) {
+        this(graph, new ArrayList<>(), new IntIntOpenHashMap());
+    }
+
+    /**
+     * Constructs an empty order over {@code graph} stored in {@code order}
+     * and {@code indexMap}.
+     *
+     * @param graph    the graph whose topological order to maintain.
+     * @param order    the list holding the nodes in topological order.
+     * @param indexMap the map mapping each node to its index in
+     *                 {@code order}.
+     */
+    public OnlineTopologicalOrder(AbstractGraph graph,
+                                  List<Integer> order,
+                                  IntIntOpenHashMap indexMap) {
+        this.graph = Objects.requireNonNull(graph);
+        this.order = Objects.requireNonNull(order);
+        this.indexMap = Objects.requireNonNull(indexMap);
+        clear();
+    }
+
+    /**
+     * Replaces the current order with {@code sortedNodes}.
+     *
+     * @param sortedNodes all the graph nodes in topological order.
+     */
+    public void load(List<Integer> sortedNodes) {
+        clear();
+        order.addAll(sortedNodes);
+
+        for (int index = 0; index < order.size(); index++) {
+            indexMap.put(order.get(index), index);
+        }
+    }
+
+    /**
+     * Returns the list of nodes in topological order. The list may contain
+     * {@code null} holes left by removed nodes until {@link #compact()} is
+     * called.
+     *
+     * @return the order list.
+     */
+    public List<Integer> getOrder() {
+        return order;
+    }
+
+    /**
+     * Returns the topological index of {@code node}, or {@code -1} if the
+     * node is not in the order.
+     *
+     * @param node the query node.
+     * @return the topological index.
+     */
+    public int getIndex(int node) {
+        return indexMap.getOrDefault(node, -1);
+    }
+
+    /**
+     * Returns the number of holes left by removed nodes.
+     *
+     * @return the number of holes.
+     */
+    public int getNumberOfHoles() {
+        return holes;
+    }
+
+    /**
+     * Appends {@code node} to the end of the order unless it is already
+     * there. A new node has no arcs, so any position is valid for it.
+     *
+     * @param node the node to add.
+     */
+    public void addNode(int node) {
+        if (!indexMap.containsKey(node)) {
+            indexMap.put(node, order.size());
+            order.add(node);
+        }
+    }
+
+    /**
+     * Removes {@code node} from the order, leaving a hole in its place.
+     *
+     * @param node the node to remove.
+     */
+    public void removeNode(int node) {
+        int index = indexMap.getOrDefault(node, -1);
+
+        if (index != -1) {
+            indexMap.remove(node);
+            order.set(index, null);
+            holes++;
+        }
+    }
+
+    /**
+     * Squeezes out the holes left by the removed nodes, preserving the
+     * relative order of the remaining ones.
+     */
+    public void compact() {
+        if (holes == 0) {
+            return;
+        }
+
+        int write = 0;
+
+        for (int read = 0; read < order.size(); read++) {
+            Integer node = order.get(read);
+
+            if (node == null) {
+                continue;
+            }
+
+            if (read != write) {
+                order.set(write, node);
+                indexMap.put(node, write);
+            }
+
+            write++;
+        }
+
+        order.subList(write, order.size()).clear();
+        holes = 0;
+    }
+
+    /**
+     * Empties the order.
+     */
+    public void clear() {
+        order.clear();
+        indexMap.clear();
+        holes = 0;
+    }
+
+    /**
+     * Checks whether adding the arc {@code (tail, head)} to the graph would
+     * close a cycle. Only the nodes in the index window
+     * {@code [index(head), index(tail)]} are searched. The order is not
+     * modified.
+     *
+     * @param tail the tail node of the arc.
+     * @param head the head node of the arc.
+     * @return {@code true} if and only if the arc would close a cycle.
+     */
+    public boolean wouldCreateCycle(int tail, int head) {
+        if (tail == head) {
+            return true;
+        }
+
+        int lowerBound = indexMap.getOrDefault(head, -1);
+        int upperBound = indexMap.getOrDefault(tail, -1);
+
+        if (lowerBound == -1 || upperBound == -1 || lowerBound > upperBound) {
+            return false;
+        }
+
+        return !searchForward(head, lowerBound, upperBound);
+    }
+
+    /**
+     * Repairs the order for the arc {@code (tail, head)}, which may be added
+     * to the graph before or after this call; both of its end nodes must be
+     * in the graph already. The nodes missing from the order are appended
+     * first. If the arc closes a cycle, the order is left untouched, so that
+     * the caller may reject the arc without searching again via
+     * {@link #wouldCreateCycle(int, int)}.
+     *
+     * @param tail the tail node of the arc.
+     * @param head the head node of the arc.
+     * @return {@code true} if the order was repaired, {@code false} if the
+     *         arc closes a cycle.
+     */
+    public boolean addEdge(int tail, int head) {
+        if (tail == head) {
+            return false;
+        }
+
+        addNode(tail);
+        addNode(head);
+
+        int lowerBound = indexMap.getOrDefault(head, -1);
+        int upperBound = indexMap.getOrDefault(tail, -1);
+
+        if (lowerBound > upperBound) {
+            // The arc agrees with the current order:
+            return true;
+        }
+
+        if (!searchForward(head, lowerBound, upperBound)) {
+            return false;
+        }
+
+        searchBackward(tail, lowerBound);
+        reorder();
+        return true;
+    }
+
+    /**
+     * Collects into {@code forwardIndices} the indices of all the nodes
+     * reachable from {@code head} within the window.
+     *
+     * @return {@code false} if the node at {@code upperBound} was reached.
+     */
+    private boolean searchForward(int head, int lowerBound, int upperBound) {
+        newSearch();
+        forwardSize = 0;
+        forwardVisitor.upperBound = upperBound;
+        forwardVisitor.cycle = false;
+        visit(lowerBound);
+        forwardIndices = push(forwardIndices, forwardSize++, lowerBound);
+        push(head);
+
+        while (stackSize > 0) {
+            graph.forEachChild(stack[--stackSize], forwardVisitor);
+
+            if (forwardVisitor.cycle) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Collects into {@code backwardIndices} the indices of all the nodes
+     * reaching {@code tail} within the window. Must be called right after a
+     * successful {@link #searchForward(int, int, int)}.
+     */
+    private void searchBackward(int tail, int lowerBound) {
+        int upperBound = indexMap.getOrDefault(tail, -1);
+        backwardSize = 0;
+        backwardVisitor.lowerBound = lowerBound;
+        visit(upperBound);
+        backwardIndices = push(backwardIndices, backwardSize++, upperBound);
+        push(tail);
+
+        while (stackSize > 0) {
+            graph.forEachParent(stack[--stackSize], backwardVisitor);
+        }
+    }
+
+    /**
+     * Moves the nodes reaching the tail in front of the nodes reachable from
+     * the head, reusing the union of their current slots.
+     */
+    private void reorder() {
+        Arrays.sort(forwardIndices, 0, forwardSize);
+        Arrays.sort(backwardIndices, 0, backwardSize);
+
+        int total = backwardSize + forwardSize;
+        Integer[] nodes = new Integer[total];
+        int[] slots = new int[total];
+
+        for (int i = 0; i < backwardSize; i++) {
+            nodes[i] = order.get(backwardIndices[i]);
+            slots[i] = backwardIndices[i];
+        }
+
+        for (int i = 0; i < forwardSize; i++) {
+            nodes[backwardSize + i] = order.get(forwardIndices[i]);
+            slots[backwardSize + i] = forwardIndices[i];
+        }
+
+        Arrays.sort(slots);
+
+        for (int i = 0; i < total; i++) {
+            order.set(slots[i], nodes[i]);
+            indexMap.put(nodes[i], slots[i]);
+        }
+    }
+
+    private void newSearch() {
+        if (visitStamps.length < order.size()) {
+            visitStamps = new int[Math.max(order.size(),
+                                           2 * visitStamps.length)];
+        }
+
+        if (++visitStamp == 0) {
+            Arrays.fill(visitStamps, 0);
+            visitStamp = 1;
+        }
+
+        stackSize = 0;
+    }
+
+    private boolean visit(int index) {
+        if (visitStamps[index] == visitStamp) {
+            return false;
+        }
+
+        visitStamps[index] = visitStamp;
+        return true;
+    }
+
+    private void push(int node) {
+        stack = push(stack, stackSize++, node);
+    }
+
+    private static int[] push(int[] array, int size, int value) {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, 2 * array.length);
+        }
+
+        array[size] = value;
+        return array;
+    }
+
+    private final class ForwardVisitor implements IntDoubleConsumer {
+
+        int upperBound;
+        boolean cycle;
+
+        @Override
+        public void accept(int node, double weight) {
+            int index = indexMap.getOrDefault(node, -1);
+
+            if (index == upperBound) {
+                cycle = true;
+            } else if (index >= 0 && index < upperBound && visit(index)) {
+                forwardIndices = push(forwardIndices, forwardSize++, index);
+                push(node);
+            }
+        }
+    }
+
+    private final class BackwardVisitor implements IntDoubleConsumer {
+
+        int lowerBound;
+
+        @Override
+        public void accept(int node, double weight) {
+            int index = indexMap.getOrDefault(node, -1);
+
+            if (index > lowerBound && visit(index)) {
+                backwardIndices = push(backwardIndices, backwardSize++, index);
+                push(node);
+            }
+        }
+    }
+}
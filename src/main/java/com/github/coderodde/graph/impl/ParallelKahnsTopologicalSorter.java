@@ -0,0 +1,215 @@
+package com.github.coderodde.graph.impl;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.GraphContainsCyclesException;
+import com.github.coderodde.graph.TopologicalSorter;
+import com.github.coderodde.graph.util.IntIntOpenHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * This class implements a level-synchronous parallel variant of Kahn's
+ * algorithm. First, the in-degrees of all the nodes are computed in
+ * parallel. The nodes with no parents form the level 0. Then, the level
+ * {@code i + 1} is produced by relaxing the arcs of the level {@code i} in
+ * parallel: each thread decrements the in-degrees of the children atomically
+ * and claims a slot in the next level for each child whose in-degree drops to
+ * zero. Levels smaller than {@link #PARALLEL_LEVEL_THRESHOLD} are processed on
+ * one thread, where forking would cost more than it saves.
+ * <p>
+ * The level of a node is the number of arcs on the longest path ending at it;
+ * {@link #sortLevels(AbstractGraph)} exposes the levels. Each level is sorted
+ * by the iteration order of {@link AbstractGraph#getAllNodes()}, so the
+ * results do not depend on thread scheduling.
+ * <p>
+ * The graph must not be modified while it is being sorted.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class ParallelKahnsTopologicalSorter implements TopologicalSorter {
+
+    /**
+     * The minimum level size processed in parallel.
+     */
+    public static final int PARALLEL_LEVEL_THRESHOLD = 1024;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a sorter running in the common fork/join pool.
+     */
+    public ParallelKahnsTopologicalSorter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a sorter running in {@code pool}.
+     *
+     * @param pool the pool to run in.
+     */
+    public ParallelKahnsTopologicalSorter(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    @Override
+    public List<Integer> sort(AbstractGraph graph)
+            throws GraphContainsCyclesException {
+        Levels levels = computeLevels(graph);
+        List<Integer> sortedNodes = new ArrayList<>(levels.order.length);
+
+        for (int id : levels.order) {
+            sortedNodes.add(levels.nodes[id]);
+        }
+
+        return sortedNodes;
+    }
+
+    /**
+     * Sorts {@code graph} topologically and groups the nodes by their
+     * topological levels. The list at the index {@code i} contains all the
+     * nodes whose longest incoming path has {@code i} arcs. Concatenating the
+     * levels yields a topological order.
+     *
+     * @param graph the graph to sort.
+     * @return the list of levels.
+     * @throws GraphContainsCyclesException if the graph contains cycles.
+     */
+    public List<List<Integer>> sortLevels(AbstractGraph graph)
+            throws GraphContainsCyclesException {
+        Levels levels = computeLevels(graph);
+        List<List<Integer>> result = new ArrayList<>(levels.numberOfLevels);
+
+        for (int level = 0; level < levels.numberOfLevels; level++) {
+            int begin = levels.levelOffsets[level];
+            int end = levels.levelOffsets[level + 1];
+            List<Integer> levelNodes = new ArrayList<>(end - begin);
+
+            for (int i = begin; i < end; i++) {
+                levelNodes.add(levels.nodes[levels.order[i]]);
+            }
+
+            result.add(levelNodes);
+        }
+
+        return result;
+    }
+
+    private Levels computeLevels(AbstractGraph graph) {
+        Objects.requireNonNull(graph);
+        Levels levels = pool.submit(() -> new Levels(graph)).join();
+
+        if (levels.processed < levels.nodes.length) {
+            throw new GraphContainsCyclesException();
+        }
+
+        return levels;
+    }
+
+    private static IntStream range(int begin, int end) {
+        IntStream stream = IntStream.range(begin, end);
+        return end - begin < PARALLEL_LEVEL_THRESHOLD ? stream
+                                                       : stream.parallel();
+    }
+
+    /**
+     * Holds the result of a level-synchronous sweep. The nodes are referred
+     * to by their dense ids: the positions in the node iteration order.
+     */
+    private static final class Levels {
+
+        /**
+         * Maps the dense ids to the nodes.
+         */
+        final int[] nodes;
+
+        /**
+         * The dense ids in the level order. Only the first {@link #processed}
+         * entries are valid; fewer than {@code nodes.length} means a cycle.
+         */
+        final int[] order;
+
+        /**
+         * The level {@code i} occupies {@code order[levelOffsets[i]]} through
+         * {@code order[levelOffsets[i + 1] - 1]}.
+         */
+        int[] levelOffsets = new int[8];
+        int numberOfLevels;
+        int processed;
+
+        Levels(AbstractGraph graph) {
+            int numberOfNodes = graph.size();
+            this.nodes = new int[numberOfNodes];
+            this.order = new int[numberOfNodes];
+
+            IntIntOpenHashMap idMap = new IntIntOpenHashMap(numberOfNodes);
+            int id = 0;
+
+            for (Integer node : graph.getAllNodes()) {
+                nodes[id] = node;
+                idMap.put(node, id++);
+            }
+
+            AtomicIntegerArray inDegrees =
+                    new AtomicIntegerArray(numberOfNodes);
+
+            range(0, numberOfNodes).forEach(
+                    i -> inDegrees.set(i,
+                                       graph.getParentsOf(nodes[i]).size()));
+
+            int[] sources = range(0, numberOfNodes)
+                    .filter(i -> inDegrees.get(i) == 0)
+                    .toArray();
+
+            System.arraycopy(sources, 0, order, 0, sources.length);
+
+            AtomicInteger tail = new AtomicInteger(sources.length);
+            int levelBegin = 0;
+            int levelEnd = sources.length;
+
+            while (levelBegin < levelEnd) {
+                addLevelOffset(levelBegin);
+
+                range(levelBegin, levelEnd).forEach(
+                        i -> graph.forEachChild(
+                                nodes[order[i]],
+                                (child, weight) -> {
+                                    int childId = idMap.getOrDefault(child,
+                                                                     -1);
+
+                                    if (inDegrees.decrementAndGet(childId)
+                                            == 0) {
+                                        order[tail.getAndIncrement()] =
+                                                childId;
+                                    }
+                                }));
+
+                levelBegin = levelEnd;
+                levelEnd = tail.get();
+
+                // Make the level independent of the thread interleaving:
+                Arrays.parallelSort(order, levelBegin, levelEnd);
+            }
+
+            addLevelOffset(levelEnd);
+            numberOfLevels--;
+            processed = levelEnd;
+        }
+
+        private void addLevelOffset(int offset) {
+            if (numberOfLevels == levelOffsets.length) {
+                levelOffsets = Arrays.copyOf(levelOffsets,
+                                             2 * levelOffsets.length);
+            }
+
+            levelOffsets[numberOfLevels++] = offset;
+        }
+    }
+}
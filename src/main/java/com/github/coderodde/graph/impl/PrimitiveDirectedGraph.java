@@ -0,0 +1,733 @@
+package com.github.coderodde.graph.impl;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.IntDoubleConsumer;
+import com.github.coderodde.graph.util.IntIntOpenHashMap;
+import com.github.coderodde.graph.util.LongLongOpenHashMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class implements a directed graph that stores its nodes and arcs in
+ * primitive arrays and open addressing hash tables. Each node occupies a dense
+ * slot; the children and the parents of a slot are kept in growable
+ * {@code int}/{@code double} arrays. The arc table maps each arc to its
+ * positions in the child array of its tail node and in the parent array of its
+ * head node, which makes arc lookups, updates and removals run in constant
+ * time.
+ * <p>
+ * In addition to the {@link Integer}-based API of {@link AbstractGraph}, this
+ * class offers {@code int} overloads that do not box the nodes, and exposes the
+ * slots as the dense indices of {@link DenseAdjacency}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public class PrimitiveDirectedGraph extends AbstractGraph
+        implements DenseAdjacency {
+
+    private static final int DEFAULT_NODE_CAPACITY = 16;
+    private static final int[] EMPTY_NODE_ARRAY = {};
+    private static final double[] EMPTY_WEIGHT_ARRAY = {};
+    private static final long ABSENT = -1L;
+
+    /**
+     * Maps each node to its slot.
+     */
+    private final IntIntOpenHashMap slotMap;
+
+    /**
+     * Maps each arc {@code (tail, head)} to the position of {@code head} in the
+     * child array of {@code tail} (the upper 32 bits) and to the position of
+     * {@code tail} in the parent array of {@code head} (the lower 32 bits).
+     */
+    private final LongLongOpenHashMap edgeMap;
+
+    private int[] slotNodes;
+    private int[][] childNodes;
+    private double[][] childWeights;
+    private int[] childCounts;
+    private int[][] parentNodes;
+    private double[][] parentWeights;
+    private int[] parentCounts;
+    private int nodes;
+
+    public PrimitiveDirectedGraph() {
+        this(DEFAULT_NODE_CAPACITY, DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty graph that can hold {@code nodeCapacity} nodes and
+     * {@code edgeCapacity} arcs without resizing the hash tables.
+     *
+     * @param nodeCapacity the expected number of nodes.
+     * @param edgeCapacity the expected number of arcs.
+     */
+    public PrimitiveDirectedGraph(int nodeCapacity, int edgeCapacity) {
+        this.slotMap = new IntIntOpenHashMap(nodeCapacity);
+        this.edgeMap = new LongLongOpenHashMap(edgeCapacity);
+        allocateSlots(Math.max(nodeCapacity, DEFAULT_NODE_CAPACITY));
+    }
+
+    /**
+     * A copy constructor. The input graph remains intact.
+     *
+     * @param graph the graph whose graph topology to assume. This includes the
+     *              arc weights as well.
+     */
+    public PrimitiveDirectedGraph(AbstractGraph graph) {
+        this(graph.size(), graph.getNumberOfEdges());
+
+        for (Integer node : graph.getAllNodes()) {
+            addNode((int) node);
+        }
+
+        for (Integer node : graph.getAllNodes()) {
+            int tailNode = node;
+            graph.forEachChild(
+                    tailNode,
+                    (headNode, weight) -> addEdge(tailNode, headNode, weight));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return nodes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNodeId(int index) {
+        return slotNodes[Objects.checkIndex(index, nodes)];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfChildren(int index) {
+        return childCounts[Objects.checkIndex(index, nodes)];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getChildIndex(int index, int position) {
+        int child = childNodes[index][
+                Objects.checkIndex(position, getNumberOfChildren(index))];
+
+        return slotMap.getOrDefault(child, -1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addNode(Integer node) {
+        Objects.requireNonNull(node);
+        return addNode((int) node);
+    }
+
+    /**
+     * Adds the node {@code node} to this graph.
+     *
+     * @see #addNode(Integer)
+     * @param node the node to add.
+     * @return {@code true} if the node was not present in the graph.
+     */
+    public boolean addNode(int node) {
+        if (slotMap.containsKey(node)) {
+            return false;
+        }
+
+        if (nodes == slotNodes.length) {
+            growSlots();
+        }
+
+        int slot = nodes++;
+        slotNodes[slot] = node;
+        childNodes[slot] = EMPTY_NODE_ARRAY;
+        childWeights[slot] = EMPTY_WEIGHT_ARRAY;
+        childCounts[slot] = 0;
+        parentNodes[slot] = EMPTY_NODE_ARRAY;
+        parentWeights[slot] = EMPTY_WEIGHT_ARRAY;
+        parentCounts[slot] = 0;
+        slotMap.put(node, slot);
+        modificationCount++;
+
+        if (!listeners.isEmpty()) {
+            callListenersOnAddNode(node);
+            callListenersOnAny();
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNode(Integer node) {
+        Objects.requireNonNull(node);
+        return hasNode((int) node);
+    }
+
+    /**
+     * Checks whether the given node is present in this graph.
+     *
+     * @param node the query node.
+     * @return {@code true} if and only if the query node is in this graph.
+     */
+    public boolean hasNode(int node) {
+        return slotMap.containsKey(node);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean clearNode(Integer node) {
+        Objects.requireNonNull(node);
+        return clearNode((int) node);
+    }
+
+    /**
+     * Removes all the arcs incident on {@code node}.
+     *
+     * @see #clearNode(Integer)
+     * @param node the node to clear.
+     * @return {@code true} if the node had at least one incident arc.
+     */
+    public boolean clearNode(int node) {
+        int slot = slotMap.getOrDefault(node, -1);
+
+        if (slot == -1 || (childCounts[slot] == 0
+                        && parentCounts[slot] == 0)) {
+            return false;
+        }
+
+        // Remove from the back so that no arc is moved within the arrays:
+        while (childCounts[slot] > 0) {
+            unlinkEdge(node, childNodes[slot][childCounts[slot] - 1]);
+        }
+
+        while (parentCounts[slot] > 0) {
+            unlinkEdge(parentNodes[slot][parentCounts[slot] - 1], node);
+        }
+
+        modificationCount++;
+
+        if (!listeners.isEmpty()) {
+            callListenersOnClearNode(node);
+            callListenersOnAny();
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeNode(Integer node) {
+        Objects.requireNonNull(node);
+        return removeNode((int) node);
+    }
+
+    /**
+     * Removes the node {@code node} from this graph.
+     *
+     * @see #removeNode(Integer)
+     * @param node the node to remove.
+     * @return {@code true} if the node was present in the graph.
+     */
+    public boolean removeNode(int node) {
+        if (!hasNode(node)) {
+            return false;
+        }
+
+        clearNode(node);
+
+        // Move the last slot into the hole so that the slots stay dense:
+        int slot = slotMap.getOrDefault(node, -1);
+        int lastSlot = --nodes;
+
+        if (slot != lastSlot) {
+            slotNodes[slot] = slotNodes[lastSlot];
+            childNodes[slot] = childNodes[lastSlot];
+            childWeights[slot] = childWeights[lastSlot];
+            childCounts[slot] = childCounts[lastSlot];
+            parentNodes[slot] = parentNodes[lastSlot];
+            parentWeights[slot] = parentWeights[lastSlot];
+            parentCounts[slot] = parentCounts[lastSlot];
+            slotMap.put(slotNodes[slot], slot);
+        }
+
+        childNodes[lastSlot] = null;
+        childWeights[lastSlot] = null;
+        parentNodes[lastSlot] = null;
+        parentWeights[lastSlot] = null;
+        slotMap.remove(node);
+        modificationCount++;
+
+        if (!listeners.isEmpty()) {
+            callListenersOnRemoveNode(node);
+            callListenersOnAny();
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addEdge(Integer tailNode, Integer headNode, double weight) {
+        Objects.requireNonNull(tailNode);
+        Objects.requireNonNull(headNode);
+        return addEdge((int) tailNode, (int) headNode, weight);
+    }
+
+    /**
+     * Creates an arc from {@code tailNode} to {@code headNode} with weight
+     * {@code weight}, or updates the weight if the arc is already present.
+     *
+     * @see #addEdge(Integer, Integer, double)
+     * @param tailNode the tail node of the arc.
+     * @param headNode the head node of the arc.
+     * @param weight   the weight of the arc.
+     * @return {@code true} if the arc was not present in the graph, or the
+     *         weight of the arc has changed.
+     */
+    public boolean addEdge(int tailNode, int headNode, double weight) {
+        addNode(tailNode);
+        addNode(headNode);
+
+        long key = edgeKey(tailNode, headNode);
+        long positions = edgeMap.getOrDefault(key, ABSENT);
+        int tailSlot = slotMap.getOrDefault(tailNode, -1);
+        int headSlot = slotMap.getOrDefault(headNode, -1);
+
+        if (positions != ABSENT) {
+            int childPosition = (int) (positions >>> 32);
+            double oldWeight = childWeights[tailSlot][childPosition];
+
+            if (oldWeight == weight) {
+                return false;
+            }
+
+            childWeights[tailSlot][childPosition] = weight;
+            parentWeights[headSlot][(int) positions] = weight;
+            modificationCount++;
+
+            if (!listeners.isEmpty()) {
+                callListenersOnUpdateEdgeWeight(tailNode,
+                                                headNode,
+                                                oldWeight,
+                                                weight);
+                callListenersOnAny();
+            }
+
+            return true;
+        }
+
+        int childPosition = appendChild(tailSlot, headNode, weight);
+        int parentPosition = appendParent(headSlot, tailNode, weight);
+        edgeMap.put(key, pack(childPosition, parentPosition));
+        modificationCount++;
+        edges++;
+
+        if (!listeners.isEmpty()) {
+            callListenersOnAddEdge(tailNode, headNode, weight);
+            callListenersOnAny();
+        }
+
+        return true;
+    }
+
+    /**
+     * Creates an arc from {@code tailNode} to {@code headNode} with the
+     * default weight of 1.0.
+     *
+     * @param tailNode the tail node of the arc.
+     * @param headNode the head node of the arc.
+     * @return {@code true} if the arc was not present in the graph, or the
+     *         weight of the arc has changed.
+     */
+    public boolean addEdge(int tailNode, int headNode) {
+        return addEdge(tailNode, headNode, 1.0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasEdge(Integer tailNode, Integer headNode) {
+        Objects.requireNonNull(tailNode);
+        Objects.requireNonNull(headNode);
+        return hasEdge((int) tailNode, (int) headNode);
+    }
+
+    /**
+     * Checks whether this graph contains the arc
+     * {@code (tailNode, headNode)}.
+     *
+     * @param tailNode the tail node of the query arc.
+     * @param headNode the head node of the query arc.
+     * @return {@code true} if and only if the query arc is in this graph.
+     */
+    public boolean hasEdge(int tailNode, int headNode) {
+        return edgeMap.containsKey(edgeKey(tailNode, headNode));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getEdgeWeight(Integer tailNode, Integer headNode) {
+        Objects.requireNonNull(tailNode);
+        Objects.requireNonNull(headNode);
+        return getEdgeWeight((int) tailNode, (int) headNode);
+    }
+
+    /**
+     * Returns the weight of the arc {@code (tailNode, headNode)}, or
+     * {@link java.lang.Double#NaN} if there is no such arc.
+     *
+     * @param tailNode the tail node of the query arc.
+     * @param headNode the head node of the query arc.
+     * @return the weight of the arc.
+     */
+    public double getEdgeWeight(int tailNode, int headNode) {
+        long positions = edgeMap.getOrDefault(edgeKey(tailNode, headNode),
+                                              ABSENT);
+
+        if (positions == ABSENT) {
+            return Double.NaN;
+        }
+
+        int tailSlot = slotMap.getOrDefault(tailNode, -1);
+        return childWeights[tailSlot][(int) (positions >>> 32)];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeEdge(Integer tailNode, Integer headNode) {
+        Objects.requireNonNull(tailNode);
+        Objects.requireNonNull(headNode);
+        return removeEdge((int) tailNode, (int) headNode);
+    }
+
+    /**
+     * Removes the arc {@code (tailNode, headNode)}.
+     *
+     * @param tailNode the tail node of the arc to remove.
+     * @param headNode the head node of the arc to remove.
+     * @return {@code true} if and only if the arc was in this graph.
+     */
+    public boolean removeEdge(int tailNode, int headNode) {
+        if (!hasEdge(tailNode, headNode)) {
+            return false;
+        }
+
+        double weight = unlinkEdge(tailNode, headNode);
+        modificationCount++;
+
+        if (!listeners.isEmpty()) {
+            callListenersOnRemoveEdge(tailNode, headNode, weight);
+            callListenersOnAny();
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> getChildrenOf(Integer node) {
+        Objects.requireNonNull(node);
+        return new NeighbourSet(getSlot(node), true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> getParentsOf(Integer node) {
+        Objects.requireNonNull(node);
+        return new NeighbourSet(getSlot(node), false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachChild(int node, IntDoubleConsumer consumer) {
+        int slot = getSlot(node);
+        int[] children = childNodes[slot];
+        double[] weights = childWeights[slot];
+
+        for (int i = 0, count = childCounts[slot]; i < count; i++) {
+            consumer.accept(children[i], weights[i]);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachParent(int node, IntDoubleConsumer consumer) {
+        int slot = getSlot(node);
+        int[] parents = parentNodes[slot];
+        double[] weights = parentWeights[slot];
+
+        for (int i = 0, count = parentCounts[slot]; i < count; i++) {
+            consumer.accept(parents[i], weights[i]);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> getAllNodes() {
+        return new NodeSet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        modificationCount += nodes + edges;
+        slotMap.clear();
+        edgeMap.clear();
+        Arrays.fill(childNodes, 0, nodes, null);
+        Arrays.fill(childWeights, 0, nodes, null);
+        Arrays.fill(parentNodes, 0, nodes, null);
+        Arrays.fill(parentWeights, 0, nodes, null);
+        nodes = 0;
+        edges = 0;
+        callListenerssOnClearGraph();
+        callListenersOnAny();
+    }
+
+    private int getSlot(int node) {
+        int slot = slotMap.getOrDefault(node, -1);
+
+        if (slot == -1) {
+            throw new IllegalStateException(
+                    "Node " + node + " is not in the graph.");
+        }
+
+        return slot;
+    }
+
+    private int appendChild(int slot, int node, double weight) {
+        int position = childCounts[slot]++;
+
+        if (position == childNodes[slot].length) {
+            int capacity = Math.max(2, position << 1);
+            childNodes[slot] = Arrays.copyOf(childNodes[slot], capacity);
+            childWeights[slot] = Arrays.copyOf(childWeights[slot], capacity);
+        }
+
+        childNodes[slot][position] = node;
+        childWeights[slot][position] = weight;
+        return position;
+    }
+
+    private int appendParent(int slot, int node, double weight) {
+        int position = parentCounts[slot]++;
+
+        if (position == parentNodes[slot].length) {
+            int capacity = Math.max(2, position << 1);
+            parentNodes[slot] = Arrays.copyOf(parentNodes[slot], capacity);
+            parentWeights[slot] = Arrays.copyOf(parentWeights[slot], capacity);
+        }
+
+        parentNodes[slot][position] = node;
+        parentWeights[slot][position] = weight;
+        return position;
+    }
+
+    /**
+     * Removes the arc {@code (tailNode, headNode)} from the arrays and the arc
+     * table without touching the modification count or the listeners. The
+     * arc must be present.
+     *
+     * @param tailNode the tail node of the arc.
+     * @param headNode the head node of the arc.
+     * @return the weight of the removed arc.
+     */
+    private double unlinkEdge(int tailNode, int headNode) {
+        long key = edgeKey(tailNode, headNode);
+        long positions = edgeMap.getOrDefault(key, ABSENT);
+        int tailSlot = slotMap.getOrDefault(tailNode, -1);
+        int headSlot = slotMap.getOrDefault(headNode, -1);
+        int childPosition = (int) (positions >>> 32);
+        int parentPosition = (int) positions;
+        double weight = childWeights[tailSlot][childPosition];
+
+        // Fill the hole in the child array of the tail with its last child:
+        int lastChildPosition = --childCounts[tailSlot];
+
+        if (childPosition != lastChildPosition) {
+            int movedChild = childNodes[tailSlot][lastChildPosition];
+            childNodes[tailSlot][childPosition] = movedChild;
+            childWeights[tailSlot][childPosition] =
+                    childWeights[tailSlot][lastChildPosition];
+
+            long movedKey = edgeKey(tailNode, movedChild);
+            long movedPositions = edgeMap.getOrDefault(movedKey, ABSENT);
+            edgeMap.put(movedKey, pack(childPosition, (int) movedPositions));
+        }
+
+        // Fill the hole in the parent array of the head with its last parent:
+        int lastParentPosition = --parentCounts[headSlot];
+
+        if (parentPosition != lastParentPosition) {
+            int movedParent = parentNodes[headSlot][lastParentPosition];
+            parentNodes[headSlot][parentPosition] = movedParent;
+            parentWeights[headSlot][parentPosition] =
+                    parentWeights[headSlot][lastParentPosition];
+
+            long movedKey = edgeKey(movedParent, headNode);
+            long movedPositions = edgeMap.getOrDefault(movedKey, ABSENT);
+            edgeMap.put(movedKey,
+                        pack((int) (movedPositions >>> 32), parentPosition));
+        }
+
+        edgeMap.remove(key);
+        edges--;
+        return weight;
+    }
+
+    private void allocateSlots(int capacity) {
+        slotNodes = new int[capacity];
+        childNodes = new int[capacity][];
+        childWeights = new double[capacity][];
+        childCounts = new int[capacity];
+        parentNodes = new int[capacity][];
+        parentWeights = new double[capacity][];
+        parentCounts = new int[capacity];
+    }
+
+    private void growSlots() {
+        int capacity = slotNodes.length << 1;
+        slotNodes = Arrays.copyOf(slotNodes, capacity);
+        childNodes = Arrays.copyOf(childNodes, capacity);
+        childWeights = Arrays.copyOf(childWeights, capacity);
+        childCounts = Arrays.copyOf(childCounts, capacity);
+        parentNodes = Arrays.copyOf(parentNodes, capacity);
+        parentWeights = Arrays.copyOf(parentWeights, capacity);
+        parentCounts = Arrays.copyOf(parentCounts, capacity);
+    }
+
+    private static long edgeKey(int tailNode, int headNode) {
+        return ((long) tailNode << 32) | (headNode & 0xffffffffL);
+    }
+
+    private static long pack(int childPosition, int parentPosition) {
+        return ((long) childPosition << 32) | (parentPosition & 0xffffffffL);
+    }
+
+    /**
+     * An unmodifiable view over the children or the parents of a slot.
+     */
+    private final class NeighbourSet extends AbstractSet<Integer> {
+
+        private final int slot;
+        private final boolean children;
+
+        NeighbourSet(int slot, boolean children) {
+            this.slot = slot;
+            this.children = children;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            int[] neighbours = children ? childNodes[slot] : parentNodes[slot];
+            return new IntArrayIterator(neighbours, size());
+        }
+
+        @Override
+        public int size() {
+            return children ? childCounts[slot] : parentCounts[slot];
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Integer)) {
+                return false;
+            }
+
+            int node = slotNodes[slot];
+            int neighbour = (Integer) o;
+
+            return children ? hasEdge(node, neighbour)
+                            : hasEdge(neighbour, node);
+        }
+    }
+
+    /**
+     * An unmodifiable view over all the nodes.
+     */
+    private final class NodeSet extends AbstractSet<Integer> {
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new IntArrayIterator(slotNodes, nodes);
+        }
+
+        @Override
+        public int size() {
+            return nodes;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && hasNode((int) (Integer) o);
+        }
+    }
+
+    private static final class IntArrayIterator implements Iterator<Integer> {
+
+        private final int[] array;
+        private final int size;
+        private int index;
+
+        IntArrayIterator(int[] array, int size) {
+            this.array = array;
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public Integer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return array[index++];
+        }
+    }
+}
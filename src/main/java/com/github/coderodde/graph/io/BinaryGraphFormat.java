@@ -0,0 +1,436 @@
+package com.github.coderodde.graph.io;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.impl.CompressedDirectedGraph;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class defines the binary on-disk graph format and implements its
+ * writer and its memory-mapping loader. All the values are stored in the
+ * little-endian byte order. A file starts with a header of
+ * {@value #HEADER_SIZE} bytes:
+ * <pre>
+ * offset  type  field
+ *      0  int   magic number {@code 0x44414753} ("DAGS")
+ *      4  int   format version
+ *      8  int   flags
+ *     12  int   number of nodes n
+ *     16  int   number of arcs m
+ *     20  int   capacity c of the node table, a power of two
+ *     24        reserved, zero
+ * </pre>
+ * The header is followed by the sections below, in this order, each starting
+ * at a multiple of 8 bytes:
+ * <ol>
+ * <li>{@code int[n]} the node IDs by dense index,</li>
+ * <li>{@code int[n + 1]} the child row offsets,</li>
+ * <li>{@code int[m]} the dense indices of the arc heads,</li>
+ * <li>{@code double[m]} the arc weights,</li>
+ * <li>{@code int[n + 1]} the parent row offsets,</li>
+ * <li>{@code int[m]} the dense indices of the arc tails by parent row,</li>
+ * <li>{@code double[m]} the arc weights by parent row,</li>
+ * <li>{@code int[2c]} the open addressing table mapping the node IDs to
+ *     their dense indices; a slot holds a node ID and its dense index plus
+ *     one, and zero marks an empty slot.</li>
+ * </ol>
+ * If the flag {@link #FLAG_TOPOLOGICALLY_SORTED} is set, every arc goes from
+ * a smaller dense index to a larger one, so the dense order is a topological
+ * order of the graph.
+ * <p>
+ * The loader maps each section separately, so no section may exceed 2 GiB.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class BinaryGraphFormat {
+
+    /**
+     * The magic number opening each file.
+     */
+    public static final int MAGIC = 0x44414753;
+
+    /**
+     * The current format version.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of the header in bytes.
+     */
+    public static final int HEADER_SIZE = 64;
+
+    /**
+     * Marks the files whose dense order is a topological order.
+     */
+    public static final int FLAG_TOPOLOGICALLY_SORTED = 1;
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private BinaryGraphFormat() {}
+
+    /**
+     * Writes {@code graph} to {@code file}, assigning the dense indices in the
+     * iteration order of {@link AbstractGraph#getAllNodes()}.
+     *
+     * @param graph the graph to write.
+     * @param file  the target file.
+     * @throws IOException if writing fails.
+     */
+    public static void write(AbstractGraph graph, Path file)
+            throws IOException {
+        write(new CompressedDirectedGraph(graph), file);
+    }
+
+    /**
+     * Writes {@code graph} to {@code file}, assigning the dense index
+     * {@code i} to the node {@code nodeOrder.get(i)}. Passing a topological
+     * order stores it in the file.
+     *
+     * @param graph     the graph to write.
+     * @param nodeOrder the list of all graph nodes, each appearing exactly
+     *                  once.
+     * @param file      the target file.
+     * @throws IOException if writing fails.
+     */
+    public static void write(AbstractGraph graph,
+                             List<Integer> nodeOrder,
+                             Path file) throws IOException {
+        write(new CompressedDirectedGraph(graph, nodeOrder), file);
+    }
+
+    /**
+     * Writes the snapshot {@code graph} to {@code file}.
+     *
+     * @param graph the graph snapshot to write.
+     * @param file  the target file.
+     * @throws IOException if writing fails.
+     */
+    public static void write(CompressedDirectedGraph graph, Path file)
+            throws IOException {
+        Objects.requireNonNull(graph);
+        Objects.requireNonNull(file);
+
+        int numberOfNodes = graph.size();
+        int numberOfEdges = graph.getNumberOfEdges();
+        // Build the parent rows by counting the in-degrees:
+        int[] parentOffsets = new int[numberOfNodes + 1];
+
+        for (int edge = 0; edge < numberOfEdges; edge++) {
+            parentOffsets[graph.getEdgeHead(edge) + 1]++;
+        }
+
+        for (int index = 0; index < numberOfNodes; index++) {
+            parentOffsets[index + 1] += parentOffsets[index];
+        }
+
+        int[] parentTails = new int[numberOfEdges];
+        double[] parentWeights = new double[numberOfEdges];
+        int[] parentCursors = parentOffsets.clone();
+
+        for (int index = 0; index < numberOfNodes; index++) {
+            for (int edge = graph.getEdgeBeginIndex(index);
+                    edge < graph.getEdgeEndIndex(index);
+                    edge++) {
+                int position = parentCursors[graph.getEdgeHead(edge)]++;
+                parentTails[position] = index;
+                parentWeights[position] = graph.getEdgeWeight(edge);
+            }
+        }
+
+        int[] nodeIds = new int[numberOfNodes];
+
+        for (int index = 0; index < numberOfNodes; index++) {
+            nodeIds[index] = graph.getNodeId(index);
+        }
+
+        int[] table = buildNodeTable(nodeIds);
+
+        try (FileChannel channel =
+                FileChannel.open(file,
+                                 StandardOpenOption.CREATE,
+                                 StandardOpenOption.WRITE,
+                                 StandardOpenOption.TRUNCATE_EXISTING)) {
+            SectionWriter writer = new SectionWriter(channel);
+
+            writer.putInt(MAGIC);
+            writer.putInt(VERSION);
+            writer.putInt(graph.isTopologicallySorted()
+                          ? FLAG_TOPOLOGICALLY_SORTED
+                          : 0);
+            writer.putInt(numberOfNodes);
+            writer.putInt(numberOfEdges);
+            writer.putInt(table.length / 2);
+            writer.padTo(HEADER_SIZE);
+
+            for (int node : nodeIds) {
+                writer.putInt(node);
+            }
+
+            writer.align();
+
+            for (int index = 0; index < numberOfNodes; index++) {
+                writer.putInt(graph.getEdgeBeginIndex(index));
+            }
+
+            writer.putInt(numberOfEdges);
+            writer.align();
+
+            for (int edge = 0; edge < numberOfEdges; edge++) {
+                writer.putInt(graph.getEdgeHead(edge));
+            }
+
+            writer.align();
+
+            for (int edge = 0; edge < numberOfEdges; edge++) {
+                writer.putDouble(graph.getEdgeWeight(edge));
+            }
+
+            writer.align();
+
+            for (int offset : parentOffsets) {
+                writer.putInt(offset);
+            }
+
+            writer.align();
+
+            for (int tail : parentTails) {
+                writer.putInt(tail);
+            }
+
+            writer.align();
+
+            for (double weight : parentWeights) {
+                writer.putDouble(weight);
+            }
+
+            writer.align();
+
+            for (int value : table) {
+                writer.putInt(value);
+            }
+
+            writer.flush();
+        }
+    }
+
+    /**
+     * Memory-maps the graph stored in {@code file}. The returned graph reads
+     * the mapped pages directly, so loading takes time independent of the
+     * graph size, and the processes mapping the same file share the page
+     * cache.
+     *
+     * @param file the file to map.
+     * @return the read-only mapped graph.
+     * @throws IOException if the file cannot be read or is not a valid graph
+     *                     file.
+     */
+    public static MappedDirectedGraph map(Path file) throws IOException {
+        Objects.requireNonNull(file);
+
+        try (FileChannel channel =
+                FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException(
+                        "The file " + file + " is too short for a graph file.");
+            }
+
+            ByteBuffer header = map(channel, 0L, HEADER_SIZE);
+
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException(
+                        "The file " + file + " is not a binary graph file.");
+            }
+
+            int version = header.getInt(4);
+
+            if (version != VERSION) {
+                throw new IOException(
+                        "Unsupported binary graph format version: " + version);
+            }
+
+            int flags = header.getInt(8);
+            int numberOfNodes = header.getInt(12);
+            int numberOfEdges = header.getInt(16);
+            int tableCapacity = header.getInt(20);
+            long position = HEADER_SIZE;
+
+            long nodeIdsLength = 4L * numberOfNodes;
+            long offsetsLength = 4L * (numberOfNodes + 1);
+            long headsLength = 4L * numberOfEdges;
+            long weightsLength = 8L * numberOfEdges;
+            long tableLength = 8L * tableCapacity;
+
+            long expectedSize = HEADER_SIZE
+                    + align(nodeIdsLength)
+                    + 2 * (align(offsetsLength)
+                    + align(headsLength)
+                    + weightsLength)
+                    + tableLength;
+
+            if (channel.size() != expectedSize) {
+                throw new IOException(
+                        "The file "
+                                + file
+                                + " has "
+                                + channel.size()
+                                + " bytes, expected "
+                                + expectedSize
+                                + ".");
+            }
+
+            ByteBuffer nodeIds = map(channel, position, nodeIdsLength);
+            position += align(nodeIdsLength);
+            ByteBuffer edgeOffsets = map(channel, position, offsetsLength);
+            position += align(offsetsLength);
+            ByteBuffer edgeHeads = map(channel, position, headsLength);
+            position += align(headsLength);
+            ByteBuffer edgeWeights = map(channel, position, weightsLength);
+            position += weightsLength;
+            ByteBuffer parentOffsets = map(channel, position, offsetsLength);
+            position += align(offsetsLength);
+            ByteBuffer parentTails = map(channel, position, headsLength);
+            position += align(headsLength);
+            ByteBuffer parentWeights = map(channel, position, weightsLength);
+            position += weightsLength;
+            ByteBuffer table = map(channel, position, tableLength);
+
+            return new MappedDirectedGraph(
+                    (flags & FLAG_TOPOLOGICALLY_SORTED) != 0,
+                    nodeIds.asIntBuffer(),
+                    edgeOffsets.asIntBuffer(),
+                    edgeHeads.asIntBuffer(),
+                    edgeWeights.asDoubleBuffer(),
+                    parentOffsets.asIntBuffer(),
+                    parentTails.asIntBuffer(),
+                    parentWeights.asDoubleBuffer(),
+                    table.asIntBuffer());
+        }
+    }
+
+    /**
+     * Mixes the bits of a node ID for the node table.
+     *
+     * @param node the node ID.
+     * @return the hash of the node ID.
+     */
+    static int hash(int node) {
+        int h = node * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Builds the node table section mapping each {@code nodeIds[i]} to
+     * {@code i}.
+     *
+     * @param nodeIds the node IDs by dense index.
+     * @return the node table.
+     */
+    static int[] buildNodeTable(int[] nodeIds) {
+        int tableCapacity = getTableCapacity(nodeIds.length);
+        int[] table = new int[2 * tableCapacity];
+
+        for (int index = 0; index < nodeIds.length; index++) {
+            int node = nodeIds[index];
+            int slot = hash(node) & (tableCapacity - 1);
+
+            while (table[2 * slot + 1] != 0) {
+                slot = (slot + 1) & (tableCapacity - 1);
+            }
+
+            table[2 * slot] = node;
+            table[2 * slot + 1] = index + 1;
+        }
+
+        return table;
+    }
+
+    private static int getTableCapacity(int numberOfNodes) {
+        int capacity = 2;
+
+        while (capacity < 2L * numberOfNodes) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    private static long align(long length) {
+        return (length + 7L) & ~7L;
+    }
+
+    private static ByteBuffer map(FileChannel channel,
+                                  long position,
+                                  long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException(
+                    "A section of " + length + " bytes is too large to map.");
+        }
+
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, length)
+                      .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes the values through a fixed size buffer.
+     */
+    private static final class SectionWriter {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer =
+                ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE)
+                          .order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        SectionWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(value);
+            position += Integer.BYTES;
+        }
+
+        void putDouble(double value) throws IOException {
+            ensureRemaining(Double.BYTES);
+            buffer.putDouble(value);
+            position += Double.BYTES;
+        }
+
+        void align() throws IOException {
+            padTo(BinaryGraphFormat.align(position));
+        }
+
+        void padTo(long targetPosition) throws IOException {
+            while (position < targetPosition) {
+                ensureRemaining(1);
+                buffer.put((byte) 0);
+                position++;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            buffer.clear();
+        }
+
+        private void ensureRemaining(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+    }
+}
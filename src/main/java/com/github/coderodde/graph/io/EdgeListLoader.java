@@ -0,0 +1,766 @@
+package com.github.coderodde.graph.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * This class implements a parallel loader for text edge lists. Each line of
+ * the input holds an arc as a tail node, a head node and an optional weight
+ * defaulting to 1.0, separated by blanks. The DIMACS shortest path format
+ * ({@code .gr}) is accepted as well: the arc lines start with {@code a}, the
+ * lines starting with {@code c} are comments, and the problem line
+ * {@code p sp n m} declares the nodes {@code 1, 2, ..., n}. The lines starting
+ * with {@code #} or {@code %} are skipped as comments too.
+ * <p>
+ * The file is split at line boundaries into chunks, which are memory-mapped
+ * and parsed in parallel straight from the bytes. The node IDs are then
+ * translated to dense indices in ascending ID order, and the graph is built in
+ * one bulk pass: a degree count followed by a fill of the compressed sparse
+ * rows. If an arc appears more than once, its last weight wins, just like
+ * with repeated calls to
+ * {@link com.github.coderodde.graph.AbstractGraph#addEdge(Integer, Integer, double)}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class EdgeListLoader {
+
+    /**
+     * The smallest chunk worth parsing in a task of its own.
+     */
+    private static final long MINIMUM_CHUNK_SIZE = 1L << 20;
+
+    /**
+     * The largest chunk mapped at once.
+     */
+    private static final long MAXIMUM_CHUNK_SIZE = 1L << 30;
+
+    /**
+     * The number of bytes read at a time while searching a line boundary.
+     */
+    private static final int BOUNDARY_BUFFER_SIZE = 1 << 12;
+
+    private static final long MAXIMUM_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * Node ID ranges up to this many slots per arc are translated with a
+     * direct lookup table instead of a binary search.
+     */
+    private static final long DIRECT_TABLE_SLOTS_PER_ARC = 4L;
+    private static final long DIRECT_TABLE_MINIMUM_SLOTS = 1L << 16;
+
+    /**
+     * The largest number of significant digits and the largest decimal
+     * exponent for which a weight is computed exactly from its digits.
+     */
+    private static final int MAXIMUM_FAST_DIGITS = 15;
+    private static final int MAXIMUM_FAST_EXPONENT = 22;
+
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1.0;
+
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10.0;
+        }
+    }
+
+    private EdgeListLoader() {}
+
+    /**
+     * Loads the edge list {@code file} using the common fork/join pool.
+     *
+     * @param file the edge list file.
+     * @return the loaded graph.
+     * @throws IOException if reading fails or the file is malformed.
+     */
+    public static MappedDirectedGraph load(Path file) throws IOException {
+        return load(file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Loads the edge list {@code file} parsing the chunks in {@code pool}.
+     *
+     * @param file the edge list file.
+     * @param pool the pool in which to parse the chunks.
+     * @return the loaded graph.
+     * @throws IOException if reading fails or the file is malformed.
+     */
+    public static MappedDirectedGraph load(Path file, ForkJoinPool pool)
+            throws IOException {
+        return load(file, pool, MINIMUM_CHUNK_SIZE);
+    }
+
+    static MappedDirectedGraph load(Path file,
+                                    ForkJoinPool pool,
+                                    long minimumChunkSize)
+            throws IOException {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(pool);
+
+        Chunk[] chunks;
+
+        try (FileChannel channel =
+                FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] boundaries =
+                    computeBoundaries(channel,
+                                      pool.getParallelism(),
+                                      minimumChunkSize);
+
+            chunks = new Chunk[boundaries.length - 1];
+
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = new Chunk(boundaries[i], boundaries[i + 1]);
+            }
+
+            try {
+                pool.submit(() -> Arrays.stream(chunks)
+                                        .parallel()
+                                        .forEach(chunk -> chunk.parse(channel)))
+                    .join();
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        }
+
+        return build(chunks, pool);
+    }
+
+    /**
+     * Splits the file into chunks ending right after a line feed or at the
+     * end of the file.
+     *
+     * @return the chunk boundaries, starting with 0 and ending with the file
+     *         size.
+     */
+    private static long[] computeBoundaries(FileChannel channel,
+                                            int parallelism,
+                                            long minimumChunkSize)
+            throws IOException {
+        long size = channel.size();
+        long numberOfChunks =
+                Math.max(Math.min(4L * parallelism,
+                                  size / Math.max(1L, minimumChunkSize)),
+                         (size + MAXIMUM_CHUNK_SIZE - 1) / MAXIMUM_CHUNK_SIZE);
+
+        numberOfChunks = Math.max(1L, numberOfChunks);
+
+        long chunkSize = (size + numberOfChunks - 1) / numberOfChunks;
+        long[] boundaries = new long[(int) numberOfChunks + 1];
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_BUFFER_SIZE);
+        int count = 1;
+
+        for (long nominal = chunkSize; nominal < size; nominal += chunkSize) {
+            long boundary = findLineEnd(channel,
+                                        Math.max(nominal,
+                                                 boundaries[count - 1]),
+                                        buffer);
+
+            if (boundary > boundaries[count - 1] && boundary < size) {
+                boundaries[count++] = boundary;
+            }
+        }
+
+        boundaries[count++] = size;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    /**
+     * Returns the position right after the first line feed at or after
+     * {@code position}, or the file size if there is none.
+     */
+    private static long findLineEnd(FileChannel channel,
+                                    long position,
+                                    ByteBuffer buffer) throws IOException {
+        while (true) {
+            buffer.clear();
+            int bytesRead = channel.read(buffer, position);
+
+            if (bytesRead <= 0) {
+                return channel.size();
+            }
+
+            for (int i = 0; i < bytesRead; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+
+            position += bytesRead;
+        }
+    }
+
+    /**
+     * Translates the parsed arcs to dense indices and builds the compressed
+     * sparse rows.
+     */
+    private static MappedDirectedGraph build(Chunk[] chunks,
+                                             ForkJoinPool pool) {
+        long numberOfArcs = 0L;
+        int declaredNodes = 0;
+        long minimumId = Long.MAX_VALUE;
+        long maximumId = Long.MIN_VALUE;
+
+        for (Chunk chunk : chunks) {
+            numberOfArcs += chunk.size;
+            declaredNodes = Math.max(declaredNodes, chunk.declaredNodes);
+
+            if (chunk.size > 0) {
+                minimumId = Math.min(minimumId, chunk.minimumId);
+                maximumId = Math.max(maximumId, chunk.maximumId);
+            }
+        }
+
+        if (numberOfArcs > MAXIMUM_ARRAY_SIZE) {
+            throw new IllegalStateException(
+                    "Too many arcs: " + numberOfArcs + ".");
+        }
+
+        if (declaredNodes > 0) {
+            minimumId = Math.min(minimumId, 1L);
+            maximumId = Math.max(maximumId, declaredNodes);
+        }
+
+        int[] nodeIds;
+
+        if (minimumId > maximumId) {
+            nodeIds = new int[0];
+        } else {
+            long range = maximumId - minimumId + 1L;
+            long directTableSlots =
+                    Math.max(DIRECT_TABLE_MINIMUM_SLOTS,
+                             DIRECT_TABLE_SLOTS_PER_ARC
+                                     * (numberOfArcs + declaredNodes));
+
+            nodeIds = range <= Math.min(directTableSlots, MAXIMUM_ARRAY_SIZE)
+                    ? translateWithTable(chunks,
+                                         (int) minimumId,
+                                         (int) range,
+                                         declaredNodes,
+                                         pool)
+                    : translateWithSearch(chunks,
+                                          numberOfArcs,
+                                          declaredNodes,
+                                          pool);
+        }
+
+        int numberOfNodes = nodeIds.length;
+
+        // Count the out-degrees:
+        int[] edgeOffsets = new int[numberOfNodes + 1];
+
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.size; i++) {
+                edgeOffsets[chunk.tails[i] + 1]++;
+            }
+        }
+
+        for (int index = 0; index < numberOfNodes; index++) {
+            edgeOffsets[index + 1] += edgeOffsets[index];
+        }
+
+        // Fill the rows in input order:
+        int[] edgeHeads = new int[(int) numberOfArcs];
+        double[] edgeWeights = new double[(int) numberOfArcs];
+        int[] cursors = edgeOffsets.clone();
+
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.size; i++) {
+                int position = cursors[chunk.tails[i]]++;
+                edgeHeads[position] = chunk.heads[i];
+                edgeWeights[position] = chunk.weights[i];
+            }
+
+            chunk.release();
+        }
+
+        // Merge the repeated arcs so that the last weight wins:
+        int[] lastRow = new int[numberOfNodes];
+        int[] lastPosition = new int[numberOfNodes];
+        int edgeCount = 0;
+        boolean topologicallySorted = true;
+
+        Arrays.fill(lastRow, -1);
+
+        for (int index = 0; index < numberOfNodes; index++) {
+            int begin = edgeOffsets[index];
+            int end = edgeOffsets[index + 1];
+            edgeOffsets[index] = edgeCount;
+
+            for (int edge = begin; edge < end; edge++) {
+                int head = edgeHeads[edge];
+
+                if (lastRow[head] == index) {
+                    edgeWeights[lastPosition[head]] = edgeWeights[edge];
+                    continue;
+                }
+
+                lastRow[head] = index;
+                lastPosition[head] = edgeCount;
+                edgeHeads[edgeCount] = head;
+                edgeWeights[edgeCount] = edgeWeights[edge];
+                edgeCount++;
+                topologicallySorted &= index < head;
+            }
+        }
+
+        edgeOffsets[numberOfNodes] = edgeCount;
+
+        if (edgeCount < edgeHeads.length) {
+            edgeHeads = Arrays.copyOf(edgeHeads, edgeCount);
+            edgeWeights = Arrays.copyOf(edgeWeights, edgeCount);
+        }
+
+        // Build the parent rows by counting the in-degrees:
+        int[] parentOffsets = new int[numberOfNodes + 1];
+
+        for (int edge = 0; edge < edgeCount; edge++) {
+            parentOffsets[edgeHeads[edge] + 1]++;
+        }
+
+        for (int index = 0; index < numberOfNodes; index++) {
+            parentOffsets[index + 1] += parentOffsets[index];
+        }
+
+        int[] parentTails = new int[edgeCount];
+        double[] parentWeights = new double[edgeCount];
+
+        cursors = parentOffsets.clone();
+
+        for (int index = 0; index < numberOfNodes; index++) {
+            for (int edge = edgeOffsets[index];
+                    edge < edgeOffsets[index + 1];
+                    edge++) {
+                int position = cursors[edgeHeads[edge]]++;
+                parentTails[position] = index;
+                parentWeights[position] = edgeWeights[edge];
+            }
+        }
+
+        return new MappedDirectedGraph(
+                topologicallySorted,
+                IntBuffer.wrap(nodeIds),
+                IntBuffer.wrap(edgeOffsets),
+                IntBuffer.wrap(edgeHeads),
+                DoubleBuffer.wrap(edgeWeights),
+                IntBuffer.wrap(parentOffsets),
+                IntBuffer.wrap(parentTails),
+                DoubleBuffer.wrap(parentWeights),
+                IntBuffer.wrap(BinaryGraphFormat.buildNodeTable(nodeIds)));
+    }
+
+    /**
+     * Translates the node IDs of a narrow ID range via a table holding the
+     * dense index plus one of each ID in the range.
+     *
+     * @return the node IDs by dense index.
+     */
+    private static int[] translateWithTable(Chunk[] chunks,
+                                            int minimumId,
+                                            int range,
+                                            int declaredNodes,
+                                            ForkJoinPool pool) {
+        int[] table = new int[range];
+
+        for (int node = 1; node <= declaredNodes; node++) {
+            table[node - minimumId] = 1;
+        }
+
+        // Concurrent tasks only ever store the same value to a slot:
+        runInParallel(chunks, pool, chunk -> {
+            for (int i = 0; i < chunk.size; i++) {
+                table[chunk.tails[i] - minimumId] = 1;
+                table[chunk.heads[i] - minimumId] = 1;
+            }
+        });
+
+        int numberOfNodes = 0;
+
+        for (int slot = 0; slot < range; slot++) {
+            if (table[slot] != 0) {
+                table[slot] = ++numberOfNodes;
+            }
+        }
+
+        int[] nodeIds = new int[numberOfNodes];
+
+        for (int slot = 0; slot < range; slot++) {
+            if (table[slot] != 0) {
+                nodeIds[table[slot] - 1] = minimumId + slot;
+            }
+        }
+
+        runInParallel(chunks, pool, chunk -> {
+            for (int i = 0; i < chunk.size; i++) {
+                chunk.tails[i] = table[chunk.tails[i] - minimumId] - 1;
+                chunk.heads[i] = table[chunk.heads[i] - minimumId] - 1;
+            }
+        });
+
+        return nodeIds;
+    }
+
+    /**
+     * Translates the node IDs of a wide ID range by sorting all the distinct
+     * IDs and searching each arc end point.
+     *
+     * @return the node IDs by dense index.
+     */
+    private static int[] translateWithSearch(Chunk[] chunks,
+                                             long numberOfArcs,
+                                             int declaredNodes,
+                                             ForkJoinPool pool) {
+        long numberOfIds = 2L * numberOfArcs + declaredNodes;
+
+        if (numberOfIds > MAXIMUM_ARRAY_SIZE) {
+            throw new IllegalStateException(
+                    "Too many node IDs to sort: " + numberOfIds + ".");
+        }
+
+        int[] nodeIds = new int[(int) numberOfIds];
+        int position = 0;
+
+        for (Chunk chunk : chunks) {
+            System.arraycopy(chunk.tails, 0, nodeIds, position, chunk.size);
+            position += chunk.size;
+            System.arraycopy(chunk.heads, 0, nodeIds, position, chunk.size);
+            position += chunk.size;
+        }
+
+        for (int node = 1; node <= declaredNodes; node++) {
+            nodeIds[position++] = node;
+        }
+
+        int[] sortedIds = nodeIds;
+        pool.submit(() -> Arrays.parallelSort(sortedIds)).join();
+
+        int numberOfNodes = 0;
+
+        for (int i = 0; i < sortedIds.length; i++) {
+            if (i == 0 || sortedIds[i] != sortedIds[i - 1]) {
+                sortedIds[numberOfNodes++] = sortedIds[i];
+            }
+        }
+
+        int[] uniqueIds = Arrays.copyOf(sortedIds, numberOfNodes);
+
+        runInParallel(chunks, pool, chunk -> {
+            for (int i = 0; i < chunk.size; i++) {
+                chunk.tails[i] = Arrays.binarySearch(uniqueIds, chunk.tails[i]);
+                chunk.heads[i] = Arrays.binarySearch(uniqueIds, chunk.heads[i]);
+            }
+        });
+
+        return uniqueIds;
+    }
+
+    private static void runInParallel(Chunk[] chunks,
+                                      ForkJoinPool pool,
+                                      Consumer<Chunk> task) {
+        pool.submit(() -> Arrays.stream(chunks).parallel().forEach(task))
+            .join();
+    }
+
+    /**
+     * Parses a byte range of the input into growable arc arrays.
+     */
+    private static final class Chunk {
+
+        private static final int INITIAL_CAPACITY = 1 << 10;
+
+        private final long begin;
+        private final long end;
+        private int[] tails = new int[INITIAL_CAPACITY];
+        private int[] heads = new int[INITIAL_CAPACITY];
+        private double[] weights = new double[INITIAL_CAPACITY];
+        private int size;
+        private int declaredNodes;
+        private int minimumId = Integer.MAX_VALUE;
+        private int maximumId = Integer.MIN_VALUE;
+
+        private MappedByteBuffer buffer;
+        private int position;
+        private int limit;
+
+        Chunk(long begin, long end) {
+            this.begin = begin;
+            this.end = end;
+        }
+
+        void parse(FileChannel channel) {
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                                     begin,
+                                     end - begin);
+                limit = (int) (end - begin);
+
+                while (position < limit) {
+                    parseLine();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } finally {
+                buffer = null;
+            }
+        }
+
+        /**
+         * Drops the arc arrays once they are copied into the rows.
+         */
+        void release() {
+            tails = null;
+            heads = null;
+            weights = null;
+        }
+
+        private void parseLine() throws IOException {
+            skipBlanks();
+
+            if (position == limit) {
+                return;
+            }
+
+            switch (buffer.get(position)) {
+                case '\n':
+                    position++;
+                    return;
+
+                case 'c':
+                case '#':
+                case '%':
+                    skipLine();
+                    return;
+
+                case 'p':
+                    position++;
+                    expectBlank();
+                    skipToken();
+                    expectBlank();
+                    declaredNodes = Math.max(declaredNodes, parseInt());
+                    skipLine();
+                    return;
+
+                case 'a':
+                    position++;
+                    expectBlank();
+                    break;
+            }
+
+            int tail = parseInt();
+            expectBlank();
+            int head = parseInt();
+            double weight = 1.0;
+
+            skipBlanks();
+
+            if (position < limit && buffer.get(position) != '\n') {
+                weight = parseDouble();
+                skipBlanks();
+            }
+
+            if (position < limit && buffer.get(position) != '\n') {
+                throw malformed();
+            }
+
+            position++;
+            add(tail, head, weight);
+        }
+
+        private void add(int tail, int head, double weight) {
+            if (size == tails.length) {
+                int capacity = size << 1;
+                tails = Arrays.copyOf(tails, capacity);
+                heads = Arrays.copyOf(heads, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+
+            tails[size] = tail;
+            heads[size] = head;
+            weights[size] = weight;
+            size++;
+            minimumId = Math.min(minimumId, Math.min(tail, head));
+            maximumId = Math.max(maximumId, Math.max(tail, head));
+        }
+
+        private int parseInt() throws IOException {
+            boolean negative = false;
+
+            if (position < limit && (buffer.get(position) == '-'
+                                  || buffer.get(position) == '+')) {
+                negative = buffer.get(position++) == '-';
+            }
+
+            int start = position;
+            long value = 0L;
+
+            while (position < limit && isDigit(buffer.get(position))) {
+                value = 10L * value + (buffer.get(position++) - '0');
+
+                if (value > 1L + Integer.MAX_VALUE) {
+                    throw malformed();
+                }
+            }
+
+            if (position == start) {
+                throw malformed();
+            }
+
+            value = negative ? -value : value;
+
+            if (value > Integer.MAX_VALUE) {
+                throw malformed();
+            }
+
+            return (int) value;
+        }
+
+        /**
+         * Parses a weight. The weights with at most
+         * {@value #MAXIMUM_FAST_DIGITS} significant digits and a small
+         * exponent are computed exactly from the digits, since both the digits
+         * and the power of ten are exact doubles; the rest fall back to
+         * {@link Double#parseDouble(String)}.
+         */
+        private double parseDouble() throws IOException {
+            int start = position;
+            boolean negative = false;
+
+            if (buffer.get(position) == '-' || buffer.get(position) == '+') {
+                negative = buffer.get(position++) == '-';
+            }
+
+            long digits = 0L;
+            int numberOfDigits = 0;
+            int exponent = 0;
+            boolean seenDigit = false;
+
+            while (position < limit && isDigit(buffer.get(position))) {
+                seenDigit = true;
+
+                if (numberOfDigits > 0 || buffer.get(position) != '0') {
+                    digits = 10L * digits + (buffer.get(position) - '0');
+                    numberOfDigits++;
+                }
+
+                position++;
+            }
+
+            if (position < limit && buffer.get(position) == '.') {
+                position++;
+
+                while (position < limit && isDigit(buffer.get(position))) {
+                    seenDigit = true;
+
+                    if (numberOfDigits > 0 || buffer.get(position) != '0') {
+                        digits = 10L * digits + (buffer.get(position) - '0');
+                        numberOfDigits++;
+                    }
+
+                    exponent--;
+                    position++;
+                }
+            }
+
+            if (seenDigit
+                    && position < limit
+                    && (buffer.get(position) == 'e'
+                     || buffer.get(position) == 'E')) {
+                position++;
+                exponent += parseInt();
+            }
+
+            if (!seenDigit
+                    || numberOfDigits > MAXIMUM_FAST_DIGITS
+                    || Math.abs(exponent) > MAXIMUM_FAST_EXPONENT
+                    || (position < limit && !isSeparator(buffer.get(position)))) {
+                return parseDoubleSlowly(start);
+            }
+
+            double value = exponent < 0
+                    ? digits / POWERS_OF_TEN[-exponent]
+                    : digits * POWERS_OF_TEN[exponent];
+
+            return negative ? -value : value;
+        }
+
+        private double parseDoubleSlowly(int start) throws IOException {
+            position = start;
+
+            while (position < limit && !isSeparator(buffer.get(position))) {
+                position++;
+            }
+
+            byte[] token = new byte[position - start];
+            buffer.get(start, token);
+
+            try {
+                return Double.parseDouble(
+                        new String(token, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException ex) {
+                position = start;
+                throw malformed();
+            }
+        }
+
+        private void skipBlanks() {
+            while (position < limit && isBlank(buffer.get(position))) {
+                position++;
+            }
+        }
+
+        private void expectBlank() throws IOException {
+            if (position == limit || !isBlank(buffer.get(position))) {
+                throw malformed();
+            }
+
+            skipBlanks();
+        }
+
+        private void skipToken() {
+            while (position < limit && !isSeparator(buffer.get(position))) {
+                position++;
+            }
+        }
+
+        private void skipLine() {
+            while (position < limit && buffer.get(position) != '\n') {
+                position++;
+            }
+
+            position++;
+        }
+
+        private IOException malformed() {
+            return new IOException(
+                    "Malformed edge list at byte offset "
+                            + (begin + position)
+                            + ".");
+        }
+
+        private static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+
+        private static boolean isBlank(byte b) {
+            return b == ' ' || b == '\t' || b == '\r';
+        }
+
+        private static boolean isSeparator(byte b) {
+            return isBlank(b) || b == '\n';
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package com.github.coderodde.graph.io;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.IntDoubleConsumer;
+import com.github.coderodde.graph.impl.DenseAdjacency;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class implements a read-only directed graph over the memory-mapped
+ * sections of a file in the {@link BinaryGraphFormat}. No section is copied to
+ * the heap: the neighbour sets are views over the mapped rows, and
+ * {@link #forEachChild(int, IntDoubleConsumer)} and
+ * {@link #forEachParent(int, IntDoubleConsumer)} read the rows directly. All
+ * the mutators throw {@link UnsupportedOperationException}.
+ * <p>
+ * Instances are obtained via {@link BinaryGraphFormat#map(java.nio.file.Path)},
+ * or from {@link EdgeListLoader}, which fills the same sections on the heap.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class MappedDirectedGraph extends AbstractGraph
+        implements DenseAdjacency {
+
+    private final boolean topologicallySorted;
+    private final int numberOfNodes;
+    private final IntBuffer nodeIds;
+    private final IntBuffer edgeOffsets;
+    private final IntBuffer edgeHeads;
+    private final DoubleBuffer edgeWeights;
+    private final IntBuffer parentOffsets;
+    private final IntBuffer parentTails;
+    private final DoubleBuffer parentWeights;
+    private final IntBuffer table;
+    private final int tableMask;
+
+    MappedDirectedGraph(boolean topologicallySorted,
+                        IntBuffer nodeIds,
+                        IntBuffer edgeOffsets,
+                        IntBuffer edgeHeads,
+                        DoubleBuffer edgeWeights,
+                        IntBuffer parentOffsets,
+                        IntBuffer parentTails,
+                        DoubleBuffer parentWeights,
+                        IntBuffer table) {
+        this.topologicallySorted = topologicallySorted;
+        this.numberOfNodes = nodeIds.capacity();
+        this.nodeIds = nodeIds;
+        this.edgeOffsets = edgeOffsets;
+        this.edgeHeads = edgeHeads;
+        this.edgeWeights = edgeWeights;
+        this.parentOffsets = parentOffsets;
+        this.parentTails = parentTails;
+        this.parentWeights = parentWeights;
+        this.table = table;
+        this.tableMask = table.capacity() / 2 - 1;
+        this.edges = edgeHeads.capacity();
+    }
+
+    /**
+     * Returns {@code true} if the file stores a topological order, that is,
+     * every arc goes from a smaller dense index to a larger one.
+     *
+     * @return {@code true} if the dense order is topological.
+     */
+    public boolean isTopologicallySorted() {
+        return topologicallySorted;
+    }
+
+    /**
+     * Returns the topological order stored in the file as an unmodifiable view
+     * over the mapped node IDs.
+     *
+     * @return the topologically sorted nodes.
+     * @throws IllegalStateException if the file does not store a topological
+     *                               order.
+     */
+    public List<Integer> getTopologicallySortedNodes() {
+        if (!topologicallySorted) {
+            throw new IllegalStateException(
+                    "The graph file does not store a topological order.");
+        }
+
+        return new AbstractList<>() {
+
+            @Override
+            public Integer get(int index) {
+                Objects.checkIndex(index, numberOfNodes);
+                return nodeIds.get(index);
+            }
+
+            @Override
+            public int size() {
+                return numberOfNodes;
+            }
+        };
+    }
+
+    /**
+     * Returns the node with the dense index {@code index}.
+     *
+     * @param index the dense index.
+     * @return the node ID.
+     */
+    @Override
+    public int getNodeId(int index) {
+        return nodeIds.get(Objects.checkIndex(index, numberOfNodes));
+    }
+
+    /**
+     * Returns the dense index of {@code node}, or -1 if the node is not in
+     * the graph.
+     *
+     * @param node the query node.
+     * @return the dense index of the node.
+     */
+    public int getIndex(int node) {
+        int slot = BinaryGraphFormat.hash(node) & tableMask;
+
+        while (true) {
+            int indexPlusOne = table.get(2 * slot + 1);
+
+            if (indexPlusOne == 0) {
+                return -1;
+            }
+
+            if (table.get(2 * slot) == node) {
+                return indexPlusOne - 1;
+            }
+
+            slot = (slot + 1) & tableMask;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return numberOfNodes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNumberOfChildren(int index) {
+        Objects.checkIndex(index, numberOfNodes);
+        return edgeOffsets.get(index + 1) - edgeOffsets.get(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getChildIndex(int index, int position) {
+        Objects.checkIndex(position, getNumberOfChildren(index));
+        return edgeHeads.get(edgeOffsets.get(index) + position);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addNode(Integer node) {
+        throw unsupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNode(Integer node) {
+        Objects.requireNonNull(node);
+        return getIndex(node) != -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean clearNode(Integer node) {
+        throw unsupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeNode(Integer node) {
+        throw unsupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addEdge(Integer tailNode, Integer headNode, double weight) {
+        throw unsupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasEdge(Integer tailNode, Integer headNode) {
+        return !Double.isNaN(getEdgeWeight(tailNode, headNode));
+    }
+
+    /**
+     * Returns the weight of the arc {@code (tailNode, headNode)}, or
+     * {@link java.lang.Double#NaN} if there is no such arc. Runs in time
+     * linear in the out-degree of {@code tailNode}.
+     *
+     * @param tailNode the tail node of the query arc.
+     * @param headNode the head node of the query arc.
+     * @return the weight of the arc.
+     */
+    @Override
+    public double getEdgeWeight(Integer tailNode, Integer headNode) {
+        Objects.requireNonNull(tailNode);
+        Objects.requireNonNull(headNode);
+
+        int tailIndex = getIndex(tailNode);
+        int headIndex = getIndex(headNode);
+
+        if (tailIndex == -1 || headIndex == -1) {
+            return Double.NaN;
+        }
+
+        for (int edge = edgeOffsets.get(tailIndex),
+                end = edgeOffsets.get(tailIndex + 1);
+                edge < end;
+                edge++) {
+            if (edgeHeads.get(edge) == headIndex) {
+                return edgeWeights.get(edge);
+            }
+        }
+
+        return Double.NaN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeEdge(Integer tailNode, Integer headNode) {
+        throw unsupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> getChildrenOf(Integer node) {
+        Objects.requireNonNull(node);
+        return new NeighbourSet(getIndexOrThrow(node), true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> getParentsOf(Integer node) {
+        Objects.requireNonNull(node);
+        return new NeighbourSet(getIndexOrThrow(node), false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachChild(int node, IntDoubleConsumer consumer) {
+        int index = getIndexOrThrow(node);
+
+        for (int edge = edgeOffsets.get(index),
+                end = edgeOffsets.get(index + 1);
+                edge < end;
+                edge++) {
+            consumer.accept(nodeIds.get(edgeHeads.get(edge)),
+                            edgeWeights.get(edge));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachParent(int node, IntDoubleConsumer consumer) {
+        int index = getIndexOrThrow(node);
+
+        for (int edge = parentOffsets.get(index),
+                end = parentOffsets.get(index + 1);
+                edge < end;
+                edge++) {
+            consumer.accept(nodeIds.get(parentTails.get(edge)),
+                            parentWeights.get(edge));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> getAllNodes() {
+        return new NodeSet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        throw unsupported();
+    }
+
+    private int getIndexOrThrow(int node) {
+        int index = getIndex(node);
+
+        if (index == -1) {
+            throw new IllegalStateException(
+                    "Node " + node + " is not in the graph.");
+        }
+
+        return index;
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException(
+                "The mapped graph is read-only.");
+    }
+
+    /**
+     * An unmodifiable view over the children or the parents of a node.
+     */
+    private final class NeighbourSet extends AbstractSet<Integer> {
+
+        private final int index;
+        private final boolean children;
+
+        NeighbourSet(int index, boolean children) {
+            this.index = index;
+            this.children = children;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return children
+                    ? new IndexIterator(edgeHeads,
+                                        edgeOffsets.get(index),
+                                        edgeOffsets.get(index + 1))
+                    : new IndexIterator(parentTails,
+                                        parentOffsets.get(index),
+                                        parentOffsets.get(index + 1));
+        }
+
+        @Override
+        public int size() {
+            IntBuffer offsets = children ? edgeOffsets : parentOffsets;
+            return offsets.get(index + 1) - offsets.get(index);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Integer)) {
+                return false;
+            }
+
+            Integer node = nodeIds.get(index);
+            Integer neighbour = (Integer) o;
+
+            return children ? hasEdge(node, neighbour)
+                            : hasEdge(neighbour, node);
+        }
+    }
+
+    /**
+     * An unmodifiable view over all the nodes.
+     */
+    private final class NodeSet extends AbstractSet<Integer> {
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new IndexIterator(null, 0, numberOfNodes);
+        }
+
+        @Override
+        public int size() {
+            return numberOfNodes;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && getIndex((Integer) o) != -1;
+        }
+    }
+
+    /**
+     * Iterates over the nodes whose dense indices are stored in the range
+     * {@code [begin, end)} of {@code indices}, or over the nodes with the
+     * dense indices {@code begin, ..., end - 1} if {@code indices} is
+     * {@code null}.
+     */
+    private final class IndexIterator implements Iterator<Integer> {
+
+        private final IntBuffer indices;
+        private final int end;
+        private int position;
+
+        IndexIterator(IntBuffer indices, int begin, int end) {
+            this.indices = indices;
+            this.position = begin;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < end;
+        }
+
+        @Override
+        public Integer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            int index = indices == null ? position : indices.get(position);
+            position++;
+            return nodeIds.get(index);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.github.coderodde.graph.sp;
 
+import com.github.coderodde.graph.AbstractGraph;
 import com.github.coderodde.graph.impl.DirectedGraph;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -15,23 +19,139 @@ import java.util.Objects;
  */
 public abstract class AbstractDagShortestPathQueryRunner {
     
-    protected final DirectedGraph graph;
+    protected final AbstractGraph graph;
     protected final AbstractGraphPreprocessor graphPreprocessor;
     
     protected long expectedGraphModCount = -1L;
     
+    /**
+     * The per-thread search states of this runner.
+     */
+    private final ThreadLocal<DagQueryWorkspace> workspaces = 
+            ThreadLocal.withInitial(DagQueryWorkspace::new);
+    
     public AbstractDagShortestPathQueryRunner(
-            DirectedGraph graph,
+            AbstractGraph graph,
             AbstractGraphPreprocessor graphPreprocessor) {
         this.graph = Objects.requireNonNull(graph);
         this.graphPreprocessor = graphPreprocessor;
     }
     
+    public AbstractGraph getGraph() {
+        return graph;
+    }
+    
+    public AbstractGraphPreprocessor getGraphPreprocessor() {
+        return graphPreprocessor;
+    }
+    
     public abstract long getPreprocessingDuration();
     
     public abstract DirectedGraph.Path queryShortestPath(Integer sourceNode,
                                                          Integer targetNode);
     
+    /**
+     * Computes the shortest paths from {@code sourceNode} to all the nodes 
+     * reachable from it in a single sweep to the end of the topological 
+     * order.
+     * 
+     * @param sourceNode the source node.
+     * @return the shortest path tree rooted at {@code sourceNode}.
+     */
+    public abstract ShortestPathTree queryShortestPathTree(Integer sourceNode);
+    
+    /**
+     * Answers a batch of shortest path queries. The queries are grouped by 
+     * their source nodes, and each group is answered from a single sweep that
+     * stops at the furthest target of the group.
+     * 
+     * @param queries the queries to answer.
+     * @return the list of shortest paths in the iteration order of 
+     *         {@code queries}; the entries of the queries whose target is not
+     *         reachable are {@code null}.
+     */
+    public List<DirectedGraph.Path> 
+        queryShortestPaths(Collection<SourceTargetPair> queries) {
+            
+        List<SourceTargetPair> queryList = new ArrayList<>(queries);
+        DirectedGraph.Path[] paths = new DirectedGraph.Path[queryList.size()];
+        
+        for (Map.Entry<Integer, List<Integer>> entry 
+                : groupQueryIndicesBySource(queryList).entrySet()) {
+            answerQueryGroup(entry.getKey(), entry.getValue(), queryList, paths);
+        }
+        
+        return Arrays.asList(paths);
+    }
+    
+    /**
+     * Groups the indices of the queries in {@code queryList} by their source
+     * nodes.
+     * 
+     * @param queryList the list of queries.
+     * @return the map mapping each source node to the indices of its queries.
+     */
+    protected static Map<Integer, List<Integer>> 
+        groupQueryIndicesBySource(List<SourceTargetPair> queryList) {
+            
+        Map<Integer, List<Integer>> queryIndicesBySource = 
+                new LinkedHashMap<>();
+        
+        for (int i = 0; i < queryList.size(); i++) {
+            queryIndicesBySource.computeIfAbsent(
+                    queryList.get(i).getSourceNode(), 
+                    sourceNode -> new ArrayList<>()).add(i);
+        }
+        
+        return queryIndicesBySource;
+    }
+        
+    /**
+     * Answers all the queries sharing the source node {@code sourceNode} from
+     * a single shortest path tree.
+     * 
+     * @param sourceNode   the common source node.
+     * @param queryIndices the indices of the queries in {@code queryList}.
+     * @param queryList    the list of all the queries.
+     * @param paths        the array receiving the paths at the query indices.
+     */
+    protected void answerQueryGroup(Integer sourceNode,
+                                    List<Integer> queryIndices,
+                                    List<SourceTargetPair> queryList,
+                                    DirectedGraph.Path[] paths) {
+        List<Integer> targetNodes = new ArrayList<>(queryIndices.size());
+        
+        for (Integer queryIndex : queryIndices) {
+            targetNodes.add(queryList.get(queryIndex).getTargetNode());
+        }
+        
+        ShortestPathTree tree = queryShortestPathTree(sourceNode, targetNodes);
+        
+        for (Integer queryIndex : queryIndices) {
+            Integer targetNode = queryList.get(queryIndex).getTargetNode();
+            
+            if (tree.hasPathTo(targetNode)) {
+                paths[queryIndex] = tree.getPath(targetNode);
+            }
+        }
+    }
+        
+    /**
+     * Computes a shortest path tree from {@code sourceNode} that covers at 
+     * least all the nodes in {@code targetNodes}. The runners that know the 
+     * topological indices override this in order to stop the sweep at the 
+     * furthest target; this implementation sweeps the entire order.
+     * 
+     * @param sourceNode  the source node.
+     * @param targetNodes the target nodes the tree must cover.
+     * @return a shortest path tree rooted at {@code sourceNode}.
+     */
+    protected ShortestPathTree 
+        queryShortestPathTree(Integer sourceNode, 
+                              Collection<Integer> targetNodes) {
+        return queryShortestPathTree(sourceNode);
+    }
+    
     @Override
     public String toString() {
         return getClass().getSimpleName() 
@@ -40,27 +160,82 @@ public abstract class AbstractDagShortestPathQueryRunner {
                 + "]";
     }
     
+    /**
+     * Returns the workspace of the calling thread, prepared for a new query 
+     * over {@code capacity} topological indices.
+     * 
+     * @param capacity the number of topological indices.
+     * @return the prepared workspace.
+     */
+    protected DagQueryWorkspace getWorkspace(int capacity) {
+        return getWorkspace(capacity, false);
+    }
+    
+    /**
+     * Returns the workspace of the calling thread, prepared for a new query 
+     * over {@code capacity} topological indices.
+     * 
+     * @param capacity      the number of topological indices.
+     * @param trackFrontier whether the workspace should track the frontier.
+     * @return the prepared workspace.
+     */
+    protected DagQueryWorkspace getWorkspace(int capacity, 
+                                             boolean trackFrontier) {
+        DagQueryWorkspace workspace = workspaces.get();
+        workspace.prepare(capacity, trackFrontier);
+        return workspace;
+    }
+    
     /**
      * Reconstructs the shortest path.
      * 
-     * @param targetNode the target node in the target graph.
-     * @param parentMap  the map mapping each node to its predecessor.
+     * @param targetIndex              the topological index of the target 
+     *                                 node.
+     * @param workspace                the workspace holding the search 
+     *                                 state.
+     * @param topologicallySortedNodes the list mapping topological indices to 
+     *                                 the nodes.
      * @return the shortest path.
      */
     protected DirectedGraph.Path 
-        tracebackPath(Integer targetNode, 
-                      Map<Integer, Integer> parentMap) {
+        tracebackPath(int targetIndex,
+                      DagQueryWorkspace workspace,
+                      List<Integer> topologicallySortedNodes) {
             
         List<Integer> pathList = new ArrayList<>();
-        Integer node = targetNode;
         
-        while (node != null) {
-            pathList.add(node);
-            node = parentMap.get(node);
+        for (int index = targetIndex; 
+                index != -1; 
+                index = workspace.getParent(index)) {
+            pathList.add(topologicallySortedNodes.get(index));
         }
         
         Collections.reverse(pathList);
-        return new DirectedGraph.Path(graph, pathList);
+        return new DirectedGraph.Path(graph, 
+                                      pathList, 
+                                      workspace.getDistance(targetIndex));
+    }
+    
+    /**
+     * Consults the reachability index of the preprocessor, if there is an 
+     * up-to-date one, before any sweep takes place.
+     * 
+     * @param sourceIndex the topological index of the source node.
+     * @param targetIndex the topological index of the target node.
+     * @return {@code false} if the target is certainly unreachable from the
+     *         source.
+     */
+    protected boolean mayReach(int sourceIndex, int targetIndex) {
+        ReachabilityIndex reachabilityIndex = 
+                graphPreprocessor.getReachabilityIndex();
+        
+        if (reachabilityIndex == null 
+                || reachabilityIndex.getSourceModificationCount() 
+                != graph.getModificationCount()) {
+            return sourceIndex <= targetIndex;
+        }
+        
+        return reachabilityIndex.mayReach(sourceIndex, targetIndex);
     }
     
     protected void checkSourceNode(Integer sourceNode) {
@@ -1,13 +1,23 @@
 package com.github.coderodde.graph.sp;
 
-import com.github.coderodde.graph.TopologicalSortChecker;
+import com.github.coderodde.graph.AbstractGraph;
 import com.github.coderodde.graph.TopologicalSorter;
-import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.impl.CompressedDirectedGraph;
+import com.github.coderodde.graph.util.IntIntMap;
+import com.github.coderodde.graph.util.IntIntOpenHashMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
 
 /**
  * 
@@ -18,26 +28,90 @@ import java.util.Objects;
 public abstract class AbstractGraphPreprocessor {
     
     private static final long UNSET_PREPROCESSING_DURATION = -1L;
+    private static final int REACHABILITY_INDEX_DISABLED = -1;
     
     protected final List<Integer> topologicallySortedNodes;
-    protected final Map<Integer, Integer> indexMap;
+    protected final IntIntOpenHashMap indexMap;
     protected long preprocessingDuration = UNSET_PREPROCESSING_DURATION;
-    protected final DirectedGraph graph;
+    protected final AbstractGraph graph;
     
-    public AbstractGraphPreprocessor(DirectedGraph graph) {
+    /**
+     * Answers the index lookups. This is {@link #indexMap} unless the order is
+     * fixed by the subclass.
+     */
+    private final IntIntMap indexLookup;
+    private final boolean orderFixed;
+    private final Map<Integer, Integer> indexMapView = new IndexMapView();
+    private int numberOfReachabilityLabels = REACHABILITY_INDEX_DISABLED;
+    private volatile ReachabilityIndex reachabilityIndex;
+    private Path artifactFile;
+    
+    public AbstractGraphPreprocessor(AbstractGraph graph) {
         this.graph = Objects.requireNonNull(graph);
         this.topologicallySortedNodes = new ArrayList<>(graph.size());
-        this.indexMap = new HashMap<>(graph.size());
+        this.indexMap = new IntIntOpenHashMap(graph.size());
+        this.indexLookup = indexMap;
+        this.orderFixed = false;
+    }
+    
+    /**
+     * Constructs a preprocessor over a topological order kept outside of the 
+     * preprocessor, such as the order stored in a graph file. The order and 
+     * the index lookup are used as they are, without copying; hence the 
+     * subclass must not sort the graph, and the artifact files cannot be 
+     * used.
+     * 
+     * @param graph                    the graph to preprocess.
+     * @param topologicallySortedNodes the topological order of the graph.
+     * @param indexLookup              maps each node to its index in 
+     *                                 {@code topologicallySortedNodes}.
+     */
+    protected AbstractGraphPreprocessor(AbstractGraph graph, 
+                                        List<Integer> topologicallySortedNodes,
+                                        IntIntMap indexLookup) {
+        this.graph = Objects.requireNonNull(graph);
+        this.topologicallySortedNodes = 
+                Objects.requireNonNull(topologicallySortedNodes);
+        this.indexMap = new IntIntOpenHashMap();
+        this.indexLookup = Objects.requireNonNull(indexLookup);
+        this.orderFixed = true;
     }
 
     public abstract void preprocessGraph();
     
     protected void preprocessGraph(TopologicalSorter topologicalSorter) {
+        checkOrderNotFixed();
         long startTime = System.currentTimeMillis();
         
-        topologicallySortedNodes.clear();
-        topologicallySortedNodes.addAll(topologicalSorter.sort(graph));
-        topologicalSorter.loadIndexMap(topologicallySortedNodes, indexMap);
+        if (artifactFile == null) {
+            sortGraph(topologicalSorter);
+        } else {
+            // Adopt the artifacts of the same graph saved by another process:
+            long structuralHash = graph.computeStructuralHash();
+            
+            try {
+                PreprocessingArtifactFile.Artifacts artifacts = 
+                        PreprocessingArtifactFile.read(artifactFile, 
+                                                       structuralHash);
+                
+                boolean adopted = 
+                        artifacts != null && adoptArtifacts(artifacts);
+                
+                if (!adopted) {
+                    sortGraph(topologicalSorter);
+                }
+                
+                if (!adopted || artifacts.getNumberOfLabels() 
+                        != numberOfReachabilityLabels) {
+                    PreprocessingArtifactFile.write(artifactFile, 
+                                                    structuralHash, 
+                                                    topologicallySortedNodes, 
+                                                    reachabilityIndex);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
         
         long endTime = System.currentTimeMillis();
         long duration = endTime - startTime;
@@ -45,12 +119,125 @@ public abstract class AbstractGraphPreprocessor {
         this.preprocessingDuration = duration;
     }
     
+    /**
+     * Makes the subsequent preprocessing runs share their results through 
+     * {@code artifactFile}. Before sorting, the preprocessing computes the 
+     * structural hash of the graph via 
+     * {@link AbstractGraph#computeStructuralHash()}; if the file holds the 
+     * artifacts of a graph with the same hash, the topological order and the 
+     * reachability index are adopted from the file instead. Otherwise, the 
+     * graph is sorted and the file is overwritten with the new artifacts. 
+     * Passing {@code null} turns the sharing off.
+     * 
+     * @param artifactFile the artifact file, or {@code null}.
+     */
+    public void setArtifactFile(Path artifactFile) {
+        checkOrderNotFixed();
+        this.artifactFile = artifactFile;
+    }
+    
+    /**
+     * Saves the results of the latest preprocessing to {@code file}.
+     * 
+     * @param file the target file.
+     * @throws IOException if writing fails.
+     */
+    public void saveArtifacts(Path file) throws IOException {
+        if (preprocessingDuration == UNSET_PREPROCESSING_DURATION) {
+            throw new IllegalStateException("Preprocessing was not run.");
+        }
+        
+        PreprocessingArtifactFile.write(file, 
+                                        graph.computeStructuralHash(), 
+                                        topologicallySortedNodes, 
+                                        reachabilityIndex);
+    }
+    
+    /**
+     * Adopts the preprocessing results saved in {@code file} if they were 
+     * computed for a graph with the same structure as the current one. Note 
+     * that the query runners preprocess the graph on their first query; use 
+     * {@link #setArtifactFile(Path)} to make that preprocessing read the file.
+     * 
+     * @param file the artifact file.
+     * @return {@code true} if the results were adopted, {@code false} if the 
+     *         file does not exist or belongs to another graph.
+     * @throws IOException if reading fails or the file is malformed.
+     */
+    public boolean loadArtifacts(Path file) throws IOException {
+        checkOrderNotFixed();
+        long startTime = System.currentTimeMillis();
+        PreprocessingArtifactFile.Artifacts artifacts = 
+                PreprocessingArtifactFile.read(file, 
+                                               graph.computeStructuralHash());
+        
+        if (artifacts == null || !adoptArtifacts(artifacts)) {
+            return false;
+        }
+        
+        this.preprocessingDuration = System.currentTimeMillis() - startTime;
+        return true;
+    }
+    
     public List<Integer> getTopologicallySortedNodes() {
         return topologicallySortedNodes;
     }
     
+    /**
+     * Returns an unmodifiable view of the map mapping each node to its 
+     * topological index.
+     * 
+     * @return the index map view.
+     */
     public Map<Integer, Integer> getIndexMap() {
-        return indexMap;
+        return indexMapView;
+    }
+    
+    /**
+     * Returns the primitive map mapping each node to its topological index.
+     * The query runners sweep with it directly so that no copy of the 
+     * preprocessing results is needed.
+     * 
+     * @return the primitive index map.
+     */
+    public IntIntMap getPrimitiveIndexMap() {
+        return indexLookup;
+    }
+    
+    /**
+     * Makes the subsequent preprocessing runs build a 
+     * {@link ReachabilityIndex} with {@code numberOfLabels} interval labels 
+     * per node. The index takes {@code O(numberOfLabels * (V + E))} time to 
+     * build and lets the query runners reject most unreachable targets 
+     * without a sweep.
+     * 
+     * @param numberOfLabels the number of interval labels per node.
+     */
+    public void enableReachabilityIndex(int numberOfLabels) {
+        if (numberOfLabels < 0) {
+            throw new IllegalArgumentException(
+                    "Negative number of labels: " + numberOfLabels);
+        }
+        
+        this.numberOfReachabilityLabels = numberOfLabels;
+    }
+    
+    /**
+     * Stops building the reachability index and drops the current one.
+     */
+    public void disableReachabilityIndex() {
+        this.numberOfReachabilityLabels = REACHABILITY_INDEX_DISABLED;
+        this.reachabilityIndex = null;
+    }
+    
+    /**
+     * Returns the reachability index built by the latest preprocessing, or 
+     * {@code null} if the index is disabled.
+     * 
+     * @return the reachability index.
+     */
+    public ReachabilityIndex getReachabilityIndex() {
+        return reachabilityIndex;
     }
     
     public long getPreprocessingDuration() {
@@ -61,9 +248,183 @@ public abstract class AbstractGraphPreprocessor {
         return preprocessingDuration;
     }
     
+    private void checkOrderNotFixed() {
+        if (orderFixed) {
+            throw new UnsupportedOperationException(
+                    "The topological order is fixed by " 
+                            + getClass().getSimpleName() + ".");
+        }
+    }
+    
+    private void sortGraph(TopologicalSorter topologicalSorter) {
+        topologicallySortedNodes.clear();
+        topologicallySortedNodes.addAll(topologicalSorter.sort(graph));
+        computeIndexMap();
+        buildReachabilityIndex();
+    }
+    
+    /**
+     * Replaces the preprocessing results with {@code artifacts}. The 
+     * reachability index is rebuilt over the adopted order if the file holds 
+     * no index with the current number of labels.
+     * 
+     * @param artifacts the artifacts to adopt.
+     * @return {@code false} if the artifacts do not fit the current graph, in
+     *         which case nothing is changed.
+     */
+    private boolean adoptArtifacts(PreprocessingArtifactFile.Artifacts 
+                                           artifacts) {
+        // Guard against hash collisions before touching anything:
+        if (artifacts.order.length != graph.size()) {
+            return false;
+        }
+        
+        for (int node : artifacts.order) {
+            if (!graph.hasNode(node)) {
+                return false;
+            }
+        }
+        
+        topologicallySortedNodes.clear();
+        
+        for (int node : artifacts.order) {
+            topologicallySortedNodes.add(node);
+        }
+        
+        computeIndexMap();
+        
+        if (artifacts.getNumberOfLabels() == numberOfReachabilityLabels 
+                && artifacts.hasReachabilityIndex()) {
+            reachabilityIndex = 
+                    new ReachabilityIndex(artifacts.levels, 
+                                          artifacts.lows, 
+                                          artifacts.posts, 
+                                          graph.getModificationCount());
+        } else {
+            reachabilityIndex = null;
+            buildReachabilityIndex();
+        }
+        
+        return true;
+    }
+    
     protected void computeIndexMap() {
+        indexMap.clear();
+        
         for (int index = 0; index < topologicallySortedNodes.size(); index++) {
             indexMap.put(topologicallySortedNodes.get(index), index);
         }
     }
+    
+    /**
+     * Rebuilds the reachability index over the current topological order if 
+     * the index is enabled.
+     */
+    protected void buildReachabilityIndex() {
+        if (numberOfReachabilityLabels == REACHABILITY_INDEX_DISABLED) {
+            return;
+        }
+        
+        long modificationCount = graph.getModificationCount();
+        
+        if (reachabilityIndex != null 
+                && reachabilityIndex.getNumberOfLabels() 
+                == numberOfReachabilityLabels
+                && reachabilityIndex.getSourceModificationCount() 
+                == modificationCount) {
+            return;
+        }
+        
+        reachabilityIndex = 
+                new ReachabilityIndex(
+                        new CompressedDirectedGraph(graph, 
+                                                    topologicallySortedNodes),
+                        numberOfReachabilityLabels,
+                        new Random(modificationCount));
+    }
+    
+    /**
+     * Exposes {@link #indexLookup} as a {@link Map}. The entries are 
+     * enumerated in topological order; a node at the list index {@code i} 
+     * maps to {@code i}.
+     */
+    private final class IndexMapView extends AbstractMap<Integer, Integer> {
+        
+        private final Set<Map.Entry<Integer, Integer>> entrySet = 
+                new AbstractSet<>() {
+                    
+            @Override
+            public Iterator<Map.Entry<Integer, Integer>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return indexLookup.size();
+            }
+        };
+        
+        @Override
+        public Set<Map.Entry<Integer, Integer>> entrySet() {
+            return entrySet;
+        }
+
+        @Override
+        public int size() {
+            return indexLookup.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Integer 
+                    && indexLookup.containsKey((Integer) key);
+        }
+
+        @Override
+        public Integer get(Object key) {
+            if (!(key instanceof Integer)) {
+                return null;
+            }
+            
+            int index = indexLookup.getOrDefault((Integer) key, -1);
+            return index == -1 ? null : index;
+        }
+    }
+    
+    private final class EntryIterator 
+            implements Iterator<Map.Entry<Integer, Integer>> {
+
+        private int index = -1;
+        
+        EntryIterator() {
+            advance();
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return index < topologicallySortedNodes.size();
+        }
+
+        @Override
+        public Map.Entry<Integer, Integer> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            
+            Map.Entry<Integer, Integer> entry = 
+                    new AbstractMap.SimpleImmutableEntry<>(
+                            topologicallySortedNodes.get(index), 
+                            index);
+            advance();
+            return entry;
+        }
+        
+        private void advance() {
+            // Skip the slots of the removed nodes that are not compacted yet:
+            do {
+                index++;
+            } while (index < topologicallySortedNodes.size() 
+                    && topologicallySortedNodes.get(index) == null);
+        }
+    }
 }
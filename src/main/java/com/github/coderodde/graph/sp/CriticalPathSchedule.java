@@ -0,0 +1,139 @@
+package com.github.coderodde.graph.sp;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.util.IntIntOpenHashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class holds a critical path schedule of a DAG whose arcs are the jobs
+ * and whose arc weights are the job durations. Each node is an event: its
+ * earliest start is the length of the longest path ending at it, and its
+ * latest start is the latest time the event may happen without delaying the
+ * makespan, that is, the length of the longest path in the entire graph. The
+ * slack of a node is the difference of the two; the nodes on a critical path
+ * have zero slack.
+ * <p>
+ * The schedule is a snapshot: it owns copies of all the data it needs and is
+ * not affected by the later modifications of the graph.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class CriticalPathSchedule {
+
+    private final AbstractGraph graph;
+    private final int[] nodes;
+    private final IntIntOpenHashMap indexMap;
+    private final double[] earliestStarts;
+    private final double[] latestStarts;
+    private final int[] criticalParents;
+    private final int lastCriticalIndex;
+
+    /**
+     * Constructs the schedule. All the arrays are indexed by topological
+     * indices and are not copied.
+     *
+     * @param graph             the scheduled graph.
+     * @param nodes             the topologically sorted nodes.
+     * @param indexMap          maps the nodes to their topological indices.
+     * @param earliestStarts    the earliest starts.
+     * @param latestStarts      the latest starts.
+     * @param criticalParents   the parents along the longest paths, or
+     *                          {@code -1} for the nodes with no parent on a
+     *                          longest path.
+     * @param lastCriticalIndex the topological index of the node ending the
+     *                          longest path, or {@code -1} if the graph is
+     *                          empty.
+     */
+    public CriticalPathSchedule(AbstractGraph graph,
+                                int[] nodes,
+                                IntIntOpenHashMap indexMap,
+                                double[] earliestStarts,
+                                double[] latestStarts,
+                                int[] criticalParents,
+                                int lastCriticalIndex) {
+        this.graph = Objects.requireNonNull(graph);
+        this.nodes = nodes;
+        this.indexMap = indexMap;
+        this.earliestStarts = earliestStarts;
+        this.latestStarts = latestStarts;
+        this.criticalParents = criticalParents;
+        this.lastCriticalIndex = lastCriticalIndex;
+    }
+
+    /**
+     * Returns the length of the longest path in the graph.
+     *
+     * @return the makespan.
+     */
+    public double getMakespan() {
+        return lastCriticalIndex == -1 ? 0.0
+                                       : earliestStarts[lastCriticalIndex];
+    }
+
+    /**
+     * Returns the earliest start of {@code node}.
+     *
+     * @param node the node.
+     * @return the earliest start.
+     */
+    public double getEarliestStart(Integer node) {
+        return earliestStarts[getIndex(node)];
+    }
+
+    /**
+     * Returns the latest start of {@code node}.
+     *
+     * @param node the node.
+     * @return the latest start.
+     */
+    public double getLatestStart(Integer node) {
+        return latestStarts[getIndex(node)];
+    }
+
+    /**
+     * Returns the slack of {@code node}.
+     *
+     * @param node the node.
+     * @return the slack.
+     */
+    public double getSlack(Integer node) {
+        int index = getIndex(node);
+        return latestStarts[index] - earliestStarts[index];
+    }
+
+    /**
+     * Returns a longest path of the graph. If the graph is empty, the
+     * returned path is empty as well.
+     *
+     * @return a critical path.
+     */
+    public DirectedGraph.Path getCriticalPath() {
+        List<Integer> pathList = new ArrayList<>();
+
+        for (int index = lastCriticalIndex;
+                index != -1;
+                index = criticalParents[index]) {
+            pathList.add(nodes[index]);
+        }
+
+        Collections.reverse(pathList);
+        return new DirectedGraph.Path(graph, pathList, getMakespan());
+    }
+
+    private int getIndex(Integer node) {
+        int index = indexMap.getOrDefault(Objects.requireNonNull(node), -1);
+
+        if (index == -1) {
+            throw new IllegalArgumentException(
+                    "The node (" + node + ") is not in the schedule.");
+        }
+
+        return index;
+    }
+}
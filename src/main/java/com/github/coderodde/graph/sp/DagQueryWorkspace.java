@@ -0,0 +1,315 @@
+package com.github.coderodde.graph.sp;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.IntDoubleConsumer;
+import com.github.coderodde.graph.util.IntIntMap;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * This class implements a reusable search state for the topological sweeps.
+ * The distances and the parents are kept in dense arrays indexed by the
+ * topological indices of the nodes. Each array slot carries a stamp of the
+ * query that wrote it last; a slot whose stamp differs from the current one is
+ * considered unreached. Starting a new query only bumps the current stamp, so
+ * no per-query clearing or allocation is needed once the arrays are large
+ * enough.
+ * <p>
+ * Optionally, the workspace tracks the frontier: the set of reached slots 
+ * whose arcs are not relaxed yet. A sweep that polls the frontier instead of 
+ * walking every index visits only the reached part of the graph and knows 
+ * when nothing more can be reached.
+ * <p>
+ * A workspace is not thread-safe; the query runners keep one per thread.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class DagQueryWorkspace implements IntDoubleConsumer {
+
+    private double[] distances = new double[0];
+    private int[] parents = new int[0];
+    private int[] stamps = new int[0];
+    private int stamp;
+    private final BitSet frontier = new BitSet();
+    private boolean frontierTracked;
+
+    // The state of the ongoing relaxChildren() call:
+    private IntIntMap relaxIndexMap;
+    private int relaxNodeIndex;
+    private double relaxNodeDistance;
+    private int relaxMaximumIndex;
+    private double relaxWeightFactor;
+
+    /**
+     * Starts a new query over {@code capacity} topological indices. All the
+     * slots become unreached.
+     *
+     * @param capacity the number of topological indices to support.
+     */
+    public void prepare(int capacity) {
+        prepare(capacity, false);
+    }
+    
+    /**
+     * Starts a new query over {@code capacity} topological indices. All the
+     * slots become unreached.
+     *
+     * @param capacity       the number of topological indices to support.
+     * @param trackFrontier  whether to track the reached slots not polled 
+     *                       yet.
+     */
+    public void prepare(int capacity, boolean trackFrontier) {
+        if (!frontier.isEmpty()) {
+            // Left over by a sweep that stopped early:
+            frontier.clear();
+        }
+        
+        frontierTracked = trackFrontier;
+        
+        if (stamps.length < capacity) {
+            distances = new double[capacity];
+            parents = new int[capacity];
+            stamps = new int[capacity];
+        }
+
+        if (++stamp == 0) {
+            // The stamp wrapped around; old stamps could collide with it:
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * Marks the slot {@code index} as the source of the search.
+     *
+     * @param index the topological index of the source node.
+     */
+    public void setSource(int index) {
+        stamps[index] = stamp;
+        distances[index] = 0.0;
+        parents[index] = -1;
+        
+        if (frontierTracked) {
+            frontier.set(index);
+        }
+    }
+
+    /**
+     * Checks whether the slot {@code index} was reached in the current query.
+     *
+     * @param index the topological index.
+     * @return {@code true} if and only if the slot is reached.
+     */
+    public boolean isReached(int index) {
+        return stamps[index] == stamp;
+    }
+
+    /**
+     * Returns the tentative distance of the slot {@code index}, or
+     * {@link Double#POSITIVE_INFINITY} if the slot is not reached.
+     *
+     * @param index the topological index.
+     * @return the tentative distance.
+     */
+    public double getDistance(int index) {
+        return stamps[index] == stamp ? distances[index]
+                                      : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the parent slot of {@code index}, or {@code -1} if the slot is
+     * the source or is not reached.
+     *
+     * @param index the topological index.
+     * @return the parent topological index.
+     */
+    public int getParent(int index) {
+        return stamps[index] == stamp ? parents[index] : -1;
+    }
+
+    /**
+     * Lowers the distance of the slot {@code index} to {@code distance} if it
+     * improves the current one.
+     *
+     * @param index    the topological index to relax.
+     * @param distance the tentative distance.
+     * @param parent   the topological index of the parent.
+     * @return {@code true} if and only if the slot was improved.
+     */
+    public boolean relax(int index, double distance, int parent) {
+        if (stamps[index] != stamp) {
+            stamps[index] = stamp;
+            distances[index] = distance;
+            parents[index] = parent;
+            
+            if (frontierTracked) {
+                frontier.set(index);
+            }
+            
+            return true;
+        }
+        
+        if (distances[index] > distance) {
+            distances[index] = distance;
+            parents[index] = parent;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes and returns the smallest frontier slot not below 
+     * {@code fromIndex}, or {@code -1} if there is none. Since the arcs go 
+     * forward in the topological order, a sweep polling with increasing 
+     * indices processes every reached slot after all of its parents.
+     * 
+     * @param fromIndex the smallest index to consider.
+     * @return the next frontier slot, or {@code -1} if the frontier holds 
+     *         none.
+     */
+    public int pollFrontier(int fromIndex) {
+        int index = frontier.nextSetBit(fromIndex);
+        
+        if (index != -1) {
+            frontier.clear(index);
+        }
+        
+        return index;
+    }
+
+    /**
+     * Removes and returns the largest frontier slot not above
+     * {@code fromIndex}, or {@code -1} if there is none. This serves the
+     * sweeps running backward over the parents, which must process every
+     * reached slot after all of its children.
+     *
+     * @param fromIndex the largest index to consider.
+     * @return the next frontier slot, or {@code -1} if the frontier holds
+     *         none.
+     */
+    public int pollFrontierBackward(int fromIndex) {
+        int index = fromIndex < 0 ? -1 : frontier.previousSetBit(fromIndex);
+
+        if (index != -1) {
+            frontier.clear(index);
+        }
+
+        return index;
+    }
+    
+    /**
+     * Relaxes all the arcs leaving {@code node} whose head nodes have a
+     * topological index of at most {@code maximumIndex}.
+     *
+     * @param graph        the graph.
+     * @param node         the tail node.
+     * @param nodeIndex    the topological index of {@code node}.
+     * @param indexMap     the map mapping nodes to their topological indices.
+     * @param maximumIndex the largest topological index to relax.
+     */
+    public void relaxChildren(AbstractGraph graph,
+                              int node,
+                              int nodeIndex,
+                              IntIntMap indexMap,
+                              int maximumIndex) {
+        relaxChildren(graph, node, nodeIndex, indexMap, maximumIndex, 1.0);
+    }
+
+    /**
+     * Same as {@link #relaxChildren(AbstractGraph, int, int, IntIntMap, int)},
+     * but takes the tail node boxed, as the runners hold it in their
+     * topological order lists, so that the graphs keyed by {@link Integer}
+     * need not box it again.
+     *
+     * @param graph        the graph.
+     * @param node         the tail node.
+     * @param nodeIndex    the topological index of {@code node}.
+     * @param indexMap     the map mapping nodes to their topological indices.
+     * @param maximumIndex the largest topological index to relax.
+     */
+    public void relaxChildren(AbstractGraph graph,
+                              Integer node,
+                              int nodeIndex,
+                              IntIntMap indexMap,
+                              int maximumIndex) {
+        relaxChildren(graph, node, nodeIndex, indexMap, maximumIndex, 1.0);
+    }
+
+    /**
+     * Relaxes all the arcs leaving {@code node} whose head nodes have a
+     * topological index of at most {@code maximumIndex}, multiplying each arc
+     * weight by {@code weightFactor}. A factor of {@code -1.0} turns the
+     * search into a longest path search without copying the graph.
+     *
+     * @param graph        the graph.
+     * @param node         the tail node.
+     * @param nodeIndex    the topological index of {@code node}.
+     * @param indexMap     the map mapping nodes to their topological indices.
+     * @param maximumIndex the largest topological index to relax.
+     * @param weightFactor the factor to apply to the arc weights.
+     */
+    public void relaxChildren(AbstractGraph graph,
+                              int node,
+                              int nodeIndex,
+                              IntIntMap indexMap,
+                              int maximumIndex,
+                              double weightFactor) {
+        startRelaxing(nodeIndex, indexMap, maximumIndex, weightFactor);
+        graph.forEachChild(node, this);
+        relaxIndexMap = null;
+    }
+
+    /**
+     * Same as
+     * {@link #relaxChildren(AbstractGraph, int, int, IntIntMap, int, double)},
+     * but takes the tail node boxed.
+     *
+     * @param graph        the graph.
+     * @param node         the tail node.
+     * @param nodeIndex    the topological index of {@code node}.
+     * @param indexMap     the map mapping nodes to their topological indices.
+     * @param maximumIndex the largest topological index to relax.
+     * @param weightFactor the factor to apply to the arc weights.
+     */
+    public void relaxChildren(AbstractGraph graph,
+                              Integer node,
+                              int nodeIndex,
+                              IntIntMap indexMap,
+                              int maximumIndex,
+                              double weightFactor) {
+        startRelaxing(nodeIndex, indexMap, maximumIndex, weightFactor);
+        graph.forEachChild(node, this);
+        relaxIndexMap = null;
+    }
+
+    private void startRelaxing(int nodeIndex,
+                               IntIntMap indexMap,
+                               int maximumIndex,
+                               double weightFactor) {
+        relaxIndexMap = indexMap;
+        relaxNodeIndex = nodeIndex;
+        relaxNodeDistance = distances[nodeIndex];
+        relaxMaximumIndex = maximumIndex;
+        relaxWeightFactor = weightFactor;
+    }
+
+    /**
+     * Relaxes a single arc during {@link #relaxChildren}.
+     *
+     * @param node   the head node.
+     * @param weight the arc weight.
+     */
+    @Override
+    public void accept(int node, double weight) {
+        int index = relaxIndexMap.getOrDefault(node, -1);
+
+        if (index <= relaxMaximumIndex) {
+            relax(index, 
+                  relaxNodeDistance + relaxWeightFactor * weight, 
+                  relaxNodeIndex);
+        }
+    }
+}
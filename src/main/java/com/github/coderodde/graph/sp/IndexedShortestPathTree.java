@@ -0,0 +1,149 @@
+package com.github.coderodde.graph.sp;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * This class implements a shortest path tree over a range of topological 
+ * indices. The tree is captured from a {@link DagQueryWorkspace} after a sweep
+ * from the source index up to a last index, and owns copies of the distances
+ * and the parents in that range.
+ * <p>
+ * The tree refers to the node indexing of the runner that built it. If the 
+ * graph is modified afterwards, querying the tree throws a
+ * {@link ConcurrentModificationException}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class IndexedShortestPathTree implements ShortestPathTree {
+    
+    private final AbstractGraph graph;
+    private final long expectedGraphModCount;
+    private final Integer sourceNode;
+    private final int sourceIndex;
+    private final int lastIndex;
+    private final double[] distances;
+    private final int[] parents;
+    private final IntUnaryOperator nodeToIndex;
+    private final IntUnaryOperator indexToNode;
+    
+    /**
+     * Captures the tree swept into {@code workspace}.
+     * 
+     * @param graph       the graph.
+     * @param sourceNode  the source node.
+     * @param sourceIndex the topological index of the source node.
+     * @param lastIndex   the last topological index covered by the sweep.
+     * @param workspace   the workspace holding the sweep result.
+     * @param nodeToIndex maps the nodes to their topological indices, or to
+     *                    {@code -1} if absent.
+     * @param indexToNode maps the topological indices to the nodes.
+     */
+    public IndexedShortestPathTree(AbstractGraph graph,
+                                   Integer sourceNode,
+                                   int sourceIndex,
+                                   int lastIndex,
+                                   DagQueryWorkspace workspace,
+                                   IntUnaryOperator nodeToIndex,
+                                   IntUnaryOperator indexToNode) {
+        this.graph = Objects.requireNonNull(graph);
+        this.expectedGraphModCount = graph.getModificationCount();
+        this.sourceNode = sourceNode;
+        this.sourceIndex = sourceIndex;
+        this.lastIndex = lastIndex;
+        this.nodeToIndex = nodeToIndex;
+        this.indexToNode = indexToNode;
+        
+        int rangeLength = Math.max(0, lastIndex - sourceIndex + 1);
+        this.distances = new double[rangeLength];
+        this.parents = new int[rangeLength];
+        
+        for (int i = 0; i < rangeLength; i++) {
+            distances[i] = workspace.getDistance(sourceIndex + i);
+            parents[i] = workspace.getParent(sourceIndex + i);
+        }
+    }
+
+    @Override
+    public Integer getSourceNode() {
+        return sourceNode;
+    }
+    
+    /**
+     * Returns the last topological index covered by this tree.
+     * 
+     * @return the last topological index.
+     */
+    public int getLastIndex() {
+        return lastIndex;
+    }
+
+    @Override
+    public double getDistance(Integer targetNode) {
+        int index = getIndex(targetNode);
+        
+        if (index < sourceIndex) {
+            return Double.POSITIVE_INFINITY;
+        }
+        
+        return distances[index - sourceIndex];
+    }
+
+    @Override
+    public DirectedGraph.Path getPath(Integer targetNode) {
+        int targetIndex = getIndex(targetNode);
+        
+        if (targetIndex < sourceIndex 
+                || distances[targetIndex - sourceIndex] 
+                == Double.POSITIVE_INFINITY) {
+            throw new PathDoesNotExistException(sourceNode, targetNode);
+        }
+        
+        List<Integer> pathList = new ArrayList<>();
+        
+        for (int index = targetIndex; 
+                index != -1; 
+                index = parents[index - sourceIndex]) {
+            pathList.add(indexToNode.applyAsInt(index));
+        }
+        
+        Collections.reverse(pathList);
+        return new DirectedGraph.Path(graph, 
+                                      pathList, 
+                                      distances[targetIndex - sourceIndex]);
+    }
+    
+    private int getIndex(Integer node) {
+        Objects.requireNonNull(node);
+        
+        if (expectedGraphModCount != graph.getModificationCount()) {
+            throw new ConcurrentModificationException(
+                    "The graph was modified after building the tree.");
+        }
+        
+        int index = nodeToIndex.applyAsInt(node);
+        
+        if (index == -1) {
+            throw new IllegalArgumentException(
+                    "The node (" + node + ") is not in the graph.");
+        }
+        
+        if (index > lastIndex) {
+            throw new IllegalArgumentException(
+                    "The node (" 
+                            + node 
+                            + ") lies beyond the range swept by the tree.");
+        }
+        
+        return index;
+    }
+}
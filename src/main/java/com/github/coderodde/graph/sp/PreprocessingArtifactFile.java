@@ -0,0 +1,338 @@
+package com.github.coderodde.graph.sp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * This class reads and writes the preprocessing artifacts of an
+ * {@link AbstractGraphPreprocessor}. All the values are stored in the
+ * little-endian byte order. A file starts with a header of
+ * {@value #HEADER_SIZE} bytes:
+ * <pre>
+ * offset  type  field
+ *      0  int   magic number {@code 0x44414750} ("DAGP")
+ *      4  int   format version
+ *      8  long  structural hash of the graph
+ *     16  int   number of nodes n
+ *     20  int   number of reachability labels k, or -1 if there is no
+ *               reachability index
+ * </pre>
+ * The header is followed by the topological order {@code int[n]}. If
+ * {@code k >= 0}, the order is followed by the topological levels
+ * {@code int[n]} and then, for each label, by its lower and upper interval
+ * bounds {@code int[n]} each. The index map is not stored, since it is
+ * rebuilt from the order in linear time.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+final class PreprocessingArtifactFile {
+
+    private static final int MAGIC = 0x44414750;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int NO_REACHABILITY_INDEX = -1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private PreprocessingArtifactFile() {}
+
+    /**
+     * The preprocessing artifacts read from a file.
+     */
+    static final class Artifacts {
+
+        final int[] order;
+        final int[] levels;
+        final int[][] lows;
+        final int[][] posts;
+
+        Artifacts(int[] order, int[] levels, int[][] lows, int[][] posts) {
+            this.order = order;
+            this.levels = levels;
+            this.lows = lows;
+            this.posts = posts;
+        }
+
+        boolean hasReachabilityIndex() {
+            return levels != null;
+        }
+
+        /**
+         * Returns the number of reachability labels, or -1 if there is no
+         * reachability index.
+         */
+        int getNumberOfLabels() {
+            return levels == null ? NO_REACHABILITY_INDEX : lows.length;
+        }
+    }
+
+    /**
+     * Writes the artifacts to {@code file}. The file is first written under a
+     * temporary name and then moved in place, so that the concurrent readers
+     * never see a partial file.
+     *
+     * @param file              the target file.
+     * @param structuralHash    the structural hash of the graph.
+     * @param order             the topological order.
+     * @param reachabilityIndex the reachability index, or {@code null}.
+     * @throws IOException if writing fails.
+     */
+    static void write(Path file,
+                      long structuralHash,
+                      List<Integer> order,
+                      ReachabilityIndex reachabilityIndex)
+            throws IOException {
+        int numberOfNodes = order.size();
+        int numberOfLabels = reachabilityIndex == null
+                ? NO_REACHABILITY_INDEX
+                : reachabilityIndex.getNumberOfLabels();
+
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporaryFile =
+                Files.createTempFile(directory,
+                                     file.getFileName().toString(),
+                                     ".tmp");
+
+        try {
+            try (FileChannel channel =
+                    FileChannel.open(temporaryFile,
+                                     StandardOpenOption.WRITE,
+                                     StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = allocateBuffer();
+
+                buffer.putInt(MAGIC)
+                      .putInt(VERSION)
+                      .putLong(structuralHash)
+                      .putInt(numberOfNodes)
+                      .putInt(numberOfLabels);
+
+                for (Integer node : order) {
+                    if (node == null) {
+                        throw new IllegalStateException(
+                                "The topological order has holes.");
+                    }
+
+                    if (!buffer.hasRemaining()) {
+                        flush(channel, buffer);
+                    }
+
+                    buffer.putInt(node);
+                }
+
+                if (reachabilityIndex != null) {
+                    writeInts(channel, buffer, reachabilityIndex.getLevels());
+
+                    for (int label = 0; label < numberOfLabels; label++) {
+                        writeInts(channel,
+                                  buffer,
+                                  reachabilityIndex.getLows()[label]);
+                        writeInts(channel,
+                                  buffer,
+                                  reachabilityIndex.getPosts()[label]);
+                    }
+                }
+
+                flush(channel, buffer);
+            }
+
+            try {
+                Files.move(temporaryFile,
+                           file,
+                           StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporaryFile,
+                           file,
+                           StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Reads the artifacts from {@code file} if they were computed for a graph
+     * with the structural hash {@code structuralHash}.
+     *
+     * @param file           the artifact file.
+     * @param structuralHash the structural hash of the current graph.
+     * @return the artifacts, or {@code null} if the file does not exist, is
+     *         of another format version or belongs to another graph.
+     * @throws IOException if reading fails or the file is malformed.
+     */
+    static Artifacts read(Path file, long structuralHash) throws IOException {
+        FileChannel channel;
+
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (NoSuchFileException ex) {
+            return null;
+        }
+
+        try (channel) {
+            long fileSize = channel.size();
+            ByteBuffer buffer = allocateBuffer();
+
+            buffer.limit(HEADER_SIZE);
+
+            if (fileSize < HEADER_SIZE || !fill(channel, buffer)) {
+                throw malformed(file);
+            }
+
+            buffer.flip();
+
+            if (buffer.getInt() != MAGIC) {
+                throw malformed(file);
+            }
+
+            if (buffer.getInt() != VERSION
+                    || buffer.getLong() != structuralHash) {
+                return null;
+            }
+
+            int numberOfNodes = buffer.getInt();
+            int numberOfLabels = buffer.getInt();
+
+            if (numberOfNodes < 0
+                    || numberOfLabels < NO_REACHABILITY_INDEX
+                    || fileSize != getFileSize(numberOfNodes,
+                                               numberOfLabels)) {
+                throw malformed(file);
+            }
+
+            buffer.clear().flip();
+
+            int[] order = readInts(channel, buffer, numberOfNodes, file);
+
+            if (numberOfLabels == NO_REACHABILITY_INDEX) {
+                return new Artifacts(order, null, null, null);
+            }
+
+            int[] levels = readInts(channel, buffer, numberOfNodes, file);
+            int[][] lows = new int[numberOfLabels][];
+            int[][] posts = new int[numberOfLabels][];
+
+            for (int label = 0; label < numberOfLabels; label++) {
+                lows[label] = readInts(channel, buffer, numberOfNodes, file);
+                posts[label] = readInts(channel, buffer, numberOfNodes, file);
+            }
+
+            return new Artifacts(order, levels, lows, posts);
+        }
+    }
+
+    private static ByteBuffer allocateBuffer() {
+        return ByteBuffer.allocateDirect(BUFFER_SIZE)
+                         .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void writeInts(FileChannel channel,
+                                  ByteBuffer buffer,
+                                  int[] array) throws IOException {
+        int position = 0;
+
+        while (position < array.length) {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush(channel, buffer);
+            }
+
+            int length = Math.min(array.length - position,
+                                  buffer.remaining() / Integer.BYTES);
+
+            buffer.asIntBuffer().put(array, position, length);
+            buffer.position(buffer.position() + length * Integer.BYTES);
+            position += length;
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer)
+            throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    /**
+     * Reads {@code length} values continuing from the unread bytes of
+     * {@code buffer}, which is left in the read mode.
+     */
+    private static int[] readInts(FileChannel channel,
+                                  ByteBuffer buffer,
+                                  int length,
+                                  Path file) throws IOException {
+        int[] array = new int[length];
+        int position = 0;
+
+        while (position < length) {
+            if (buffer.remaining() < Integer.BYTES) {
+                buffer.compact();
+
+                if (!fill(channel, buffer)) {
+                    throw malformed(file);
+                }
+
+                buffer.flip();
+            }
+
+            int count = Math.min(length - position,
+                                 buffer.remaining() / Integer.BYTES);
+
+            buffer.asIntBuffer().get(array, position, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            position += count;
+        }
+
+        return array;
+    }
+
+    /**
+     * Reads into {@code buffer} until it is full or the channel ends.
+     *
+     * @return {@code false} if the channel ended before anything was read.
+     */
+    private static boolean fill(FileChannel channel, ByteBuffer buffer)
+            throws IOException {
+        boolean readAnything = false;
+
+        while (buffer.hasRemaining()) {
+            int bytesRead = channel.read(buffer);
+
+            if (bytesRead < 0) {
+                break;
+            }
+
+            readAnything |= bytesRead > 0;
+        }
+
+        return readAnything;
+    }
+
+    private static long getFileSize(int numberOfNodes, int numberOfLabels) {
+        long arrays = 1L;
+
+        if (numberOfLabels != NO_REACHABILITY_INDEX) {
+            arrays += 1L + 2L * numberOfLabels;
+        }
+
+        return HEADER_SIZE + 4L * numberOfNodes * arrays;
+    }
+
+    private static IOException malformed(Path file) {
+        return new IOException(
+                "The file " + file + " is not a preprocessing artifact file.");
+    }
+}
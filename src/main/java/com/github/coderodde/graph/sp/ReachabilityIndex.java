@@ -0,0 +1,311 @@
+package com.github.coderodde.graph.sp;
+
+import com.github.coderodde.graph.impl.CompressedDirectedGraph;
+import java.util.Random;
+
+/**
+ * This class implements a reachability filter for a directed acyclic graph
+ * whose node indices follow a topological order. It combines three
+ * necessary conditions for a node {@code u} to reach a node {@code v}:
+ * <ol>
+ *   <li>{@code u} must precede {@code v} in the topological order,</li>
+ *   <li>the topological level of {@code u} (the length of the longest path
+ *       ending at {@code u}) must be smaller than that of {@code v},</li>
+ *   <li>for each of the {@code k} GRAIL interval labels, the interval of
+ *       {@code v} must be contained in the interval of {@code u}. The labels
+ *       are computed by randomized depth-first traversals: the interval of a
+ *       node is {@code [low, post]}, where {@code post} is its rank in the
+ *       post-order and {@code low} is the smallest rank among its
+ *       descendants.</li>
+ * </ol>
+ * If any of the conditions fails, {@code v} is certainly not reachable from
+ * {@code u}. Otherwise {@code v} may or may not be reachable, and only a
+ * search can tell. Checking the conditions takes {@code O(k)} time.
+ * <p>
+ * An index is immutable and bound to the graph modification count it was
+ * built at.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class ReachabilityIndex {
+
+    /**
+     * The default number of interval labels per node.
+     */
+    public static final int DEFAULT_NUMBER_OF_LABELS = 3;
+
+    private final int[] levels;
+
+    /**
+     * {@code lows[j][i]} and {@code posts[j][i]} bound the {@code j}th
+     * interval label of the node with the topological index {@code i}.
+     */
+    private final int[][] lows;
+    private final int[][] posts;
+    private final long sourceModificationCount;
+
+    /**
+     * Builds the index over {@code graph}.
+     *
+     * @param graph          the graph whose dense indices form a topological
+     *                       order.
+     * @param numberOfLabels the number of interval labels per node.
+     * @param random         the random number generator randomizing the
+     *                       traversals.
+     */
+    public ReachabilityIndex(CompressedDirectedGraph graph,
+                             int numberOfLabels,
+                             Random random) {
+        if (!graph.isTopologicallySorted()) {
+            throw new IllegalArgumentException(
+                    "The graph indices are not in topological order.");
+        }
+
+        if (numberOfLabels < 0) {
+            throw new IllegalArgumentException(
+                    "Negative number of labels: " + numberOfLabels);
+        }
+
+        int numberOfNodes = graph.size();
+        this.levels = computeLevels(graph);
+        this.lows = new int[numberOfLabels][];
+        this.posts = new int[numberOfLabels][];
+        this.sourceModificationCount = graph.getSourceModificationCount();
+
+        int[] roots = computeRoots(graph);
+        int[] stack = new int[numberOfNodes];
+        int[] cursors = new int[numberOfNodes];
+        int[] starts = new int[numberOfNodes];
+
+        for (int label = 0; label < numberOfLabels; label++) {
+            lows[label] = new int[numberOfNodes];
+            posts[label] = new int[numberOfNodes];
+            shuffle(roots, random);
+            labelNodes(graph,
+                       roots,
+                       lows[label],
+                       posts[label],
+                       stack,
+                       cursors,
+                       starts,
+                       random);
+        }
+    }
+
+    /**
+     * Restores an index from its arrays.
+     *
+     * @param levels                  the topological levels.
+     * @param lows                    the lower interval bounds per label.
+     * @param posts                   the upper interval bounds per label.
+     * @param sourceModificationCount the graph modification count to bind
+     *                                the index to.
+     */
+    ReachabilityIndex(int[] levels,
+                      int[][] lows,
+                      int[][] posts,
+                      long sourceModificationCount) {
+        this.levels = levels;
+        this.lows = lows;
+        this.posts = posts;
+        this.sourceModificationCount = sourceModificationCount;
+    }
+
+    /**
+     * Returns {@code false} if the node with the topological index
+     * {@code targetIndex} is certainly not reachable from the node with the
+     * topological index {@code sourceIndex}.
+     *
+     * @param sourceIndex the topological index of the source node.
+     * @param targetIndex the topological index of the target node.
+     * @return {@code false} if the target is unreachable, {@code true} if it
+     *         may be reachable.
+     */
+    public boolean mayReach(int sourceIndex, int targetIndex) {
+        if (sourceIndex == targetIndex) {
+            return true;
+        }
+
+        if (sourceIndex > targetIndex
+                || levels[sourceIndex] >= levels[targetIndex]) {
+            return false;
+        }
+
+        for (int label = 0; label < lows.length; label++) {
+            int[] low = lows[label];
+            int[] post = posts[label];
+
+            if (low[targetIndex] < low[sourceIndex]
+                    || post[targetIndex] > post[sourceIndex]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the topological level of the node with the topological index
+     * {@code index}, or, in other words, the number of arcs on the longest
+     * path ending at it.
+     *
+     * @param index the topological index.
+     * @return the topological level.
+     */
+    public int getLevel(int index) {
+        return levels[index];
+    }
+
+    /**
+     * Returns the number of interval labels per node.
+     *
+     * @return the number of labels.
+     */
+    public int getNumberOfLabels() {
+        return lows.length;
+    }
+
+    /**
+     * Returns the modification count of the graph at the moment this index
+     * was built.
+     *
+     * @return the source graph modification count.
+     */
+    public long getSourceModificationCount() {
+        return sourceModificationCount;
+    }
+
+    int[] getLevels() {
+        return levels;
+    }
+
+    int[][] getLows() {
+        return lows;
+    }
+
+    int[][] getPosts() {
+        return posts;
+    }
+
+    private static int[] computeLevels(CompressedDirectedGraph graph) {
+        int[] levels = new int[graph.size()];
+
+        for (int index = 0; index < graph.size(); index++) {
+            int edgeEndIndex = graph.getEdgeEndIndex(index);
+
+            for (int edgeIndex = graph.getEdgeBeginIndex(index);
+                    edgeIndex < edgeEndIndex;
+                    edgeIndex++) {
+                int headIndex = graph.getEdgeHead(edgeIndex);
+                levels[headIndex] = Math.max(levels[headIndex],
+                                             levels[index] + 1);
+            }
+        }
+
+        return levels;
+    }
+
+    private static int[] computeRoots(CompressedDirectedGraph graph) {
+        boolean[] hasParents = new boolean[graph.size()];
+        int numberOfRoots = graph.size();
+
+        for (int edgeIndex = 0;
+                edgeIndex < graph.getNumberOfEdges();
+                edgeIndex++) {
+            int headIndex = graph.getEdgeHead(edgeIndex);
+
+            if (!hasParents[headIndex]) {
+                hasParents[headIndex] = true;
+                numberOfRoots--;
+            }
+        }
+
+        int[] roots = new int[numberOfRoots];
+
+        for (int index = 0, i = 0; index < graph.size(); index++) {
+            if (!hasParents[index]) {
+                roots[i++] = index;
+            }
+        }
+
+        return roots;
+    }
+
+    /**
+     * Runs a single randomized depth-first traversal. Each node scans its
+     * children cyclically from a random starting arc.
+     */
+    private static void labelNodes(CompressedDirectedGraph graph,
+                                   int[] roots,
+                                   int[] low,
+                                   int[] post,
+                                   int[] stack,
+                                   int[] cursors,
+                                   int[] starts,
+                                   Random random) {
+        // post[i] == 0 marks an unvisited node; the ranks start from 1:
+        int rank = 0;
+
+        for (int root : roots) {
+            int stackSize = 0;
+            stack[stackSize++] = root;
+            visit(graph, root, cursors, starts, low, random);
+
+            while (stackSize > 0) {
+                int index = stack[stackSize - 1];
+                int degree = graph.getEdgeEndIndex(index)
+                           - graph.getEdgeBeginIndex(index);
+
+                if (cursors[index] < degree) {
+                    int offset = (starts[index] + cursors[index]++) % degree;
+                    int childIndex =
+                            graph.getEdgeHead(
+                                    graph.getEdgeBeginIndex(index) + offset);
+
+                    if (low[childIndex] == 0) {
+                        // Not visited yet:
+                        visit(graph, childIndex, cursors, starts, low, random);
+                        stack[stackSize++] = childIndex;
+                    } else if (post[childIndex] != 0) {
+                        low[index] = Math.min(low[index], low[childIndex]);
+                    }
+                } else {
+                    post[index] = ++rank;
+                    low[index] = Math.min(low[index], rank);
+                    stackSize--;
+
+                    if (stackSize > 0) {
+                        int parentIndex = stack[stackSize - 1];
+                        low[parentIndex] = Math.min(low[parentIndex],
+                                                    low[index]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void visit(CompressedDirectedGraph graph,
+                              int index,
+                              int[] cursors,
+                              int[] starts,
+                              int[] low,
+                              Random random) {
+        int degree = graph.getEdgeEndIndex(index)
+                   - graph.getEdgeBeginIndex(index);
+
+        cursors[index] = 0;
+        starts[index] = degree == 0 ? 0 : random.nextInt(degree);
+        low[index] = Integer.MAX_VALUE;
+    }
+
+    private static void shuffle(int[] array, Random random) {
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+}
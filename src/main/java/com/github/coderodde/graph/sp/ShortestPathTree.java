@@ -0,0 +1,55 @@
+package com.github.coderodde.graph.sp;
+
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.DirectedGraph;
+
+/**
+ * This interface defines the API for the shortest path trees rooted at a 
+ * single source node. A shortest path tree answers distance queries in 
+ * constant time and path queries in time linear in the length of the path.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public interface ShortestPathTree {
+    
+    /**
+     * Returns the root node of this tree.
+     * 
+     * @return the source node.
+     */
+    Integer getSourceNode();
+    
+    /**
+     * Checks whether {@code targetNode} is reachable from the source node.
+     * 
+     * @param targetNode the target node.
+     * @return {@code true} if and only if there is a path to 
+     *         {@code targetNode}.
+     */
+    default boolean hasPathTo(Integer targetNode) {
+        return getDistance(targetNode) != Double.POSITIVE_INFINITY;
+    }
+    
+    /**
+     * Returns the shortest path distance from the source node to 
+     * {@code targetNode}, or {@link Double#POSITIVE_INFINITY} if 
+     * {@code targetNode} is not reachable.
+     * 
+     * @param targetNode the target node.
+     * @return the shortest path distance.
+     */
+    double getDistance(Integer targetNode);
+    
+    /**
+     * Reconstructs the shortest path from the source node to 
+     * {@code targetNode}.
+     * 
+     * @param targetNode the target node.
+     * @return the shortest path.
+     * @throws PathDoesNotExistException if {@code targetNode} is not 
+     *                                    reachable.
+     */
+    DirectedGraph.Path getPath(Integer targetNode);
+}
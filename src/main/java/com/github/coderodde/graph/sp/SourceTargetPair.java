@@ -0,0 +1,54 @@
+package com.github.coderodde.graph.sp;
+
+import java.util.Objects;
+
+/**
+ * This class holds the terminal nodes of a single shortest path query.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class SourceTargetPair {
+    
+    private final Integer sourceNode;
+    private final Integer targetNode;
+    
+    public SourceTargetPair(Integer sourceNode, Integer targetNode) {
+        this.sourceNode = Objects.requireNonNull(sourceNode);
+        this.targetNode = Objects.requireNonNull(targetNode);
+    }
+    
+    public Integer getSourceNode() {
+        return sourceNode;
+    }
+    
+    public Integer getTargetNode() {
+        return targetNode;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        
+        if (!(o instanceof SourceTargetPair)) {
+            return false;
+        }
+        
+        SourceTargetPair other = (SourceTargetPair) o;
+        return sourceNode.equals(other.sourceNode) 
+                && targetNode.equals(other.targetNode);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * sourceNode.hashCode() + targetNode.hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return "(" + sourceNode + ", " + targetNode + ")";
+    }
+}
@@ -0,0 +1,291 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.IntDoubleConsumer;
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.AbstractGraphPreprocessor;
+import com.github.coderodde.graph.sp.DagQueryWorkspace;
+import com.github.coderodde.graph.sp.ShortestPathTree;
+import com.github.coderodde.graph.sp.SourceTargetPair;
+import com.github.coderodde.graph.util.IntIntMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class implements a shortest path query runner that sweeps forward from
+ * the source over the children and backward from the target over the parents
+ * at the same time. The forward sweep polls its frontier in increasing
+ * topological order and the backward sweep in decreasing order, so each side
+ * only visits the cone of the nodes reachable from its own end. The search
+ * stops as soon as the next forward index exceeds the next backward index:
+ * from that point on, every node is settled by at least one of the sweeps,
+ * and the cheapest arc joining the two settled regions closes the shortest
+ * path.
+ * <p>
+ * The number of the nodes expanded by both sweeps is accumulated into
+ * {@link #getTouchedNodeCount()}. The shortest path trees are computed by a
+ * forward sweep of an {@link IndexingPreprocessingDagShortestPathQueryRunner}
+ * sharing the same preprocessor.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public class BidirectionalDagShortestPathQueryRunner
+        extends AbstractDagShortestPathQueryRunner {
+
+    private final List<Integer> topologicallySortedNodes;
+    private final IntIntMap indexMap;
+    private final IndexingPreprocessingDagShortestPathQueryRunner
+            forwardRunner;
+
+    /**
+     * The per-thread search states of the backward sweeps.
+     */
+    private final ThreadLocal<DagQueryWorkspace> backwardWorkspaces =
+            ThreadLocal.withInitial(DagQueryWorkspace::new);
+
+    private final LongAdder touchedNodeCount = new LongAdder();
+
+    /**
+     * Constructs the bidirectional shortest path query runner.
+     *
+     * @param graph             the graph in which to run the shortest path
+     *                          search.
+     * @param graphPreprocessor the graph preprocessor.
+     */
+    public BidirectionalDagShortestPathQueryRunner(
+            AbstractGraph graph,
+            AbstractGraphPreprocessor graphPreprocessor) {
+        super(graph, graphPreprocessor);
+        this.topologicallySortedNodes =
+                graphPreprocessor.getTopologicallySortedNodes();
+        this.indexMap = graphPreprocessor.getPrimitiveIndexMap();
+        this.forwardRunner =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph,
+                        graphPreprocessor);
+    }
+
+    @Override
+    public DirectedGraph.Path queryShortestPath(Integer sourceNode,
+                                                Integer targetNode) {
+        checkGraphDirtyStatus();
+
+        checkSourceNode(sourceNode);
+        checkTargetNode(targetNode);
+
+        int sourceIndex = indexMap.getOrDefault(sourceNode, -1);
+        int targetIndex = indexMap.getOrDefault(targetNode, -1);
+
+        if (!mayReach(sourceIndex, targetIndex)) {
+            throw new PathDoesNotExistException(sourceNode, targetNode);
+        }
+
+        if (sourceIndex == targetIndex) {
+            touchedNodeCount.increment();
+            return new DirectedGraph.Path(graph, List.of(sourceNode), 0.0);
+        }
+
+        int numberOfNodes = topologicallySortedNodes.size();
+        DagQueryWorkspace forwardWorkspace = getWorkspace(numberOfNodes, true);
+        DagQueryWorkspace backwardWorkspace = backwardWorkspaces.get();
+
+        backwardWorkspace.prepare(numberOfNodes, true);
+        forwardWorkspace.setSource(sourceIndex);
+        backwardWorkspace.setSource(targetIndex);
+
+        Search search = new Search(forwardWorkspace,
+                                   backwardWorkspace,
+                                   sourceIndex,
+                                   targetIndex);
+
+        int forwardIndex = forwardWorkspace.pollFrontier(sourceIndex);
+        int backwardIndex = backwardWorkspace.pollFrontierBackward(targetIndex);
+        int forwardCount = 0;
+        int backwardCount = 0;
+
+        while (forwardIndex != -1
+                && backwardIndex != -1
+                && forwardIndex <= backwardIndex) {
+            // Expand the side that has done less work so far:
+            if (forwardCount <= backwardCount) {
+                search.expandForward(forwardIndex);
+                forwardCount++;
+                forwardIndex = forwardWorkspace.pollFrontier(forwardIndex + 1);
+            } else {
+                search.expandBackward(backwardIndex);
+                backwardCount++;
+                backwardIndex =
+                        backwardWorkspace.pollFrontierBackward(
+                                backwardIndex - 1);
+            }
+        }
+
+        touchedNodeCount.add(forwardCount + backwardCount);
+
+        if (search.bestCost == Double.POSITIVE_INFINITY) {
+            throw new PathDoesNotExistException(sourceNode, targetNode);
+        }
+
+        return search.tracebackPath();
+    }
+
+    @Override
+    public ShortestPathTree queryShortestPathTree(Integer sourceNode) {
+        return forwardRunner.queryShortestPathTree(sourceNode);
+    }
+
+    @Override
+    public List<DirectedGraph.Path>
+        queryShortestPaths(Collection<SourceTargetPair> queries) {
+        return forwardRunner.queryShortestPaths(queries);
+    }
+
+    @Override
+    public long getPreprocessingDuration() {
+        return graphPreprocessor.getPreprocessingDuration();
+    }
+
+    /**
+     * Returns the total number of nodes expanded by the point-to-point
+     * queries of this runner, counting both the forward and the backward
+     * sweeps.
+     *
+     * @return the number of touched nodes.
+     */
+    public long getTouchedNodeCount() {
+        return touchedNodeCount.sum();
+    }
+
+    /**
+     * Resets the touched node counter to zero.
+     */
+    public void resetTouchedNodeCount() {
+        touchedNodeCount.reset();
+    }
+
+    private void checkGraphDirtyStatus() {
+        if (expectedGraphModCount != graph.getModificationCount()) {
+            graphPreprocessor.preprocessGraph();
+            expectedGraphModCount = graph.getModificationCount();
+        }
+    }
+
+    /**
+     * Holds the state of a single bidirectional query. The backward
+     * workspace stores the distances to the target, and its parent slots
+     * point to the next node on the way to the target.
+     */
+    private final class Search {
+
+        private final DagQueryWorkspace forwardWorkspace;
+        private final DagQueryWorkspace backwardWorkspace;
+        private final int sourceIndex;
+        private final int targetIndex;
+        private final IntDoubleConsumer forwardRelaxer = this::relaxForward;
+        private final IntDoubleConsumer backwardRelaxer = this::relaxBackward;
+
+        private int expandedIndex;
+        private double expandedDistance;
+
+        double bestCost = Double.POSITIVE_INFINITY;
+        int bestTailIndex = -1;
+        int bestHeadIndex = -1;
+
+        Search(DagQueryWorkspace forwardWorkspace,
+               DagQueryWorkspace backwardWorkspace,
+               int sourceIndex,
+               int targetIndex) {
+            this.forwardWorkspace = forwardWorkspace;
+            this.backwardWorkspace = backwardWorkspace;
+            this.sourceIndex = sourceIndex;
+            this.targetIndex = targetIndex;
+        }
+
+        void expandForward(int index) {
+            expandedIndex = index;
+            expandedDistance = forwardWorkspace.getDistance(index);
+            graph.forEachChild(topologicallySortedNodes.get(index),
+                               forwardRelaxer);
+        }
+
+        void expandBackward(int index) {
+            expandedIndex = index;
+            expandedDistance = backwardWorkspace.getDistance(index);
+            graph.forEachParent(topologicallySortedNodes.get(index),
+                                backwardRelaxer);
+        }
+
+        private void relaxForward(int child, double weight) {
+            int headIndex = indexMap.getOrDefault(child, -1);
+
+            if (headIndex > targetIndex) {
+                return;
+            }
+
+            double distance = expandedDistance + weight;
+            forwardWorkspace.relax(headIndex, distance, expandedIndex);
+
+            if (backwardWorkspace.isReached(headIndex)) {
+                updateBest(expandedIndex,
+                           headIndex,
+                           distance + backwardWorkspace.getDistance(headIndex));
+            }
+        }
+
+        private void relaxBackward(int parent, double weight) {
+            int tailIndex = indexMap.getOrDefault(parent, -1);
+
+            if (tailIndex < sourceIndex) {
+                return;
+            }
+
+            double distance = expandedDistance + weight;
+            backwardWorkspace.relax(tailIndex, distance, expandedIndex);
+
+            if (forwardWorkspace.isReached(tailIndex)) {
+                updateBest(tailIndex,
+                           expandedIndex,
+                           forwardWorkspace.getDistance(tailIndex) + distance);
+            }
+        }
+
+        private void updateBest(int tailIndex, int headIndex, double cost) {
+            if (bestCost > cost) {
+                bestCost = cost;
+                bestTailIndex = tailIndex;
+                bestHeadIndex = headIndex;
+            }
+        }
+
+        /**
+         * Joins the forward path to the tail of the best arc and the
+         * backward path from its head.
+         */
+        DirectedGraph.Path tracebackPath() {
+            List<Integer> pathList = new ArrayList<>();
+
+            for (int index = bestTailIndex;
+                    index != -1;
+                    index = forwardWorkspace.getParent(index)) {
+                pathList.add(topologicallySortedNodes.get(index));
+            }
+
+            Collections.reverse(pathList);
+
+            for (int index = bestHeadIndex;
+                    index != -1;
+                    index = backwardWorkspace.getParent(index)) {
+                pathList.add(topologicallySortedNodes.get(index));
+            }
+
+            return new DirectedGraph.Path(graph, pathList, bestCost);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.ShortestPathTree;
+import com.github.coderodde.graph.sp.SourceTargetPair;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class implements a query runner decorator that remembers the answers
+ * to the most recently used source/target pairs. Both the shortest paths and
+ * the non-existence of a path are cached. The cache holds at most
+ * {@code capacity} pairs and evicts the least recently used one on overflow.
+ * All the cached answers are dropped as soon as the modification count of the
+ * graph changes.
+ * <p>
+ * The cache is guarded by a lock, so the decorator may be shared by many
+ * threads if the wrapped runner may.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public class CachingDagShortestPathQueryRunner
+        extends AbstractDagShortestPathQueryRunner {
+
+    /**
+     * Marks a cached pair whose target is unreachable.
+     */
+    private static final DirectedGraph.Path NO_PATH =
+            new DirectedGraph.Path(null, List.of(), Double.POSITIVE_INFINITY);
+
+    private final AbstractDagShortestPathQueryRunner delegate;
+    private final Map<SourceTargetPair, DirectedGraph.Path> cache;
+    private long cachedGraphModCount = -1L;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Constructs the caching decorator.
+     *
+     * @param delegate the runner answering the cache misses.
+     * @param capacity the maximum number of cached pairs.
+     */
+    public CachingDagShortestPathQueryRunner(
+            AbstractDagShortestPathQueryRunner delegate,
+            int capacity) {
+        super(Objects.requireNonNull(delegate).getGraph(),
+              delegate.getGraphPreprocessor());
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                    "Non-positive capacity: " + capacity);
+        }
+
+        this.delegate = delegate;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<SourceTargetPair, DirectedGraph.Path> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public DirectedGraph.Path queryShortestPath(Integer sourceNode,
+                                                Integer targetNode) {
+        SourceTargetPair pair = new SourceTargetPair(sourceNode, targetNode);
+        DirectedGraph.Path path = lookup(pair);
+
+        if (path == null) {
+            long modificationCount = graph.getModificationCount();
+
+            try {
+                path = delegate.queryShortestPath(sourceNode, targetNode);
+            } catch (PathDoesNotExistException ex) {
+                store(pair, NO_PATH, modificationCount);
+                throw ex;
+            }
+
+            store(pair, path, modificationCount);
+            return path;
+        }
+
+        if (path == NO_PATH) {
+            throw new PathDoesNotExistException(sourceNode, targetNode);
+        }
+
+        return path;
+    }
+
+    /**
+     * Answers the cached queries from the cache and passes the rest to the
+     * wrapped runner as a single batch.
+     *
+     * @param queries the queries to answer.
+     * @return the list of shortest paths in the iteration order of
+     *         {@code queries}; the entries of the queries whose target is not
+     *         reachable are {@code null}.
+     */
+    @Override
+    public List<DirectedGraph.Path>
+        queryShortestPaths(Collection<SourceTargetPair> queries) {
+
+        List<SourceTargetPair> queryList = new ArrayList<>(queries);
+        DirectedGraph.Path[] paths = new DirectedGraph.Path[queryList.size()];
+        List<SourceTargetPair> missedQueries = new ArrayList<>();
+        List<Integer> missedQueryIndices = new ArrayList<>();
+
+        for (int i = 0; i < queryList.size(); i++) {
+            DirectedGraph.Path path = lookup(queryList.get(i));
+
+            if (path == null) {
+                missedQueries.add(queryList.get(i));
+                missedQueryIndices.add(i);
+            } else if (path != NO_PATH) {
+                paths[i] = path;
+            }
+        }
+
+        if (!missedQueries.isEmpty()) {
+            long modificationCount = graph.getModificationCount();
+            List<DirectedGraph.Path> missedPaths =
+                    delegate.queryShortestPaths(missedQueries);
+
+            for (int i = 0; i < missedQueries.size(); i++) {
+                DirectedGraph.Path path = missedPaths.get(i);
+                paths[missedQueryIndices.get(i)] = path;
+                store(missedQueries.get(i),
+                      path == null ? NO_PATH : path,
+                      modificationCount);
+            }
+        }
+
+        return Arrays.asList(paths);
+    }
+
+    @Override
+    public ShortestPathTree queryShortestPathTree(Integer sourceNode) {
+        return delegate.queryShortestPathTree(sourceNode);
+    }
+
+    @Override
+    public long getPreprocessingDuration() {
+        return delegate.getPreprocessingDuration();
+    }
+
+    /**
+     * Returns the number of queries answered from the cache.
+     *
+     * @return the number of cache hits.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of queries passed to the wrapped runner.
+     *
+     * @return the number of cache misses.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of currently cached pairs.
+     *
+     * @return the cache size.
+     */
+    public synchronized int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * Drops all the cached answers. The hit and miss counters are kept.
+     */
+    public synchronized void clearCache() {
+        cache.clear();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + delegate + "]";
+    }
+
+    /**
+     * Returns the cached answer for {@code pair}, {@link #NO_PATH} if the
+     * target is known to be unreachable, or {@code null} on a cache miss.
+     */
+    private synchronized DirectedGraph.Path lookup(SourceTargetPair pair) {
+        if (cachedGraphModCount != graph.getModificationCount()) {
+            cachedGraphModCount = graph.getModificationCount();
+            cache.clear();
+        }
+
+        DirectedGraph.Path path = cache.get(pair);
+
+        if (path == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+
+        return path;
+    }
+
+    private synchronized void store(SourceTargetPair pair,
+                                    DirectedGraph.Path path,
+                                    long modificationCount) {
+        // Do not cache an answer computed over an older version of the graph:
+        if (modificationCount == cachedGraphModCount
+                && modificationCount == graph.getModificationCount()) {
+            cache.put(pair, path);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.DagQueryWorkspace;
+import com.github.coderodde.graph.sp.ShortestPathTree;
+import com.github.coderodde.graph.sp.SourceTargetPair;
+import com.github.coderodde.graph.util.IntIntMap;
+import com.github.coderodde.graph.util.IntIntOpenHashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This class implements a shortest path query runner that sweeps the
+ * compressed view of a {@link ChainCompressingGraphPreprocessor}, so that
+ * every run of chain nodes costs a single arc relaxation. A chain source node
+ * is first walked forward to the end of its run, and a chain target node is
+ * walked backward to the start of its run; since a chain node has only one
+ * child and one parent, every path leaving the source or entering the target
+ * passes through these nodes. The found path is unpacked back to the nodes of
+ * the graph.
+ * <p>
+ * The shortest path trees are computed by a forward sweep of an
+ * {@link IndexingPreprocessingDagShortestPathQueryRunner} over the full
+ * topological order of the same preprocessor.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public class ChainCompressedDagShortestPathQueryRunner
+        extends AbstractDagShortestPathQueryRunner {
+
+    private final ChainCompressingGraphPreprocessor chainPreprocessor;
+    private final IndexingPreprocessingDagShortestPathQueryRunner
+            forwardRunner;
+
+    /**
+     * Constructs the chain compressed shortest path query runner.
+     *
+     * @param graph             the graph in which to run the shortest path
+     *                          search.
+     * @param graphPreprocessor the chain compressing graph preprocessor.
+     */
+    public ChainCompressedDagShortestPathQueryRunner(
+            AbstractGraph graph,
+            ChainCompressingGraphPreprocessor graphPreprocessor) {
+        super(graph, graphPreprocessor);
+        this.chainPreprocessor = graphPreprocessor;
+        this.forwardRunner =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph,
+                        graphPreprocessor);
+    }
+
+    @Override
+    public DirectedGraph.Path queryShortestPath(Integer sourceNode,
+                                                Integer targetNode) {
+        checkGraphDirtyStatus();
+
+        checkSourceNode(sourceNode);
+        checkTargetNode(targetNode);
+
+        IntIntMap indexMap = graphPreprocessor.getPrimitiveIndexMap();
+
+        if (!mayReach(indexMap.getOrDefault(sourceNode, -1),
+                      indexMap.getOrDefault(targetNode, -1))) {
+            throw new PathDoesNotExistException(sourceNode, targetNode);
+        }
+
+        // Walk the source run forward to the compressed graph:
+        List<Integer> pathList = new ArrayList<>();
+        Integer entryNode = sourceNode;
+        double cost = 0.0;
+
+        pathList.add(entryNode);
+
+        while (chainPreprocessor.isChainNode(entryNode)) {
+            if (entryNode.equals(targetNode)) {
+                return new DirectedGraph.Path(graph, pathList, cost);
+            }
+
+            Integer child = graph.getChildrenOf(entryNode).iterator().next();
+            cost += graph.getEdgeWeight(entryNode, child);
+            entryNode = child;
+            pathList.add(entryNode);
+        }
+
+        // Walk the target run backward to the compressed graph:
+        List<Integer> suffixList = new ArrayList<>();
+        Integer exitNode = targetNode;
+
+        while (chainPreprocessor.isChainNode(exitNode)) {
+            Integer parent = graph.getParentsOf(exitNode).iterator().next();
+            cost += graph.getEdgeWeight(parent, exitNode);
+            suffixList.add(exitNode);
+            exitNode = parent;
+        }
+
+        List<Integer> compressedOrder = chainPreprocessor.getCompressedOrder();
+        IntIntOpenHashMap compressedIndexMap =
+                chainPreprocessor.getCompressedIndexMap();
+        AbstractGraph compressedGraph = chainPreprocessor.getCompressedGraph();
+
+        int entryIndex = compressedIndexMap.getOrDefault(entryNode, -1);
+        int exitIndex = compressedIndexMap.getOrDefault(exitNode, -1);
+
+        DagQueryWorkspace workspace =
+                getWorkspace(compressedOrder.size(), true);
+
+        workspace.setSource(entryIndex);
+
+        for (int i = workspace.pollFrontier(entryIndex);
+                i != -1 && i <= exitIndex;
+                i = workspace.pollFrontier(i + 1)) {
+
+            if (i == exitIndex) {
+                DirectedGraph.Path compressedPath =
+                        tracebackPath(i, workspace, compressedOrder);
+
+                for (int j = 1; j < compressedPath.size(); j++) {
+                    chainPreprocessor.unpack(compressedPath.getNode(j - 1),
+                                             compressedPath.getNode(j),
+                                             pathList);
+                    pathList.add(compressedPath.getNode(j));
+                }
+
+                for (int j = suffixList.size() - 1; j >= 0; j--) {
+                    pathList.add(suffixList.get(j));
+                }
+
+                return new DirectedGraph.Path(
+                        graph,
+                        pathList,
+                        cost + compressedPath.getTotalCost());
+            }
+
+            workspace.relaxChildren(compressedGraph,
+                                    compressedOrder.get(i),
+                                    i,
+                                    compressedIndexMap,
+                                    exitIndex);
+        }
+
+        throw new PathDoesNotExistException(sourceNode, targetNode);
+    }
+
+    @Override
+    public ShortestPathTree queryShortestPathTree(Integer sourceNode) {
+        return forwardRunner.queryShortestPathTree(sourceNode);
+    }
+
+    @Override
+    public List<DirectedGraph.Path>
+        queryShortestPaths(Collection<SourceTargetPair> queries) {
+        return forwardRunner.queryShortestPaths(queries);
+    }
+
+    @Override
+    public long getPreprocessingDuration() {
+        return graphPreprocessor.getPreprocessingDuration();
+    }
+
+    private void checkGraphDirtyStatus() {
+        if (expectedGraphModCount != graph.getModificationCount()) {
+            graphPreprocessor.preprocessGraph();
+            expectedGraphModCount = graph.getModificationCount();
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.GraphTopologyListener;
+import com.github.coderodde.graph.TopologicalSorter;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.impl.KahnsTopologicalSorter;
+import com.github.coderodde.graph.sp.AbstractGraphPreprocessor;
+import com.github.coderodde.graph.util.IntIntOpenHashMap;
+import com.github.coderodde.graph.util.LongLongOpenHashMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class implements a graph preprocessor that, in addition to the
+ * topological order of the entire graph, builds a compressed view of the
+ * graph. A <b>chain node</b> is a node with exactly one parent and exactly one
+ * child. Every maximal run of chain nodes is collapsed into a single shortcut
+ * arc between the two non-chain nodes it connects, weighing as much as the
+ * entire run. If several runs or a direct arc connect the same pair of nodes,
+ * the cheapest one wins. The compressed view contains only the non-chain
+ * nodes, in topological order, and an unpacking table mapping each shortcut
+ * arc to the first chain node of its run, from which the run is recovered by
+ * following the only children.
+ * <p>
+ * The preprocessor listens to the graph. A weight update is patched into the
+ * affected shortcut arc in time linear in the length of the runs leaving its
+ * tail, so the topological order and the compressed view stay valid. Any
+ * other change makes the next {@link #preprocessGraph()} rebuild everything.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public class ChainCompressingGraphPreprocessor
+        extends AbstractGraphPreprocessor
+        implements GraphTopologyListener {
+
+    /**
+     * Marks a shortcut arc that is an arc of the graph itself.
+     */
+    private static final long DIRECT_ARC = Long.MAX_VALUE;
+
+    private final TopologicalSorter topologicalSorter;
+    private final DirectedGraph compressedGraph = new DirectedGraph();
+    private final List<Integer> compressedOrder = new ArrayList<>();
+    private final IntIntOpenHashMap compressedIndexMap =
+            new IntIntOpenHashMap();
+    private final LongLongOpenHashMap shortcutChains =
+            new LongLongOpenHashMap();
+
+    /**
+     * Whether the order and the compressed view match the structure of the
+     * graph.
+     */
+    private boolean structureValid;
+    private boolean attached = true;
+
+    // The result of the latest walkChain() call:
+    private Integer chainEnd;
+    private double chainCost;
+
+    public ChainCompressingGraphPreprocessor(AbstractGraph graph) {
+        this(graph, new KahnsTopologicalSorter());
+    }
+
+    /**
+     * Constructs the chain compressing preprocessor and subscribes it to
+     * {@code graph}.
+     *
+     * @param graph             the graph to preprocess.
+     * @param topologicalSorter the sorter for the full sorts.
+     */
+    public ChainCompressingGraphPreprocessor(
+            AbstractGraph graph,
+            TopologicalSorter topologicalSorter) {
+        super(graph);
+        this.topologicalSorter = Objects.requireNonNull(topologicalSorter);
+        graph.addGraphTopologyListener(this);
+    }
+
+    @Override
+    public void preprocessGraph() {
+        long startTime = System.currentTimeMillis();
+
+        if (structureValid) {
+            buildReachabilityIndex();
+        } else {
+            preprocessGraph(topologicalSorter);
+            compress();
+            structureValid = attached;
+        }
+
+        preprocessingDuration = System.currentTimeMillis() - startTime;
+    }
+
+    /**
+     * Unsubscribes this preprocessor from the graph. After that, every
+     * {@link #preprocessGraph()} rebuilds the order and the compressed view.
+     */
+    public void detach() {
+        graph.removeGraphTopologyListener(this);
+        attached = false;
+        structureValid = false;
+    }
+
+    /**
+     * Returns the compressed graph. It contains only the non-chain nodes and
+     * the shortcut arcs between them.
+     *
+     * @return the compressed graph.
+     */
+    public AbstractGraph getCompressedGraph() {
+        return compressedGraph;
+    }
+
+    /**
+     * Returns the non-chain nodes in topological order.
+     *
+     * @return the compressed topological order.
+     */
+    public List<Integer> getCompressedOrder() {
+        return compressedOrder;
+    }
+
+    /**
+     * Returns the map mapping each non-chain node to its index in the
+     * compressed topological order.
+     *
+     * @return the compressed index map.
+     */
+    public IntIntOpenHashMap getCompressedIndexMap() {
+        return compressedIndexMap;
+    }
+
+    /**
+     * Checks whether {@code node} has exactly one parent and exactly one
+     * child in the graph.
+     *
+     * @param node the node to check.
+     * @return {@code true} if and only if {@code node} is a chain node.
+     */
+    public boolean isChainNode(Integer node) {
+        return graph.getParentsOf(node).size() == 1
+                && graph.getChildrenOf(node).size() == 1;
+    }
+
+    /**
+     * Appends the chain nodes collapsed into the shortcut arc
+     * {@code (tail, head)} to {@code pathNodes}, in path order. Neither
+     * {@code tail} nor {@code head} is appended.
+     *
+     * @param tail      the tail node of the shortcut arc.
+     * @param head      the head node of the shortcut arc.
+     * @param pathNodes the list receiving the chain nodes.
+     */
+    public void unpack(Integer tail, Integer head, List<Integer> pathNodes) {
+        long chainStart =
+                shortcutChains.getOrDefault(pack(tail, head), DIRECT_ARC);
+
+        if (chainStart == DIRECT_ARC) {
+            return;
+        }
+
+        for (Integer node = (int) chainStart;
+                !node.equals(head);
+                node = graph.getChildrenOf(node).iterator().next()) {
+            pathNodes.add(node);
+        }
+    }
+
+    @Override
+    public void onAddNode(Integer node) {
+        structureValid = false;
+    }
+
+    @Override
+    public void onAddEdge(Integer tail, Integer head, double weight) {
+        structureValid = false;
+    }
+
+    @Override
+    public void onUpdateEdgeWeight(Integer tail,
+                                   Integer head,
+                                   double oldWeight,
+                                   double newWeight) {
+        if (!structureValid) {
+            return;
+        }
+
+        // Find the non-chain node starting the run through the arc:
+        Integer shortcutTail = tail;
+
+        while (isChainNode(shortcutTail)) {
+            shortcutTail = graph.getParentsOf(shortcutTail).iterator().next();
+        }
+
+        walkChain(head, 0.0);
+        recomputeShortcut(shortcutTail, chainEnd);
+    }
+
+    @Override
+    public void onRemoveNode(Integer node) {
+        structureValid = false;
+    }
+
+    @Override
+    public void onClearNode(Integer node) {
+        structureValid = false;
+    }
+
+    @Override
+    public void onRemoveEdge(Integer tail, Integer head, double weight) {
+        structureValid = false;
+    }
+
+    @Override
+    public void onClearGraph() {
+        structureValid = false;
+    }
+
+    /**
+     * Builds the compressed view over the current topological order.
+     */
+    private void compress() {
+        compressedGraph.clear();
+        compressedOrder.clear();
+        compressedIndexMap.clear();
+        shortcutChains.clear();
+
+        for (Integer node : topologicallySortedNodes) {
+            if (!isChainNode(node)) {
+                compressedIndexMap.put(node, compressedOrder.size());
+                compressedOrder.add(node);
+                compressedGraph.addNode(node);
+            }
+        }
+
+        for (Integer node : compressedOrder) {
+            offerShortcuts(node, null);
+        }
+    }
+
+    /**
+     * Rebuilds the shortcut arc from {@code tail} to {@code head} out of all
+     * the runs connecting them.
+     */
+    private void recomputeShortcut(Integer tail, Integer head) {
+        compressedGraph.removeEdge(tail, head);
+        shortcutChains.remove(pack(tail, head));
+        offerShortcuts(tail, head);
+    }
+
+    /**
+     * Walks every run leaving {@code tail} and keeps the cheapest one per
+     * non-chain end node. If {@code head} is not {@code null}, only the runs
+     * ending at it are considered.
+     */
+    private void offerShortcuts(Integer tail, Integer head) {
+        for (Integer child : graph.getChildrenOf(tail)) {
+            walkChain(child, graph.getEdgeWeight(tail, child));
+
+            if (head != null && !head.equals(chainEnd)) {
+                continue;
+            }
+
+            if (!compressedGraph.hasEdge(tail, chainEnd)
+                    || compressedGraph.getEdgeWeight(tail, chainEnd)
+                    > chainCost) {
+                compressedGraph.addEdge(tail, chainEnd, chainCost);
+                shortcutChains.put(pack(tail, chainEnd),
+                                   child.equals(chainEnd) ? DIRECT_ARC
+                                                          : child);
+            }
+        }
+    }
+
+    /**
+     * Follows the only children from {@code node} until the first non-chain
+     * node, and stores it to {@link #chainEnd} and the accumulated cost to
+     * {@link #chainCost}.
+     */
+    private void walkChain(Integer node, double cost) {
+        while (isChainNode(node)) {
+            Integer child = graph.getChildrenOf(node).iterator().next();
+            cost += graph.getEdgeWeight(node, child);
+            node = child;
+        }
+
+        chainEnd = node;
+        chainCost = cost;
+    }
+
+    private static long pack(int tail, int head) {
+        return ((long) tail << 32) | (head & 0xffffffffL);
+    }
+}
@@ -0,0 +1,228 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.CompressedDirectedGraph;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.AbstractGraphPreprocessor;
+import com.github.coderodde.graph.sp.DagQueryWorkspace;
+import com.github.coderodde.graph.sp.IndexedShortestPathTree;
+import com.github.coderodde.graph.sp.ShortestPathTree;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class implements a shortest path query runner that freezes the graph
+ * into a {@link CompressedDirectedGraph} whose dense node indices follow the
+ * topological order computed by the graph preprocessor. The sweep from the
+ * source node to the target node runs over primitive arrays only, without
+ * hashing or boxing.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public class CompressedGraphDagShortestPathQueryRunner
+        extends AbstractDagShortestPathQueryRunner {
+
+    private CompressedDirectedGraph compressedGraph;
+    private volatile long compressionDuration;
+
+    /**
+     * Constructs the compressing shortest path query runner.
+     *
+     * @param graph             the graph in which to run the shortest path
+     *                          search.
+     * @param graphPreprocessor the graph preprocessor.
+     */
+    public CompressedGraphDagShortestPathQueryRunner(
+            AbstractGraph graph,
+            AbstractGraphPreprocessor graphPreprocessor) {
+        super(graph, graphPreprocessor);
+    }
+
+    @Override
+    public DirectedGraph.Path queryShortestPath(Integer sourceNode,
+                                                Integer targetNode) {
+        CompressedDirectedGraph snapshot = getUpToDateCompressedGraph();
+
+        checkSourceNode(sourceNode);
+        checkTargetNode(targetNode);
+
+        int sourceIndex = snapshot.getIndex(sourceNode);
+        int targetIndex = snapshot.getIndex(targetNode);
+
+        if (!mayReach(sourceIndex, targetIndex)) {
+            throw new PathDoesNotExistException(sourceNode, targetNode);
+        }
+
+        DagQueryWorkspace workspace = sweep(snapshot, sourceIndex, targetIndex);
+
+        if (!workspace.isReached(targetIndex)) {
+            throw new PathDoesNotExistException(sourceNode, targetNode);
+        }
+
+        return tracebackPath(snapshot, targetIndex, workspace);
+    }
+
+    @Override
+    public ShortestPathTree queryShortestPathTree(Integer sourceNode) {
+        CompressedDirectedGraph snapshot = getUpToDateCompressedGraph();
+        checkSourceNode(sourceNode);
+
+        return sweepTree(snapshot, sourceNode, snapshot.size() - 1);
+    }
+
+    @Override
+    protected ShortestPathTree
+        queryShortestPathTree(Integer sourceNode,
+                              Collection<Integer> targetNodes) {
+        CompressedDirectedGraph snapshot = getUpToDateCompressedGraph();
+        checkSourceNode(sourceNode);
+
+        int lastIndex = snapshot.getIndex(sourceNode);
+
+        for (Integer targetNode : targetNodes) {
+            checkTargetNode(targetNode);
+            lastIndex = Math.max(lastIndex, snapshot.getIndex(targetNode));
+        }
+
+        return sweepTree(snapshot, sourceNode, lastIndex);
+    }
+
+    @Override
+    public long getPreprocessingDuration() {
+        return graphPreprocessor.getPreprocessingDuration()
+                + compressionDuration;
+    }
+
+    /**
+     * Returns the current compressed snapshot of the graph, or {@code null} if
+     * no query was run yet.
+     *
+     * @return the compressed graph.
+     */
+    public CompressedDirectedGraph getCompressedGraph() {
+        return compressedGraph;
+    }
+
+    /**
+     * Sweeps from {@code sourceNode} up to the topological index
+     * {@code lastIndex}.
+     *
+     * @param snapshot   the compressed graph to sweep.
+     * @param sourceNode the source node.
+     * @param lastIndex  the last topological index to cover.
+     * @return the shortest path tree over the swept range.
+     */
+    private ShortestPathTree sweepTree(CompressedDirectedGraph snapshot,
+                                       Integer sourceNode,
+                                       int lastIndex) {
+        int sourceIndex = snapshot.getIndex(sourceNode);
+        DagQueryWorkspace workspace = sweep(snapshot, sourceIndex, lastIndex);
+
+        return new IndexedShortestPathTree(graph,
+                                           sourceNode,
+                                           sourceIndex,
+                                           lastIndex,
+                                           workspace,
+                                           snapshot::getIndex,
+                                           snapshot::getNodeId);
+    }
+
+    /**
+     * Relaxes the arcs of all the reached nodes in the topological index range
+     * {@code [sourceIndex, lastIndex)}, ignoring the arcs that leave the range.
+     *
+     * @param snapshot    the compressed graph to sweep.
+     * @param sourceIndex the topological index of the source node.
+     * @param lastIndex   the last topological index of interest.
+     * @return the workspace holding the result of the sweep.
+     */
+    private DagQueryWorkspace sweep(CompressedDirectedGraph snapshot,
+                                    int sourceIndex,
+                                    int lastIndex) {
+        DagQueryWorkspace workspace = getWorkspace(snapshot.size());
+        workspace.setSource(sourceIndex);
+
+        for (int index = sourceIndex; index < lastIndex; index++) {
+            if (!workspace.isReached(index)) {
+                continue;
+            }
+
+            double distance = workspace.getDistance(index);
+            int edgeEndIndex = snapshot.getEdgeEndIndex(index);
+
+            for (int edgeIndex = snapshot.getEdgeBeginIndex(index);
+                    edgeIndex < edgeEndIndex;
+                    edgeIndex++) {
+                int headIndex = snapshot.getEdgeHead(edgeIndex);
+
+                if (headIndex <= lastIndex) {
+                    workspace.relax(
+                            headIndex,
+                            distance + snapshot.getEdgeWeight(edgeIndex),
+                            index);
+                }
+            }
+        }
+
+        return workspace;
+    }
+
+    private DirectedGraph.Path tracebackPath(CompressedDirectedGraph snapshot,
+                                             int targetIndex,
+                                             DagQueryWorkspace workspace) {
+        List<Integer> pathList = new ArrayList<>();
+
+        for (int index = targetIndex;
+                index != -1;
+                index = workspace.getParent(index)) {
+            pathList.add(snapshot.getNodeId(index));
+        }
+
+        Collections.reverse(pathList);
+        return new DirectedGraph.Path(graph,
+                                      pathList,
+                                      workspace.getDistance(targetIndex));
+    }
+
+    /**
+     * Returns the compressed graph matching the current state of the graph,
+     * re-preprocessing and re-compressing the graph if it has changed since
+     * the previous query.
+     *
+     * @return the up-to-date compressed graph.
+     */
+    protected CompressedDirectedGraph getUpToDateCompressedGraph() {
+        if (expectedGraphModCount != graph.getModificationCount()) {
+            expectedGraphModCount = graph.getModificationCount();
+            compressedGraph = compressGraph();
+        }
+
+        return compressedGraph;
+    }
+
+    /**
+     * Preprocesses the graph and builds a new compressed snapshot of it in
+     * topological order.
+     *
+     * @return the new compressed graph.
+     */
+    protected CompressedDirectedGraph compressGraph() {
+        graphPreprocessor.preprocessGraph();
+
+        long startTime = System.currentTimeMillis();
+
+        CompressedDirectedGraph snapshot =
+                new CompressedDirectedGraph(
+                        graph,
+                        graphPreprocessor.getTopologicallySortedNodes());
+
+        compressionDuration = System.currentTimeMillis() - startTime;
+        return snapshot;
+    }
+}
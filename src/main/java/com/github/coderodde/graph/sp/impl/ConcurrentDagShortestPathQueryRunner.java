@@ -0,0 +1,130 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.impl.CompressedDirectedGraph;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.sp.AbstractGraphPreprocessor;
+import com.github.coderodde.graph.sp.SourceTargetPair;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class implements a shortest path query runner that may be shared by
+ * many threads. All the preprocessing results live in an immutable
+ * {@link CompressedDirectedGraph} published through a volatile field; each
+ * thread sweeps it using its own workspace. Only the thread that first
+ * notices a change in the graph rebuilds the snapshot, while the other threads
+ * wait for it.
+ * <p>
+ * The graph itself is not thread-safe: it must not be modified while queries
+ * are running.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public class ConcurrentDagShortestPathQueryRunner
+        extends CompressedGraphDagShortestPathQueryRunner {
+
+    private final ForkJoinPool pool;
+    private final Object snapshotLock = new Object();
+    private volatile CompressedDirectedGraph sharedSnapshot;
+
+    /**
+     * Constructs the concurrent query runner that runs the parallel batches
+     * in the common fork/join pool.
+     *
+     * @param graph             the graph in which to run the shortest path
+     *                          search.
+     * @param graphPreprocessor the graph preprocessor.
+     */
+    public ConcurrentDagShortestPathQueryRunner(
+            AbstractGraph graph,
+            AbstractGraphPreprocessor graphPreprocessor) {
+        this(graph, graphPreprocessor, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs the concurrent query runner.
+     *
+     * @param graph             the graph in which to run the shortest path
+     *                          search.
+     * @param graphPreprocessor the graph preprocessor.
+     * @param pool              the pool running the parallel batches.
+     */
+    public ConcurrentDagShortestPathQueryRunner(
+            AbstractGraph graph,
+            AbstractGraphPreprocessor graphPreprocessor,
+            ForkJoinPool pool) {
+        super(graph, graphPreprocessor);
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    /**
+     * Answers a batch of shortest path queries like
+     * {@link #queryShortestPaths(Collection)}, but processes the groups of
+     * queries sharing a source node in parallel.
+     *
+     * @param queries the queries to answer.
+     * @return the list of shortest paths in the iteration order of
+     *         {@code queries}; the entries of the queries whose target is not
+     *         reachable are {@code null}.
+     */
+    public List<DirectedGraph.Path>
+        queryShortestPathsInParallel(Collection<SourceTargetPair> queries) {
+
+        List<SourceTargetPair> queryList = new ArrayList<>(queries);
+        DirectedGraph.Path[] paths = new DirectedGraph.Path[queryList.size()];
+        Map<Integer, List<Integer>> queryIndicesBySource =
+                groupQueryIndicesBySource(queryList);
+
+        // Make sure the snapshot is built before forking so that the workers
+        // do not queue on the lock:
+        getUpToDateCompressedGraph();
+
+        pool.submit(() -> queryIndicesBySource
+                .entrySet()
+                .parallelStream()
+                .forEach(entry -> answerQueryGroup(entry.getKey(),
+                                                   entry.getValue(),
+                                                   queryList,
+                                                   paths)))
+            .join();
+
+        return Arrays.asList(paths);
+    }
+
+    @Override
+    public CompressedDirectedGraph getCompressedGraph() {
+        return sharedSnapshot;
+    }
+
+    @Override
+    protected CompressedDirectedGraph getUpToDateCompressedGraph() {
+        CompressedDirectedGraph snapshot = sharedSnapshot;
+
+        if (snapshot != null
+                && snapshot.getSourceModificationCount()
+                == graph.getModificationCount()) {
+            return snapshot;
+        }
+
+        synchronized (snapshotLock) {
+            snapshot = sharedSnapshot;
+
+            if (snapshot == null
+                    || snapshot.getSourceModificationCount()
+                    != graph.getModificationCount()) {
+                snapshot = compressGraph();
+                sharedSnapshot = snapshot;
+            }
+
+            return snapshot;
+        }
+    }
+}
@@ -1,9 +1,8 @@
 package com.github.coderodde.graph.sp.impl;
 
+import com.github.coderodde.graph.AbstractGraph;
 import com.github.coderodde.graph.TopologicalSorter;
 import com.github.coderodde.graph.impl.DFSTopologicalSorter;
-import com.github.coderodde.graph.impl.DirectedGraph;
-import com.github.coderodde.graph.impl.KahnsTopologicalSorter;
 import com.github.coderodde.graph.sp.AbstractGraphPreprocessor;
 
 /**
@@ -17,7 +16,7 @@ public class DFSGraphPreprocessor extends AbstractGraphPreprocessor {
     private final TopologicalSorter topologicalSorter =
             new DFSTopologicalSorter();
     
-    public DFSGraphPreprocessor(DirectedGraph graph) {
+    public DFSGraphPreprocessor(AbstractGraph graph) {
         super(graph);
     }
     
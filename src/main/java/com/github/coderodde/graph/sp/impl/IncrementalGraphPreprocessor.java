@@ -0,0 +1,116 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.GraphTopologyListener;
+import com.github.coderodde.graph.TopologicalSorter;
+import com.github.coderodde.graph.impl.KahnsTopologicalSorter;
+import com.github.coderodde.graph.impl.OnlineTopologicalOrder;
+import com.github.coderodde.graph.sp.AbstractGraphPreprocessor;
+import java.util.Objects;
+
+/**
+ * This class implements a graph preprocessor that listens to the graph and
+ * keeps its topological order up to date as the graph changes. Only the first
+ * preprocessing sorts the entire graph; after that, each new arc is handled by
+ * an {@link OnlineTopologicalOrder} within the index window it affects, and
+ * removals of nodes and arcs as well as weight updates never cause a re-sort.
+ * The holes left by the removed nodes are squeezed out lazily by the next
+ * {@link #preprocessGraph()}.
+ * <p>
+ * If an arc closes a cycle, the next {@link #preprocessGraph()} falls back to
+ * the full sort, which throws
+ * {@link com.github.coderodde.graph.GraphContainsCyclesException} unless the
+ * cycle was broken in the meantime.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public class IncrementalGraphPreprocessor
+        extends AbstractGraphPreprocessor
+        implements GraphTopologyListener {
+
+    private final TopologicalSorter topologicalSorter;
+    private final OnlineTopologicalOrder order;
+
+    /**
+     * Whether {@link #order} is a valid topological order of the graph.
+     * Becomes {@code true} after the first full sort and {@code false} once an
+     * arc closes a cycle.
+     */
+    private boolean orderValid;
+    private boolean attached = true;
+
+    public IncrementalGraphPreprocessor(AbstractGraph graph) {
+        this(graph, new KahnsTopologicalSorter());
+    }
+
+    /**
+     * Constructs the incremental preprocessor and subscribes it to
+     * {@code graph}.
+     *
+     * @param graph             the graph to preprocess.
+     * @param topologicalSorter the sorter for the initial full sort.
+     */
+    public IncrementalGraphPreprocessor(AbstractGraph graph,
+                                        TopologicalSorter topologicalSorter) {
+        super(graph);
+        this.topologicalSorter = Objects.requireNonNull(topologicalSorter);
+        this.order = new OnlineTopologicalOrder(graph,
+                                                topologicallySortedNodes,
+                                                indexMap);
+        graph.addGraphTopologyListener(this);
+    }
+
+    @Override
+    public void preprocessGraph() {
+        if (!orderValid) {
+            preprocessGraph(topologicalSorter);
+            orderValid = attached;
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        order.compact();
+        buildReachabilityIndex();
+        preprocessingDuration = System.currentTimeMillis() - startTime;
+    }
+
+    /**
+     * Unsubscribes this preprocessor from the graph. After that, every
+     * {@link #preprocessGraph()} sorts the entire graph.
+     */
+    public void detach() {
+        graph.removeGraphTopologyListener(this);
+        attached = false;
+        orderValid = false;
+    }
+
+    @Override
+    public void onAddNode(Integer node) {
+        if (orderValid) {
+            order.addNode(node);
+        }
+    }
+
+    @Override
+    public void onAddEdge(Integer tail, Integer head, double weight) {
+        if (orderValid && !order.addEdge(tail, head)) {
+            orderValid = false;
+        }
+    }
+
+    @Override
+    public void onRemoveNode(Integer node) {
+        if (orderValid) {
+            order.removeNode(node);
+        }
+    }
+
+    @Override
+    public void onClearGraph() {
+        if (orderValid) {
+            order.clear();
+        }
+    }
+}
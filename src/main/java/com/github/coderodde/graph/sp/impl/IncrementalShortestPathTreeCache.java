@@ -0,0 +1,409 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.GraphTopologyListener;
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.sp.ShortestPathTree;
+import com.github.coderodde.graph.util.IntIntMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * This class implements a cache of shortest path trees that survives the
+ * changes of the arc weights and the insertions and removals of arcs. The
+ * cache listens to the graph and, for each cached tree, records the head
+ * nodes of the changed arcs that may affect the tree. The next request for
+ * the tree repairs it: the affected nodes are recomputed in topological order
+ * from the distances of their parents, and only the children of the nodes
+ * whose distance actually changed are visited next. Thus, the repair touches
+ * only the affected part of the order after the changed heads, instead of
+ * sweeping the entire order again.
+ * <p>
+ * The topological order is kept up to date by an
+ * {@link IncrementalGraphPreprocessor}. Removing or clearing a node drops all
+ * the cached trees. The cache holds at most {@code capacity} trees and evicts
+ * the least recently used one on overflow. This class is not thread-safe.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public class IncrementalShortestPathTreeCache
+        implements GraphTopologyListener {
+
+    private final AbstractGraph graph;
+    private final IncrementalGraphPreprocessor preprocessor;
+    private final Map<Integer, CachedTree> trees;
+    private long recomputedNodeCount;
+
+    /**
+     * Constructs the cache and subscribes it to {@code graph}.
+     *
+     * @param graph    the graph whose shortest path trees to cache.
+     * @param capacity the maximum number of cached trees.
+     */
+    public IncrementalShortestPathTreeCache(AbstractGraph graph,
+                                            int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                    "Non-positive capacity: " + capacity);
+        }
+
+        this.graph = Objects.requireNonNull(graph);
+        this.preprocessor = new IncrementalGraphPreprocessor(graph);
+        this.trees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<Integer, CachedTree> eldest) {
+                return size() > capacity;
+            }
+        };
+
+        graph.addGraphTopologyListener(this);
+    }
+
+    /**
+     * Returns the shortest path tree rooted at {@code sourceNode}, repairing
+     * or computing it if needed. The returned tree throws a
+     * {@link ConcurrentModificationException} once the graph is modified.
+     *
+     * @param sourceNode the source node.
+     * @return the shortest path tree.
+     */
+    public ShortestPathTree getShortestPathTree(Integer sourceNode) {
+        Objects.requireNonNull(sourceNode);
+
+        if (!graph.hasNode(sourceNode)) {
+            throw new IllegalArgumentException(
+                    "The source node " + sourceNode + " is not in the graph.");
+        }
+
+        // Compacts the order, or sorts the graph for the first time:
+        preprocessor.preprocessGraph();
+
+        CachedTree tree = trees.get(sourceNode);
+
+        if (tree == null) {
+            tree = new CachedTree(sourceNode);
+            computeTree(tree);
+            trees.put(sourceNode, tree);
+        } else if (!tree.dirtyHeads.isEmpty()) {
+            repairTree(tree);
+        }
+
+        return new CachedTreeView(tree, graph.getModificationCount());
+    }
+
+    /**
+     * Returns the total number of nodes whose distances were computed by
+     * the full computations and the repairs so far.
+     *
+     * @return the number of recomputed nodes.
+     */
+    public long getRecomputedNodeCount() {
+        return recomputedNodeCount;
+    }
+
+    /**
+     * Returns the number of cached trees.
+     *
+     * @return the number of cached trees.
+     */
+    public int size() {
+        return trees.size();
+    }
+
+    /**
+     * Unsubscribes this cache from the graph and drops all the trees.
+     */
+    public void detach() {
+        graph.removeGraphTopologyListener(this);
+        preprocessor.detach();
+        trees.clear();
+    }
+
+    @Override
+    public void onAddEdge(Integer tail, Integer head, double weight) {
+        for (CachedTree tree : trees.values()) {
+            Double tailDistance = tree.distances.get(tail);
+            Double headDistance = tree.distances.get(head);
+
+            // An arc from an unreached node or one that does not shorten the
+            // path to the head cannot change the tree:
+            if (tailDistance != null
+                    && (headDistance == null
+                    || tailDistance + weight < headDistance)) {
+                tree.dirtyHeads.add(head);
+            }
+        }
+    }
+
+    @Override
+    public void onUpdateEdgeWeight(Integer tail,
+                                   Integer head,
+                                   double oldWeight,
+                                   double newWeight) {
+        for (CachedTree tree : trees.values()) {
+            Double tailDistance = tree.distances.get(tail);
+            Double headDistance = tree.distances.get(head);
+
+            if (tailDistance == null) {
+                continue;
+            }
+
+            // Changing a tree arc always matters; changing any other arc 
+            // matters only if it becomes a shortcut to the head:
+            if (tail.equals(tree.parents.get(head))
+                    || headDistance == null
+                    || tailDistance + newWeight < headDistance) {
+                tree.dirtyHeads.add(head);
+            }
+        }
+    }
+
+    @Override
+    public void onRemoveEdge(Integer tail, Integer head, double weight) {
+        for (CachedTree tree : trees.values()) {
+            // Only the removal of a tree arc can change the tree:
+            if (tail.equals(tree.parents.get(head))) {
+                tree.dirtyHeads.add(head);
+            }
+        }
+    }
+
+    @Override
+    public void onRemoveNode(Integer node) {
+        trees.clear();
+    }
+
+    @Override
+    public void onClearNode(Integer node) {
+        trees.clear();
+    }
+
+    @Override
+    public void onClearGraph() {
+        trees.clear();
+    }
+
+    /**
+     * Sweeps the order from the source node to its end.
+     */
+    private void computeTree(CachedTree tree) {
+        List<Integer> order = preprocessor.getTopologicallySortedNodes();
+        IntIntMap indexMap = preprocessor.getPrimitiveIndexMap();
+
+        tree.distances.put(tree.sourceNode, 0.0);
+
+        for (int index = indexMap.getOrDefault(tree.sourceNode, -1);
+                index < order.size();
+                index++) {
+            Integer node = order.get(index);
+            Double distance = tree.distances.get(node);
+
+            if (distance == null) {
+                continue;
+            }
+
+            recomputedNodeCount++;
+
+            for (Integer child : graph.getChildrenOf(node)) {
+                double tentativeDistance =
+                        distance + graph.getEdgeWeight(node, child);
+                Double childDistance = tree.distances.get(child);
+
+                if (childDistance == null
+                        || childDistance > tentativeDistance) {
+                    tree.distances.put(child, tentativeDistance);
+                    tree.parents.put(child, node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Recomputes the dirty heads and everything whose distance changes as a
+     * consequence, in topological order. Each node pulls its distance from
+     * its parents, which are final by the time the node is processed.
+     */
+    private void repairTree(CachedTree tree) {
+        List<Integer> order = preprocessor.getTopologicallySortedNodes();
+        IntIntMap indexMap = preprocessor.getPrimitiveIndexMap();
+        int sourceIndex = indexMap.getOrDefault(tree.sourceNode, -1);
+        PriorityQueue<Integer> queue = new PriorityQueue<>();
+        Set<Integer> queued = new HashSet<>();
+
+        Deque<Integer> unreachableNodes = new ArrayDeque<>();
+
+        for (Integer head : tree.dirtyHeads) {
+            int index = indexMap.getOrDefault(head, -1);
+
+            if (index > sourceIndex) {
+                if (queued.add(index)) {
+                    queue.add(index);
+                }
+            } else if (index < sourceIndex) {
+                unreachableNodes.add(head);
+            }
+        }
+
+        tree.dirtyHeads.clear();
+
+        // The order may have been reshuffled since the tree was built, so a
+        // dirty head preceding the source may still hold the distance it had
+        // before. No node preceding the source is reachable from it, so drop
+        // such nodes together with everything reached through them:
+        while (!unreachableNodes.isEmpty()) {
+            Integer node = unreachableNodes.remove();
+
+            if (tree.distances.remove(node) == null) {
+                continue;
+            }
+
+            tree.parents.remove(node);
+            recomputedNodeCount++;
+
+            for (Integer child : graph.getChildrenOf(node)) {
+                int index = indexMap.getOrDefault(child, -1);
+
+                if (index > sourceIndex) {
+                    if (queued.add(index)) {
+                        queue.add(index);
+                    }
+                } else if (index < sourceIndex) {
+                    unreachableNodes.add(child);
+                }
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            Integer node = order.get(queue.remove());
+            recomputedNodeCount++;
+
+            double bestDistance = Double.POSITIVE_INFINITY;
+            Integer bestParent = null;
+
+            for (Integer parent : graph.getParentsOf(node)) {
+                Double parentDistance = tree.distances.get(parent);
+
+                if (parentDistance != null) {
+                    double distance =
+                            parentDistance + graph.getEdgeWeight(parent, node);
+
+                    if (bestParent == null || bestDistance > distance) {
+                        bestDistance = distance;
+                        bestParent = parent;
+                    }
+                }
+            }
+
+            Double oldDistance = tree.distances.get(node);
+            boolean changed;
+
+            if (bestParent == null) {
+                changed = oldDistance != null;
+                tree.distances.remove(node);
+                tree.parents.remove(node);
+            } else {
+                changed = oldDistance == null || oldDistance != bestDistance;
+                tree.distances.put(node, bestDistance);
+                tree.parents.put(node, bestParent);
+            }
+
+            if (changed) {
+                for (Integer child : graph.getChildrenOf(node)) {
+                    int index = indexMap.getOrDefault(child, -1);
+
+                    if (queued.add(index)) {
+                        queue.add(index);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Holds a single cached tree.
+     */
+    private static final class CachedTree {
+
+        final Integer sourceNode;
+        final Map<Integer, Double> distances = new HashMap<>();
+        final Map<Integer, Integer> parents = new HashMap<>();
+
+        /**
+         * The heads of the changed arcs not yet accounted for in the tree.
+         */
+        final Set<Integer> dirtyHeads = new HashSet<>();
+
+        CachedTree(Integer sourceNode) {
+            this.sourceNode = sourceNode;
+        }
+    }
+
+    /**
+     * Exposes a cached tree as long as the graph stays intact.
+     */
+    private final class CachedTreeView implements ShortestPathTree {
+
+        private final CachedTree tree;
+        private final long expectedGraphModCount;
+
+        CachedTreeView(CachedTree tree, long expectedGraphModCount) {
+            this.tree = tree;
+            this.expectedGraphModCount = expectedGraphModCount;
+        }
+
+        @Override
+        public Integer getSourceNode() {
+            return tree.sourceNode;
+        }
+
+        @Override
+        public double getDistance(Integer targetNode) {
+            checkModificationCount();
+            Double distance = tree.distances.get(targetNode);
+            return distance == null ? Double.POSITIVE_INFINITY : distance;
+        }
+
+        @Override
+        public DirectedGraph.Path getPath(Integer targetNode) {
+            double distance = getDistance(targetNode);
+
+            if (distance == Double.POSITIVE_INFINITY) {
+                throw new PathDoesNotExistException(tree.sourceNode,
+                                                    targetNode);
+            }
+
+            List<Integer> pathList = new ArrayList<>();
+
+            for (Integer node = targetNode;
+                    node != null;
+                    node = tree.parents.get(node)) {
+                pathList.add(node);
+            }
+
+            Collections.reverse(pathList);
+            return new DirectedGraph.Path(graph, pathList, distance);
+        }
+
+        private void checkModificationCount() {
+            if (expectedGraphModCount != graph.getModificationCount()) {
+                throw new ConcurrentModificationException(
+                        "The graph was modified after the tree was built.");
+            }
+        }
+    }
+}
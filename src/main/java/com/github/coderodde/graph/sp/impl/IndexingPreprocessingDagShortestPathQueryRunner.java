@@ -1,13 +1,16 @@
 package com.github.coderodde.graph.sp.impl;
 
+import com.github.coderodde.graph.AbstractGraph;
 import com.github.coderodde.graph.PathDoesNotExistException;
 import com.github.coderodde.graph.impl.DirectedGraph;
 import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
 import com.github.coderodde.graph.sp.AbstractGraphPreprocessor;
-import java.util.ArrayList;
-import java.util.HashMap;
+import com.github.coderodde.graph.sp.DagQueryWorkspace;
+import com.github.coderodde.graph.sp.IndexedShortestPathTree;
+import com.github.coderodde.graph.sp.ShortestPathTree;
+import com.github.coderodde.graph.util.IntIntMap;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 
 /**
  * 
@@ -18,8 +21,8 @@ import java.util.Map;
 public class IndexingPreprocessingDagShortestPathQueryRunner 
         extends AbstractDagShortestPathQueryRunner {
     
-    private final List<Integer> topologicallySortedNodes = new ArrayList<>();
-    private final Map<Integer, Integer> indexMap = new HashMap<>();
+    private final List<Integer> topologicallySortedNodes;
+    private final IntIntMap indexMap;
     
     /**
      * Constructs the preprocessing shortest path query provider.
@@ -29,9 +32,12 @@ public class IndexingPreprocessingDagShortestPathQueryRunner
      * @param graphPreprocessor the graph preprocessor.
      */
     public IndexingPreprocessingDagShortestPathQueryRunner(
-            DirectedGraph graph,
+            AbstractGraph graph,
             AbstractGraphPreprocessor graphPreprocessor) {
         super(graph, graphPreprocessor);
+        this.topologicallySortedNodes = 
+                graphPreprocessor.getTopologicallySortedNodes();
+        this.indexMap = graphPreprocessor.getPrimitiveIndexMap();
     }
 
     @Override
@@ -42,57 +48,110 @@ public class IndexingPreprocessingDagShortestPathQueryRunner
         checkSourceNode(sourceNode);
         checkTargetNode(targetNode);
         
-        Map<Integer, Double> costMap = new HashMap<>();
-        Map<Integer, Integer> parentMap = new HashMap<>();
+        int sourceIndex = indexMap.getOrDefault(sourceNode, -1);
+        int targetIndex = indexMap.getOrDefault(targetNode, -1);
         
-        costMap.put(sourceNode, 0.0);
-        parentMap.put(sourceNode, null);
+        if (!mayReach(sourceIndex, targetIndex)) {
+            throw new PathDoesNotExistException(sourceNode, targetNode);
+        }
         
-        int sourceIndex = indexMap.get(sourceNode);
-        int targetIndex = indexMap.get(targetNode);
+        DagQueryWorkspace workspace = 
+                getWorkspace(topologicallySortedNodes.size(), true);
         
-        for (int i = sourceIndex; i <= targetIndex; i++) {
-            Integer node = topologicallySortedNodes.get(i);
-            
-            if (!costMap.containsKey(node)) {
-                continue;
-            }
+        workspace.setSource(sourceIndex);
+        
+        // Only the reached nodes are visited, in topological order. The arcs
+        // leading beyond the target are never relaxed, so once the frontier 
+        // runs dry without producing the target, the target is unreachable:
+        for (int i = workspace.pollFrontier(sourceIndex); 
+                i != -1; 
+                i = workspace.pollFrontier(i + 1)) {
             
-            if (node.equals(targetNode)) {
-                return tracebackPath(node, parentMap);
+            if (i == targetIndex) {
+                return tracebackPath(i, workspace, topologicallySortedNodes);
             }
             
-            for (Integer child : graph.getChildrenOf(node)) {
-                if (!costMap.containsKey(child) 
-                        || costMap.get(child) > 
-                           costMap.get(node) + graph.getEdgeWeight(node, child)) {
-                    costMap.put(child, 
-                                costMap.get(node) + 
-                                        graph.getEdgeWeight(node, child));
-                    
-                    parentMap.put(child, node);
-                }
-            }
+            workspace.relaxChildren(graph, 
+                                    topologicallySortedNodes.get(i), 
+                                    i, 
+                                    indexMap, 
+                                    targetIndex);
         }
         
         throw new PathDoesNotExistException(sourceNode, targetNode);
     }
 
+    @Override
+    public ShortestPathTree queryShortestPathTree(Integer sourceNode) {
+        checkGraphDirtyStatus();
+        checkSourceNode(sourceNode);
+        return sweepTree(sourceNode, topologicallySortedNodes.size() - 1);
+    }
+    
+    @Override
+    protected ShortestPathTree 
+        queryShortestPathTree(Integer sourceNode, 
+                              Collection<Integer> targetNodes) {
+        checkGraphDirtyStatus();
+        checkSourceNode(sourceNode);
+        
+        int lastIndex = indexMap.getOrDefault(sourceNode, -1);
+        
+        for (Integer targetNode : targetNodes) {
+            checkTargetNode(targetNode);
+            lastIndex = Math.max(lastIndex, 
+                                 indexMap.getOrDefault(targetNode, -1));
+        }
+        
+        return sweepTree(sourceNode, lastIndex);
+    }
+
     @Override
     public long getPreprocessingDuration() {
         return graphPreprocessor.getPreprocessingDuration();
     }
     
+    /**
+     * Sweeps from {@code sourceNode} up to the topological index 
+     * {@code lastIndex}.
+     * 
+     * @param sourceNode the source node.
+     * @param lastIndex  the last topological index to cover.
+     * @return the shortest path tree over the swept range.
+     */
+    private ShortestPathTree sweepTree(Integer sourceNode, int lastIndex) {
+        int sourceIndex = indexMap.getOrDefault(sourceNode, -1);
+        DagQueryWorkspace workspace = 
+                getWorkspace(topologicallySortedNodes.size(), true);
+        
+        workspace.setSource(sourceIndex);
+        
+        for (int i = workspace.pollFrontier(sourceIndex); 
+                i != -1 && i < lastIndex; 
+                i = workspace.pollFrontier(i + 1)) {
+            workspace.relaxChildren(graph, 
+                                    topologicallySortedNodes.get(i), 
+                                    i, 
+                                    indexMap, 
+                                    lastIndex);
+        }
+        
+        return new IndexedShortestPathTree(
+                graph, 
+                sourceNode, 
+                sourceIndex, 
+                lastIndex, 
+                workspace, 
+                node -> indexMap.getOrDefault(node, -1), 
+                topologicallySortedNodes::get);
+    }
+    
     private void checkGraphDirtyStatus() {
         if (expectedGraphModCount != graph.getModificationCount()) {
-            expectedGraphModCount = graph.getModificationCount();
+            // The sweeps read the preprocessor's order and index map 
+            // directly, so there is nothing to copy:
             graphPreprocessor.preprocessGraph();
-            topologicallySortedNodes.clear();
-            topologicallySortedNodes.addAll(
-                    graphPreprocessor.getTopologicallySortedNodes());
-            
-            indexMap.clear();
-            indexMap.putAll(graphPreprocessor.getIndexMap());
+            expectedGraphModCount = graph.getModificationCount();
         }
     }
 }
@@ -0,0 +1,276 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.IntDoubleConsumer;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.AbstractGraphPreprocessor;
+import com.github.coderodde.graph.sp.ShortestPathTree;
+import com.github.coderodde.graph.sp.SourceTargetPair;
+import com.github.coderodde.graph.util.IntIntMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class implements a runner answering the {@code k} shortest paths
+ * queries in DAGs. A single sweep over the topological order between the
+ * source and the target keeps, for each reached node, the {@code k} cheapest
+ * labels sorted by cost. Each label points to the label of its parent it
+ * extends. Since the parents of a node are processed before the node, its
+ * label list is final by the time it is expanded. The running time of a query
+ * is thus {@code O(k E)} over the swept index range, instead of the
+ * {@code O(k V)} full searches of Yen's algorithm.
+ * <p>
+ * The plain shortest path queries are delegated to an
+ * {@link IndexingPreprocessingDagShortestPathQueryRunner} sharing the same
+ * preprocessor.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public class KShortestPathsDagQueryRunner
+        extends AbstractDagShortestPathQueryRunner {
+
+    private final List<Integer> topologicallySortedNodes;
+    private final IntIntMap indexMap;
+    private final IndexingPreprocessingDagShortestPathQueryRunner
+            shortestPathRunner;
+
+    /**
+     * Constructs the {@code k} shortest paths query runner.
+     *
+     * @param graph             the graph in which to run the searches.
+     * @param graphPreprocessor the graph preprocessor.
+     */
+    public KShortestPathsDagQueryRunner(AbstractGraph graph,
+                                        AbstractGraphPreprocessor
+                                                graphPreprocessor) {
+        super(graph, graphPreprocessor);
+        this.topologicallySortedNodes =
+                graphPreprocessor.getTopologicallySortedNodes();
+        this.indexMap = graphPreprocessor.getPrimitiveIndexMap();
+        this.shortestPathRunner =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph,
+                        graphPreprocessor);
+    }
+
+    /**
+     * Returns at most {@code k} cheapest paths from {@code sourceNode} to
+     * {@code targetNode} in ascending order of their costs. If there are less
+     * than {@code k} paths, all of them are returned; if {@code targetNode} is
+     * not reachable, the returned list is empty.
+     *
+     * @param sourceNode the source node.
+     * @param targetNode the target node.
+     * @param k          the maximum number of paths to return.
+     * @return the list of the cheapest paths.
+     */
+    public List<DirectedGraph.Path> queryKShortestPaths(Integer sourceNode,
+                                                        Integer targetNode,
+                                                        int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Non-positive k: " + k);
+        }
+
+        checkGraphDirtyStatus();
+
+        checkSourceNode(sourceNode);
+        checkTargetNode(targetNode);
+
+        int sourceIndex = indexMap.getOrDefault(sourceNode, -1);
+        int targetIndex = indexMap.getOrDefault(targetNode, -1);
+
+        if (!mayReach(sourceIndex, targetIndex)) {
+            return Collections.emptyList();
+        }
+
+        LabelList[] labelLists =
+                new LabelList[targetIndex - sourceIndex + 1];
+
+        labelLists[0] = new LabelList(k);
+        labelLists[0].insert(0.0, -1, -1);
+
+        LabelPropagator propagator =
+                new LabelPropagator(labelLists, sourceIndex, targetIndex, k);
+
+        for (int i = sourceIndex; i < targetIndex; i++) {
+            // Skip the unreached nodes and the ones that cannot lead to the
+            // target:
+            if (labelLists[i - sourceIndex] != null
+                    && mayReach(i, targetIndex)) {
+                propagator.tailIndex = i;
+                graph.forEachChild(topologicallySortedNodes.get(i),
+                                   propagator);
+            }
+        }
+
+        LabelList targetLabels = labelLists[targetIndex - sourceIndex];
+
+        if (targetLabels == null) {
+            return Collections.emptyList();
+        }
+
+        List<DirectedGraph.Path> paths = new ArrayList<>(targetLabels.size);
+
+        for (int rank = 0; rank < targetLabels.size; rank++) {
+            paths.add(tracebackPath(labelLists,
+                                    sourceIndex,
+                                    targetIndex,
+                                    rank));
+        }
+
+        return paths;
+    }
+
+    @Override
+    public DirectedGraph.Path queryShortestPath(Integer sourceNode,
+                                                Integer targetNode) {
+        return shortestPathRunner.queryShortestPath(sourceNode, targetNode);
+    }
+
+    @Override
+    public ShortestPathTree queryShortestPathTree(Integer sourceNode) {
+        return shortestPathRunner.queryShortestPathTree(sourceNode);
+    }
+
+    @Override
+    public List<DirectedGraph.Path>
+        queryShortestPaths(Collection<SourceTargetPair> queries) {
+        return shortestPathRunner.queryShortestPaths(queries);
+    }
+
+    @Override
+    public long getPreprocessingDuration() {
+        return graphPreprocessor.getPreprocessingDuration();
+    }
+
+    private DirectedGraph.Path tracebackPath(LabelList[] labelLists,
+                                             int sourceIndex,
+                                             int targetIndex,
+                                             int rank) {
+        List<Integer> pathList = new ArrayList<>();
+        double cost = labelLists[targetIndex - sourceIndex].costs[rank];
+
+        for (int index = targetIndex; index != -1;) {
+            LabelList labelList = labelLists[index - sourceIndex];
+            pathList.add(topologicallySortedNodes.get(index));
+
+            int parentIndex = labelList.parentIndices[rank];
+            rank = labelList.parentRanks[rank];
+            index = parentIndex;
+        }
+
+        Collections.reverse(pathList);
+        return new DirectedGraph.Path(graph, pathList, cost);
+    }
+
+    private void checkGraphDirtyStatus() {
+        if (expectedGraphModCount != graph.getModificationCount()) {
+            graphPreprocessor.preprocessGraph();
+            expectedGraphModCount = graph.getModificationCount();
+        }
+    }
+
+    /**
+     * Holds at most {@code k} labels of a node sorted by their costs.
+     */
+    private static final class LabelList {
+
+        final double[] costs;
+        final int[] parentIndices;
+        final int[] parentRanks;
+        int size;
+
+        LabelList(int k) {
+            this.costs = new double[k];
+            this.parentIndices = new int[k];
+            this.parentRanks = new int[k];
+        }
+
+        /**
+         * Checks whether a label of cost {@code cost} would be kept.
+         */
+        boolean accepts(double cost) {
+            return size < costs.length || costs[size - 1] > cost;
+        }
+
+        /**
+         * Inserts a label, dropping the most expensive one on overflow. The
+         * caller must have checked {@link #accepts(double)}.
+         */
+        void insert(double cost, int parentIndex, int parentRank) {
+            int position = Math.min(size, costs.length - 1);
+
+            // Later labels of equal cost go after the earlier ones:
+            while (position > 0 && costs[position - 1] > cost) {
+                costs[position] = costs[position - 1];
+                parentIndices[position] = parentIndices[position - 1];
+                parentRanks[position] = parentRanks[position - 1];
+                position--;
+            }
+
+            costs[position] = cost;
+            parentIndices[position] = parentIndex;
+            parentRanks[position] = parentRank;
+
+            if (size < costs.length) {
+                size++;
+            }
+        }
+    }
+
+    /**
+     * Extends the labels of the current tail node over each arc fed to it.
+     */
+    private final class LabelPropagator implements IntDoubleConsumer {
+
+        private final LabelList[] labelLists;
+        private final int sourceIndex;
+        private final int targetIndex;
+        private final int k;
+        int tailIndex;
+
+        LabelPropagator(LabelList[] labelLists,
+                        int sourceIndex,
+                        int targetIndex,
+                        int k) {
+            this.labelLists = Objects.requireNonNull(labelLists);
+            this.sourceIndex = sourceIndex;
+            this.targetIndex = targetIndex;
+            this.k = k;
+        }
+
+        @Override
+        public void accept(int child, double weight) {
+            int headIndex = indexMap.getOrDefault(child, -1);
+
+            if (headIndex > targetIndex) {
+                return;
+            }
+
+            LabelList tailLabels = labelLists[tailIndex - sourceIndex];
+            LabelList headLabels = labelLists[headIndex - sourceIndex];
+
+            if (headLabels == null) {
+                headLabels = new LabelList(k);
+                labelLists[headIndex - sourceIndex] = headLabels;
+            }
+
+            for (int rank = 0; rank < tailLabels.size; rank++) {
+                double cost = tailLabels.costs[rank] + weight;
+
+                // The tail labels are sorted, so no later one fits either:
+                if (!headLabels.accepts(cost)) {
+                    break;
+                }
+
+                headLabels.insert(cost, tailIndex, rank);
+            }
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.github.coderodde.graph.sp.impl;
 
+import com.github.coderodde.graph.AbstractGraph;
 import com.github.coderodde.graph.TopologicalSorter;
-import com.github.coderodde.graph.impl.DirectedGraph;
 import com.github.coderodde.graph.impl.KahnsTopologicalSorter;
 import com.github.coderodde.graph.sp.AbstractGraphPreprocessor;
 
@@ -16,7 +16,7 @@ public class KahnsGraphPreprocessor extends AbstractGraphPreprocessor {
     private final TopologicalSorter topologicalSorter = 
             new KahnsTopologicalSorter();
     
-    public KahnsGraphPreprocessor(DirectedGraph graph) {
+    public KahnsGraphPreprocessor(AbstractGraph graph) {
         super(graph);
     }
     
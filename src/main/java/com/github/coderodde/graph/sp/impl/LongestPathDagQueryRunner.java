@@ -0,0 +1,348 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.IntDoubleConsumer;
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.AbstractGraphPreprocessor;
+import com.github.coderodde.graph.sp.CriticalPathSchedule;
+import com.github.coderodde.graph.sp.DagQueryWorkspace;
+import com.github.coderodde.graph.sp.IndexedShortestPathTree;
+import com.github.coderodde.graph.sp.ShortestPathTree;
+import com.github.coderodde.graph.util.IntIntMap;
+import com.github.coderodde.graph.util.IntIntOpenHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This class implements a longest path query runner for DAGs. It sweeps the
+ * topological order of the graph preprocessor exactly like
+ * {@link IndexingPreprocessingDagShortestPathQueryRunner}, polling only the
+ * reached nodes and stopping at the target, but relaxes the arcs with their
+ * weights negated on the fly. Hence, the graph is never copied.
+ * <p>
+ * The query methods inherited from {@link AbstractDagShortestPathQueryRunner}
+ * return the <b>longest</b> paths; {@link #queryLongestPath(Integer, Integer)}
+ * is provided for readability. In the trees returned by this runner, the
+ * distance of an unreachable node is {@link Double#NEGATIVE_INFINITY}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public class LongestPathDagQueryRunner
+        extends AbstractDagShortestPathQueryRunner {
+
+    private final List<Integer> topologicallySortedNodes;
+    private final IntIntMap indexMap;
+
+    /**
+     * Constructs the longest path query runner.
+     *
+     * @param graph             the graph in which to run the longest path
+     *                          search.
+     * @param graphPreprocessor the graph preprocessor.
+     */
+    public LongestPathDagQueryRunner(AbstractGraph graph,
+                                     AbstractGraphPreprocessor
+                                             graphPreprocessor) {
+        super(graph, graphPreprocessor);
+        this.topologicallySortedNodes =
+                graphPreprocessor.getTopologicallySortedNodes();
+        this.indexMap = graphPreprocessor.getPrimitiveIndexMap();
+    }
+
+    /**
+     * Returns the longest path from {@code sourceNode} to {@code targetNode}.
+     *
+     * @param sourceNode the source node.
+     * @param targetNode the target node.
+     * @return the longest path.
+     * @throws PathDoesNotExistException if {@code targetNode} is not
+     *                                    reachable.
+     */
+    public DirectedGraph.Path queryLongestPath(Integer sourceNode,
+                                               Integer targetNode) {
+        return queryShortestPath(sourceNode, targetNode);
+    }
+
+    /**
+     * Returns the <b>longest</b> path from {@code sourceNode} to
+     * {@code targetNode}.
+     */
+    @Override
+    public DirectedGraph.Path queryShortestPath(Integer sourceNode,
+                                                Integer targetNode) {
+        checkGraphDirtyStatus();
+
+        checkSourceNode(sourceNode);
+        checkTargetNode(targetNode);
+
+        int sourceIndex = indexMap.getOrDefault(sourceNode, -1);
+        int targetIndex = indexMap.getOrDefault(targetNode, -1);
+
+        if (!mayReach(sourceIndex, targetIndex)) {
+            throw new PathDoesNotExistException(sourceNode, targetNode);
+        }
+
+        DagQueryWorkspace workspace =
+                getWorkspace(topologicallySortedNodes.size(), true);
+
+        workspace.setSource(sourceIndex);
+
+        for (int i = workspace.pollFrontier(sourceIndex);
+                i != -1;
+                i = workspace.pollFrontier(i + 1)) {
+
+            if (i == targetIndex) {
+                return negate(tracebackPath(i,
+                                            workspace,
+                                            topologicallySortedNodes));
+            }
+
+            workspace.relaxChildren(graph,
+                                    topologicallySortedNodes.get(i),
+                                    i,
+                                    indexMap,
+                                    targetIndex,
+                                    -1.0);
+        }
+
+        throw new PathDoesNotExistException(sourceNode, targetNode);
+    }
+
+    /**
+     * Returns the <b>longest</b> path tree rooted at {@code sourceNode}.
+     */
+    @Override
+    public ShortestPathTree queryShortestPathTree(Integer sourceNode) {
+        checkGraphDirtyStatus();
+        checkSourceNode(sourceNode);
+        return sweepTree(sourceNode, topologicallySortedNodes.size() - 1);
+    }
+
+    @Override
+    protected ShortestPathTree
+        queryShortestPathTree(Integer sourceNode,
+                              Collection<Integer> targetNodes) {
+        checkGraphDirtyStatus();
+        checkSourceNode(sourceNode);
+
+        int lastIndex = indexMap.getOrDefault(sourceNode, -1);
+
+        for (Integer targetNode : targetNodes) {
+            checkTargetNode(targetNode);
+            lastIndex = Math.max(lastIndex,
+                                 indexMap.getOrDefault(targetNode, -1));
+        }
+
+        return sweepTree(sourceNode, lastIndex);
+    }
+
+    /**
+     * Computes the earliest and latest starts of all the nodes. The earliest
+     * starts are pushed forward along the arcs in a single sweep over the
+     * topological order; the latest starts are pulled back from the children
+     * in a single sweep over the reversed order. No search is started per
+     * node. The nodes with no parents start at zero, and every other node at
+     * the length of the longest path ending at it, which is negative if all
+     * such paths are.
+     *
+     * @return the critical path schedule.
+     */
+    public CriticalPathSchedule computeSchedule() {
+        checkGraphDirtyStatus();
+
+        int numberOfNodes = topologicallySortedNodes.size();
+        int[] nodes = new int[numberOfNodes];
+        IntIntOpenHashMap scheduleIndexMap =
+                new IntIntOpenHashMap(numberOfNodes);
+        ScheduleSweeper sweeper = new ScheduleSweeper(numberOfNodes);
+
+        for (int i = 0; i < numberOfNodes; i++) {
+            nodes[i] = topologicallySortedNodes.get(i);
+            scheduleIndexMap.put(nodes[i], i);
+        }
+
+        double[] earliestStarts = sweeper.earliestStarts;
+        double[] latestStarts = sweeper.latestStarts;
+        int lastCriticalIndex = -1;
+
+        for (int i = 0; i < numberOfNodes; i++) {
+            // All the parents precede the node, so a node not reached by now
+            // has none:
+            if (earliestStarts[i] == Double.NEGATIVE_INFINITY) {
+                earliestStarts[i] = 0.0;
+            }
+
+            sweeper.tailIndex = i;
+            graph.forEachChild(topologicallySortedNodes.get(i), sweeper);
+
+            if (lastCriticalIndex == -1
+                    || earliestStarts[lastCriticalIndex] < earliestStarts[i]) {
+                lastCriticalIndex = i;
+            }
+        }
+
+        double makespan = lastCriticalIndex == -1
+                        ? 0.0
+                        : earliestStarts[lastCriticalIndex];
+
+        sweeper.backward = true;
+
+        for (int i = numberOfNodes - 1; i >= 0; i--) {
+            latestStarts[i] = makespan;
+            sweeper.tailIndex = i;
+            graph.forEachChild(topologicallySortedNodes.get(i), sweeper);
+        }
+
+        return new CriticalPathSchedule(graph,
+                                        nodes,
+                                        scheduleIndexMap,
+                                        earliestStarts,
+                                        latestStarts,
+                                        sweeper.criticalParents,
+                                        lastCriticalIndex);
+    }
+
+    @Override
+    public long getPreprocessingDuration() {
+        return graphPreprocessor.getPreprocessingDuration();
+    }
+
+    /**
+     * Sweeps from {@code sourceNode} up to the topological index
+     * {@code lastIndex}.
+     *
+     * @param sourceNode the source node.
+     * @param lastIndex  the last topological index to cover.
+     * @return the longest path tree over the swept range.
+     */
+    private ShortestPathTree sweepTree(Integer sourceNode, int lastIndex) {
+        int sourceIndex = indexMap.getOrDefault(sourceNode, -1);
+        DagQueryWorkspace workspace =
+                getWorkspace(topologicallySortedNodes.size(), true);
+
+        workspace.setSource(sourceIndex);
+
+        for (int i = workspace.pollFrontier(sourceIndex);
+                i != -1 && i < lastIndex;
+                i = workspace.pollFrontier(i + 1)) {
+            workspace.relaxChildren(graph,
+                                    topologicallySortedNodes.get(i),
+                                    i,
+                                    indexMap,
+                                    lastIndex,
+                                    -1.0);
+        }
+
+        return new LongestPathTree(
+                new IndexedShortestPathTree(
+                        graph,
+                        sourceNode,
+                        sourceIndex,
+                        lastIndex,
+                        workspace,
+                        node -> indexMap.getOrDefault(node, -1),
+                        topologicallySortedNodes::get));
+    }
+
+    private void checkGraphDirtyStatus() {
+        if (expectedGraphModCount != graph.getModificationCount()) {
+            graphPreprocessor.preprocessGraph();
+            expectedGraphModCount = graph.getModificationCount();
+        }
+    }
+
+    /**
+     * Flips the sign of the cost of a path found over the negated weights.
+     */
+    private DirectedGraph.Path negate(DirectedGraph.Path path) {
+        List<Integer> pathList = new ArrayList<>(path.size());
+
+        for (int i = 0; i < path.size(); i++) {
+            pathList.add(path.getNode(i));
+        }
+
+        return new DirectedGraph.Path(graph, pathList, -path.getTotalCost());
+    }
+
+    /**
+     * Relaxes the arcs leaving the node at {@code tailIndex} during the two
+     * sweeps of {@link #computeSchedule()}: forward, it pushes the earliest
+     * start of the tail to the heads; backward, it pulls the latest start of
+     * the tail back from the heads. A single instance serves all the nodes of
+     * both sweeps.
+     */
+    private final class ScheduleSweeper implements IntDoubleConsumer {
+
+        final double[] earliestStarts;
+        final double[] latestStarts;
+        final int[] criticalParents;
+        int tailIndex;
+        boolean backward;
+
+        ScheduleSweeper(int numberOfNodes) {
+            this.earliestStarts = new double[numberOfNodes];
+            this.latestStarts = new double[numberOfNodes];
+            this.criticalParents = new int[numberOfNodes];
+
+            Arrays.fill(earliestStarts, Double.NEGATIVE_INFINITY);
+            Arrays.fill(criticalParents, -1);
+        }
+
+        @Override
+        public void accept(int child, double weight) {
+            int headIndex = indexMap.getOrDefault(child, -1);
+
+            if (backward) {
+                latestStarts[tailIndex] =
+                        Math.min(latestStarts[tailIndex],
+                                 latestStarts[headIndex] - weight);
+                return;
+            }
+
+            double start = earliestStarts[tailIndex] + weight;
+
+            if (earliestStarts[headIndex] < start) {
+                earliestStarts[headIndex] = start;
+                criticalParents[headIndex] = tailIndex;
+            }
+        }
+    }
+
+    /**
+     * Exposes a tree swept over the negated weights as a longest path tree.
+     */
+    private final class LongestPathTree implements ShortestPathTree {
+
+        private final ShortestPathTree tree;
+
+        LongestPathTree(ShortestPathTree tree) {
+            this.tree = tree;
+        }
+
+        @Override
+        public Integer getSourceNode() {
+            return tree.getSourceNode();
+        }
+
+        @Override
+        public boolean hasPathTo(Integer targetNode) {
+            return tree.hasPathTo(targetNode);
+        }
+
+        @Override
+        public double getDistance(Integer targetNode) {
+            return -tree.getDistance(targetNode);
+        }
+
+        @Override
+        public DirectedGraph.Path getPath(Integer targetNode) {
+            return negate(tree.getPath(targetNode));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.impl.KahnsTopologicalSorter;
+import com.github.coderodde.graph.io.MappedDirectedGraph;
+import com.github.coderodde.graph.sp.AbstractGraphPreprocessor;
+import com.github.coderodde.graph.util.IntIntMap;
+import com.github.coderodde.graph.util.IntIntOpenHashMap;
+import java.util.ArrayList;
+
+/**
+ * This class implements a graph preprocessor for the memory-mapped graphs. If
+ * the graph file stores a topological order, the preprocessor serves it
+ * straight from the mapped pages: the order is a view over the mapped node
+ * IDs, and the topological index of a node is its dense index, looked up in
+ * the mapped node table. Hence no per-node state is copied to the heap, and
+ * the preprocessing does nothing but build the optional reachability index.
+ * <p>
+ * Otherwise, the first preprocessing sorts the graph with Kahn's algorithm
+ * into the heap. Since a mapped graph never changes, the order is computed
+ * only once. In both cases the order is fixed, so that the artifact files
+ * cannot be used.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public class MappedGraphPreprocessor extends AbstractGraphPreprocessor {
+
+    /**
+     * The heap index map of a sorted order, or {@code null} if the order is
+     * served from the mapped pages.
+     */
+    private final IntIntOpenHashMap sortedIndexMap;
+
+    public MappedGraphPreprocessor(MappedDirectedGraph graph) {
+        this(graph,
+             graph.isTopologicallySorted()
+                     ? null
+                     : new IntIntOpenHashMap(graph.size()));
+    }
+
+    private MappedGraphPreprocessor(MappedDirectedGraph graph,
+                                    IntIntOpenHashMap sortedIndexMap) {
+        super(graph,
+              sortedIndexMap == null
+                      ? graph.getTopologicallySortedNodes()
+                      : new ArrayList<>(graph.size()),
+              sortedIndexMap == null
+                      ? new MappedIndexMap(graph)
+                      : sortedIndexMap);
+        this.sortedIndexMap = sortedIndexMap;
+    }
+
+    @Override
+    public void preprocessGraph() {
+        long startTime = System.currentTimeMillis();
+
+        if (sortedIndexMap != null
+                && topologicallySortedNodes.size() != graph.size()) {
+            topologicallySortedNodes.addAll(
+                    new KahnsTopologicalSorter().sort(graph));
+
+            for (int index = 0;
+                    index < topologicallySortedNodes.size();
+                    index++) {
+                sortedIndexMap.put(topologicallySortedNodes.get(index),
+                                   index);
+            }
+        }
+
+        buildReachabilityIndex();
+        preprocessingDuration = System.currentTimeMillis() - startTime;
+    }
+
+    /**
+     * Answers the index lookups from the node table of the mapped graph.
+     */
+    private static final class MappedIndexMap implements IntIntMap {
+
+        private final MappedDirectedGraph graph;
+
+        MappedIndexMap(MappedDirectedGraph graph) {
+            this.graph = graph;
+        }
+
+        @Override
+        public int size() {
+            return graph.size();
+        }
+
+        @Override
+        public boolean containsKey(int key) {
+            return graph.getIndex(key) != -1;
+        }
+
+        @Override
+        public int getOrDefault(int key, int defaultValue) {
+            int index = graph.getIndex(key);
+            return index == -1 ? defaultValue : index;
+        }
+    }
+}
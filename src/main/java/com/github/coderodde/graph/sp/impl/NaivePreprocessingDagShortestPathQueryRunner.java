@@ -1,13 +1,16 @@
 package com.github.coderodde.graph.sp.impl;
 
+import com.github.coderodde.graph.AbstractGraph;
 import com.github.coderodde.graph.PathDoesNotExistException;
 import com.github.coderodde.graph.impl.DirectedGraph;
 import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
 import com.github.coderodde.graph.sp.AbstractGraphPreprocessor;
-import java.util.ArrayList;
-import java.util.HashMap;
+import com.github.coderodde.graph.sp.DagQueryWorkspace;
+import com.github.coderodde.graph.sp.IndexedShortestPathTree;
+import com.github.coderodde.graph.sp.ShortestPathTree;
+import com.github.coderodde.graph.util.IntIntMap;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 
 /**
  * 
@@ -18,7 +21,8 @@ import java.util.Map;
 public class NaivePreprocessingDagShortestPathQueryRunner 
         extends AbstractDagShortestPathQueryRunner {
     
-    private final List<Integer> topologicallySortedNodes = new ArrayList<>();
+    private final List<Integer> topologicallySortedNodes;
+    private final IntIntMap indexMap;
     
     /**
      * Constructs the preprocessing shortest path query provider.
@@ -28,9 +32,12 @@ public class NaivePreprocessingDagShortestPathQueryRunner
      * @param graphPreprocessor the graph preprocessor.
      */
     public NaivePreprocessingDagShortestPathQueryRunner(
-            DirectedGraph graph,
+            AbstractGraph graph,
             AbstractGraphPreprocessor graphPreprocessor) {
         super(graph, graphPreprocessor);
+        this.topologicallySortedNodes = 
+                graphPreprocessor.getTopologicallySortedNodes();
+        this.indexMap = graphPreprocessor.getPrimitiveIndexMap();
     }
 
     @Override
@@ -44,51 +51,108 @@ public class NaivePreprocessingDagShortestPathQueryRunner
         checkSourceNode(sourceNode);
         checkTargetNode(targetNode);
         
-        Map<Integer, Double> costMap = new HashMap<>();
-        Map<Integer, Integer> parentMap = new HashMap<>();
+        int sourceIndex = indexMap.getOrDefault(sourceNode, -1);
+        int targetIndex = indexMap.getOrDefault(targetNode, -1);
         
-        costMap.put(sourceNode, 0.0);
-        parentMap.put(sourceNode, null);
+        if (!mayReach(sourceIndex, targetIndex)) {
+            throw new PathDoesNotExistException(sourceNode, targetNode);
+        }
+        
+        int lastIndex = topologicallySortedNodes.size() - 1;
+        DagQueryWorkspace workspace = 
+                getWorkspace(topologicallySortedNodes.size());
         
-        for (Integer node : topologicallySortedNodes) {
-            if (!costMap.containsKey(node)) {
+        workspace.setSource(sourceIndex);
+        
+        for (int i = 0; i <= lastIndex; i++) {
+            if (!workspace.isReached(i)) {
                 continue;
             }
             
-            if (node.equals(targetNode)) {
-                return tracebackPath(node, parentMap);
+            if (i == targetIndex) {
+                return tracebackPath(i, workspace, topologicallySortedNodes);
             }
             
-            for (Integer child : graph.getChildrenOf(node)) {
-                if (!costMap.containsKey(child) 
-                        || costMap.get(child) > 
-                           costMap.get(node) + 
-                            graph.getEdgeWeight(node, child)) {
-                    
-                    costMap.put(child, 
-                                costMap.get(node) + 
-                                        graph.getEdgeWeight(node, child));
-                    
-                    parentMap.put(child, node);
-                }
-            }
+            workspace.relaxChildren(graph, 
+                                    topologicallySortedNodes.get(i), 
+                                    i, 
+                                    indexMap, 
+                                    lastIndex);
         }
         
         throw new PathDoesNotExistException(sourceNode, targetNode);
     }
 
+    @Override
+    public ShortestPathTree queryShortestPathTree(Integer sourceNode) {
+        checkGraphDirtyStatus();
+        checkSourceNode(sourceNode);
+        return sweepTree(sourceNode, topologicallySortedNodes.size() - 1);
+    }
+    
+    @Override
+    protected ShortestPathTree 
+        queryShortestPathTree(Integer sourceNode, 
+                              Collection<Integer> targetNodes) {
+        checkGraphDirtyStatus();
+        checkSourceNode(sourceNode);
+        
+        int lastIndex = indexMap.getOrDefault(sourceNode, -1);
+        
+        for (Integer targetNode : targetNodes) {
+            checkTargetNode(targetNode);
+            lastIndex = Math.max(lastIndex, 
+                                 indexMap.getOrDefault(targetNode, -1));
+        }
+        
+        return sweepTree(sourceNode, lastIndex);
+    }
+
     @Override
     public long getPreprocessingDuration() {
         return graphPreprocessor.getPreprocessingDuration();
     }
     
+    /**
+     * Sweeps from {@code sourceNode} up to the topological index 
+     * {@code lastIndex}.
+     * 
+     * @param sourceNode the source node.
+     * @param lastIndex  the last topological index to cover.
+     * @return the shortest path tree over the swept range.
+     */
+    private ShortestPathTree sweepTree(Integer sourceNode, int lastIndex) {
+        DagQueryWorkspace workspace = 
+                getWorkspace(topologicallySortedNodes.size());
+        
+        workspace.setSource(indexMap.getOrDefault(sourceNode, -1));
+        
+        for (int i = 0; i < lastIndex; i++) {
+            if (workspace.isReached(i)) {
+                workspace.relaxChildren(graph, 
+                                        topologicallySortedNodes.get(i), 
+                                        i, 
+                                        indexMap, 
+                                        lastIndex);
+            }
+        }
+        
+        return new IndexedShortestPathTree(
+                graph, 
+                sourceNode, 
+                0, 
+                lastIndex, 
+                workspace, 
+                node -> indexMap.getOrDefault(node, -1), 
+                topologicallySortedNodes::get);
+    }
+    
     private void checkGraphDirtyStatus() {
         if (expectedGraphModCount != graph.getModificationCount()) {
-            expectedGraphModCount = graph.getModificationCount();
+            // The sweeps read the preprocessor's order and index map 
+            // directly, so there is nothing to copy:
             graphPreprocessor.preprocessGraph();
-            topologicallySortedNodes.clear();
-            topologicallySortedNodes.addAll(
-                    graphPreprocessor.getTopologicallySortedNodes());
+            expectedGraphModCount = graph.getModificationCount();
         }
     }
 }
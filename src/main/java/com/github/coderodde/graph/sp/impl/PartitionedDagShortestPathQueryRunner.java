@@ -0,0 +1,568 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.GraphTopologyListener;
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.AbstractGraphPreprocessor;
+import com.github.coderodde.graph.sp.DagQueryWorkspace;
+import com.github.coderodde.graph.sp.ShortestPathTree;
+import com.github.coderodde.graph.sp.SourceTargetPair;
+import com.github.coderodde.graph.util.IntIntMap;
+import com.github.coderodde.graph.util.IntIntOpenHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * This class implements a shortest path query runner over a partitioned
+ * distance index. The topological order is cut into consecutive ranges of
+ * {@code partitionSize} indices. Within each range, the <b>entry</b> nodes
+ * have a parent in an earlier range and the <b>exit</b> nodes have a child in
+ * a later range. For each range, the index stores the table of the distances
+ * from every entry to every exit within the range.
+ * <p>
+ * Since no path returns to a range it has left, a query from the range
+ * {@code a} to the range {@code b > a} consists of a local sweep from the
+ * source to the exits of {@code a}, of the table lookups and the arcs between
+ * the ranges in between, and of a local sweep from the entries of {@code b}
+ * to the target. The intermediate ranges thus cost time proportional to their
+ * boundaries rather than to their sizes. The table hops of the found path
+ * are unpacked by local sweeps.
+ * <p>
+ * The tables are built in parallel, one task per range. The runner listens to
+ * the graph: an arc change preserving the order of the index makes only the
+ * ranges of its end nodes stale, and only those are rebuilt before the next
+ * query; any other change rebuilds the entire index. The shortest path trees
+ * are computed by a forward sweep of an
+ * {@link IndexingPreprocessingDagShortestPathQueryRunner}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public class PartitionedDagShortestPathQueryRunner
+        extends AbstractDagShortestPathQueryRunner
+        implements GraphTopologyListener {
+
+    private final int partitionSize;
+    private final ForkJoinPool pool;
+    private final IndexingPreprocessingDagShortestPathQueryRunner
+            forwardRunner;
+
+    private int[] order = new int[0];
+    private final IntIntOpenHashMap indexMap = new IntIntOpenHashMap();
+    private Partition[] partitions = new Partition[0];
+    private final BitSet stalePartitions = new BitSet();
+    private boolean indexValid;
+    private long indexBuildDuration;
+
+    /**
+     * Constructs the partitioned runner building its index in the common
+     * fork/join pool.
+     *
+     * @param graph             the graph in which to run the shortest path
+     *                          search.
+     * @param graphPreprocessor the graph preprocessor.
+     * @param partitionSize     the number of topological indices per range.
+     */
+    public PartitionedDagShortestPathQueryRunner(
+            AbstractGraph graph,
+            AbstractGraphPreprocessor graphPreprocessor,
+            int partitionSize) {
+        this(graph, graphPreprocessor, partitionSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs the partitioned runner and subscribes it to {@code graph}.
+     *
+     * @param graph             the graph in which to run the shortest path
+     *                          search.
+     * @param graphPreprocessor the graph preprocessor.
+     * @param partitionSize     the number of topological indices per range.
+     * @param pool              the pool building the index.
+     */
+    public PartitionedDagShortestPathQueryRunner(
+            AbstractGraph graph,
+            AbstractGraphPreprocessor graphPreprocessor,
+            int partitionSize,
+            ForkJoinPool pool) {
+        super(graph, graphPreprocessor);
+
+        if (partitionSize < 1) {
+            throw new IllegalArgumentException(
+                    "Non-positive partition size: " + partitionSize);
+        }
+
+        this.partitionSize = partitionSize;
+        this.pool = Objects.requireNonNull(pool);
+        this.forwardRunner =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph,
+                        graphPreprocessor);
+
+        graph.addGraphTopologyListener(this);
+    }
+
+    @Override
+    public DirectedGraph.Path queryShortestPath(Integer sourceNode,
+                                                Integer targetNode) {
+        refreshIndex();
+
+        checkSourceNode(sourceNode);
+        checkTargetNode(targetNode);
+
+        IntIntMap preprocessorIndexMap =
+                graphPreprocessor.getPrimitiveIndexMap();
+
+        int sourceIndex = indexMap.getOrDefault(sourceNode, -1);
+        int targetIndex = indexMap.getOrDefault(targetNode, -1);
+
+        // The order of the preprocessor may be consulted only as long as the
+        // graph has not changed since the index was fully rebuilt:
+        if (sourceIndex > targetIndex
+                || (expectedGraphModCount == graph.getModificationCount()
+                && !mayReach(preprocessorIndexMap.getOrDefault(sourceNode, -1),
+                             preprocessorIndexMap.getOrDefault(targetNode, 
+                                                               -1)))) {
+            throw new PathDoesNotExistException(sourceNode, targetNode);
+        }
+
+        int sourcePartition = sourceIndex / partitionSize;
+        int targetPartition = targetIndex / partitionSize;
+        DagQueryWorkspace workspace = getWorkspace(order.length);
+
+        workspace.setSource(sourceIndex);
+
+        if (sourcePartition == targetPartition) {
+            sweepLocally(workspace, sourceIndex, targetIndex);
+        } else {
+            Partition partition = partitions[sourcePartition];
+            sweepLocally(workspace, sourceIndex, partition.end - 1);
+            relaxArcsBetweenPartitions(workspace, partition, targetIndex);
+
+            for (int k = sourcePartition + 1; k < targetPartition; k++) {
+                partition = partitions[k];
+                relaxTable(workspace, partition);
+                relaxArcsBetweenPartitions(workspace, partition, targetIndex);
+            }
+
+            sweepLocally(workspace,
+                         partitions[targetPartition].begin,
+                         targetIndex);
+        }
+
+        if (!workspace.isReached(targetIndex)) {
+            throw new PathDoesNotExistException(sourceNode, targetNode);
+        }
+
+        return tracebackPath(workspace,
+                             targetIndex,
+                             sourcePartition,
+                             targetPartition);
+    }
+
+    @Override
+    public ShortestPathTree queryShortestPathTree(Integer sourceNode) {
+        return forwardRunner.queryShortestPathTree(sourceNode);
+    }
+
+    @Override
+    public List<DirectedGraph.Path>
+        queryShortestPaths(Collection<SourceTargetPair> queries) {
+        return forwardRunner.queryShortestPaths(queries);
+    }
+
+    @Override
+    public long getPreprocessingDuration() {
+        return graphPreprocessor.getPreprocessingDuration()
+                + indexBuildDuration;
+    }
+
+    /**
+     * Returns the number of ranges in the current index.
+     *
+     * @return the number of partitions.
+     */
+    public int getNumberOfPartitions() {
+        return partitions.length;
+    }
+
+    /**
+     * Unsubscribes this runner from the graph. After that, every query
+     * rebuilds the entire index.
+     */
+    public synchronized void detach() {
+        graph.removeGraphTopologyListener(this);
+        indexValid = false;
+    }
+
+    @Override
+    public synchronized void onAddNode(Integer node) {
+        indexValid = false;
+    }
+
+    @Override
+    public synchronized void onAddEdge(Integer tail,
+                                       Integer head,
+                                       double weight) {
+        int tailIndex = indexMap.getOrDefault(tail, -1);
+        int headIndex = indexMap.getOrDefault(head, -1);
+
+        if (tailIndex == -1 || headIndex == -1 || tailIndex >= headIndex) {
+            // The arc contradicts the order of the index:
+            indexValid = false;
+        } else {
+            markStale(tailIndex, headIndex);
+        }
+    }
+
+    @Override
+    public synchronized void onUpdateEdgeWeight(Integer tail,
+                                                Integer head,
+                                                double oldWeight,
+                                                double newWeight) {
+        int tailIndex = indexMap.getOrDefault(tail, -1);
+        int headIndex = indexMap.getOrDefault(head, -1);
+
+        // The arcs between the ranges are read from the graph directly:
+        if (tailIndex / partitionSize == headIndex / partitionSize) {
+            markStale(tailIndex, headIndex);
+        }
+    }
+
+    @Override
+    public synchronized void onRemoveEdge(Integer tail,
+                                          Integer head,
+                                          double weight) {
+        markStale(indexMap.getOrDefault(tail, -1),
+                  indexMap.getOrDefault(head, -1));
+    }
+
+    @Override
+    public synchronized void onRemoveNode(Integer node) {
+        indexValid = false;
+    }
+
+    @Override
+    public synchronized void onClearNode(Integer node) {
+        indexValid = false;
+    }
+
+    @Override
+    public synchronized void onClearGraph() {
+        indexValid = false;
+    }
+
+    private void markStale(int tailIndex, int headIndex) {
+        if (tailIndex == -1 || headIndex == -1) {
+            indexValid = false;
+        } else {
+            stalePartitions.set(tailIndex / partitionSize);
+            stalePartitions.set(headIndex / partitionSize);
+        }
+    }
+
+    /**
+     * Rebuilds the entire index if it is invalid, and the stale ranges
+     * otherwise.
+     */
+    private synchronized void refreshIndex() {
+        if (indexValid && stalePartitions.isEmpty()) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        int[] partitionIds;
+
+        if (indexValid) {
+            partitionIds = stalePartitions.stream().toArray();
+        } else {
+            graphPreprocessor.preprocessGraph();
+            expectedGraphModCount = graph.getModificationCount();
+
+            List<Integer> sortedNodes =
+                    graphPreprocessor.getTopologicallySortedNodes();
+
+            order = new int[sortedNodes.size()];
+            indexMap.clear();
+
+            for (int i = 0; i < order.length; i++) {
+                order[i] = sortedNodes.get(i);
+                indexMap.put(order[i], i);
+            }
+
+            partitions = new Partition[
+                    (order.length + partitionSize - 1) / partitionSize];
+            partitionIds = IntStream.range(0, partitions.length).toArray();
+            indexValid = true;
+        }
+
+        stalePartitions.clear();
+
+        Partition[] targetPartitions = partitions;
+
+        pool.submit(() -> Arrays.stream(partitionIds)
+                                .parallel()
+                                .forEach(k -> targetPartitions[k] =
+                                        buildPartition(k)))
+            .join();
+
+        indexBuildDuration = System.currentTimeMillis() - startTime;
+    }
+
+    /**
+     * Computes the boundaries and the distance table of the range
+     * {@code partitionId}.
+     */
+    private Partition buildPartition(int partitionId) {
+        int begin = partitionId * partitionSize;
+        int end = Math.min(order.length, begin + partitionSize);
+        List<Integer> entryList = new ArrayList<>();
+        List<Integer> exitList = new ArrayList<>();
+
+        for (int i = begin; i < end; i++) {
+            for (Integer parent : graph.getParentsOf(order[i])) {
+                if (indexMap.getOrDefault(parent, -1) < begin) {
+                    entryList.add(i);
+                    break;
+                }
+            }
+
+            for (Integer child : graph.getChildrenOf(order[i])) {
+                if (indexMap.getOrDefault(child, -1) >= end) {
+                    exitList.add(i);
+                    break;
+                }
+            }
+        }
+
+        Partition partition = new Partition(begin, end, entryList, exitList);
+        double[] distances = new double[end - begin];
+
+        for (int r = 0; r < partition.entries.length; r++) {
+            sweepWithinPartition(partition.entries[r],
+                                 end - 1,
+                                 begin,
+                                 distances,
+                                 null);
+
+            for (int q = 0; q < partition.exits.length; q++) {
+                // The exits preceding the entry were not swept:
+                partition.table[r * partition.exits.length + q] =
+                        partition.exits[q] < partition.entries[r]
+                        ? Double.POSITIVE_INFINITY
+                        : distances[partition.exits[q] - begin];
+            }
+        }
+
+        return partition;
+    }
+
+    /**
+     * Computes the local distances from {@code fromIndex} to all the indices
+     * up to {@code toIndex}, using only the arcs within that range. The
+     * arrays are indexed relative to {@code offset}.
+     */
+    private void sweepWithinPartition(int fromIndex,
+                                      int toIndex,
+                                      int offset,
+                                      double[] distances,
+                                      int[] parents) {
+        Arrays.fill(distances,
+                    fromIndex - offset,
+                    toIndex - offset + 1,
+                    Double.POSITIVE_INFINITY);
+
+        distances[fromIndex - offset] = 0.0;
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            double distance = distances[i - offset];
+
+            if (distance == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+
+            int tailIndex = i;
+
+            graph.forEachChild(order[i], (child, weight) -> {
+                int headIndex = indexMap.getOrDefault(child, -1);
+
+                if (headIndex <= toIndex
+                        && distances[headIndex - offset] > distance + weight) {
+                    distances[headIndex - offset] = distance + weight;
+
+                    if (parents != null) {
+                        parents[headIndex - offset] = tailIndex;
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Relaxes the arcs of the reached slots in {@code [fromIndex, toIndex)}
+     * that stay within {@code toIndex}.
+     */
+    private void sweepLocally(DagQueryWorkspace workspace,
+                              int fromIndex,
+                              int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (workspace.isReached(i)) {
+                workspace.relaxChildren(graph, order[i], i, indexMap, toIndex);
+            }
+        }
+    }
+
+    /**
+     * Moves the distances of the reached entries of {@code partition} to its
+     * exits through the distance table.
+     */
+    private void relaxTable(DagQueryWorkspace workspace, Partition partition) {
+        int numberOfExits = partition.exits.length;
+
+        for (int r = 0; r < partition.entries.length; r++) {
+            int entry = partition.entries[r];
+
+            if (!workspace.isReached(entry)) {
+                continue;
+            }
+
+            double entryDistance = workspace.getDistance(entry);
+
+            for (int q = 0; q < numberOfExits; q++) {
+                double tableDistance = partition.table[r * numberOfExits + q];
+
+                if (tableDistance != Double.POSITIVE_INFINITY) {
+                    workspace.relax(partition.exits[q],
+                                    entryDistance + tableDistance,
+                                    entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Relaxes the arcs leaving the reached exits of {@code partition} for
+     * later ranges, up to {@code targetIndex}.
+     */
+    private void relaxArcsBetweenPartitions(DagQueryWorkspace workspace,
+                                            Partition partition,
+                                            int targetIndex) {
+        for (int exit : partition.exits) {
+            if (!workspace.isReached(exit)) {
+                continue;
+            }
+
+            double exitDistance = workspace.getDistance(exit);
+
+            graph.forEachChild(order[exit], (child, weight) -> {
+                int headIndex = indexMap.getOrDefault(child, -1);
+
+                if (headIndex >= partition.end && headIndex <= targetIndex) {
+                    workspace.relax(headIndex, exitDistance + weight, exit);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reconstructs the path, unpacking the table hops within the
+     * intermediate ranges by local sweeps.
+     */
+    private DirectedGraph.Path tracebackPath(DagQueryWorkspace workspace,
+                                             int targetIndex,
+                                             int sourcePartition,
+                                             int targetPartition) {
+        List<Integer> hops = new ArrayList<>();
+
+        for (int index = targetIndex;
+                index != -1;
+                index = workspace.getParent(index)) {
+            hops.add(index);
+        }
+
+        Collections.reverse(hops);
+
+        List<Integer> pathList = new ArrayList<>();
+        pathList.add(order[hops.get(0)]);
+
+        for (int j = 1; j < hops.size(); j++) {
+            int tailIndex = hops.get(j - 1);
+            int headIndex = hops.get(j);
+            int partitionId = headIndex / partitionSize;
+
+            if (partitionId == tailIndex / partitionSize
+                    && partitionId > sourcePartition
+                    && partitionId < targetPartition) {
+                appendLocalPath(tailIndex, headIndex, pathList);
+            } else {
+                pathList.add(order[headIndex]);
+            }
+        }
+
+        return new DirectedGraph.Path(graph,
+                                      pathList,
+                                      workspace.getDistance(targetIndex));
+    }
+
+    /**
+     * Appends the local shortest path from {@code fromIndex} (exclusive) to
+     * {@code toIndex} (inclusive) to {@code pathList}.
+     */
+    private void appendLocalPath(int fromIndex,
+                                 int toIndex,
+                                 List<Integer> pathList) {
+        int length = toIndex - fromIndex + 1;
+        double[] distances = new double[length];
+        int[] parents = new int[length];
+
+        sweepWithinPartition(fromIndex, toIndex, fromIndex, distances, parents);
+
+        List<Integer> localPath = new ArrayList<>();
+
+        for (int index = toIndex;
+                index != fromIndex;
+                index = parents[index - fromIndex]) {
+            localPath.add(order[index]);
+        }
+
+        Collections.reverse(localPath);
+        pathList.addAll(localPath);
+    }
+
+    /**
+     * Holds the boundaries and the distance table of a single range.
+     */
+    private static final class Partition {
+
+        final int begin;
+        final int end;
+        final int[] entries;
+        final int[] exits;
+
+        /**
+         * The distance from the {@code r}th entry to the {@code q}th exit is
+         * at {@code r * exits.length + q}.
+         */
+        final double[] table;
+
+        Partition(int begin,
+                  int end,
+                  List<Integer> entryList,
+                  List<Integer> exitList) {
+            this.begin = begin;
+            this.end = end;
+            this.entries = entryList.stream().mapToInt(i -> i).toArray();
+            this.exits = exitList.stream().mapToInt(i -> i).toArray();
+            this.table = new double[entries.length * exits.length];
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.coderodde.graph.util;
+
+/**
+ * This interface defines the read-only API of the maps mapping primitive
+ * {@code int} keys to primitive {@code int} values. It lets the query runners
+ * look up the topological indices without caring whether the map lives on the
+ * heap, as an {@link IntIntOpenHashMap}, or in a memory-mapped file.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public interface IntIntMap {
+
+    /**
+     * Returns the number of mappings in this map.
+     *
+     * @return the number of mappings.
+     */
+    int size();
+
+    /**
+     * Checks whether this map contains a mapping for {@code key}.
+     *
+     * @param key the query key.
+     * @return {@code true} if and only if {@code key} is mapped.
+     */
+    boolean containsKey(int key);
+
+    /**
+     * Returns the value mapped to {@code key}, or {@code defaultValue} if
+     * there is no such mapping.
+     *
+     * @param key          the query key.
+     * @param defaultValue the value to return if {@code key} is not mapped.
+     * @return the mapped value or {@code defaultValue}.
+     */
+    int getOrDefault(int key, int defaultValue);
+}
@@ -0,0 +1,213 @@
+package com.github.coderodde.graph.util;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a hash map mapping primitive {@code long} keys to 
+ * primitive {@code long} values. Collisions are resolved via linear probing,
+ * and removals are implemented via backward shifting so that no tombstones are
+ * ever left behind. Unlike {@link java.util.HashMap}, this map does not 
+ * allocate any objects per entry.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class LongLongOpenHashMap {
+    
+    private static final int MINIMUM_CAPACITY = 8;
+    private static final float MAXIMUM_LOAD_FACTOR = 0.5f;
+    
+    private long[] keys;
+    private long[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+    
+    public LongLongOpenHashMap() {
+        this(MINIMUM_CAPACITY);
+    }
+    
+    /**
+     * Constructs an empty map that can hold {@code expectedSize} mappings 
+     * without resizing.
+     * 
+     * @param expectedSize the expected number of mappings.
+     */
+    public LongLongOpenHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException(
+                    "Negative expected size: " + expectedSize);
+        }
+        
+        allocate(computeCapacity(expectedSize));
+    }
+    
+    /**
+     * Returns the number of mappings in this map.
+     * 
+     * @return the number of mappings.
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Checks whether this map contains a mapping for {@code key}.
+     * 
+     * @param key the query key.
+     * @return {@code true} if and only if {@code key} is mapped.
+     */
+    public boolean containsKey(long key) {
+        return findSlot(key) >= 0;
+    }
+    
+    /**
+     * Returns the value mapped to {@code key}, or {@code defaultValue} if 
+     * there is no such mapping.
+     * 
+     * @param key          the query key.
+     * @param defaultValue the value to return if the key is not mapped.
+     * @return the mapped value or {@code defaultValue}.
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        int slot = findSlot(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+    
+    /**
+     * Maps {@code key} to {@code value}.
+     * 
+     * @param key   the key.
+     * @param value the value.
+     * @return {@code true} if and only if {@code key} was not mapped before.
+     */
+    public boolean put(long key, long value) {
+        int slot = hash(key) & mask;
+        
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return false;
+            }
+            
+            slot = (slot + 1) & mask;
+        }
+        
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        
+        if (++size > MAXIMUM_LOAD_FACTOR * keys.length) {
+            rehash(keys.length << 1);
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Removes the mapping of {@code key}, if present.
+     * 
+     * @param key the key to remove.
+     * @return {@code true} if and only if {@code key} was mapped.
+     */
+    public boolean remove(long key) {
+        int slot = findSlot(key);
+        
+        if (slot < 0) {
+            return false;
+        }
+        
+        // Shift the following entries of the probe chain backwards so that 
+        // lookups never stumble on a hole:
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        
+        while (used[next]) {
+            int home = hash(keys[next]) & mask;
+            
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            
+            next = (next + 1) & mask;
+        }
+        
+        used[hole] = false;
+        size--;
+        return true;
+    }
+    
+    /**
+     * Removes all the mappings from this map.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+    
+    private int findSlot(long key) {
+        int slot = hash(key) & mask;
+        
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            
+            slot = (slot + 1) & mask;
+        }
+        
+        return -1;
+    }
+    
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        
+        allocate(newCapacity);
+        
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = hash(oldKeys[i]) & mask;
+                
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+    
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+    
+    private static int computeCapacity(int expectedSize) {
+        long capacity = MINIMUM_CAPACITY;
+        
+        while (capacity * MAXIMUM_LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        
+        if (capacity > (1 << 30)) {
+            throw new IllegalArgumentException(
+                    "Too large expected size: " + expectedSize);
+        }
+        
+        return (int) capacity;
+    }
+    
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
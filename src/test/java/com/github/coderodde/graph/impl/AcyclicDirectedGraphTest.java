@@ -0,0 +1,154 @@
+package com.github.coderodde.graph.impl;
+
+import com.github.coderodde.graph.GraphContainsCyclesException;
+import com.github.coderodde.graph.IntDoubleConsumer;
+import com.github.coderodde.graph.TopologicalSortChecker;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class AcyclicDirectedGraphTest {
+
+    private final AcyclicDirectedGraph g = new AcyclicDirectedGraph();
+
+    @Before
+    public void setup() {
+        g.clear();
+    }
+
+    @Test
+    public void rejectsCycleBeforeModifying() {
+        g.addEdge(1, 2, 1.0);
+        g.addEdge(2, 3, 2.0);
+
+        long modificationCount = g.getModificationCount();
+
+        try {
+            g.addEdge(3, 1, 3.0);
+            fail("The cycle was not rejected.");
+        } catch (GraphContainsCyclesException ex) {
+
+        }
+
+        assertFalse(g.hasEdge(3, 1));
+        assertEquals(2, g.getNumberOfEdges());
+        assertEquals(modificationCount, g.getModificationCount());
+    }
+
+    @Test(expected = GraphContainsCyclesException.class)
+    public void rejectsSelfLoop() {
+        g.addEdge(1, 1);
+    }
+
+    @Test
+    public void acceptsArcAfterCycleIsBroken() {
+        g.addEdge(1, 2);
+        g.addEdge(2, 3);
+
+        assertTrue(g.wouldCreateCycle(3, 1));
+
+        g.removeEdge(1, 2);
+
+        assertFalse(g.wouldCreateCycle(3, 1));
+        assertTrue(g.addEdge(3, 1));
+        assertTrue(TopologicalSortChecker.isTopologicallySorted(
+                g,
+                g.getTopologicallySortedNodes()));
+    }
+
+    @Test
+    public void reorderSearchesForwardOnce() {
+        int[] childScans = new int[1];
+        AcyclicDirectedGraph graph = new AcyclicDirectedGraph() {
+            @Override
+            public void forEachChild(int node, IntDoubleConsumer consumer) {
+                childScans[0]++;
+                super.forEachChild(node, consumer);
+            }
+
+            @Override
+            public void forEachChild(Integer node,
+                                     IntDoubleConsumer consumer) {
+                childScans[0]++;
+                super.forEachChild(node, consumer);
+            }
+        };
+
+        graph.addNode(1);
+        graph.addEdge(2, 3);
+        childScans[0] = 0;
+
+        // Moves 1 behind 3, which takes a forward search from 1 only:
+        assertTrue(graph.addEdge(3, 1));
+        assertEquals(1, childScans[0]);
+        assertTrue(TopologicalSortChecker.isTopologicallySorted(
+                graph,
+                graph.getTopologicallySortedNodes()));
+    }
+
+    @Test
+    public void rejectedSelfLoopAddsNoNode() {
+        try {
+            g.addEdge(1, 1);
+            fail("The self-loop was not rejected.");
+        } catch (GraphContainsCyclesException ex) {
+
+        }
+
+        assertFalse(g.hasNode(1));
+        assertTrue(g.getTopologicallySortedNodes().isEmpty());
+    }
+
+    @Test(expected = GraphContainsCyclesException.class)
+    public void copyConstructorRejectsCyclicGraph() {
+        DirectedGraph cyclic = new DirectedGraph();
+        cyclic.addEdge(1, 2);
+        cyclic.addEdge(2, 1);
+        new AcyclicDirectedGraph(cyclic);
+    }
+
+    @Test
+    public void agreesWithFullSortOnRandomArcs() {
+        Random random = new Random(17L);
+        DirectedGraph reference = new DirectedGraph();
+
+        for (int i = 0; i < 2_000; i++) {
+            int tail = random.nextInt(200);
+            int head = random.nextInt(200);
+
+            if (random.nextInt(20) == 0) {
+                g.removeNode(tail);
+                reference.removeNode(tail);
+                continue;
+            }
+
+            reference.addEdge(tail, head);
+            boolean cyclic = !isAcyclic(reference);
+
+            try {
+                g.addEdge(tail, head);
+                assertFalse(cyclic);
+            } catch (GraphContainsCyclesException ex) {
+                assertTrue(cyclic);
+                reference.removeEdge(tail, head);
+            }
+
+            assertEquals(reference.getNumberOfEdges(), g.getNumberOfEdges());
+        }
+
+        assertEquals(reference.size(), g.size());
+        assertTrue(TopologicalSortChecker.isTopologicallySorted(
+                g,
+                g.getTopologicallySortedNodes()));
+    }
+
+    private static boolean isAcyclic(DirectedGraph graph) {
+        try {
+            new KahnsTopologicalSorter().sort(graph);
+            return true;
+        } catch (GraphContainsCyclesException ex) {
+            return false;
+        }
+    }
+}
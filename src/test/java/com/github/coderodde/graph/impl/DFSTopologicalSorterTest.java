@@ -3,6 +3,7 @@ package com.github.coderodde.graph.impl;
 import com.github.coderodde.graph.GraphContainsCyclesException;
 import static com.github.coderodde.graph.TopologicalSortChecker.isTopologicallySorted;
 import com.github.coderodde.graph.TopologicalSorter;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -23,4 +24,75 @@ public class DFSTopologicalSorterTest extends AbstractTopologicalSorterTest {
         sorter.sort(cyclicGraph);
         fail("Should have thrown.");
     }
+    
+    @Test
+    public void testSortLongChain() {
+        PrimitiveDirectedGraph graph = new PrimitiveDirectedGraph();
+        
+        // Deep enough to overflow the call stack of a recursive search:
+        for (int node = 0; node < 200_000; node++) {
+            graph.addEdge(node, node + 1);
+        }
+        
+        List<Integer> sortedNodes = sorter.sort(graph);
+        
+        assertEquals(graph.size(), sortedNodes.size());
+        assertTrue(isTopologicallySorted(graph, sortedNodes));
+    }
+    
+    @Test(expected = GraphContainsCyclesException.class)
+    public void testSortPrimitiveCyclic() {
+        PrimitiveDirectedGraph graph = new PrimitiveDirectedGraph();
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        graph.addEdge(3, 1);
+        
+        sorter.sort(graph);
+    }
+    
+    @Test
+    public void testSortPrimitiveAfterNodeRemoval() {
+        PrimitiveDirectedGraph graph = new PrimitiveDirectedGraph();
+        
+        for (int node = 0; node < 100; node++) {
+            graph.addEdge(node, node + 1);
+            graph.addEdge(node, node + 2);
+        }
+        
+        // Moves the last slots into the holes:
+        graph.removeNode(0);
+        graph.removeNode(50);
+        
+        List<Integer> sortedNodes = sorter.sort(graph);
+        
+        assertEquals(graph.size(), sortedNodes.size());
+        assertTrue(isTopologicallySorted(graph, sortedNodes));
+    }
+    
+    @Test
+    public void testSortIndices() {
+        CompressedDirectedGraph compressedGraph = 
+                new CompressedDirectedGraph(acyclicGraph);
+        
+        int[] sortedIndices = 
+                new DFSTopologicalSorter().sortIndices(compressedGraph);
+        
+        CompressedDirectedGraph sortedGraph = 
+                new CompressedDirectedGraph(
+                        acyclicGraph, 
+                        sort(compressedGraph, sortedIndices));
+        
+        assertTrue(sortedGraph.isTopologicallySorted());
+    }
+    
+    private static List<Integer> sort(CompressedDirectedGraph graph, 
+                                      int[] sortedIndices) {
+        List<Integer> nodes = new ArrayList<>();
+        
+        for (int index : sortedIndices) {
+            nodes.add(graph.getNodeId(index));
+        }
+        
+        return nodes;
+    }
 }
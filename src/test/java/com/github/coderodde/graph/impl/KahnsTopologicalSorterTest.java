@@ -4,6 +4,8 @@ import com.github.coderodde.graph.GraphContainsCyclesException;
 import static com.github.coderodde.graph.TopologicalSortChecker.isTopologicallySorted;
 import com.github.coderodde.graph.TopologicalSorter;
 import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
@@ -22,4 +24,35 @@ public class KahnsTopologicalSorterTest extends AbstractTopologicalSorterTest {
     public void testSortCyclic() throws GraphContainsCyclesException {
         sorter.sort(cyclicGraph);
     }
+    
+    @Test
+    public void testSortDoesNotModifyGraph() {
+        long modificationCount = acyclicGraph.getModificationCount();
+        int numberOfEdges = acyclicGraph.getNumberOfEdges();
+        
+        sorter.sort(acyclicGraph);
+        
+        assertEquals(modificationCount, acyclicGraph.getModificationCount());
+        assertEquals(numberOfEdges, acyclicGraph.getNumberOfEdges());
+    }
+    
+    @Test
+    public void testSortPrimitiveGraph() {
+        PrimitiveDirectedGraph graph = new PrimitiveDirectedGraph();
+        Random random = new Random(31L);
+        
+        for (int i = 0; i < 5_000; i++) {
+            int node1 = random.nextInt(1_000);
+            int node2 = random.nextInt(1_000);
+            
+            if (node1 != node2) {
+                graph.addEdge(Math.min(node1, node2), Math.max(node1, node2));
+            }
+        }
+        
+        List<Integer> sortedNodes = sorter.sort(graph);
+        
+        assertEquals(graph.size(), sortedNodes.size());
+        assertTrue(isTopologicallySorted(graph, sortedNodes));
+    }
 }
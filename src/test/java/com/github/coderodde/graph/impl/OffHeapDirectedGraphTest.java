@@ -0,0 +1,304 @@
+package com.github.coderodde.graph.impl;
+
+import static com.github.coderodde.graph.TopologicalSortChecker.isTopologicallySorted;
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.impl.IndexingPreprocessingDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.impl.KahnsGraphPreprocessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class OffHeapDirectedGraphTest {
+
+    // Tiny chunks make the blocks straddle the chunk boundaries:
+    private final OffHeapDirectedGraph g = new OffHeapDirectedGraph(4, 4L, 2);
+
+    @Before
+    public void setup() {
+        g.clear();
+    }
+
+    @Test
+    public void copyConstructor() {
+        DirectedGraph source = new DirectedGraph();
+        source.addEdge(1, 2, 1.0);
+        source.addEdge(2, 3, 2.0);
+        source.addEdge(3, 1, 3.0);
+        source.addNode(4);
+
+        OffHeapDirectedGraph copied = new OffHeapDirectedGraph(source);
+
+        assertEquals(4, copied.size());
+        assertEquals(3, copied.getNumberOfEdges());
+        assertEquals(1.0, copied.getEdgeWeight(1, 2), 0.0);
+        assertEquals(2.0, copied.getEdgeWeight(2, 3), 0.0);
+        assertEquals(3.0, copied.getEdgeWeight(3, 1), 0.0);
+        assertTrue(copied.hasNode(4));
+        assertTrue(copied.getOffHeapBytes() > 0L);
+    }
+
+    @Test
+    public void smallGraphStaysSmall() {
+        OffHeapDirectedGraph small = new OffHeapDirectedGraph();
+
+        // 2 * 16 default arcs in 12-byte records:
+        assertEquals(32L * 12L, small.getOffHeapBytes());
+
+        for (int i = 0; i < 100; i++) {
+            small.addEdge(i, i + 1, 1.0);
+        }
+
+        assertTrue(small.getOffHeapBytes() <= 1024L * 12L);
+        assertEquals(1.0, small.getEdgeWeight(50, 51), 0.0);
+        assertEquals(100, small.getNumberOfEdges());
+    }
+
+    @Test
+    public void clearShrinksTheStorage() {
+        OffHeapDirectedGraph graph = new OffHeapDirectedGraph(4, 4L, 4);
+        long initialBytes = graph.getOffHeapBytes();
+
+        for (int i = 0; i < 1_000; i++) {
+            graph.addEdge(i, i + 1, 1.0);
+        }
+
+        assertTrue(graph.getOffHeapBytes() > initialBytes);
+
+        graph.clear();
+
+        assertEquals(initialBytes, graph.getOffHeapBytes());
+
+        graph.addEdge(1, 2, 3.0);
+
+        assertEquals(3.0, graph.getEdgeWeight(1, 2), 0.0);
+        graph.close();
+    }
+
+    @Test
+    public void closeReleasesTheStorage() {
+        OffHeapDirectedGraph graph = new OffHeapDirectedGraph();
+        graph.addEdge(1, 2, 1.0);
+        graph.close();
+
+        assertEquals(0L, graph.getOffHeapBytes());
+        assertEquals(0, graph.size());
+        assertEquals(0, graph.getNumberOfEdges());
+
+        // Closing twice is harmless:
+        graph.close();
+
+        try {
+            graph.addEdge(1, 2, 1.0);
+            fail("A closed graph accepted an arc.");
+        } catch (IllegalStateException ex) {
+            assertEquals(0, graph.size());
+        }
+    }
+
+    @Test(timeout = 10_000L)
+    public void copyConstructorHandlesHighDegree() {
+        PrimitiveDirectedGraph star = new PrimitiveDirectedGraph();
+
+        for (int i = 1; i <= 100_000; i++) {
+            star.addEdge(0, i, i);
+        }
+
+        OffHeapDirectedGraph copied = new OffHeapDirectedGraph(star);
+
+        assertEquals(100_001, copied.size());
+        assertEquals(100_000, copied.getNumberOfEdges());
+        assertEquals(100_000, copied.getChildrenOf(0).size());
+        assertEquals(Set.of(0), copied.getParentsOf(77_777));
+        assertEquals(77_777.0, copied.getEdgeWeight(0, 77_777), 0.0);
+        assertTrue(copied.removeEdge(0, 1));
+        assertFalse(copied.hasEdge(0, 1));
+        assertEquals(99_999, copied.getNumberOfEdges());
+    }
+
+    @Test
+    public void addEdge() {
+        assertTrue(g.addEdge(1, 2, 1.0));
+        assertTrue(g.addEdge(2, 1, 2.0));
+        assertTrue(g.addEdge(-3, 3, 3.0));
+        assertFalse(g.addEdge(-3, 3, 3.0));
+        assertTrue(g.addEdge(-3, 3, 4.0));
+
+        assertTrue(g.hasEdge(1, 2));
+        assertTrue(g.hasEdge(2, 1));
+        assertTrue(g.hasEdge(-3, 3));
+        assertFalse(g.hasEdge(3, -3));
+        assertEquals(4.0, g.getEdgeWeight(-3, 3), 0.0);
+        assertTrue(Double.isNaN(g.getEdgeWeight(3, -3)));
+        assertEquals(3, g.getNumberOfEdges());
+    }
+
+    @Test
+    public void removeEdgeKeepsOtherEdges() {
+        g.addEdge(1, 2, 1.0);
+        g.addEdge(1, 3, 2.0);
+        g.addEdge(1, 4, 3.0);
+        g.addEdge(5, 4, 4.0);
+        g.addEdge(6, 4, 5.0);
+
+        assertTrue(g.removeEdge(1, 2));
+        assertTrue(g.removeEdge(1, 4));
+        assertFalse(g.removeEdge(1, 4));
+
+        assertEquals(3, g.getNumberOfEdges());
+        assertEquals(2.0, g.getEdgeWeight(1, 3), 0.0);
+        assertEquals(4.0, g.getEdgeWeight(5, 4), 0.0);
+        assertEquals(5.0, g.getEdgeWeight(6, 4), 0.0);
+        assertEquals(Set.of(3), g.getChildrenOf(1));
+        assertEquals(Set.of(5, 6), g.getParentsOf(4));
+    }
+
+    @Test
+    public void clearAndRemoveNode() {
+        g.addEdge(1, 2, 1.0);
+        g.addEdge(3, 2, 2.0);
+        g.addEdge(2, 4, 1.5);
+        g.addEdge(1, 4, 3.0);
+        g.addEdge(2, 2, 1.0);
+
+        assertEquals(4, g.size());
+        assertEquals(5, g.getNumberOfEdges());
+
+        assertTrue(g.clearNode(2));
+
+        assertEquals(4, g.size());
+        assertEquals(1, g.getNumberOfEdges());
+
+        assertTrue(g.removeNode(1));
+
+        assertEquals(3, g.size());
+        assertEquals(0, g.getNumberOfEdges());
+        assertEquals(Set.of(2, 3, 4), g.getAllNodes());
+        assertTrue(g.getParentsOf(4).isEmpty());
+    }
+
+    @Test
+    public void matchesDirectedGraphUnderRandomOperations() {
+        Random random = new Random(7L);
+        DirectedGraph expected = new DirectedGraph();
+
+        for (int i = 0; i < 20_000; i++) {
+            int tailNode = random.nextInt(50);
+            int headNode = random.nextInt(50);
+
+            switch (random.nextInt(20)) {
+                case 0:
+                    assertEquals(expected.removeNode(tailNode),
+                                 g.removeNode(tailNode));
+                    break;
+
+                case 1:
+                    assertEquals(expected.clearNode(tailNode),
+                                 g.clearNode(tailNode));
+                    break;
+
+                case 2:
+                case 3:
+                case 4:
+                case 5:
+                    assertEquals(expected.removeEdge(tailNode, headNode),
+                                 g.removeEdge(tailNode, headNode));
+                    break;
+
+                default:
+                    double weight = random.nextInt(3);
+                    assertEquals(expected.addEdge(tailNode, headNode, weight),
+                                 g.addEdge(tailNode, headNode, weight));
+            }
+        }
+
+        assertEquals(expected.getAllNodes(), g.getAllNodes());
+        assertEquals(expected.getNumberOfEdges(), g.getNumberOfEdges());
+
+        for (Integer node : expected.getAllNodes()) {
+            assertEquals(expected.getChildrenOf(node), g.getChildrenOf(node));
+            assertEquals(expected.getParentsOf(node), g.getParentsOf(node));
+
+            for (Integer child : expected.getChildrenOf(node)) {
+                assertEquals(expected.getEdgeWeight(node, child),
+                             g.getEdgeWeight(node, child),
+                             0.0);
+            }
+
+            List<Integer> parents = new ArrayList<>();
+            g.forEachParent(node, (parent, weight) -> {
+                assertEquals(expected.getEdgeWeight(parent, node), weight, 0.0);
+                parents.add(parent);
+            });
+
+            assertEquals(expected.getParentsOf(node).size(), parents.size());
+        }
+    }
+
+    @Test
+    public void worksWithTopologicalSortersAndRunners() {
+        Random random = new Random(11L);
+        DirectedGraph expected = new DirectedGraph();
+
+        for (int i = 0; i < 2_000; i++) {
+            int node1 = random.nextInt(300);
+            int node2 = random.nextInt(300);
+
+            if (node1 != node2) {
+                double weight = random.nextDouble();
+                expected.addEdge(Math.min(node1, node2),
+                                 Math.max(node1, node2),
+                                 weight);
+                g.addEdge(Math.min(node1, node2),
+                          Math.max(node1, node2),
+                          weight);
+            }
+        }
+
+        assertTrue(isTopologicallySorted(
+                g,
+                new KahnsTopologicalSorter().sort(g)));
+        assertTrue(isTopologicallySorted(
+                g,
+                new DFSTopologicalSorter().sort(g)));
+
+        AbstractDagShortestPathQueryRunner runner =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        g,
+                        new KahnsGraphPreprocessor(g));
+        AbstractDagShortestPathQueryRunner reference =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        expected,
+                        new KahnsGraphPreprocessor(expected));
+
+        for (int i = 0; i < 200; i++) {
+            Integer source = random.nextInt(300);
+            Integer target = random.nextInt(300);
+
+            if (!expected.hasNode(source) || !expected.hasNode(target)) {
+                continue;
+            }
+
+            try {
+                double cost = reference.queryShortestPath(source, target)
+                                       .getTotalCost();
+
+                assertEquals(cost,
+                             runner.queryShortestPath(source, target)
+                                   .getTotalCost(),
+                             1E-9);
+            } catch (PathDoesNotExistException ex) {
+                try {
+                    runner.queryShortestPath(source, target);
+                    fail("The path should not exist.");
+                } catch (PathDoesNotExistException ex2) {
+
+                }
+            }
+        }
+    }
+}
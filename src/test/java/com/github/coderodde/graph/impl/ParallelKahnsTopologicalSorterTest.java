@@ -0,0 +1,117 @@
+package com.github.coderodde.graph.impl;
+
+import com.github.coderodde.graph.GraphContainsCyclesException;
+import static com.github.coderodde.graph.TopologicalSortChecker.isTopologicallySorted;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class ParallelKahnsTopologicalSorterTest
+        extends AbstractTopologicalSorterTest {
+
+    private final ParallelKahnsTopologicalSorter sorter =
+            new ParallelKahnsTopologicalSorter();
+
+    @Test
+    public void testSortAcyclic() throws GraphContainsCyclesException {
+        List<Integer> sortedNodes = sorter.sort(acyclicGraph);
+
+        assertTrue(isTopologicallySorted(acyclicGraph, sortedNodes));
+    }
+
+    @Test(expected = GraphContainsCyclesException.class)
+    public void testSortCyclic() throws GraphContainsCyclesException {
+        sorter.sort(cyclicGraph);
+    }
+
+    @Test
+    public void testSortLevels() {
+        List<List<Integer>> levels = sorter.sortLevels(acyclicGraph);
+
+        assertEquals(Arrays.asList(Arrays.asList(1),
+                                   Arrays.asList(2, 4),
+                                   Arrays.asList(3)),
+                     levels);
+    }
+
+    @Test
+    public void testSortLargeGraphInParallel() {
+        PrimitiveDirectedGraph graph = new PrimitiveDirectedGraph();
+        Random random = new Random(29L);
+        int nodes = 40_000;
+
+        for (int node = 0; node < nodes; node++) {
+            graph.addNode(node);
+        }
+
+        for (int i = 0; i < 4 * nodes; i++) {
+            int node1 = random.nextInt(nodes);
+            int node2 = random.nextInt(nodes);
+
+            if (node1 != node2) {
+                graph.addEdge(Math.min(node1, node2), Math.max(node1, node2));
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            ParallelKahnsTopologicalSorter parallelSorter =
+                    new ParallelKahnsTopologicalSorter(pool);
+
+            List<Integer> sortedNodes = parallelSorter.sort(graph);
+
+            assertEquals(nodes, sortedNodes.size());
+            assertTrue(isTopologicallySorted(graph, sortedNodes));
+            assertEquals(sortedNodes, parallelSorter.sort(graph));
+
+            List<List<Integer>> levels = parallelSorter.sortLevels(graph);
+            Map<Integer, Integer> levelMap = new HashMap<>();
+            List<Integer> flattened = new ArrayList<>();
+
+            for (int level = 0; level < levels.size(); level++) {
+                for (Integer node : levels.get(level)) {
+                    levelMap.put(node, level);
+                }
+
+                flattened.addAll(levels.get(level));
+            }
+
+            assertEquals(sortedNodes, flattened);
+
+            for (Integer node : graph.getAllNodes()) {
+                int level = levelMap.get(node);
+                int maximumParentLevel = -1;
+
+                for (Integer parent : graph.getParentsOf(node)) {
+                    maximumParentLevel = Math.max(maximumParentLevel,
+                                                  levelMap.get(parent));
+                }
+
+                // The level is the length of the longest incoming path:
+                assertEquals(maximumParentLevel + 1, level);
+            }
+
+            Integer tail = sortedNodes.get(0);
+            Integer head = graph.getChildrenOf(tail).iterator().next();
+            graph.addEdge(head, tail);
+
+            try {
+                parallelSorter.sort(graph);
+                fail("The cycle was not detected.");
+            } catch (GraphContainsCyclesException ex) {
+
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.github.coderodde.graph.impl;
+
+import static com.github.coderodde.graph.TopologicalSortChecker.isTopologicallySorted;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PrimitiveDirectedGraphTest {
+    
+    private final PrimitiveDirectedGraph g = new PrimitiveDirectedGraph();
+    
+    @Before
+    public void setup() {
+        g.clear();
+    }
+    
+    @Test
+    public void copyConstructor() {
+        DirectedGraph source = new DirectedGraph();
+        source.addEdge(1, 2, 1.0);
+        source.addEdge(2, 3, 2.0);
+        source.addEdge(3, 1, 3.0);
+        source.addNode(4);
+        
+        PrimitiveDirectedGraph copied = new PrimitiveDirectedGraph(source);
+        
+        assertEquals(4, copied.size());
+        assertEquals(3, copied.getNumberOfEdges());
+        assertEquals(1.0, copied.getEdgeWeight(1, 2), 0.0);
+        assertEquals(2.0, copied.getEdgeWeight(2, 3), 0.0);
+        assertEquals(3.0, copied.getEdgeWeight(3, 1), 0.0);
+        assertTrue(copied.hasNode(4));
+    }
+    
+    @Test
+    public void addEdge() {
+        assertTrue(g.addEdge(1, 2, 1.0));
+        assertTrue(g.addEdge(2, 1, 2.0));
+        assertTrue(g.addEdge(-3, 3, 3.0));
+        assertFalse(g.addEdge(-3, 3, 3.0));
+        assertTrue(g.addEdge(-3, 3, 4.0));
+        
+        assertTrue(g.hasEdge(1, 2));
+        assertTrue(g.hasEdge(2, 1));
+        assertTrue(g.hasEdge(-3, 3));
+        assertFalse(g.hasEdge(3, -3));
+        assertEquals(4.0, g.getEdgeWeight(-3, 3), 0.0);
+        assertTrue(Double.isNaN(g.getEdgeWeight(3, -3)));
+        assertEquals(3, g.getNumberOfEdges());
+    }
+    
+    @Test
+    public void removeEdgeKeepsOtherEdges() {
+        g.addEdge(1, 2, 1.0);
+        g.addEdge(1, 3, 2.0);
+        g.addEdge(1, 4, 3.0);
+        g.addEdge(5, 4, 4.0);
+        g.addEdge(6, 4, 5.0);
+        
+        assertTrue(g.removeEdge(1, 2));
+        assertTrue(g.removeEdge(1, 4));
+        assertFalse(g.removeEdge(1, 4));
+        
+        assertEquals(3, g.getNumberOfEdges());
+        assertEquals(2.0, g.getEdgeWeight(1, 3), 0.0);
+        assertEquals(4.0, g.getEdgeWeight(5, 4), 0.0);
+        assertEquals(5.0, g.getEdgeWeight(6, 4), 0.0);
+        assertEquals(Set.of(3), g.getChildrenOf(1));
+        assertEquals(Set.of(5, 6), g.getParentsOf(4));
+    }
+    
+    @Test
+    public void clearAndRemoveNode() {
+        g.addEdge(1, 2, 1.0);
+        g.addEdge(3, 2, 2.0);
+        g.addEdge(2, 4, 1.5);
+        g.addEdge(1, 4, 3.0);
+        g.addEdge(2, 2, 1.0);
+        
+        assertEquals(4, g.size());
+        assertEquals(5, g.getNumberOfEdges());
+        
+        assertTrue(g.clearNode(2));
+        
+        assertEquals(4, g.size());
+        assertEquals(1, g.getNumberOfEdges());
+        
+        assertTrue(g.removeNode(1));
+        
+        assertEquals(3, g.size());
+        assertEquals(0, g.getNumberOfEdges());
+        assertEquals(Set.of(2, 3, 4), g.getAllNodes());
+        assertTrue(g.getParentsOf(4).isEmpty());
+    }
+    
+    @Test
+    public void matchesDirectedGraphUnderRandomOperations() {
+        Random random = new Random(7L);
+        DirectedGraph expected = new DirectedGraph();
+        
+        for (int i = 0; i < 10_000; i++) {
+            int tailNode = random.nextInt(50);
+            int headNode = random.nextInt(50);
+            
+            switch (random.nextInt(10)) {
+                case 0:
+                    assertEquals(expected.removeNode(tailNode), 
+                                 g.removeNode(tailNode));
+                    break;
+                    
+                case 1:
+                case 2:
+                case 3:
+                    assertEquals(expected.removeEdge(tailNode, headNode), 
+                                 g.removeEdge(tailNode, headNode));
+                    break;
+                    
+                default:
+                    double weight = random.nextInt(3);
+                    assertEquals(expected.addEdge(tailNode, headNode, weight), 
+                                 g.addEdge(tailNode, headNode, weight));
+            }
+        }
+        
+        assertEquals(expected.getAllNodes(), g.getAllNodes());
+        assertEquals(expected.getNumberOfEdges(), g.getNumberOfEdges());
+        
+        for (Integer node : expected.getAllNodes()) {
+            assertEquals(expected.getChildrenOf(node), g.getChildrenOf(node));
+            assertEquals(expected.getParentsOf(node), g.getParentsOf(node));
+            
+            for (Integer child : expected.getChildrenOf(node)) {
+                assertEquals(expected.getEdgeWeight(node, child), 
+                             g.getEdgeWeight(node, child),
+                             0.0);
+            }
+        }
+    }
+    
+    @Test
+    public void worksWithTopologicalSorters() {
+        g.addEdge(1, 2);
+        g.addEdge(2, 3);
+        g.addEdge(1, 4);
+        g.addEdge(4, 3);
+        g.addEdge(1, 3);
+        
+        assertTrue(isTopologicallySorted(g, new DFSTopologicalSorter().sort(g)));
+        assertTrue(
+                isTopologicallySorted(g, new KahnsTopologicalSorter().sort(g)));
+    }
+    
+    @Test
+    public void forEachChild() {
+        g.addEdge(1, 2, 1.0);
+        g.addEdge(1, 3, 2.0);
+        
+        List<Integer> children = new ArrayList<>();
+        Set<Double> weights = new HashSet<>();
+        
+        g.forEachChild(1, (child, weight) -> {
+            children.add(child);
+            weights.add(weight);
+        });
+        
+        assertEquals(List.of(2, 3), children);
+        assertEquals(Set.of(1.0, 2.0), weights);
+    }
+}
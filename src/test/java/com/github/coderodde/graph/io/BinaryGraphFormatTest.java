@@ -0,0 +1,228 @@
+package com.github.coderodde.graph.io;
+
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.impl.KahnsTopologicalSorter;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.impl.IndexingPreprocessingDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.impl.KahnsGraphPreprocessor;
+import com.github.coderodde.graph.sp.impl.MappedGraphPreprocessor;
+import com.github.coderodde.graph.util.IntIntMap;
+import com.github.coderodde.graph.util.IntIntOpenHashMap;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class BinaryGraphFormatTest {
+
+    private static final int NODES = 300;
+    private static final int EDGES = 1_200;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final DirectedGraph graph = new DirectedGraph();
+    private final Random random = new Random(13L);
+
+    @Before
+    public void before() {
+        // Spread the node IDs so that they are neither dense nor positive:
+        for (int i = 0; i < EDGES; i++) {
+            int node1 = random.nextInt(NODES);
+            int node2 = random.nextInt(NODES);
+
+            if (node1 != node2) {
+                graph.addEdge(toNodeId(Math.min(node1, node2)),
+                              toNodeId(Math.max(node1, node2)),
+                              random.nextDouble());
+            }
+        }
+
+        graph.addNode(toNodeId(NODES));
+    }
+
+    @Test
+    public void preservesStructure() throws IOException {
+        Path file = folder.newFile().toPath();
+        BinaryGraphFormat.write(graph, file);
+        MappedDirectedGraph mappedGraph = BinaryGraphFormat.map(file);
+
+        assertEquals(graph.size(), mappedGraph.size());
+        assertEquals(graph.getNumberOfEdges(), mappedGraph.getNumberOfEdges());
+        assertEquals(graph.getAllNodes(), mappedGraph.getAllNodes());
+        assertFalse(mappedGraph.hasNode(toNodeId(NODES + 1)));
+
+        for (Integer node : graph.getAllNodes()) {
+            assertEquals(graph.getChildrenOf(node),
+                         mappedGraph.getChildrenOf(node));
+            assertEquals(graph.getParentsOf(node),
+                         mappedGraph.getParentsOf(node));
+
+            for (Integer child : graph.getChildrenOf(node)) {
+                assertEquals(graph.getEdgeWeight(node, child),
+                             mappedGraph.getEdgeWeight(node, child),
+                             0.0);
+            }
+
+            List<Integer> parents = new ArrayList<>();
+            mappedGraph.forEachParent(node, (parent, weight) -> {
+                assertEquals(graph.getEdgeWeight(parent, node), weight, 0.0);
+                parents.add(parent);
+            });
+
+            assertEquals(graph.getParentsOf(node), new HashSet<>(parents));
+        }
+
+        assertTrue(Double.isNaN(mappedGraph.getEdgeWeight(toNodeId(1),
+                                                          toNodeId(0))));
+    }
+
+    @Test
+    public void storesTopologicalOrder() throws IOException {
+        Path unsortedFile = folder.newFile().toPath();
+        Path sortedFile = folder.newFile().toPath();
+        List<Integer> order = new KahnsTopologicalSorter().sort(graph);
+
+        BinaryGraphFormat.write(graph, order, sortedFile);
+
+        MappedDirectedGraph sortedGraph = BinaryGraphFormat.map(sortedFile);
+
+        assertTrue(sortedGraph.isTopologicallySorted());
+        assertEquals(order, sortedGraph.getTopologicallySortedNodes());
+
+        List<Integer> reversedOrder = new ArrayList<>(order);
+        Collections.reverse(reversedOrder);
+        BinaryGraphFormat.write(graph, reversedOrder, unsortedFile);
+
+        MappedDirectedGraph unsortedGraph = BinaryGraphFormat.map(unsortedFile);
+
+        assertFalse(unsortedGraph.isTopologicallySorted());
+
+        try {
+            unsortedGraph.getTopologicallySortedNodes();
+            fail("The unsorted file should not expose an order.");
+        } catch (IllegalStateException ex) {
+
+        }
+
+        compareShortestPaths(sortedGraph);
+        compareShortestPaths(unsortedGraph);
+    }
+
+    @Test
+    public void preprocessorServesStoredOrderFromFile() throws IOException {
+        Path file = folder.newFile().toPath();
+        List<Integer> order = new KahnsTopologicalSorter().sort(graph);
+        BinaryGraphFormat.write(graph, order, file);
+
+        MappedDirectedGraph mappedGraph = BinaryGraphFormat.map(file);
+        MappedGraphPreprocessor preprocessor =
+                new MappedGraphPreprocessor(mappedGraph);
+
+        preprocessor.preprocessGraph();
+
+        // The lookups are answered by the mapped node table:
+        IntIntMap indexMap = preprocessor.getPrimitiveIndexMap();
+
+        assertFalse(indexMap instanceof IntIntOpenHashMap);
+        assertEquals(order, preprocessor.getTopologicallySortedNodes());
+        assertEquals(graph.size(), indexMap.size());
+        assertFalse(indexMap.containsKey(toNodeId(NODES + 1)));
+
+        for (int index = 0; index < order.size(); index++) {
+            assertEquals(index, indexMap.getOrDefault(order.get(index), -1));
+            assertEquals(Integer.valueOf(index),
+                         preprocessor.getIndexMap().get(order.get(index)));
+        }
+
+        try {
+            preprocessor.setArtifactFile(folder.newFile().toPath());
+            fail("The stored order should not be replaced.");
+        } catch (UnsupportedOperationException ex) {
+
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void isReadOnly() throws IOException {
+        Path file = folder.newFile().toPath();
+        BinaryGraphFormat.write(graph, file);
+        BinaryGraphFormat.map(file).addEdge(toNodeId(0), toNodeId(1), 1.0);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsBadMagicNumber() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, ByteBuffer.allocate(BinaryGraphFormat.HEADER_SIZE)
+                                    .putInt(0xCAFEBABE)
+                                    .array());
+        BinaryGraphFormat.map(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsTruncatedFile() throws IOException {
+        Path file = folder.newFile().toPath();
+        BinaryGraphFormat.write(graph, file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 8));
+        BinaryGraphFormat.map(file);
+    }
+
+    private void compareShortestPaths(MappedDirectedGraph mappedGraph) {
+        AbstractDagShortestPathQueryRunner reference =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph,
+                        new KahnsGraphPreprocessor(graph));
+
+        AbstractDagShortestPathQueryRunner runner =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        mappedGraph,
+                        new MappedGraphPreprocessor(mappedGraph));
+
+        for (int i = 0; i < 200; i++) {
+            Integer source = toNodeId(random.nextInt(NODES));
+            Integer target = toNodeId(random.nextInt(NODES));
+
+            if (!graph.hasNode(source) || !graph.hasNode(target)) {
+                continue;
+            }
+
+            double expected;
+
+            try {
+                expected = reference.queryShortestPath(source, target)
+                                    .getTotalCost();
+            } catch (PathDoesNotExistException ex) {
+                try {
+                    runner.queryShortestPath(source, target);
+                    fail("The path should not exist.");
+                } catch (PathDoesNotExistException ex2) {
+
+                }
+
+                continue;
+            }
+
+            assertEquals(expected,
+                         runner.queryShortestPath(source, target)
+                               .getTotalCost(),
+                         1E-9);
+        }
+    }
+
+    private static int toNodeId(int node) {
+        return node * 7919 - 1_000;
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.coderodde.graph.io;
+
+import com.github.coderodde.graph.AbstractGraph;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class EdgeListLoaderTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final Random random = new Random(13L);
+
+    @Test
+    public void loadsEdgeList() throws IOException {
+        Path file = write("# A comment\n"
+                + "% Another comment\n"
+                + "\n"
+                + "1 2 0.5\n"
+                + "  -3\t2   1e-3\r\n"
+                + "2 7\n"
+                + "1 2 +2.25\n"
+                + "7 -3 -1.5E2\n"
+                + "7 1 0.30000000000000004");
+
+        MappedDirectedGraph graph = EdgeListLoader.load(file);
+        DirectedGraph expected = new DirectedGraph();
+
+        expected.addEdge(1, 2, 0.5);
+        expected.addEdge(-3, 2, 1e-3);
+        expected.addEdge(2, 7, 1.0);
+        expected.addEdge(1, 2, 2.25);
+        expected.addEdge(7, -3, -150.0);
+        expected.addEdge(7, 1, 0.30000000000000004);
+
+        assertSameGraph(expected, graph);
+        assertFalse(graph.isTopologicallySorted());
+    }
+
+    @Test
+    public void loadsDimacs() throws IOException {
+        Path file = write("c A DIMACS shortest path graph\n"
+                + "p sp 6 3\n"
+                + "a 1 2 10\n"
+                + "a 2 3 20\n"
+                + "a 1 4 5\n");
+
+        MappedDirectedGraph graph = EdgeListLoader.load(file);
+
+        // Nodes 5 and 6 are declared but isolated:
+        assertEquals(6, graph.size());
+        assertEquals(3, graph.getNumberOfEdges());
+        assertTrue(graph.hasNode(6));
+        assertTrue(graph.getChildrenOf(5).isEmpty());
+        assertEquals(20.0, graph.getEdgeWeight(2, 3), 0.0);
+        assertTrue(graph.isTopologicallySorted());
+    }
+
+    @Test
+    public void loadsInParallelChunks() throws IOException {
+        DirectedGraph expected = new DirectedGraph();
+        StringBuilder sb = new StringBuilder();
+
+        // The wide ID range forces the sorting translation:
+        for (int i = 0; i < 20_000; i++) {
+            int tail = random.nextInt(2_000) * 1_000_003;
+            int head = random.nextInt(2_000) * 1_000_003;
+            double weight = random.nextBoolean()
+                    ? random.nextDouble()
+                    : random.nextInt(1_000) / 100.0;
+
+            expected.addEdge(tail, head, weight);
+            sb.append(tail).append(' ').append(head).append(' ')
+              .append(weight).append('\n');
+        }
+
+        Path file = write(sb.toString());
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            assertSameGraph(expected, EdgeListLoader.load(file, pool, 1_000L));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsMalformedLine() throws IOException {
+        EdgeListLoader.load(write("1 2 0.5\n1 x 0.5\n"));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsTrailingGarbage() throws IOException {
+        EdgeListLoader.load(write("1 2 0.5 3\n"));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsIdOverflow() throws IOException {
+        EdgeListLoader.load(write("1 2147483648 0.5\n"));
+    }
+
+    private Path write(String text) throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, text.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    private static void assertSameGraph(AbstractGraph expected,
+                                        AbstractGraph actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.getNumberOfEdges(), actual.getNumberOfEdges());
+        assertEquals(expected.getAllNodes(), actual.getAllNodes());
+
+        for (Integer node : expected.getAllNodes()) {
+            assertEquals(expected.getChildrenOf(node),
+                         actual.getChildrenOf(node));
+            assertEquals(expected.getParentsOf(node),
+                         actual.getParentsOf(node));
+
+            for (Integer child : expected.getChildrenOf(node)) {
+                assertEquals(expected.getEdgeWeight(node, child),
+                             actual.getEdgeWeight(node, child),
+                             0.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.github.coderodde.graph.sp;
+
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.sp.impl.IndexingPreprocessingDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.impl.KahnsGraphPreprocessor;
+import com.github.coderodde.graph.sp.impl.NaivePreprocessingDagShortestPathQueryRunner;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import org.junit.Assume;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DagQueryWorkspaceTest {
+    
+    private final DagQueryWorkspace workspace = new DagQueryWorkspace();
+    
+    @Test
+    public void relax() {
+        workspace.prepare(4);
+        workspace.setSource(1);
+        
+        assertTrue(workspace.isReached(1));
+        assertFalse(workspace.isReached(2));
+        assertEquals(Double.POSITIVE_INFINITY, workspace.getDistance(2), 0.0);
+        
+        assertTrue(workspace.relax(2, 3.0, 1));
+        assertFalse(workspace.relax(2, 4.0, 0));
+        assertTrue(workspace.relax(2, 2.0, 0));
+        
+        assertEquals(2.0, workspace.getDistance(2), 0.0);
+        assertEquals(0, workspace.getParent(2));
+        assertEquals(-1, workspace.getParent(1));
+    }
+    
+    @Test
+    public void prepareForgetsPreviousQuery() {
+        workspace.prepare(4);
+        workspace.setSource(0);
+        workspace.relax(3, 1.0, 0);
+        
+        workspace.prepare(4);
+        
+        assertFalse(workspace.isReached(0));
+        assertFalse(workspace.isReached(3));
+        assertEquals(-1, workspace.getParent(3));
+        
+        workspace.prepare(8);
+        workspace.setSource(7);
+        
+        assertTrue(workspace.isReached(7));
+        assertFalse(workspace.isReached(3));
+    }
+    
+    @Test
+    public void pollFrontier() {
+        workspace.prepare(10, true);
+        workspace.setSource(1);
+        
+        assertEquals(1, workspace.pollFrontier(0));
+        assertEquals(-1, workspace.pollFrontier(2));
+        
+        workspace.relax(7, 2.0, 1);
+        workspace.relax(4, 3.0, 1);
+        workspace.relax(4, 1.0, 1);
+        
+        // An improved slot enters the frontier only once:
+        assertEquals(4, workspace.pollFrontier(2));
+        assertEquals(7, workspace.pollFrontier(5));
+        assertEquals(-1, workspace.pollFrontier(8));
+        
+        workspace.relax(9, 1.0, 7);
+        workspace.prepare(10, true);
+        
+        assertEquals(-1, workspace.pollFrontier(0));
+    }
+    
+    @Test
+    public void frontierIsNotTrackedByDefault() {
+        workspace.prepare(4);
+        workspace.setSource(0);
+        workspace.relax(2, 1.0, 0);
+        
+        assertEquals(-1, workspace.pollFrontier(0));
+    }
+    
+    @Test
+    public void steadyStateQueriesAllocateOnlyThePath() {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() 
+                instanceof com.sun.management.ThreadMXBean);
+        
+        // The node IDs lie beyond the Integer cache, so that any reboxing of 
+        // them would show up as allocation:
+        DirectedGraph graph = new DirectedGraph();
+        Random random = new Random(17L);
+        int firstNode = 1_000;
+        int nodes = 2_000;
+        
+        for (int i = 0; i < nodes; i++) {
+            graph.addNode(firstNode + i);
+        }
+        
+        for (int i = 0; i < nodes - 1; i++) {
+            graph.addEdge(firstNode + i, firstNode + i + 1, 1.0);
+            
+            for (int j = 0; j < 3; j++) {
+                int head = Math.min(nodes - 1, i + 2 + random.nextInt(50));
+                graph.addEdge(firstNode + i, firstNode + head, 20.0);
+            }
+        }
+        
+        AbstractGraphPreprocessor preprocessor = 
+                new KahnsGraphPreprocessor(graph);
+        
+        assertSteadyStateAllocation(
+                new NaivePreprocessingDagShortestPathQueryRunner(
+                        graph, 
+                        preprocessor), 
+                firstNode, 
+                nodes);
+        
+        assertSteadyStateAllocation(
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph, 
+                        preprocessor), 
+                firstNode, 
+                nodes);
+    }
+    
+    private static void assertSteadyStateAllocation(
+            AbstractDagShortestPathQueryRunner runner,
+            int firstNode,
+            int nodes) {
+        
+        com.sun.management.ThreadMXBean threadMXBean = 
+                (com.sun.management.ThreadMXBean) 
+                        ManagementFactory.getThreadMXBean();
+        
+        int queries = 100;
+        Integer[] sourceNodes = new Integer[queries];
+        Integer[] targetNodes = new Integer[queries];
+        
+        for (int i = 0; i < queries; i++) {
+            sourceNodes[i] = firstNode + i;
+            targetNodes[i] = firstNode + nodes - 1 - i;
+        }
+        
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < queries; i++) {
+                runner.queryShortestPath(sourceNodes[i], targetNodes[i]);
+            }
+        }
+        
+        long pathNodes = 0L;
+        long allocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes();
+        
+        for (int i = 0; i < queries; i++) {
+            pathNodes += runner.queryShortestPath(sourceNodes[i], 
+                                                  targetNodes[i]).size();
+        }
+        
+        allocatedBytes = 
+                threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBytes;
+        
+        // Each query sweeps some 2000 nodes, yet may allocate only the 
+        // returned path: the growing list, the copy inside the path and their
+        // fixed overhead.
+        long allowedBytes = 24L * pathNodes + 512L * queries;
+        
+        assertTrue(runner.getClass().getSimpleName() 
+                        + " allocated " + allocatedBytes 
+                        + " bytes over " + queries + " queries.", 
+                   allocatedBytes <= allowedBytes);
+    }
+}
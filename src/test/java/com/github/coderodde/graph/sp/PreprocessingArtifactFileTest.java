@@ -0,0 +1,194 @@
+package com.github.coderodde.graph.sp;
+
+import com.github.coderodde.graph.TopologicalSortChecker;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.impl.PrimitiveDirectedGraph;
+import com.github.coderodde.graph.sp.impl.DFSGraphPreprocessor;
+import com.github.coderodde.graph.sp.impl.IndexingPreprocessingDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.impl.KahnsGraphPreprocessor;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class PreprocessingArtifactFileTest {
+
+    private static final int NODES = 200;
+    private static final int EDGES = 600;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final DirectedGraph graph = new DirectedGraph();
+    private final Random random = new Random(17L);
+    private Path artifactFile;
+
+    @Before
+    public void before() {
+        for (int node = 0; node < NODES; node++) {
+            graph.addNode(node);
+        }
+
+        for (int i = 0; i < EDGES; i++) {
+            int node1 = random.nextInt(NODES);
+            int node2 = random.nextInt(NODES);
+
+            if (node1 != node2) {
+                graph.addEdge(Math.min(node1, node2),
+                              Math.max(node1, node2),
+                              random.nextDouble());
+            }
+        }
+
+        artifactFile = folder.getRoot().toPath().resolve("graph.dagp");
+    }
+
+    @Test
+    public void structuralHashIgnoresRepresentationAndWeights() {
+        long hash = graph.computeStructuralHash();
+
+        assertEquals(hash,
+                     new PrimitiveDirectedGraph(graph).computeStructuralHash());
+
+        Integer tail = 0;
+
+        while (graph.getChildrenOf(tail).isEmpty()) {
+            tail++;
+        }
+
+        Integer head = graph.getChildrenOf(tail).iterator().next();
+
+        graph.removeEdge(tail, head);
+        long hashWithoutArc = graph.computeStructuralHash();
+        graph.addEdge(tail, head, 100.0);
+
+        assertEquals(hash, graph.computeStructuralHash());
+        assertNotEquals(hash, hashWithoutArc);
+
+        graph.addNode(NODES);
+
+        assertNotEquals(hash, graph.computeStructuralHash());
+    }
+
+    @Test
+    public void sharesPreprocessingThroughFile() throws IOException {
+        AbstractGraphPreprocessor writer = new KahnsGraphPreprocessor(graph);
+        writer.enableReachabilityIndex(2);
+        writer.setArtifactFile(artifactFile);
+        writer.preprocessGraph();
+
+        assertTrue(Files.exists(artifactFile));
+
+        // A different sorter proves that the order comes from the file:
+        AbstractGraphPreprocessor reader = new DFSGraphPreprocessor(graph);
+        reader.enableReachabilityIndex(2);
+        reader.setArtifactFile(artifactFile);
+        reader.preprocessGraph();
+
+        assertEquals(writer.getTopologicallySortedNodes(),
+                     reader.getTopologicallySortedNodes());
+        assertEquals(writer.getIndexMap(), reader.getIndexMap());
+
+        ReachabilityIndex writerIndex = writer.getReachabilityIndex();
+        ReachabilityIndex readerIndex = reader.getReachabilityIndex();
+
+        assertEquals(graph.getModificationCount(),
+                     readerIndex.getSourceModificationCount());
+
+        for (int i = 0; i < 1_000; i++) {
+            int source = random.nextInt(NODES);
+            int target = random.nextInt(NODES);
+
+            assertEquals(writerIndex.mayReach(source, target),
+                         readerIndex.mayReach(source, target));
+        }
+    }
+
+    @Test
+    public void resortsAfterStructuralChange() throws IOException {
+        AbstractGraphPreprocessor preprocessor =
+                new KahnsGraphPreprocessor(graph);
+        preprocessor.setArtifactFile(artifactFile);
+        preprocessor.preprocessGraph();
+
+        graph.addEdge(NODES, 0, 1.0);
+        preprocessor.preprocessGraph();
+
+        List<Integer> order = preprocessor.getTopologicallySortedNodes();
+
+        assertEquals(graph.size(), order.size());
+        assertTrue(TopologicalSortChecker.isTopologicallySorted(graph, order));
+
+        // The file was rewritten for the new structure:
+        AbstractGraphPreprocessor reader = new DFSGraphPreprocessor(graph);
+
+        assertTrue(reader.loadArtifacts(artifactFile));
+        assertEquals(order, reader.getTopologicallySortedNodes());
+        assertNull(reader.getReachabilityIndex());
+    }
+
+    @Test
+    public void runnerUsesArtifacts() throws IOException {
+        AbstractGraphPreprocessor writer = new KahnsGraphPreprocessor(graph);
+        writer.setArtifactFile(artifactFile);
+        writer.preprocessGraph();
+
+        AbstractGraphPreprocessor reader = new KahnsGraphPreprocessor(graph);
+        reader.setArtifactFile(artifactFile);
+        reader.enableReachabilityIndex(3);
+
+        AbstractDagShortestPathQueryRunner runner =
+                new IndexingPreprocessingDagShortestPathQueryRunner(graph,
+                                                                    reader);
+        AbstractDagShortestPathQueryRunner reference =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph,
+                        new KahnsGraphPreprocessor(graph));
+
+        List<Integer> nodes = new ArrayList<>(graph.getAllNodes());
+
+        for (int i = 0; i < 200; i++) {
+            Integer source = nodes.get(random.nextInt(nodes.size()));
+            Integer target = nodes.get(random.nextInt(nodes.size()));
+
+            assertEquals(reference.queryShortestPathTree(source)
+                                  .getDistance(target),
+                         runner.queryShortestPathTree(source)
+                               .getDistance(target),
+                         1E-9);
+        }
+
+        // The labels missing from the file were built and saved:
+        assertEquals(3, reader.getReachabilityIndex().getNumberOfLabels());
+
+        assertEquals(3,
+                     PreprocessingArtifactFile.read(
+                             artifactFile,
+                             graph.computeStructuralHash())
+                                              .getNumberOfLabels());
+    }
+
+    @Test
+    public void missingFileIsNotLoaded() throws IOException {
+        assertFalse(new KahnsGraphPreprocessor(graph)
+                .loadArtifacts(artifactFile));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsMalformedFile() throws IOException {
+        Files.write(artifactFile, new byte[]{ 1, 2, 3 });
+        new KahnsGraphPreprocessor(graph).loadArtifacts(artifactFile);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void saveRequiresPreprocessing() throws IOException {
+        new KahnsGraphPreprocessor(graph).saveArtifacts(artifactFile);
+    }
+}
@@ -0,0 +1,190 @@
+package com.github.coderodde.graph.sp;
+
+import com.github.coderodde.graph.IntDoubleConsumer;
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.CompressedDirectedGraph;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.impl.KahnsTopologicalSorter;
+import com.github.coderodde.graph.sp.impl.IndexingPreprocessingDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.impl.KahnsGraphPreprocessor;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ReachabilityIndexTest {
+
+    private static final int NODES = 200;
+    private static final int EDGES = 300;
+
+    private final ChildScanCountingGraph graph = new ChildScanCountingGraph();
+    private CompressedDirectedGraph compressedGraph;
+
+    @Before
+    public void before() {
+        Random random = new Random(23L);
+
+        for (int node = 0; node < NODES; node++) {
+            graph.addNode(node);
+        }
+
+        for (int i = 0; i < EDGES; i++) {
+            int node1 = random.nextInt(NODES);
+            int node2 = random.nextInt(NODES);
+
+            if (node1 != node2) {
+                graph.addEdge(Math.min(node1, node2), Math.max(node1, node2));
+            }
+        }
+
+        compressedGraph =
+                new CompressedDirectedGraph(
+                        graph,
+                        new KahnsTopologicalSorter().sort(graph));
+    }
+
+    @Test
+    public void neverRejectsReachableTarget() {
+        ReachabilityIndex index =
+                new ReachabilityIndex(compressedGraph, 3, new Random(1L));
+
+        int rejected = 0;
+        int unreachable = 0;
+
+        for (int source = 0; source < NODES; source++) {
+            BitSet reachable = computeReachable(source);
+
+            for (int target = 0; target < NODES; target++) {
+                boolean mayReach = index.mayReach(source, target);
+
+                if (reachable.get(target)) {
+                    assertTrue(mayReach);
+                } else {
+                    unreachable++;
+
+                    if (!mayReach) {
+                        rejected++;
+                    }
+                }
+            }
+        }
+
+        // The filter should be far better than a coin flip:
+        assertTrue(rejected > 0.9 * unreachable);
+    }
+
+    @Test
+    public void levels() {
+        ReachabilityIndex index =
+                new ReachabilityIndex(compressedGraph, 0, new Random(1L));
+
+        for (int i = 0; i < compressedGraph.size(); i++) {
+            for (int e = compressedGraph.getEdgeBeginIndex(i);
+                    e < compressedGraph.getEdgeEndIndex(i);
+                    e++) {
+                assertTrue(index.getLevel(i)
+                         < index.getLevel(compressedGraph.getEdgeHead(e)));
+            }
+        }
+    }
+
+    @Test
+    public void runnerRejectsUnreachableTargetWithoutSweep() {
+        AbstractGraphPreprocessor preprocessor =
+                new KahnsGraphPreprocessor(graph);
+
+        preprocessor.enableReachabilityIndex(
+                ReachabilityIndex.DEFAULT_NUMBER_OF_LABELS);
+
+        AbstractDagShortestPathQueryRunner runner =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph,
+                        preprocessor);
+
+        graph.addNode(NODES);
+
+        // Preprocesses the modified graph:
+        runner.queryShortestPathTree(NODES);
+
+        ReachabilityIndex index = preprocessor.getReachabilityIndex();
+
+        assertNotNull(index);
+        assertEquals(graph.getModificationCount(),
+                     index.getSourceModificationCount());
+        assertFalse(index.mayReach(
+                preprocessor.getIndexMap().get(0),
+                preprocessor.getIndexMap().get(NODES)));
+
+        // A target following the source in the order, so that only the index
+        // can spare the sweep, and a source with children to sweep:
+        List<Integer> order = preprocessor.getTopologicallySortedNodes();
+        Integer sourceNode = null;
+        Integer targetNode = null;
+
+        search:
+        for (int i = 0; i < order.size(); i++) {
+            if (graph.getChildrenOf(order.get(i)).isEmpty()) {
+                continue;
+            }
+
+            for (int j = i + 1; j < order.size(); j++) {
+                if (!index.mayReach(i, j)) {
+                    sourceNode = order.get(i);
+                    targetNode = order.get(j);
+                    break search;
+                }
+            }
+        }
+
+        assertNotNull(sourceNode);
+
+        graph.childScans = 0;
+
+        try {
+            runner.queryShortestPath(sourceNode, targetNode);
+            fail("An unreachable target was reached.");
+        } catch (PathDoesNotExistException ex) {
+            assertEquals(0, graph.childScans);
+        }
+    }
+
+    private BitSet computeReachable(int sourceIndex) {
+        BitSet reachable = new BitSet(NODES);
+        reachable.set(sourceIndex);
+
+        for (int i = sourceIndex; i < NODES; i++) {
+            if (reachable.get(i)) {
+                for (int e = compressedGraph.getEdgeBeginIndex(i);
+                        e < compressedGraph.getEdgeEndIndex(i);
+                        e++) {
+                    reachable.set(compressedGraph.getEdgeHead(e));
+                }
+            }
+        }
+
+        return reachable;
+    }
+
+    /**
+     * Counts the child scans, each of which a sweep performs per visited
+     * node.
+     */
+    private static final class ChildScanCountingGraph extends DirectedGraph {
+
+        int childScans;
+
+        @Override
+        public void forEachChild(int node, IntDoubleConsumer consumer) {
+            childScans++;
+            super.forEachChild(node, consumer);
+        }
+
+        @Override
+        public void forEachChild(Integer node, IntDoubleConsumer consumer) {
+            childScans++;
+            super.forEachChild(node, consumer);
+        }
+    }
+}
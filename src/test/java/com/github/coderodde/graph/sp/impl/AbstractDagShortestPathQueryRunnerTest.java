@@ -0,0 +1,33 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.impl.DirectedGraph;
+import java.util.Random;
+import org.junit.Before;
+
+public class AbstractDagShortestPathQueryRunnerTest {
+
+    protected static final int NODES = 300;
+    protected static final int EDGES = 1_200;
+    
+    protected final DirectedGraph graph = new DirectedGraph();
+    protected final Random random = new Random(13L);
+    
+    @Before
+    public void before() {
+        // Only arcs from smaller nodes to larger ones keep the graph acyclic:
+        for (int node = 0; node < NODES; node++) {
+            graph.addNode(node);
+        }
+        
+        for (int i = 0; i < EDGES; i++) {
+            int node1 = random.nextInt(NODES);
+            int node2 = random.nextInt(NODES);
+            
+            if (node1 != node2) {
+                graph.addEdge(Math.min(node1, node2), 
+                              Math.max(node1, node2), 
+                              random.nextDouble());
+            }
+        }
+    }
+}
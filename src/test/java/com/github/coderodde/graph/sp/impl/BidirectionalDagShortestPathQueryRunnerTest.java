@@ -0,0 +1,80 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BidirectionalDagShortestPathQueryRunnerTest
+        extends AbstractDagShortestPathQueryRunnerTest {
+
+    @Test
+    public void matchesForwardSweep() {
+        AbstractDagShortestPathQueryRunner reference =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph,
+                        new KahnsGraphPreprocessor(graph));
+
+        BidirectionalDagShortestPathQueryRunner runner =
+                new BidirectionalDagShortestPathQueryRunner(
+                        graph,
+                        new DFSGraphPreprocessor(graph));
+
+        for (int i = 0; i < 500; i++) {
+            Integer source = random.nextInt(NODES);
+            Integer target = random.nextInt(NODES);
+            DirectedGraph.Path expected;
+
+            try {
+                expected = reference.queryShortestPath(source, target);
+            } catch (PathDoesNotExistException ex) {
+                try {
+                    runner.queryShortestPath(source, target);
+                    fail("The path should not exist.");
+                } catch (PathDoesNotExistException ex2) {
+
+                }
+
+                continue;
+            }
+
+            DirectedGraph.Path actual = runner.queryShortestPath(source, target);
+            List<Integer> pathList = new ArrayList<>();
+
+            for (int j = 0; j < actual.size(); j++) {
+                pathList.add(actual.getNode(j));
+            }
+
+            assertEquals(expected.getTotalCost(), actual.getTotalCost(), 1E-9);
+            assertEquals(actual.getTotalCost(),
+                         new DirectedGraph.Path(graph, pathList)
+                                 .getTotalCost(),
+                         1E-9);
+            assertEquals(source, pathList.get(0));
+            assertEquals(target, pathList.get(pathList.size() - 1));
+        }
+    }
+
+    @Test
+    public void countsTouchedNodes() {
+        BidirectionalDagShortestPathQueryRunner runner =
+                new BidirectionalDagShortestPathQueryRunner(
+                        graph,
+                        new KahnsGraphPreprocessor(graph));
+
+        runner.queryShortestPath(0, 0);
+        assertEquals(1L, runner.getTouchedNodeCount());
+
+        runner.resetTouchedNodeCount();
+        Integer child = graph.getChildrenOf(0).iterator().next();
+        runner.queryShortestPath(0, child);
+
+        long touchedNodeCount = runner.getTouchedNodeCount();
+
+        assertTrue(touchedNodeCount > 0);
+        assertTrue(touchedNodeCount <= NODES);
+    }
+}
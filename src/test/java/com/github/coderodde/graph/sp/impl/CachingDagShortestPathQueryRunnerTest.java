@@ -0,0 +1,130 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.SourceTargetPair;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class CachingDagShortestPathQueryRunnerTest
+        extends AbstractDagShortestPathQueryRunnerTest {
+
+    private CachingDagShortestPathQueryRunner createRunner(int capacity) {
+        return new CachingDagShortestPathQueryRunner(
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph,
+                        new KahnsGraphPreprocessor(graph)),
+                capacity);
+    }
+
+    @Test
+    public void repeatedQueryHitsCache() {
+        CachingDagShortestPathQueryRunner runner = createRunner(10);
+        Integer target = graph.getChildrenOf(0).iterator().next();
+
+        DirectedGraph.Path path1 = runner.queryShortestPath(0, target);
+        DirectedGraph.Path path2 = runner.queryShortestPath(0, target);
+
+        assertSame(path1, path2);
+        assertEquals(1L, runner.getHitCount());
+        assertEquals(1L, runner.getMissCount());
+    }
+
+    @Test
+    public void cachesUnreachableTargets() {
+        CachingDagShortestPathQueryRunner runner = createRunner(10);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                runner.queryShortestPath(NODES - 1, 0);
+                fail("The path should not exist.");
+            } catch (PathDoesNotExistException ex) {
+
+            }
+        }
+
+        assertEquals(1L, runner.getHitCount());
+        assertEquals(1L, runner.getMissCount());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedPair() {
+        CachingDagShortestPathQueryRunner runner = createRunner(2);
+
+        query(runner, 0, 10);
+        query(runner, 0, 20);
+        query(runner, 0, 10);
+        query(runner, 0, 30);
+
+        assertEquals(2, runner.getCacheSize());
+
+        query(runner, 0, 10);
+        assertEquals(2L, runner.getHitCount());
+
+        query(runner, 0, 20);
+        assertEquals(2L, runner.getHitCount());
+    }
+
+    @Test
+    public void graphModificationInvalidatesCache() {
+        CachingDagShortestPathQueryRunner runner = createRunner(10);
+        Integer target = graph.getChildrenOf(0).iterator().next();
+
+        runner.queryShortestPath(0, target);
+        graph.addEdge(0, target, -1.0);
+
+        DirectedGraph.Path path = runner.queryShortestPath(0, target);
+
+        assertEquals(-1.0, path.getTotalCost(), 0.0);
+        assertEquals(0L, runner.getHitCount());
+        assertEquals(2L, runner.getMissCount());
+    }
+
+    @Test
+    public void batchMatchesDelegate() {
+        CachingDagShortestPathQueryRunner runner = createRunner(100);
+        AbstractDagShortestPathQueryRunner reference =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph,
+                        new KahnsGraphPreprocessor(graph));
+
+        List<SourceTargetPair> queries = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            queries.add(new SourceTargetPair(random.nextInt(NODES),
+                                             random.nextInt(NODES)));
+        }
+
+        List<DirectedGraph.Path> expected = reference.queryShortestPaths(queries);
+
+        for (int round = 0; round < 2; round++) {
+            List<DirectedGraph.Path> actual = runner.queryShortestPaths(queries);
+
+            for (int i = 0; i < queries.size(); i++) {
+                if (expected.get(i) == null) {
+                    assertNull(actual.get(i));
+                } else {
+                    assertEquals(expected.get(i).getTotalCost(),
+                                 actual.get(i).getTotalCost(),
+                                 1E-9);
+                }
+            }
+        }
+
+        assertEquals(queries.size(), runner.getMissCount());
+        assertEquals(queries.size(), runner.getHitCount());
+    }
+
+    private static void query(AbstractDagShortestPathQueryRunner runner,
+                              Integer source,
+                              Integer target) {
+        try {
+            runner.queryShortestPath(source, target);
+        } catch (PathDoesNotExistException ex) {
+
+        }
+    }
+}
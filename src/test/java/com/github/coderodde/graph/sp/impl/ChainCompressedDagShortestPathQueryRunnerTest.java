@@ -0,0 +1,117 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ChainCompressedDagShortestPathQueryRunnerTest
+        extends AbstractDagShortestPathQueryRunnerTest {
+
+    private static final int CHAINS = 100;
+    private static final int CHAIN_LENGTH = 6;
+
+    private final List<Integer> chainNodes = new ArrayList<>();
+
+    @Before
+    public void addChains() {
+        int nextNode = NODES;
+
+        for (int i = 0; i < CHAINS; i++) {
+            int node1 = random.nextInt(NODES);
+            int node2 = random.nextInt(NODES);
+
+            if (node1 == node2) {
+                continue;
+            }
+
+            Integer tail = Math.min(node1, node2);
+
+            for (int j = 0; j < CHAIN_LENGTH; j++) {
+                graph.addEdge(tail, nextNode, random.nextDouble());
+                chainNodes.add(nextNode);
+                tail = nextNode++;
+            }
+
+            graph.addEdge(tail, Math.max(node1, node2), random.nextDouble());
+        }
+    }
+
+    @Test
+    public void matchesForwardSweep() {
+        ChainCompressingGraphPreprocessor preprocessor =
+                new ChainCompressingGraphPreprocessor(graph);
+
+        ChainCompressedDagShortestPathQueryRunner runner =
+                new ChainCompressedDagShortestPathQueryRunner(graph,
+                                                              preprocessor);
+
+        AbstractDagShortestPathQueryRunner reference =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph,
+                        new KahnsGraphPreprocessor(graph));
+
+        compare(runner, reference);
+
+        assertTrue(preprocessor.getCompressedOrder().size()
+                <= graph.size() - chainNodes.size());
+
+        // Weight updates are patched into the shortcuts:
+        for (int i = 0; i < 50; i++) {
+            Integer node = chainNodes.get(random.nextInt(chainNodes.size()));
+            Integer child = graph.getChildrenOf(node).iterator().next();
+            graph.addEdge(node, child, random.nextDouble() * 3.0);
+        }
+
+        compare(runner, reference);
+
+        // Structural changes rebuild the compressed view:
+        graph.addEdge(0, chainNodes.get(0), 0.0);
+        graph.removeNode(chainNodes.get(chainNodes.size() - 1));
+
+        compare(runner, reference);
+    }
+
+    private void compare(AbstractDagShortestPathQueryRunner runner,
+                         AbstractDagShortestPathQueryRunner reference) {
+        List<Integer> nodes = new ArrayList<>(graph.getAllNodes());
+
+        for (int i = 0; i < 500; i++) {
+            Integer source = nodes.get(random.nextInt(nodes.size()));
+            Integer target = nodes.get(random.nextInt(nodes.size()));
+            DirectedGraph.Path expected;
+
+            try {
+                expected = reference.queryShortestPath(source, target);
+            } catch (PathDoesNotExistException ex) {
+                try {
+                    runner.queryShortestPath(source, target);
+                    fail("The path should not exist.");
+                } catch (PathDoesNotExistException ex2) {
+
+                }
+
+                continue;
+            }
+
+            DirectedGraph.Path actual = runner.queryShortestPath(source, target);
+            List<Integer> pathList = new ArrayList<>();
+
+            for (int j = 0; j < actual.size(); j++) {
+                pathList.add(actual.getNode(j));
+            }
+
+            assertEquals(expected.getTotalCost(), actual.getTotalCost(), 1E-9);
+            assertEquals(actual.getTotalCost(),
+                         new DirectedGraph.Path(graph, pathList)
+                                 .getTotalCost(),
+                         1E-9);
+            assertEquals(source, pathList.get(0));
+            assertEquals(target, pathList.get(pathList.size() - 1));
+        }
+    }
+}
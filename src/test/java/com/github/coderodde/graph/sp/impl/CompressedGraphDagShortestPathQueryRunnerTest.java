@@ -0,0 +1,84 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.DirectedGraph.Path;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class CompressedGraphDagShortestPathQueryRunnerTest 
+        extends AbstractDagShortestPathQueryRunnerTest {
+    
+    @Test
+    public void returnsSameCostsAsIndexingRunner() {
+        AbstractDagShortestPathQueryRunner expectedRunner = 
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph, 
+                        new KahnsGraphPreprocessor(graph));
+        
+        AbstractDagShortestPathQueryRunner runner = 
+                new CompressedGraphDagShortestPathQueryRunner(
+                        graph, 
+                        new DFSGraphPreprocessor(graph));
+        
+        for (int i = 0; i < 200; i++) {
+            Integer sourceNode = random.nextInt(NODES);
+            Integer targetNode = random.nextInt(NODES);
+            Path expectedPath = null;
+            Path path = null;
+            
+            try {
+                expectedPath = 
+                        expectedRunner.queryShortestPath(sourceNode, 
+                                                         targetNode);
+            } catch (PathDoesNotExistException ex) {
+            }
+            
+            try {
+                path = runner.queryShortestPath(sourceNode, targetNode);
+            } catch (PathDoesNotExistException ex) {
+            }
+            
+            if (expectedPath == null) {
+                assertTrue(path == null);
+            } else {
+                assertEquals(expectedPath.getTotalCost(), 
+                             path.getTotalCost(), 
+                             1E-9);
+                
+                assertEquals(sourceNode, path.getNode(0));
+                assertEquals(targetNode, path.getNode(path.size() - 1));
+            }
+        }
+    }
+    
+    @Test
+    public void picksUpGraphModifications() {
+        AbstractDagShortestPathQueryRunner runner = 
+                new CompressedGraphDagShortestPathQueryRunner(
+                        graph, 
+                        new KahnsGraphPreprocessor(graph));
+        
+        graph.addEdge(NODES, NODES + 1, 2.0);
+        assertEquals(2.0, 
+                     runner.queryShortestPath(NODES, NODES + 1).getTotalCost(),
+                     0.0);
+        
+        graph.addEdge(NODES, NODES + 1, 1.0);
+        assertEquals(1.0, 
+                     runner.queryShortestPath(NODES, NODES + 1).getTotalCost(),
+                     0.0);
+    }
+    
+    @Test(expected = PathDoesNotExistException.class)
+    public void throwsOnUnreachableTarget() {
+        AbstractDagShortestPathQueryRunner runner = 
+                new CompressedGraphDagShortestPathQueryRunner(
+                        graph, 
+                        new KahnsGraphPreprocessor(graph));
+        
+        graph.addNode(NODES);
+        runner.queryShortestPath(0, NODES);
+    }
+}
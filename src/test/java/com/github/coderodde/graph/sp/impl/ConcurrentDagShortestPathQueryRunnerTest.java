@@ -0,0 +1,95 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.impl.DirectedGraph.Path;
+import com.github.coderodde.graph.sp.SourceTargetPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ConcurrentDagShortestPathQueryRunnerTest 
+        extends AbstractDagShortestPathQueryRunnerTest {
+    
+    @Test
+    public void parallelBatchMatchesSequentialBatch() {
+        ConcurrentDagShortestPathQueryRunner runner = 
+                new ConcurrentDagShortestPathQueryRunner(
+                        graph, 
+                        new KahnsGraphPreprocessor(graph));
+        
+        List<SourceTargetPair> queries = getQueries(2_000);
+        List<Path> expectedPaths = runner.queryShortestPaths(queries);
+        List<Path> paths = runner.queryShortestPathsInParallel(queries);
+        
+        assertCostsEqual(expectedPaths, paths);
+    }
+    
+    @Test
+    public void sharedBetweenThreads() throws Exception {
+        ConcurrentDagShortestPathQueryRunner runner = 
+                new ConcurrentDagShortestPathQueryRunner(
+                        graph, 
+                        new DFSGraphPreprocessor(graph));
+        
+        List<SourceTargetPair> queries = getQueries(500);
+        List<Path> expectedPaths = 
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph, 
+                        new DFSGraphPreprocessor(graph))
+                        .queryShortestPaths(queries);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        
+        try {
+            List<Future<List<Path>>> futures = new ArrayList<>();
+            
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    List<Path> paths = new ArrayList<>();
+                    
+                    for (SourceTargetPair query : queries) {
+                        paths.add(runner.queryShortestPaths(List.of(query))
+                                        .get(0));
+                    }
+                    
+                    return paths;
+                }));
+            }
+            
+            for (Future<List<Path>> future : futures) {
+                assertCostsEqual(expectedPaths, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    private List<SourceTargetPair> getQueries(int count) {
+        List<SourceTargetPair> queries = new ArrayList<>(count);
+        
+        for (int i = 0; i < count; i++) {
+            queries.add(new SourceTargetPair(random.nextInt(NODES), 
+                                             random.nextInt(NODES)));
+        }
+        
+        return queries;
+    }
+    
+    private static void assertCostsEqual(List<Path> expectedPaths, 
+                                         List<Path> paths) {
+        assertEquals(expectedPaths.size(), paths.size());
+        
+        for (int i = 0; i < paths.size(); i++) {
+            if (expectedPaths.get(i) == null) {
+                assertNull(paths.get(i));
+            } else {
+                assertEquals(expectedPaths.get(i).getTotalCost(), 
+                             paths.get(i).getTotalCost(), 
+                             1E-9);
+            }
+        }
+    }
+}
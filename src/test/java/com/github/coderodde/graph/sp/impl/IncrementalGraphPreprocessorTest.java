@@ -0,0 +1,156 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.GraphContainsCyclesException;
+import com.github.coderodde.graph.TopologicalSortChecker;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.ShortestPathTree;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class IncrementalGraphPreprocessorTest
+        extends AbstractDagShortestPathQueryRunnerTest {
+
+    @Test
+    public void keepsTopologicalOrderUnderRandomEdits() {
+        IncrementalGraphPreprocessor preprocessor =
+                new IncrementalGraphPreprocessor(graph);
+
+        preprocessor.preprocessGraph();
+        int nextNode = NODES;
+
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 20; i++) {
+                int choice = random.nextInt(10);
+                List<Integer> nodes = new ArrayList<>(graph.getAllNodes());
+                int node1 = nodes.get(random.nextInt(nodes.size()));
+                int node2 = nodes.get(random.nextInt(nodes.size()));
+
+                if (choice == 0) {
+                    graph.removeNode(node1);
+                } else if (choice == 1) {
+                    graph.addEdge(node1, nextNode++, random.nextDouble());
+                } else if (choice == 2) {
+                    graph.removeEdge(Math.min(node1, node2),
+                                     Math.max(node1, node2));
+                } else if (node1 != node2) {
+                    // Arcs from smaller nodes to larger ones keep the graph
+                    // acyclic, yet many of them contradict the current order:
+                    graph.addEdge(Math.min(node1, node2),
+                                  Math.max(node1, node2),
+                                  random.nextDouble());
+                }
+            }
+
+            preprocessor.preprocessGraph();
+
+            List<Integer> order = preprocessor.getTopologicallySortedNodes();
+
+            assertEquals(graph.size(), order.size());
+            assertEquals(graph.size(), preprocessor.getIndexMap().size());
+            assertTrue(graph.getAllNodes().containsAll(order));
+            assertTrue(TopologicalSortChecker.isTopologicallySorted(graph,
+                                                                    order));
+
+            for (int index = 0; index < order.size(); index++) {
+                assertEquals(Integer.valueOf(index),
+                             preprocessor.getIndexMap().get(order.get(index)));
+            }
+        }
+    }
+
+    @Test
+    public void removalsAndWeightUpdatesKeepOrder() {
+        IncrementalGraphPreprocessor preprocessor =
+                new IncrementalGraphPreprocessor(graph);
+
+        preprocessor.preprocessGraph();
+
+        List<Integer> expected =
+                new ArrayList<>(preprocessor.getTopologicallySortedNodes());
+
+        Integer tail = expected
+                .stream()
+                .filter(node -> !graph.getChildrenOf(node).isEmpty())
+                .findFirst()
+                .get();
+        
+        Integer head = graph.getChildrenOf(tail).iterator().next();
+
+        graph.addEdge(tail, head, 100.0);
+        graph.removeEdge(tail, head);
+        preprocessor.preprocessGraph();
+
+        assertEquals(expected, preprocessor.getTopologicallySortedNodes());
+
+        graph.removeNode(tail);
+        expected.remove(tail);
+        preprocessor.preprocessGraph();
+
+        assertEquals(expected, preprocessor.getTopologicallySortedNodes());
+    }
+
+    @Test
+    public void reportsCycleOnNextPreprocessing() {
+        IncrementalGraphPreprocessor preprocessor =
+                new IncrementalGraphPreprocessor(graph);
+
+        preprocessor.preprocessGraph();
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 0);
+
+        try {
+            preprocessor.preprocessGraph();
+            fail("The cycle was not detected.");
+        } catch (GraphContainsCyclesException ex) {
+
+        }
+
+        graph.removeEdge(2, 0);
+        preprocessor.preprocessGraph();
+
+        assertTrue(TopologicalSortChecker.isTopologicallySorted(
+                graph,
+                preprocessor.getTopologicallySortedNodes()));
+    }
+
+    @Test
+    public void runnersAgreeWithFullSortAfterEdits() {
+        AbstractDagShortestPathQueryRunner incrementalRunner =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph,
+                        new IncrementalGraphPreprocessor(graph));
+
+        AbstractDagShortestPathQueryRunner referenceRunner =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph,
+                        new KahnsGraphPreprocessor(graph));
+
+        for (int round = 0; round < 20; round++) {
+            int node1 = random.nextInt(NODES);
+            int node2 = random.nextInt(NODES);
+
+            if (node1 != node2) {
+                graph.addEdge(Math.min(node1, node2),
+                              Math.max(node1, node2),
+                              random.nextDouble());
+            }
+
+            Integer source = random.nextInt(NODES);
+            ShortestPathTree expectedTree = 
+                    referenceRunner.queryShortestPathTree(source);
+            ShortestPathTree actualTree = 
+                    incrementalRunner.queryShortestPathTree(source);
+
+            for (Integer target : graph.getAllNodes()) {
+                assertEquals(expectedTree.getDistance(target), 
+                             actualTree.getDistance(target), 
+                             1E-9);
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.ShortestPathTree;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class IncrementalShortestPathTreeCacheTest
+        extends AbstractDagShortestPathQueryRunnerTest {
+
+    @Test
+    public void repairedTreesMatchFreshSweeps() {
+        IncrementalShortestPathTreeCache cache =
+                new IncrementalShortestPathTreeCache(graph, 8);
+
+        AbstractDagShortestPathQueryRunner reference =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph,
+                        new KahnsGraphPreprocessor(graph));
+
+        List<Integer> sources = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            sources.add(random.nextInt(NODES / 4));
+        }
+
+        for (int round = 0; round < 100; round++) {
+            int node1 = random.nextInt(NODES);
+            int node2 = random.nextInt(NODES);
+            int tail = Math.min(node1, node2);
+            int head = Math.max(node1, node2);
+
+            switch (random.nextInt(3)) {
+                case 0:
+                    graph.removeEdge(tail, head);
+                    break;
+
+                default:
+                    if (tail != head) {
+                        // Either inserts the arc or updates its weight:
+                        graph.addEdge(tail, head, random.nextDouble());
+                    }
+            }
+
+            for (Integer source : sources) {
+                ShortestPathTree expected =
+                        reference.queryShortestPathTree(source);
+
+                ShortestPathTree actual = cache.getShortestPathTree(source);
+
+                for (Integer node : graph.getAllNodes()) {
+                    assertEquals(expected.getDistance(node),
+                                 actual.getDistance(node),
+                                 1E-9);
+
+                    if (actual.hasPathTo(node)) {
+                        assertEquals(expected.getDistance(node),
+                                     actual.getPath(node).getTotalCost(),
+                                     1E-9);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void weightUpdateRecomputesOnlyAffectedNodes() {
+        IncrementalShortestPathTreeCache cache =
+                new IncrementalShortestPathTreeCache(graph, 1);
+
+        ShortestPathTree tree = cache.getShortestPathTree(0);
+        long fullCount = cache.getRecomputedNodeCount();
+
+        // Find a tree arc into a node with no children:
+        Integer tail = null;
+        Integer head = null;
+
+        for (Integer node : graph.getAllNodes()) {
+            if (tree.hasPathTo(node)
+                    && !node.equals(0)
+                    && graph.getChildrenOf(node).isEmpty()) {
+                List<Integer> path = new ArrayList<>();
+
+                for (int i = 0; i < tree.getPath(node).size(); i++) {
+                    path.add(tree.getPath(node).getNode(i));
+                }
+
+                tail = path.get(path.size() - 2);
+                head = node;
+                break;
+            }
+        }
+
+        assertNotNull(head);
+
+        graph.addEdge(tail, head, graph.getEdgeWeight(tail, head) + 1.0);
+        cache.getShortestPathTree(0);
+
+        assertEquals(1L, cache.getRecomputedNodeCount() - fullCount);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void treeDetectsGraphModification() {
+        IncrementalShortestPathTreeCache cache =
+                new IncrementalShortestPathTreeCache(graph, 1);
+
+        ShortestPathTree tree = cache.getShortestPathTree(0);
+        graph.addEdge(0, 1, 100.0);
+        tree.getDistance(1);
+    }
+
+    @Test
+    public void nodeRemovalDropsTrees() {
+        IncrementalShortestPathTreeCache cache =
+                new IncrementalShortestPathTreeCache(graph, 4);
+
+        cache.getShortestPathTree(0);
+        cache.getShortestPathTree(1);
+        graph.removeNode(NODES - 1);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void reversedArcDropsNodesPrecedingSource() {
+        DirectedGraph smallGraph = new DirectedGraph();
+        smallGraph.addEdge(0, 1, 1.0);
+        smallGraph.addEdge(1, 2, 1.0);
+
+        IncrementalShortestPathTreeCache cache =
+                new IncrementalShortestPathTreeCache(smallGraph, 1);
+
+        assertEquals(2.0, cache.getShortestPathTree(0).getDistance(2), 0.0);
+
+        // Moves 1 and its child before 0 in the order:
+        smallGraph.removeEdge(0, 1);
+        smallGraph.addEdge(1, 0, 1.0);
+
+        ShortestPathTree tree = cache.getShortestPathTree(0);
+
+        assertEquals(0.0, tree.getDistance(0), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, tree.getDistance(1), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, tree.getDistance(2), 0.0);
+        assertFalse(tree.hasPathTo(1));
+        assertFalse(tree.hasPathTo(2));
+    }
+}
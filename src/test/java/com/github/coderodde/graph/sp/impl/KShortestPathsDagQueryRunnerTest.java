@@ -0,0 +1,139 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.impl.DirectedGraph;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class KShortestPathsDagQueryRunnerTest
+        extends AbstractDagShortestPathQueryRunnerTest {
+
+    @Test
+    public void matchesBruteForceEnumeration() {
+        DirectedGraph smallGraph = new DirectedGraph();
+        int nodes = 25;
+
+        for (int node = 0; node < nodes; node++) {
+            smallGraph.addNode(node);
+        }
+
+        for (int i = 0; i < 70; i++) {
+            int node1 = random.nextInt(nodes);
+            int node2 = random.nextInt(nodes);
+
+            if (node1 != node2) {
+                smallGraph.addEdge(Math.min(node1, node2),
+                                   Math.max(node1, node2),
+                                   random.nextInt(5));
+            }
+        }
+
+        KShortestPathsDagQueryRunner runner =
+                new KShortestPathsDagQueryRunner(
+                        smallGraph,
+                        new KahnsGraphPreprocessor(smallGraph));
+
+        for (int source = 0; source < 5; source++) {
+            for (int target = nodes - 5; target < nodes; target++) {
+                List<Double> allCosts = new ArrayList<>();
+                enumerate(smallGraph, source, target, 0.0, allCosts);
+                Collections.sort(allCosts);
+
+                List<DirectedGraph.Path> paths =
+                        runner.queryKShortestPaths(source, target, 10);
+
+                assertEquals(Math.min(10, allCosts.size()), paths.size());
+
+                Set<List<Integer>> distinctPaths = new HashSet<>();
+
+                for (int i = 0; i < paths.size(); i++) {
+                    DirectedGraph.Path path = paths.get(i);
+                    List<Integer> pathList = toList(path);
+
+                    assertEquals(allCosts.get(i), path.getTotalCost(), 1E-9);
+                    assertEquals(path.getTotalCost(),
+                                 new DirectedGraph.Path(smallGraph, pathList)
+                                         .getTotalCost(),
+                                 1E-9);
+                    assertEquals(Integer.valueOf(source), path.getNode(0));
+                    assertEquals(Integer.valueOf(target),
+                                 path.getNode(path.size() - 1));
+                    assertTrue(distinctPaths.add(pathList));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void firstPathIsShortestPath() {
+        KShortestPathsDagQueryRunner runner =
+                new KShortestPathsDagQueryRunner(
+                        graph,
+                        new DFSGraphPreprocessor(graph));
+
+        for (int i = 0; i < 100; i++) {
+            Integer source = random.nextInt(NODES / 2);
+            Integer target = NODES / 2 + random.nextInt(NODES / 2);
+            List<DirectedGraph.Path> paths =
+                    runner.queryKShortestPaths(source, target, 5);
+
+            if (paths.isEmpty()) {
+                continue;
+            }
+
+            assertEquals(runner.queryShortestPath(source, target)
+                               .getTotalCost(),
+                         paths.get(0).getTotalCost(),
+                         1E-9);
+
+            for (int j = 1; j < paths.size(); j++) {
+                assertTrue(paths.get(j - 1).getTotalCost()
+                        <= paths.get(j).getTotalCost());
+            }
+        }
+    }
+
+    @Test
+    public void unreachableTargetYieldsNoPaths() {
+        KShortestPathsDagQueryRunner runner =
+                new KShortestPathsDagQueryRunner(
+                        graph,
+                        new KahnsGraphPreprocessor(graph));
+
+        assertTrue(runner.queryKShortestPaths(NODES - 1, 0, 3).isEmpty());
+        assertEquals(1, runner.queryKShortestPaths(0, 0, 3).size());
+    }
+
+    private static void enumerate(DirectedGraph graph,
+                                  Integer node,
+                                  Integer target,
+                                  double cost,
+                                  List<Double> costs) {
+        if (node.equals(target)) {
+            costs.add(cost);
+            return;
+        }
+
+        for (Integer child : graph.getChildrenOf(node)) {
+            enumerate(graph,
+                      child,
+                      target,
+                      cost + graph.getEdgeWeight(node, child),
+                      costs);
+        }
+    }
+
+    private static List<Integer> toList(DirectedGraph.Path path) {
+        List<Integer> list = new ArrayList<>();
+
+        for (int i = 0; i < path.size(); i++) {
+            list.add(path.getNode(i));
+        }
+
+        return list;
+    }
+}
@@ -0,0 +1,190 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.CriticalPathSchedule;
+import com.github.coderodde.graph.sp.ShortestPathTree;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LongestPathDagQueryRunnerTest
+        extends AbstractDagShortestPathQueryRunnerTest {
+
+    @Test
+    public void matchesShortestPathsOverNegatedCopy() {
+        DirectedGraph negatedGraph = new DirectedGraph();
+
+        for (Integer node : graph.getAllNodes()) {
+            negatedGraph.addNode(node);
+
+            for (Integer child : graph.getChildrenOf(node)) {
+                negatedGraph.addEdge(node,
+                                     child,
+                                     -graph.getEdgeWeight(node, child));
+            }
+        }
+
+        AbstractDagShortestPathQueryRunner reference =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        negatedGraph,
+                        new KahnsGraphPreprocessor(negatedGraph));
+
+        LongestPathDagQueryRunner runner =
+                new LongestPathDagQueryRunner(graph,
+                                              new DFSGraphPreprocessor(graph));
+
+        for (int i = 0; i < 200; i++) {
+            Integer source = random.nextInt(NODES);
+            Integer target = random.nextInt(NODES);
+            DirectedGraph.Path expected;
+
+            try {
+                expected = reference.queryShortestPath(source, target);
+            } catch (PathDoesNotExistException ex) {
+                try {
+                    runner.queryLongestPath(source, target);
+                    fail("The path should not exist.");
+                } catch (PathDoesNotExistException ex2) {
+
+                }
+
+                continue;
+            }
+
+            DirectedGraph.Path actual = runner.queryLongestPath(source, target);
+
+            assertEquals(-expected.getTotalCost(), actual.getTotalCost(), 1E-9);
+            assertEquals(actual.getTotalCost(),
+                         new DirectedGraph.Path(graph, toList(actual))
+                                 .getTotalCost(),
+                         1E-9);
+        }
+
+        ShortestPathTree expectedTree = reference.queryShortestPathTree(0);
+        ShortestPathTree actualTree = runner.queryShortestPathTree(0);
+
+        for (Integer node : graph.getAllNodes()) {
+            assertEquals(expectedTree.hasPathTo(node),
+                         actualTree.hasPathTo(node));
+
+            if (actualTree.hasPathTo(node)) {
+                assertEquals(-expectedTree.getDistance(node),
+                             actualTree.getDistance(node),
+                             1E-9);
+                assertEquals(actualTree.getDistance(node),
+                             actualTree.getPath(node).getTotalCost(),
+                             1E-9);
+            } else {
+                assertEquals(Double.NEGATIVE_INFINITY,
+                             actualTree.getDistance(node),
+                             0.0);
+            }
+        }
+    }
+
+    @Test
+    public void scheduleMatchesBruteForce() {
+        LongestPathDagQueryRunner runner =
+                new LongestPathDagQueryRunner(graph,
+                                              new KahnsGraphPreprocessor(graph));
+
+        CriticalPathSchedule schedule = runner.computeSchedule();
+
+        // The node IDs are a topological order of the test graph:
+        double[] earliestStarts = new double[NODES];
+        double makespan = 0.0;
+
+        for (int node = 0; node < NODES; node++) {
+            for (Integer parent : graph.getParentsOf(node)) {
+                earliestStarts[node] =
+                        Math.max(earliestStarts[node],
+                                 earliestStarts[parent]
+                                         + graph.getEdgeWeight(parent, node));
+            }
+
+            makespan = Math.max(makespan, earliestStarts[node]);
+        }
+
+        assertEquals(makespan, schedule.getMakespan(), 1E-9);
+
+        for (int node = 0; node < NODES; node++) {
+            assertEquals(earliestStarts[node],
+                         schedule.getEarliestStart(node),
+                         1E-9);
+            assertTrue(schedule.getSlack(node) >= -1E-9);
+
+            for (Integer child : graph.getChildrenOf(node)) {
+                assertTrue(schedule.getLatestStart(node)
+                        + graph.getEdgeWeight(node, child)
+                        <= schedule.getLatestStart(child) + 1E-9);
+            }
+        }
+
+        DirectedGraph.Path criticalPath = schedule.getCriticalPath();
+
+        assertEquals(makespan,
+                     new DirectedGraph.Path(graph, toList(criticalPath))
+                             .getTotalCost(),
+                     1E-9);
+
+        for (int i = 0; i < criticalPath.size(); i++) {
+            assertEquals(0.0, schedule.getSlack(criticalPath.getNode(i)), 1E-9);
+        }
+    }
+
+    @Test
+    public void scheduleTracksGraphModifications() {
+        LongestPathDagQueryRunner runner =
+                new LongestPathDagQueryRunner(graph,
+                                              new KahnsGraphPreprocessor(graph));
+
+        double makespan = runner.computeSchedule().getMakespan();
+
+        graph.addEdge(0, NODES - 1, makespan + 10.0);
+
+        CriticalPathSchedule schedule = runner.computeSchedule();
+
+        assertEquals(makespan + 10.0, schedule.getMakespan(), 1E-9);
+        assertEquals(2, schedule.getCriticalPath().size());
+    }
+
+    @Test
+    public void scheduleKeepsNegativeEarliestStarts() {
+        DirectedGraph smallGraph = new DirectedGraph();
+        smallGraph.addEdge(0, 1, -5.0);
+        smallGraph.addEdge(1, 2, 7.0);
+        smallGraph.addEdge(0, 3, 1.0);
+
+        LongestPathDagQueryRunner runner =
+                new LongestPathDagQueryRunner(
+                        smallGraph,
+                        new KahnsGraphPreprocessor(smallGraph));
+
+        CriticalPathSchedule schedule = runner.computeSchedule();
+
+        assertEquals(0.0, schedule.getEarliestStart(0), 0.0);
+        assertEquals(-5.0, schedule.getEarliestStart(1), 0.0);
+        assertEquals(2.0, schedule.getEarliestStart(2), 0.0);
+        assertEquals(1.0, schedule.getEarliestStart(3), 0.0);
+        assertEquals(2.0, schedule.getMakespan(), 0.0);
+        assertEquals(1.0, schedule.getSlack(3), 0.0);
+
+        DirectedGraph.Path criticalPath = schedule.getCriticalPath();
+
+        assertEquals(List.of(0, 1, 2), toList(criticalPath));
+        assertEquals(2.0, criticalPath.getTotalCost(), 0.0);
+    }
+
+    private static List<Integer> toList(DirectedGraph.Path path) {
+        List<Integer> list = new ArrayList<>();
+
+        for (int i = 0; i < path.size(); i++) {
+            list.add(path.getNode(i));
+        }
+
+        return list;
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.DirectedGraph;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PartitionedDagShortestPathQueryRunnerTest
+        extends AbstractDagShortestPathQueryRunnerTest {
+
+    @Test
+    public void matchesForwardSweep() {
+        AbstractDagShortestPathQueryRunner reference =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph,
+                        new KahnsGraphPreprocessor(graph));
+
+        for (int partitionSize : new int[]{ 1, 16, 50, NODES }) {
+            PartitionedDagShortestPathQueryRunner runner =
+                    new PartitionedDagShortestPathQueryRunner(
+                            graph,
+                            new DFSGraphPreprocessor(graph),
+                            partitionSize);
+
+            compare(runner, reference);
+
+            assertEquals((NODES + partitionSize - 1) / partitionSize,
+                         runner.getNumberOfPartitions());
+
+            runner.detach();
+        }
+    }
+
+    @Test
+    public void rebuildsAfterModifications() {
+        AbstractDagShortestPathQueryRunner reference =
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph,
+                        new KahnsGraphPreprocessor(graph));
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        try {
+            PartitionedDagShortestPathQueryRunner runner =
+                    new PartitionedDagShortestPathQueryRunner(
+                            graph,
+                            new KahnsGraphPreprocessor(graph),
+                            20,
+                            pool);
+
+            compare(runner, reference);
+
+            for (int round = 0; round < 20; round++) {
+                int node1 = random.nextInt(NODES);
+                int node2 = random.nextInt(NODES);
+                int tail = Math.min(node1, node2);
+                int head = Math.max(node1, node2);
+
+                if (tail == head) {
+                    continue;
+                }
+
+                switch (random.nextInt(3)) {
+                    case 0:
+                        graph.removeEdge(tail, head);
+                        break;
+
+                    default:
+                        // Either inserts the arc or updates its weight:
+                        graph.addEdge(tail, head, random.nextDouble());
+                }
+
+                compare(runner, reference);
+            }
+
+            graph.removeNode(NODES / 2);
+            compare(runner, reference);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void compare(AbstractDagShortestPathQueryRunner runner,
+                         AbstractDagShortestPathQueryRunner reference) {
+        List<Integer> nodes = new ArrayList<>(graph.getAllNodes());
+
+        for (int i = 0; i < 200; i++) {
+            Integer source = nodes.get(random.nextInt(nodes.size()));
+            Integer target = nodes.get(random.nextInt(nodes.size()));
+            DirectedGraph.Path expected;
+
+            try {
+                expected = reference.queryShortestPath(source, target);
+            } catch (PathDoesNotExistException ex) {
+                try {
+                    runner.queryShortestPath(source, target);
+                    fail("The path should not exist.");
+                } catch (PathDoesNotExistException ex2) {
+
+                }
+
+                continue;
+            }
+
+            DirectedGraph.Path actual = runner.queryShortestPath(source, target);
+            List<Integer> pathList = new ArrayList<>();
+
+            for (int j = 0; j < actual.size(); j++) {
+                pathList.add(actual.getNode(j));
+            }
+
+            assertEquals(expected.getTotalCost(), actual.getTotalCost(), 1E-9);
+            assertEquals(actual.getTotalCost(),
+                         new DirectedGraph.Path(graph, pathList)
+                                 .getTotalCost(),
+                         1E-9);
+            assertEquals(source, pathList.get(0));
+            assertEquals(target, pathList.get(pathList.size() - 1));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.coderodde.graph.sp.impl;
+
+import com.github.coderodde.graph.PathDoesNotExistException;
+import com.github.coderodde.graph.impl.DirectedGraph.Path;
+import com.github.coderodde.graph.sp.AbstractDagShortestPathQueryRunner;
+import com.github.coderodde.graph.sp.ShortestPathTree;
+import com.github.coderodde.graph.sp.SourceTargetPair;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ShortestPathTreeTest extends AbstractDagShortestPathQueryRunnerTest {
+    
+    @Test
+    public void agreesWithPointToPointQueries() {
+        for (AbstractDagShortestPathQueryRunner runner : getRunners()) {
+            for (int i = 0; i < 5; i++) {
+                Integer sourceNode = random.nextInt(NODES);
+                ShortestPathTree tree = runner.queryShortestPathTree(sourceNode);
+                
+                assertEquals(sourceNode, tree.getSourceNode());
+                
+                for (Integer targetNode = 0; 
+                        targetNode < NODES; 
+                        targetNode++) {
+                    Path expectedPath;
+                    
+                    try {
+                        expectedPath = runner.queryShortestPath(sourceNode, 
+                                                                targetNode);
+                    } catch (PathDoesNotExistException ex) {
+                        assertFalse(tree.hasPathTo(targetNode));
+                        continue;
+                    }
+                    
+                    assertEquals(expectedPath.getTotalCost(), 
+                                 tree.getDistance(targetNode), 
+                                 1E-9);
+                    
+                    Path path = tree.getPath(targetNode);
+                    
+                    assertEquals(expectedPath.getTotalCost(), 
+                                 path.getTotalCost(), 
+                                 1E-9);
+                    
+                    assertEquals(targetNode, path.getNode(path.size() - 1));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void batchAgreesWithPointToPointQueries() {
+        List<SourceTargetPair> queries = new ArrayList<>();
+        
+        for (int i = 0; i < 300; i++) {
+            // Few sources so that the groups get large:
+            queries.add(new SourceTargetPair(random.nextInt(10), 
+                                             random.nextInt(NODES)));
+        }
+        
+        for (AbstractDagShortestPathQueryRunner runner : getRunners()) {
+            List<Path> paths = runner.queryShortestPaths(queries);
+            
+            assertEquals(queries.size(), paths.size());
+            
+            for (int i = 0; i < queries.size(); i++) {
+                SourceTargetPair query = queries.get(i);
+                Path path = paths.get(i);
+                
+                try {
+                    Path expectedPath = 
+                            runner.queryShortestPath(query.getSourceNode(), 
+                                                     query.getTargetNode());
+                    
+                    assertEquals(expectedPath.getTotalCost(), 
+                                 path.getTotalCost(), 
+                                 1E-9);
+                } catch (PathDoesNotExistException ex) {
+                    assertNull(path);
+                }
+            }
+        }
+    }
+    
+    @Test(expected = ConcurrentModificationException.class) 
+    public void failsAfterGraphModification() {
+        AbstractDagShortestPathQueryRunner runner = getRunners().get(0);
+        ShortestPathTree tree = runner.queryShortestPathTree(0);
+        graph.addEdge(0, NODES);
+        tree.getDistance(1);
+    }
+    
+    private List<AbstractDagShortestPathQueryRunner> getRunners() {
+        return List.of(
+                new NaivePreprocessingDagShortestPathQueryRunner(
+                        graph, 
+                        new DFSGraphPreprocessor(graph)),
+                new IndexingPreprocessingDagShortestPathQueryRunner(
+                        graph, 
+                        new DFSGraphPreprocessor(graph)),
+                new CompressedGraphDagShortestPathQueryRunner(
+                        graph, 
+                        new KahnsGraphPreprocessor(graph)));
+    }
+}